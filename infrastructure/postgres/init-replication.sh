@@ -0,0 +1,9 @@
+#!/bin/sh
+# Runs once on a fresh rocket-postgres volume: allows the rocket-postgres-replica service to stream the WAL.
+set -e
+
+psql -v ON_ERROR_STOP=1 --username "$POSTGRES_USER" --dbname "$POSTGRES_DB" <<-SQL
+	CREATE ROLE replicator WITH REPLICATION LOGIN PASSWORD 'replicator';
+SQL
+
+echo "host replication replicator all scram-sha-256" >> "$PGDATA/pg_hba.conf"
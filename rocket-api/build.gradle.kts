@@ -3,6 +3,7 @@ plugins {
     id("org.springframework.boot") version "3.4.1"
     id("io.spring.dependency-management") version "1.1.7"
     id("org.openapi.generator") version "7.7.0"
+    id("me.champeau.jmh") version "0.7.2"
 }
 
 group = "com.rocket"
@@ -26,13 +27,17 @@ dependencies {
     implementation("org.springframework.boot:spring-boot-starter-actuator")
 
     // Database
-    runtimeOnly("org.postgresql:postgresql")
+    // Compile scope for the COPY API used by the bulk import
+    implementation("org.postgresql:postgresql")
     implementation("org.flywaydb:flyway-core")
     implementation("org.flywaydb:flyway-database-postgresql")
 
     // Observability
     implementation("io.micrometer:micrometer-registry-prometheus")
 
+    // CSV bulk import
+    implementation("com.fasterxml.jackson.dataformat:jackson-dataformat-csv")
+
     // OpenAPI Documentation
     implementation("org.springdoc:springdoc-openapi-starter-webmvc-ui:2.8.3")
 
@@ -54,6 +59,9 @@ dependencies {
     testImplementation("org.testcontainers:postgresql")
     testImplementation("org.testcontainers:junit-jupiter")
     testRuntimeOnly("org.junit.platform:junit-platform-launcher")
+
+    // Benchmarks against a real PostgreSQL
+    jmh("org.testcontainers:postgresql")
 }
 
 tasks.withType<Test> {
@@ -89,3 +97,59 @@ sourceSets {
 tasks.named("compileJava") {
     dependsOn("openApiGenerate")
 }
+
+// Microbenchmarks in src/jmh, run with ./gradlew jmh
+jmh {
+    warmupIterations.set(3)
+    iterations.set(5)
+    fork.set(1)
+    profilers.add("gc")
+    resultFormat.set("JSON")
+}
+
+// End-to-end load test in src/loadtest against PostgreSQL in a container,
+// run with ./gradlew loadTest -Dloadtest.channels=1000 -Dloadtest.mode=open -Dloadtest.rate=2000
+val loadtest: SourceSet by sourceSets.creating {
+    compileClasspath += sourceSets.main.get().output
+    runtimeClasspath += sourceSets.main.get().output
+}
+
+configurations[loadtest.implementationConfigurationName].extendsFrom(configurations.implementation.get())
+configurations[loadtest.runtimeOnlyConfigurationName].extendsFrom(configurations.runtimeOnly.get())
+
+dependencies {
+    "loadtestImplementation"("org.testcontainers:postgresql")
+    "loadtestImplementation"("org.hdrhistogram:HdrHistogram:2.2.2")
+}
+
+tasks.register<JavaExec>("loadTest") {
+    description = "Runs the end-to-end load test, see LoadTest."
+    group = "verification"
+    classpath = loadtest.runtimeClasspath
+    mainClass.set("com.rocket.api.loadtest.LoadTest")
+    systemProperties(providers.systemPropertiesPrefixedBy("loadtest.").get())
+}
+
+// Throughput regression tests in src/perfTest, checked against src/perfTest/resources/perf-baseline.json,
+// run with ./gradlew perfTest; results in build/perf-results
+val perfTest: SourceSet by sourceSets.creating {
+    compileClasspath += sourceSets.main.get().output + sourceSets.test.get().output + loadtest.output
+    runtimeClasspath += sourceSets.main.get().output + sourceSets.test.get().output + loadtest.output
+}
+
+configurations[perfTest.implementationConfigurationName].extendsFrom(
+    configurations.testImplementation.get(),
+    configurations[loadtest.implementationConfigurationName]
+)
+configurations[perfTest.runtimeOnlyConfigurationName].extendsFrom(configurations.testRuntimeOnly.get())
+
+tasks.register<Test>("perfTest") {
+    description = "Runs the throughput regression tests against the stored baseline."
+    group = "verification"
+    testClassesDirs = perfTest.output.classesDirs
+    classpath = perfTest.runtimeClasspath
+    shouldRunAfter(tasks.test)
+    // A measurement, never up to date
+    outputs.upToDateWhen { false }
+    systemProperty("perf.results", layout.buildDirectory.dir("perf-results").get().asFile.path)
+}
@@ -0,0 +1,87 @@
+package com.rocket.api.domain;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/*
+ * Replay and row mapping costs that depend on the representation of UtcDateTime. Run with the gc profiler
+ * (see build.gradle.kts) and compare gc.alloc.rate.norm per operation. The OffsetDateTime variants map the same rows
+ * through OffsetDateTimeUtc, a UTC-normalized value backed by a java.time object as UtcDateTime used to be.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class RocketStateReplayBenchmark {
+
+    private static final UUID CHANNEL = UUID.fromString("193270a9-c9cf-404a-8f83-838e71d9ae67");
+
+    private final Clock clock = Clock.fixed(Instant.parse("2022-02-02T20:00:00Z"), ZoneOffset.UTC);
+
+    private List<RocketEvent> events;
+    private OffsetDateTime[] rowTimes;
+
+    @Setup
+    public void setUp() {
+        OffsetDateTime launchedAt = OffsetDateTime.parse("2022-02-02T19:39:05.86337+01:00");
+        events = new ArrayList<>(1_000);
+        events.add(new RocketEvent(CHANNEL, 1, UtcDateTime.of(launchedAt), MessageType.RocketLaunched,
+                Map.of("type", "Falcon-9", "launchSpeed", 500, "mission", "ARTEMIS")));
+        for (int messageNumber = 2; messageNumber <= 1_000; messageNumber++) {
+            events.add(new RocketEvent(CHANNEL, messageNumber, UtcDateTime.of(launchedAt.plusSeconds(messageNumber)),
+                    messageNumber % 2 == 0 ? MessageType.RocketSpeedIncreased : MessageType.RocketSpeedDecreased, Map.of("by", 10)));
+        }
+
+        rowTimes = new OffsetDateTime[1_000];
+        for (int i = 0; i < rowTimes.length; i++) {
+            rowTimes[i] = launchedAt.plusSeconds(i);
+        }
+    }
+
+    @Benchmark
+    public RocketState replayThousandEvents() {
+        UtcDateTime now = UtcDateTime.now(clock);
+        return RocketState.empty(CHANNEL, now).applyAll(events, now);
+    }
+
+    @Benchmark
+    public long mapAndBindThousandRows() {
+        long sum = 0;
+        for (OffsetDateTime rowTime : rowTimes) {
+            sum += UtcDateTime.of(rowTime).toOffsetDateTime().getNano();
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public long mapAndBindThousandRowsOffsetDateTime() {
+        long sum = 0;
+        for (OffsetDateTime rowTime : rowTimes) {
+            sum += new OffsetDateTimeUtc(rowTime).value().getNano();
+        }
+        return sum;
+    }
+
+    record OffsetDateTimeUtc(OffsetDateTime value) {
+
+        OffsetDateTimeUtc {
+            if (!value.getOffset().equals(ZoneOffset.UTC)) {
+                value = value.withOffsetSameInstant(ZoneOffset.UTC);
+            }
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package com.rocket.api.domain;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/*
+ * Rebuild of one channel with a long tail, sequential against segmented replay with 1 to 8 threads. The callback
+ * variant is what RecomputeRocketStateUseCase runs; compare how the time per rebuild drops with the parallelism.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class SegmentedReplayBenchmark {
+
+    private static final UUID CHANNEL = UUID.fromString("193270a9-c9cf-404a-8f83-838e71d9ae67");
+
+    @Param({"1", "2", "4", "8"})
+    private int parallelism;
+
+    @Param({"100000"})
+    private int events;
+
+    private final Clock clock = Clock.fixed(Instant.parse("2022-02-02T20:00:00Z"), ZoneOffset.UTC);
+
+    private List<RocketEvent> tail;
+    private ForkJoinPool pool;
+    private SegmentedReplay replay;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        OffsetDateTime launchedAt = OffsetDateTime.parse("2022-02-02T19:39:05.86337+01:00");
+        tail = new ArrayList<>(events);
+        tail.add(new RocketEvent(CHANNEL, 1, UtcDateTime.of(launchedAt), MessageType.RocketLaunched,
+                Map.of("type", "Falcon-9", "launchSpeed", 500, "mission", "ARTEMIS")));
+        for (int messageNumber = 2; messageNumber <= events; messageNumber++) {
+            tail.add(new RocketEvent(CHANNEL, messageNumber, UtcDateTime.of(launchedAt.plusSeconds(messageNumber)),
+                    messageNumber % 3 == 0 ? MessageType.RocketSpeedDecreased : MessageType.RocketSpeedIncreased, Map.of("by", 10)));
+        }
+        pool = new ForkJoinPool(parallelism);
+        replay = new SegmentedReplay(pool, 4_000, 1_000);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        pool.shutdownNow();
+    }
+
+    @Benchmark
+    public RocketState sequential(Blackhole blackhole) {
+        UtcDateTime now = UtcDateTime.now(clock);
+        return RocketState.empty(CHANNEL, now).applyAll(tail, now, (event, state) -> blackhole.consume(state));
+    }
+
+    @Benchmark
+    public RocketState segmented(Blackhole blackhole) {
+        UtcDateTime now = UtcDateTime.now(clock);
+        return replay.applyAll(RocketState.empty(CHANNEL, now), tail, now, (event, state) -> blackhole.consume(state));
+    }
+
+    @Benchmark
+    public RocketState segmentedWithoutCallback() {
+        UtcDateTime now = UtcDateTime.now(clock);
+        return replay.applyAll(RocketState.empty(CHANNEL, now), tail, now);
+    }
+}
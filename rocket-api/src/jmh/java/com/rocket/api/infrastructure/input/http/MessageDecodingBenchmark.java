@@ -0,0 +1,101 @@
+package com.rocket.api.infrastructure.input.http;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.rocket.api.domain.MessageType;
+import com.rocket.api.domain.RocketEvent;
+import com.rocket.api.domain.UtcDateTime;
+import com.rocket.api.openapi.model.RocketMessage;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.OffsetDateTime;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/*
+ * Cost of turning one request body into a RocketEvent: JSON through the generated model, JSON read token by token
+ * and the binary encoding. Allocation per decode is reported by the gc profiler as gc.alloc.rate.norm.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class MessageDecodingBenchmark {
+
+    @Param({"RocketLaunched", "RocketSpeedIncreased"})
+    public String messageType;
+
+    private final ObjectMapper objectMapper = JsonMapper.builder().findAndAddModules().build();
+
+    private byte[] json;
+    private byte[] binary;
+
+    @Setup
+    public void setUp() throws IOException {
+        RocketEvent event = switch (MessageType.valueOf(messageType)) {
+            case RocketLaunched -> event(1, MessageType.RocketLaunched, Map.of("type", "Falcon-9", "launchSpeed", 500, "mission", "ARTEMIS"));
+            default -> event(2, MessageType.RocketSpeedIncreased, Map.of("by", 3000));
+        };
+
+        json = objectMapper.writeValueAsString(Map.of(
+                "metadata", Map.of(
+                        "channel", event.channel().toString(),
+                        "messageNumber", event.messageNumber(),
+                        "messageTime", event.messageTime().toString(),
+                        "messageType", event.messageType().name()
+                ),
+                "message", event.payload()
+        )).getBytes(StandardCharsets.UTF_8);
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        RocketEventBinaryFormat.encode(event, new DataOutputStream(bytes));
+        binary = bytes.toByteArray();
+    }
+
+    @Benchmark
+    public RocketEvent json() throws IOException {
+        RocketMessage message = objectMapper.readValue(json, RocketMessage.class);
+        var metadata = message.getMetadata();
+        return new RocketEvent(
+                metadata.getChannel(),
+                metadata.getMessageNumber(),
+                UtcDateTime.of(metadata.getMessageTime().toOffsetDateTime()),
+                MessageType.valueOf(metadata.getMessageType().getValue()),
+                message.getMessage()
+        );
+    }
+
+    @Benchmark
+    public RocketEvent streamingJson() throws IOException {
+        try (JsonParser parser = objectMapper.createParser(json)) {
+            return RocketEventJsonReader.read(parser);
+        }
+    }
+
+    @Benchmark
+    public RocketEvent binary() {
+        return RocketEventBinaryFormat.decode(binary);
+    }
+
+    private static RocketEvent event(int messageNumber, MessageType type, Map<String, Object> payload) {
+        return new RocketEvent(
+                UUID.fromString("193270a9-c9cf-404a-8f83-838e71d9ae67"),
+                messageNumber,
+                UtcDateTime.of(OffsetDateTime.parse("2022-02-02T19:39:05.86337+01:00")),
+                type,
+                payload
+        );
+    }
+}
@@ -0,0 +1,87 @@
+package com.rocket.api.infrastructure.output.local;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.rocket.api.domain.MessageType;
+import com.rocket.api.domain.RocketEvent;
+import com.rocket.api.domain.RocketState;
+import com.rocket.api.domain.UtcDateTime;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.util.FileSystemUtils;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/*
+ * Append and replay throughput of the local event store, the domain cost of a message without a database round trip.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class LocalEventStoreBenchmark {
+
+    private static final UUID REPLAYED = UUID.fromString("193270a9-c9cf-404a-8f83-838e71d9ae67");
+    private static final UtcDateTime LAUNCHED_AT = UtcDateTime.of(OffsetDateTime.parse("2022-02-02T19:39:05Z"));
+
+    private Path directory;
+    private LocalStorage storage;
+    private LocalRocketEventStore store;
+    private UUID appended;
+    private int messageNumber;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("rocket-local-bench");
+        storage = new LocalStorage(directory, DataSize.ofMegabytes(64), 8, Duration.ofMillis(10));
+        store = new LocalRocketEventStore(storage, new ObjectMapper());
+        store.save(launched(REPLAYED));
+        for (int number = 2; number <= 1_000; number++) {
+            store.save(increased(REPLAYED, number));
+        }
+        appended = UUID.randomUUID();
+        store.save(launched(appended));
+        messageNumber = 1;
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        storage.close();
+        FileSystemUtils.deleteRecursively(directory);
+    }
+
+    @Benchmark
+    public boolean append() {
+        return store.save(increased(appended, ++messageNumber));
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public RocketState replayThousandEvents() {
+        List<RocketEvent> events = store.findByChannelAfterMessageNumber(REPLAYED, 0);
+        return RocketState.empty(REPLAYED, LAUNCHED_AT).applyAll(events, LAUNCHED_AT);
+    }
+
+    private static RocketEvent launched(UUID channel) {
+        return new RocketEvent(channel, 1, LAUNCHED_AT, MessageType.RocketLaunched,
+                Map.of("type", "Falcon-9", "launchSpeed", 500, "mission", "ARTEMIS"));
+    }
+
+    private static RocketEvent increased(UUID channel, int number) {
+        return new RocketEvent(channel, number, LAUNCHED_AT, MessageType.RocketSpeedIncreased, Map.of("by", 10));
+    }
+}
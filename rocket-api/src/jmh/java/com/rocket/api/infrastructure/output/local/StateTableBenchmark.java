@@ -0,0 +1,102 @@
+package com.rocket.api.infrastructure.output.local;
+
+import com.rocket.api.domain.RocketState;
+import com.rocket.api.domain.RocketStatus;
+import com.rocket.api.domain.UtcDateTime;
+import com.rocket.api.usecase.port.VersionedRocketState;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.lang.management.ManagementFactory;
+import java.time.OffsetDateTime;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/*
+ * Heap footprint and collector cost of a fleet of 1M rockets held by the heap and the off-heap state table. The
+ * retained heap per rocket is printed after setup, fullGc times a full collection while the table is live, lookup and
+ * update the cost of access. Strings and times are fresh instances per rocket, as decoded from messages.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class StateTableBenchmark {
+
+    private static final UtcDateTime NOW = UtcDateTime.of(OffsetDateTime.parse("2022-02-02T19:39:05Z"));
+
+    @Param({"heap", "off-heap"})
+    public String table;
+
+    @Param("1000000")
+    public int rockets;
+
+    private UUID[] channels;
+    private StateTable states;
+    private int next;
+    private long version;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        channels = new UUID[rockets];
+        for (int i = 0; i < rockets; i++) {
+            channels[i] = UUID.randomUUID();
+        }
+        long before = usedHeapAfterGc();
+        states = "heap".equals(table) ? new HeapStateTable() : new OffHeapStateTable(rockets, 64);
+        for (int i = 0; i < rockets; i++) {
+            states.putIfNewer(new VersionedRocketState(state(channels[i], i), ++version), stored -> {});
+        }
+        long retained = usedHeapAfterGc() - before;
+        String nativeBytes = states instanceof OffHeapStateTable offHeap ? ", " + offHeap.reservedBytes() / rockets + " native bytes" : "";
+        System.out.printf("%n%s state table: %d heap bytes per rocket%s%n", table, retained / rockets, nativeBytes);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        states.close();
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public void fullGc() {
+        System.gc();
+    }
+
+    @Benchmark
+    public VersionedRocketState lookup() {
+        return states.get(channels[nextIndex()]);
+    }
+
+    @Benchmark
+    public boolean update() {
+        int index = nextIndex();
+        return states.putIfNewer(new VersionedRocketState(state(channels[index], index + 1), ++version), stored -> {});
+    }
+
+    private int nextIndex() {
+        next = next + 1 == rockets ? 0 : next + 1;
+        return next;
+    }
+
+    private static RocketState state(UUID channel, int speed) {
+        return new RocketState(channel, new String("Falcon-9"), new String("ARTEMIS"), speed, RocketStatus.launched,
+                null, UtcDateTime.ofEpochMicros(NOW.toEpochMicros()), UtcDateTime.ofEpochMicros(NOW.toEpochMicros() + speed), speed, false);
+    }
+
+    private static long usedHeapAfterGc() {
+        System.gc();
+        System.gc();
+        return ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+    }
+}
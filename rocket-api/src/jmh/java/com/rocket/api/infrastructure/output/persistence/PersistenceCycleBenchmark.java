@@ -0,0 +1,143 @@
+package com.rocket.api.infrastructure.output.persistence;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.rocket.api.domain.MessageType;
+import com.rocket.api.domain.RocketEvent;
+import com.rocket.api.domain.RocketState;
+import com.rocket.api.domain.UtcDateTime;
+import com.rocket.api.usecase.port.VersionedRocketState;
+import com.zaxxer.hikari.HikariDataSource;
+import org.flywaydb.core.Flyway;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/*
+ * The per message write path against PostgreSQL in a container: insert the event, replay what follows the stored
+ * state, upsert the state. prepareThreshold compares client side statements (the driver default, 5 executions
+ * before a server side prepare) with preparing from the first execution as configured in application.yml.
+ *
+ * The upsert benchmarks write the states of a recomputed batch of channels in one transaction, as executeAll does,
+ * one statement at a time and as the single JDBC batch of RocketStateRepository.saveAll.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class PersistenceCycleBenchmark {
+
+    private static final int BATCH_CHANNELS = 100;
+
+    @Param({"5", "1"})
+    public int prepareThreshold;
+
+    private final Clock clock = Clock.fixed(Instant.parse("2022-02-02T20:00:00Z"), ZoneOffset.UTC);
+    private final ObjectMapper objectMapper = JsonMapper.builder().findAndAddModules().build();
+
+    private PostgreSQLContainer<?> postgres;
+    private HikariDataSource dataSource;
+    private RocketEventRepository eventRepository;
+    private RocketStateRepository stateRepository;
+    private TransactionTemplate transaction;
+
+    private UUID channel;
+    private RocketState state;
+    private int messageNumber;
+    private long version;
+    private List<RocketState> batch;
+
+    @Setup(Level.Trial)
+    public void startDatabase() {
+        postgres = new PostgreSQLContainer<>("postgres:16-alpine");
+        postgres.start();
+
+        dataSource = new HikariDataSource();
+        dataSource.setJdbcUrl(postgres.getJdbcUrl());
+        dataSource.setUsername(postgres.getUsername());
+        dataSource.setPassword(postgres.getPassword());
+        dataSource.addDataSourceProperty("prepareThreshold", prepareThreshold);
+        dataSource.setMaximumPoolSize(1);
+
+        // Flyway takes a second connection for its lock, more than the benchmark pool holds
+        Flyway.configure().dataSource(postgres.getJdbcUrl(), postgres.getUsername(), postgres.getPassword())
+                .locations("classpath:db/migration").load().migrate();
+
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        eventRepository = new RocketEventRepository(jdbcTemplate, objectMapper);
+        stateRepository = new RocketStateRepository(jdbcTemplate);
+        transaction = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+    }
+
+    @Setup(Level.Iteration)
+    public void launchRocket() {
+        channel = UUID.randomUUID();
+        messageNumber = 1;
+        UtcDateTime now = UtcDateTime.now(clock);
+        eventRepository.save(new RocketEvent(channel, 1, now, MessageType.RocketLaunched,
+                Map.of("type", "Falcon-9", "launchSpeed", 500, "mission", "ARTEMIS")));
+        state = RocketState.empty(channel, now).applyAll(eventRepository.findByChannelAfterMessageNumber(channel, 0), now);
+        stateRepository.save(state, ++version);
+
+        batch = new ArrayList<>(BATCH_CHANNELS);
+        for (int i = 0; i < BATCH_CHANNELS; i++) {
+            batch.add(state.withChannel(UUID.randomUUID()));
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void stopDatabase() {
+        dataSource.close();
+        postgres.stop();
+    }
+
+    @Benchmark
+    public RocketState insertReplayUpsert() {
+        UtcDateTime now = UtcDateTime.now(clock);
+        eventRepository.save(new RocketEvent(channel, ++messageNumber, now, MessageType.RocketSpeedIncreased, Map.of("by", 1)));
+
+        List<RocketEvent> events = eventRepository.findByChannelAfterMessageNumber(channel, state.lastProcessedMsgNumber());
+        state = state.applyAll(events, now);
+        stateRepository.save(state, ++version);
+        return state;
+    }
+
+    @Benchmark
+    public long upsertStatesOneByOne() {
+        transaction.executeWithoutResult(status -> {
+            for (RocketState channelState : batch) {
+                stateRepository.save(channelState, ++version);
+            }
+        });
+        return version;
+    }
+
+    @Benchmark
+    public long upsertStatesBatched() {
+        List<VersionedRocketState> states = new ArrayList<>(batch.size());
+        for (RocketState channelState : batch) {
+            states.add(new VersionedRocketState(channelState, ++version));
+        }
+        transaction.executeWithoutResult(status -> stateRepository.saveAll(states));
+        return version;
+    }
+}
@@ -0,0 +1,170 @@
+package com.rocket.api.loadtest;
+
+import org.HdrHistogram.ConcurrentHistogram;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/*
+ * Sends messages to POST /messages from virtual threads and records the latency of every message in an HDR histogram
+ * (microseconds) and the completed messages per second of the run.
+ *
+ * A 503 from admission control is retried after its Retry-After, the latency of the message includes the waits: what
+ * counts is when the message was stored. In open-loop mode latency is taken from the intended send time, so a server
+ * that falls behind the schedule shows in the percentiles instead of slowing the sender down (coordinated omission).
+ */
+public final class LoadGenerator implements AutoCloseable {
+
+    private static final int MAX_ATTEMPTS = 50;
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+
+    private final URI messagesUri;
+    private final LoadProfile profile;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final HttpClient client;
+
+    public LoadGenerator(URI baseUri, LoadProfile profile) {
+        this.messagesUri = baseUri.resolve("/messages");
+        this.profile = profile;
+        this.client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .executor(executor)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+    }
+
+    /*
+     * Sends the main phase of the plan, then its late messages, and returns the measurements of both.
+     */
+    public LoadResult run(TrafficPlan plan) throws InterruptedException {
+        Recording recording = new Recording(System.nanoTime());
+        send(plan.messages(), recording);
+        send(plan.lateMessages(), recording);
+        return recording.result(System.nanoTime());
+    }
+
+    @Override
+    public void close() {
+        client.close();
+        executor.close();
+    }
+
+    private void send(List<TrafficPlan.Message> messages, Recording recording) throws InterruptedException {
+        if (messages.isEmpty()) {
+            return;
+        }
+        switch (profile.mode()) {
+            case OPEN -> sendOpenLoop(messages, recording);
+            case CLOSED -> sendClosedLoop(messages, recording);
+        }
+    }
+
+    private void sendOpenLoop(List<TrafficPlan.Message> messages, Recording recording) throws InterruptedException {
+        long start = System.nanoTime();
+        long interval = TimeUnit.SECONDS.toNanos(1) / Math.max(1, profile.ratePerSecond());
+        try (ExecutorService senders = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < messages.size(); i++) {
+                long intended = start + i * interval;
+                long wait;
+                while ((wait = intended - System.nanoTime()) > 0) {
+                    LockSupport.parkNanos(wait);
+                    if (Thread.interrupted()) {
+                        throw new InterruptedException();
+                    }
+                }
+                TrafficPlan.Message message = messages.get(i);
+                senders.submit(() -> deliver(message, intended, recording));
+            }
+        }
+    }
+
+    private void sendClosedLoop(List<TrafficPlan.Message> messages, Recording recording) {
+        AtomicInteger next = new AtomicInteger();
+        try (ExecutorService senders = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int worker = 0; worker < profile.concurrency(); worker++) {
+                senders.submit(() -> {
+                    int index;
+                    while ((index = next.getAndIncrement()) < messages.size()) {
+                        deliver(messages.get(index), System.nanoTime(), recording);
+                    }
+                });
+            }
+        }
+    }
+
+    private void deliver(TrafficPlan.Message message, long intended, Recording recording) {
+        HttpRequest request = HttpRequest.newBuilder(messagesUri)
+                .timeout(REQUEST_TIMEOUT)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(message.body()))
+                .build();
+        recording.sent.increment();
+        try {
+            for (int attempt = 1; attempt <= MAX_ATTEMPTS; attempt++) {
+                HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                if (response.statusCode() / 100 == 2) {
+                    recording.completed(intended, System.nanoTime());
+                    return;
+                }
+                if (response.statusCode() != 503) {
+                    recording.failed.increment();
+                    return;
+                }
+                recording.rejected.increment();
+                long retryAfter = response.headers().firstValueAsLong("Retry-After").orElse(1);
+                Thread.sleep(Duration.ofSeconds(retryAfter));
+            }
+            recording.failed.increment();
+        } catch (IOException e) {
+            recording.failed.increment();
+        } catch (InterruptedException e) {
+            // The run was cancelled, count the delivery so sent stays completed plus failed
+            recording.failed.increment();
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static final class Recording {
+
+        private final long start;
+        private final ConcurrentHistogram latency = new ConcurrentHistogram(3);
+        private final Map<Long, LongAdder> completedPerSecond = new ConcurrentHashMap<>();
+        private final LongAdder sent = new LongAdder();
+        private final LongAdder rejected = new LongAdder();
+        private final LongAdder failed = new LongAdder();
+
+        Recording(long start) {
+            this.start = start;
+        }
+
+        void completed(long intended, long now) {
+            latency.recordValue(Math.max(0, TimeUnit.NANOSECONDS.toMicros(now - intended)));
+            completedPerSecond.computeIfAbsent(TimeUnit.NANOSECONDS.toSeconds(now - start), second -> new LongAdder()).increment();
+        }
+
+        LoadResult result(long end) {
+            Map<Long, Long> perSecond = new TreeMap<>();
+            long seconds = TimeUnit.NANOSECONDS.toSeconds(end - start);
+            for (long second = 0; second <= seconds; second++) {
+                LongAdder completed = completedPerSecond.get(second);
+                perSecond.put(second, completed != null ? completed.sum() : 0);
+            }
+            return new LoadResult(sent.sum(), latency.getTotalCount(), rejected.sum(), failed.sum(),
+                    Duration.ofNanos(end - start), latency, perSecond);
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package com.rocket.api.loadtest;
+
+import java.time.Duration;
+import java.util.Properties;
+
+/*
+ * Shape of the generated traffic.
+ *
+ * Every channel gets a launch followed by eventsPerChannel - 1 events drawn from the weighted mix. Delivery is then
+ * disturbed per message: outOfOrderRate of the messages are swapped with a later one of the same channel (at most
+ * reorderWindow positions away), duplicateRate are sent twice and gapRate of the channels lose one message. With
+ * GapPattern.DROP the message is never sent and the channel ends stale, with LATE it is sent after all others and the
+ * channel ends complete.
+ *
+ * OPEN sends at a fixed rate regardless of responses, latency is measured from the intended send time; CLOSED keeps
+ * concurrency requests in flight and sends the next one when a response arrives.
+ */
+public record LoadProfile(
+        int channels,
+        int eventsPerChannel,
+        Mode mode,
+        int ratePerSecond,
+        int concurrency,
+        double outOfOrderRate,
+        int reorderWindow,
+        double duplicateRate,
+        double gapRate,
+        GapPattern gapPattern,
+        EventMix mix,
+        Duration verifyTimeout,
+        long seed
+) {
+
+    public enum Mode { OPEN, CLOSED }
+
+    public enum GapPattern { DROP, LATE }
+
+    /*
+     * Relative weights of the events after the launch. An explosion ends nothing, later events still apply.
+     */
+    public record EventMix(int speedIncreased, int speedDecreased, int missionChanged, int exploded) {
+
+        int total() {
+            return speedIncreased + speedDecreased + missionChanged + exploded;
+        }
+    }
+
+    public LoadProfile {
+        if (channels < 1 || eventsPerChannel < 1) {
+            throw new IllegalArgumentException("channels and eventsPerChannel must be positive");
+        }
+        if (mix.total() < 1) {
+            throw new IllegalArgumentException("event mix must have a positive weight");
+        }
+    }
+
+    /*
+     * Reads loadtest.* properties, e.g. -Dloadtest.channels=500 -Dloadtest.mode=open -Dloadtest.rate=2000.
+     */
+    public static LoadProfile from(Properties properties) {
+        return new LoadProfile(
+                intOf(properties, "loadtest.channels", 200),
+                intOf(properties, "loadtest.events-per-channel", 50),
+                Mode.valueOf(properties.getProperty("loadtest.mode", "closed").toUpperCase()),
+                intOf(properties, "loadtest.rate", 1_000),
+                intOf(properties, "loadtest.concurrency", 32),
+                doubleOf(properties, "loadtest.out-of-order-rate", 0.1),
+                intOf(properties, "loadtest.reorder-window", 5),
+                doubleOf(properties, "loadtest.duplicate-rate", 0.05),
+                doubleOf(properties, "loadtest.gap-rate", 0.02),
+                GapPattern.valueOf(properties.getProperty("loadtest.gap-pattern", "drop").toUpperCase()),
+                new EventMix(
+                        intOf(properties, "loadtest.mix.speed-increased", 45),
+                        intOf(properties, "loadtest.mix.speed-decreased", 40),
+                        intOf(properties, "loadtest.mix.mission-changed", 10),
+                        intOf(properties, "loadtest.mix.exploded", 5)),
+                Duration.parse(properties.getProperty("loadtest.verify-timeout", "PT30S")),
+                Long.parseLong(properties.getProperty("loadtest.seed", "42"))
+        );
+    }
+
+    public int messages() {
+        return channels * eventsPerChannel;
+    }
+
+    private static int intOf(Properties properties, String key, int defaultValue) {
+        return Integer.parseInt(properties.getProperty(key, Integer.toString(defaultValue)));
+    }
+
+    private static double doubleOf(Properties properties, String key, double defaultValue) {
+        return Double.parseDouble(properties.getProperty(key, Double.toString(defaultValue)));
+    }
+}
@@ -0,0 +1,56 @@
+package com.rocket.api.loadtest;
+
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Locale;
+import java.util.Map;
+
+/*
+ * Measurements of one run. Latencies are in microseconds; completedPerSecond holds one entry per second of the run,
+ * seconds without completions included.
+ */
+public record LoadResult(
+        long sent,
+        long completed,
+        long rejected,
+        long failed,
+        Duration duration,
+        Histogram latency,
+        Map<Long, Long> completedPerSecond
+) {
+
+    public double messagesPerSecond() {
+        return duration.isZero() ? 0 : completed * 1_000_000_000.0 / duration.toNanos();
+    }
+
+    public long latencyPercentileMicros(double percentile) {
+        return latency.getValueAtPercentile(percentile);
+    }
+
+    public void print(PrintStream out) {
+        out.printf(Locale.ROOT, "sent=%d completed=%d rejected(503)=%d failed=%d duration=%.1fs throughput=%.0f msg/s%n",
+                sent, completed, rejected, failed, duration.toMillis() / 1000.0, messagesPerSecond());
+        out.printf(Locale.ROOT, "latency us: p50=%d p90=%d p99=%d p99.9=%d max=%d%n",
+                latencyPercentileMicros(50), latencyPercentileMicros(90), latencyPercentileMicros(99),
+                latencyPercentileMicros(99.9), latency.getMaxValue());
+    }
+
+    /*
+     * Writes latency.hgrm (HdrHistogram percentile distribution, microseconds) and throughput.csv (second,completed)
+     * to the directory.
+     */
+    public void writeTo(Path directory) throws IOException {
+        Files.createDirectories(directory);
+        try (PrintStream out = new PrintStream(Files.newOutputStream(directory.resolve("latency.hgrm")))) {
+            latency.outputPercentileDistribution(out, 1.0);
+        }
+        StringBuilder csv = new StringBuilder("second,completed\n");
+        completedPerSecond.forEach((second, count) -> csv.append(second).append(',').append(count).append('\n'));
+        Files.writeString(directory.resolve("throughput.csv"), csv);
+    }
+}
@@ -0,0 +1,69 @@
+package com.rocket.api.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.rocket.api.RocketApiApplication;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.testcontainers.containers.PostgreSQLContainer;
+
+import java.net.URI;
+import java.nio.file.Path;
+import java.util.List;
+
+/*
+ * End-to-end load test on localhost: starts PostgreSQL in a container, boots the API on a random port against it,
+ * sends the traffic of a LoadProfile through LoadGenerator and checks the resulting states with StateVerifier.
+ *
+ * Configured by loadtest.* system properties (see LoadProfile), results go to loadtest.output (default
+ * build/loadtest). Exits with 1 when a message failed or a state does not match.
+ */
+public final class LoadTest {
+
+    private LoadTest() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadProfile profile = LoadProfile.from(System.getProperties());
+        Path output = Path.of(System.getProperty("loadtest.output", "build/loadtest"));
+        ObjectMapper objectMapper = JsonMapper.builder().findAndAddModules().build();
+
+        TrafficPlan plan = TrafficPlan.generate(profile, objectMapper);
+        System.out.printf("%s: %d messages (%d late) on %d channels%n", profile.mode(), plan.messages().size(),
+                plan.lateMessages().size(), profile.channels());
+
+        boolean passed;
+        try (PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16-alpine")) {
+            postgres.start();
+            try (ConfigurableApplicationContext app = start(postgres)) {
+                URI baseUri = URI.create("http://localhost:" + app.getEnvironment().getRequiredProperty("local.server.port"));
+
+                LoadResult result;
+                try (LoadGenerator generator = new LoadGenerator(baseUri, profile)) {
+                    result = generator.run(plan);
+                }
+                result.print(System.out);
+                result.writeTo(output);
+
+                List<String> differences = new StateVerifier(baseUri, objectMapper).verify(plan.expected(), profile.verifyTimeout());
+                differences.stream().limit(20).forEach(difference -> System.out.println("MISMATCH " + difference));
+                System.out.printf("%d of %d channels match the expected state, results in %s%n",
+                        plan.expected().size() - differences.stream().map(d -> d.substring(0, d.indexOf(':'))).distinct().count(),
+                        plan.expected().size(), output.toAbsolutePath());
+                passed = differences.isEmpty() && result.failed() == 0;
+            }
+        }
+        System.exit(passed ? 0 : 1);
+    }
+
+    // Command line arguments, default properties would lose against application.yml
+    private static ConfigurableApplicationContext start(PostgreSQLContainer<?> postgres) {
+        return new SpringApplicationBuilder(RocketApiApplication.class).run(
+                "--server.port=0",
+                "--spring.datasource.url=" + postgres.getJdbcUrl(),
+                "--spring.datasource.username=" + postgres.getUsername(),
+                "--spring.datasource.password=" + postgres.getPassword(),
+                // Per message debug logging would dominate the measurement
+                "--logging.level.com.rocket=WARN");
+    }
+}
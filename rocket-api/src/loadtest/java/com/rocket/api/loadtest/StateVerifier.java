@@ -0,0 +1,91 @@
+package com.rocket.api.loadtest;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.rocket.api.domain.RocketState;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+
+/*
+ * Compares GET /rockets with the expected states of a plan: type, mission, speed, status, exploded reason and the
+ * stale flag of every channel. State updates can trail the ingest responses (e.g. after a handoff), so the comparison
+ * is repeated until it matches or the timeout passes.
+ */
+public final class StateVerifier {
+
+    private static final Duration POLL_INTERVAL = Duration.ofMillis(500);
+
+    private final URI rocketsUri;
+    private final ObjectMapper objectMapper;
+
+    public StateVerifier(URI baseUri, ObjectMapper objectMapper) {
+        this.rocketsUri = baseUri.resolve("/rockets");
+        this.objectMapper = objectMapper;
+    }
+
+    /*
+     * Differences left at the timeout, one line per channel, empty when every channel matches.
+     */
+    public List<String> verify(Map<UUID, RocketState> expected, Duration timeout) throws IOException, InterruptedException {
+        long deadline = System.nanoTime() + timeout.toNanos();
+        try (HttpClient client = HttpClient.newHttpClient()) {
+            while (true) {
+                List<String> differences = differences(expected, fetch(client));
+                if (differences.isEmpty() || System.nanoTime() > deadline) {
+                    return differences;
+                }
+                Thread.sleep(POLL_INTERVAL);
+            }
+        }
+    }
+
+    private Map<UUID, Map<String, Object>> fetch(HttpClient client) throws IOException, InterruptedException {
+        HttpResponse<String> response = client.send(HttpRequest.newBuilder(rocketsUri).GET().build(), HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() != 200) {
+            throw new IOException("GET /rockets returned " + response.statusCode());
+        }
+        List<Map<String, Object>> rockets = objectMapper.readValue(response.body(), new TypeReference<>() {});
+        Map<UUID, Map<String, Object>> byId = new HashMap<>();
+        for (Map<String, Object> rocket : rockets) {
+            byId.put(UUID.fromString((String) rocket.get("id")), rocket);
+        }
+        return byId;
+    }
+
+    private static List<String> differences(Map<UUID, RocketState> expected, Map<UUID, Map<String, Object>> actual) {
+        List<String> differences = new ArrayList<>();
+        expected.forEach((channel, state) -> {
+            Map<String, Object> rocket = actual.get(channel);
+            if (rocket == null) {
+                differences.add(channel + ": missing");
+                return;
+            }
+            Map<String, Object> wanted = new HashMap<>();
+            wanted.put("type", state.rocketType());
+            wanted.put("mission", state.mission());
+            wanted.put("speed", state.speed());
+            wanted.put("status", state.status().name());
+            wanted.put("explodedReason", state.explodedReason());
+            wanted.put("stale", state.stale());
+            wanted.forEach((field, value) -> {
+                Object got = rocket.get(field);
+                // Absent and false are the same for the stale flag
+                if (!Objects.equals(value, got) && !(Boolean.FALSE.equals(value) && got == null)) {
+                    differences.add(channel + ": " + field + " expected " + value + " but was " + got);
+                }
+            });
+        });
+        return differences;
+    }
+}
@@ -0,0 +1,186 @@
+package com.rocket.api.loadtest;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.rocket.api.domain.MessageType;
+import com.rocket.api.domain.RocketEvent;
+import com.rocket.api.domain.RocketState;
+import com.rocket.api.domain.UtcDateTime;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+
+/*
+ * The messages of one run in send order, and the state every channel must end in once all of them are delivered.
+ *
+ * Expected states are the sequential replay (RocketState.applyAll) of the events the server receives, in message
+ * number order without duplicates: a dropped message leaves the channel stale at the message before it, exactly as
+ * the server's own replay does.
+ */
+public final class TrafficPlan {
+
+    private static final String[] ROCKET_TYPES = {"Falcon-9", "Falcon-Heavy", "Saturn-V", "Ariane-6", "Starship"};
+    private static final String[] MISSIONS = {"ARTEMIS", "APOLLO", "GEMINI", "MERCURY", "VOYAGER", "CASSINI"};
+    private static final String[] EXPLODED_REASONS = {"PRESSURE_VESSEL_FAILURE", "ENGINE_FAILURE", "GUIDANCE_FAILURE"};
+    private static final Instant FIRST_MESSAGE_TIME = Instant.parse("2022-02-02T18:39:05Z");
+
+    private final List<Message> messages;
+    private final List<Message> lateMessages;
+    private final Map<UUID, RocketState> expected;
+
+    /*
+     * A message as sent: its JSON body and where it belongs.
+     */
+    public record Message(UUID channel, int messageNumber, String body) {
+    }
+
+    private TrafficPlan(List<Message> messages, List<Message> lateMessages, Map<UUID, RocketState> expected) {
+        this.messages = messages;
+        this.lateMessages = lateMessages;
+        this.expected = expected;
+    }
+
+    public static TrafficPlan generate(LoadProfile profile, ObjectMapper objectMapper) {
+        Random random = new Random(profile.seed());
+        UtcDateTime now = UtcDateTime.now(Clock.systemUTC());
+        List<List<Message>> perChannel = new ArrayList<>(profile.channels());
+        List<Message> lateMessages = new ArrayList<>();
+        Map<UUID, RocketState> expected = new LinkedHashMap<>();
+
+        for (int i = 0; i < profile.channels(); i++) {
+            UUID channel = new UUID(random.nextLong(), random.nextLong());
+            List<RocketEvent> events = events(channel, profile, random);
+
+            List<RocketEvent> delivered = new ArrayList<>(events);
+            RocketEvent withheld = null;
+            // Never the launch, a channel without one has no meaningful state to compare
+            if (events.size() > 1 && random.nextDouble() < profile.gapRate()) {
+                withheld = delivered.remove(1 + random.nextInt(events.size() - 1));
+            }
+            List<RocketEvent> received = new ArrayList<>(delivered);
+            if (withheld != null && profile.gapPattern() == LoadProfile.GapPattern.LATE) {
+                lateMessages.add(message(withheld, objectMapper));
+                received.add(withheld);
+                received.sort(Comparator.comparing(RocketEvent::messageNumber));
+            }
+            expected.put(channel, RocketState.empty(channel, now).applyAll(received, now));
+
+            List<Message> sent = new ArrayList<>(delivered.size());
+            for (RocketEvent event : delivered) {
+                sent.add(message(event, objectMapper));
+            }
+            perChannel.add(disturb(sent, profile, random));
+        }
+        return new TrafficPlan(interleave(perChannel, random), lateMessages, expected);
+    }
+
+    /*
+     * Messages of the main phase, channels interleaved.
+     */
+    public List<Message> messages() {
+        return messages;
+    }
+
+    /*
+     * Messages held back by GapPattern.LATE, sent after the main phase completed.
+     */
+    public List<Message> lateMessages() {
+        return lateMessages;
+    }
+
+    public Map<UUID, RocketState> expected() {
+        return expected;
+    }
+
+    private static List<RocketEvent> events(UUID channel, LoadProfile profile, Random random) {
+        List<RocketEvent> events = new ArrayList<>(profile.eventsPerChannel());
+        events.add(new RocketEvent(channel, 1, time(0), MessageType.RocketLaunched, Map.of(
+                "type", pick(ROCKET_TYPES, random),
+                "launchSpeed", 500 + random.nextInt(4_500),
+                "mission", pick(MISSIONS, random))));
+
+        LoadProfile.EventMix mix = profile.mix();
+        for (int messageNumber = 2; messageNumber <= profile.eventsPerChannel(); messageNumber++) {
+            int draw = random.nextInt(mix.total());
+            RocketEvent event;
+            if ((draw -= mix.speedIncreased()) < 0) {
+                event = new RocketEvent(channel, messageNumber, time(messageNumber), MessageType.RocketSpeedIncreased,
+                        Map.of("by", 1 + random.nextInt(3_000)));
+            } else if ((draw -= mix.speedDecreased()) < 0) {
+                event = new RocketEvent(channel, messageNumber, time(messageNumber), MessageType.RocketSpeedDecreased,
+                        Map.of("by", 1 + random.nextInt(3_000)));
+            } else if (draw - mix.missionChanged() < 0) {
+                event = new RocketEvent(channel, messageNumber, time(messageNumber), MessageType.RocketMissionChanged,
+                        Map.of("newMission", pick(MISSIONS, random)));
+            } else {
+                event = new RocketEvent(channel, messageNumber, time(messageNumber), MessageType.RocketExploded,
+                        Map.of("reason", pick(EXPLODED_REASONS, random)));
+            }
+            events.add(event);
+        }
+        return events;
+    }
+
+    // Swaps and duplicates within the reorder window, so disturbances stay local as with a real at-least-once sender
+    private static List<Message> disturb(List<Message> sent, LoadProfile profile, Random random) {
+        List<Message> disturbed = new ArrayList<>(sent);
+        int window = Math.max(1, profile.reorderWindow());
+        for (int i = 0; i < disturbed.size() - 1; i++) {
+            if (random.nextDouble() < profile.outOfOrderRate()) {
+                Collections.swap(disturbed, i, Math.min(disturbed.size() - 1, i + 1 + random.nextInt(window)));
+            }
+        }
+        for (int i = disturbed.size() - 1; i >= 0; i--) {
+            if (random.nextDouble() < profile.duplicateRate()) {
+                disturbed.add(Math.min(disturbed.size(), i + 1 + random.nextInt(window)), disturbed.get(i));
+            }
+        }
+        return disturbed;
+    }
+
+    // Round robin over the channels in random order, each round takes the next message of every channel left
+    private static List<Message> interleave(List<List<Message>> perChannel, Random random) {
+        List<List<Message>> channels = new ArrayList<>(perChannel);
+        Collections.shuffle(channels, random);
+        List<Message> interleaved = new ArrayList<>();
+        for (int round = 0; !channels.isEmpty(); round++) {
+            int position = round;
+            channels.removeIf(messages -> messages.size() <= position);
+            for (List<Message> messages : channels) {
+                interleaved.add(messages.get(position));
+            }
+        }
+        return interleaved;
+    }
+
+    private static Message message(RocketEvent event, ObjectMapper objectMapper) {
+        Map<String, Object> metadata = new LinkedHashMap<>();
+        metadata.put("channel", event.channel().toString());
+        metadata.put("messageNumber", event.messageNumber());
+        metadata.put("messageTime", event.messageTime().toOffsetDateTime().toString());
+        metadata.put("messageType", event.messageType().name());
+        try {
+            String body = objectMapper.writeValueAsString(Map.of("metadata", metadata, "message", event.payload()));
+            return new Message(event.channel(), event.messageNumber(), body);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot encode message", e);
+        }
+    }
+
+    private static UtcDateTime time(int messageNumber) {
+        return UtcDateTime.of(FIRST_MESSAGE_TIME.plusSeconds(messageNumber).atOffset(ZoneOffset.UTC));
+    }
+
+    private static String pick(String[] values, Random random) {
+        return values[random.nextInt(values.length)];
+    }
+}
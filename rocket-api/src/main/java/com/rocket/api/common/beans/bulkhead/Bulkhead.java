@@ -0,0 +1,94 @@
+package com.rocket.api.common.beans.bulkhead;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/*
+ * Caps the number of threads inside one kind of work. A caller finding all slots taken waits up to maxWait, but only
+ * while fewer than maxWaiting others already do; otherwise it is turned away at once.
+ *
+ * Reported as rocket.bulkhead.active, rocket.bulkhead.waiting and rocket.bulkhead.rejected, tagged with the name.
+ */
+public class Bulkhead {
+
+    private final String name;
+    private final Workload workload;
+    private final int maxConcurrent;
+    private final int maxWaiting;
+    private final Duration maxWait;
+    private final Semaphore slots;
+    private final AtomicInteger waiting = new AtomicInteger();
+    private final Counter rejected;
+
+    public Bulkhead(String name, Workload workload, int maxConcurrent, int maxWaiting, Duration maxWait, MeterRegistry meterRegistry) {
+        this.name = name;
+        this.workload = workload;
+        this.maxConcurrent = maxConcurrent;
+        this.maxWaiting = maxWaiting;
+        this.maxWait = maxWait;
+        this.slots = new Semaphore(maxConcurrent);
+        Gauge.builder("rocket.bulkhead.active", this, Bulkhead::active)
+                .tag("bulkhead", name)
+                .description("Threads inside the bulkhead")
+                .register(meterRegistry);
+        Gauge.builder("rocket.bulkhead.max", this, bulkhead -> bulkhead.maxConcurrent)
+                .tag("bulkhead", name)
+                .description("Threads the bulkhead admits at the same time")
+                .register(meterRegistry);
+        Gauge.builder("rocket.bulkhead.waiting", waiting, AtomicInteger::get)
+                .tag("bulkhead", name)
+                .description("Threads waiting for a slot of the bulkhead")
+                .register(meterRegistry);
+        this.rejected = Counter.builder("rocket.bulkhead.rejected")
+                .tag("bulkhead", name)
+                .description("Calls turned away because the bulkhead was full")
+                .register(meterRegistry);
+    }
+
+    /*
+     * Takes a slot, waiting if allowed. Every successful call must be followed by one exit.
+     */
+    public boolean tryEnter() {
+        if (slots.tryAcquire()) {
+            return true;
+        }
+        if (waiting.incrementAndGet() > maxWaiting) {
+            waiting.decrementAndGet();
+            rejected.increment();
+            return false;
+        }
+        try {
+            if (slots.tryAcquire(maxWait.toNanos(), TimeUnit.NANOSECONDS)) {
+                return true;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            waiting.decrementAndGet();
+        }
+        rejected.increment();
+        return false;
+    }
+
+    public void exit() {
+        slots.release();
+    }
+
+    public String name() {
+        return name;
+    }
+
+    public Workload workload() {
+        return workload;
+    }
+
+    private int active() {
+        return maxConcurrent - slots.availablePermits();
+    }
+}
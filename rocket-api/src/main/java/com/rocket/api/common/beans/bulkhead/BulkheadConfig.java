@@ -0,0 +1,36 @@
+package com.rocket.api.common.beans.bulkhead;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/*
+ * Request bulkheads. Ingest has its own adaptive limit (IngestAdmission); the limits here together with it stay below
+ * the Tomcat thread pool, so no workload can take every request thread.
+ */
+@Configuration(proxyBeanMethods = false)
+public class BulkheadConfig {
+
+    @Bean
+    public Bulkhead queryBulkhead(
+            @Value("${rocket.bulkhead.query.max-concurrent:50}") int maxConcurrent,
+            @Value("${rocket.bulkhead.query.max-waiting:100}") int maxWaiting,
+            @Value("${rocket.bulkhead.query.max-wait:200ms}") Duration maxWait,
+            MeterRegistry meterRegistry
+    ) {
+        return new Bulkhead("query", Workload.QUERY, maxConcurrent, maxWaiting, maxWait, meterRegistry);
+    }
+
+    @Bean
+    public Bulkhead adminBulkhead(
+            @Value("${rocket.bulkhead.admin.max-concurrent:2}") int maxConcurrent,
+            @Value("${rocket.bulkhead.admin.max-waiting:0}") int maxWaiting,
+            @Value("${rocket.bulkhead.admin.max-wait:0s}") Duration maxWait,
+            MeterRegistry meterRegistry
+    ) {
+        return new Bulkhead("admin", Workload.JOBS, maxConcurrent, maxWaiting, maxWait, meterRegistry);
+    }
+}
@@ -0,0 +1,60 @@
+package com.rocket.api.common.beans.bulkhead;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/*
+ * Bounded pool for background work such as post-import recomputation and the typed column backfill. Tasks run as
+ * Workload.JOBS and therefore on the jobs connection pool. A task submitted while the queue is full is rejected with
+ * RejectedExecutionException.
+ *
+ * Saturation is reported through the executor metrics tagged name=rocket-jobs, and rocket.jobs.rejected.
+ */
+@Component
+public class JobExecutor {
+
+    private final Counter rejected;
+    private final ThreadPoolExecutor executor;
+
+    public JobExecutor(
+            @Value("${rocket.bulkhead.jobs.threads:4}") int threads,
+            @Value("${rocket.bulkhead.jobs.queue-capacity:1000}") int queueCapacity,
+            MeterRegistry meterRegistry
+    ) {
+        this.rejected = Counter.builder("rocket.jobs.rejected")
+                .description("Background tasks rejected because the job queue was full")
+                .register(meterRegistry);
+        this.executor = new ThreadPoolExecutor(
+                threads,
+                threads,
+                0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                Thread.ofPlatform().daemon().name("rocket-job-", 0).factory(),
+                (task, pool) -> {
+                    rejected.increment();
+                    throw new RejectedExecutionException("Job queue is full");
+                });
+        new ExecutorServiceMetrics(executor, "rocket-jobs", Tags.empty()).bindTo(meterRegistry);
+    }
+
+    public Future<?> submit(Runnable task) {
+        return executor.submit(() -> Workload.JOBS.run(task));
+    }
+
+    @PreDestroy
+    public void close() throws InterruptedException {
+        executor.shutdownNow();
+        executor.awaitTermination(10, TimeUnit.SECONDS);
+    }
+}
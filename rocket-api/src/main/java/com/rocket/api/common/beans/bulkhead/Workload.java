@@ -0,0 +1,57 @@
+package com.rocket.api.common.beans.bulkhead;
+
+import java.util.function.Supplier;
+
+/*
+ * Kind of work the current thread is doing. It selects the connection pool a statement runs on, see
+ * DataSourceBulkheadsConfig. Threads that never bind one count as ingest.
+ */
+public enum Workload {
+
+    INGEST,
+    QUERY,
+    JOBS;
+
+    private static final ThreadLocal<Workload> CURRENT = new ThreadLocal<>();
+
+    public static Workload current() {
+        Workload workload = CURRENT.get();
+        return workload != null ? workload : INGEST;
+    }
+
+    /*
+     * Binds this workload to the current thread until unbind, for work that starts and ends in different callbacks.
+     */
+    public void bind() {
+        CURRENT.set(this);
+    }
+
+    public static void unbind() {
+        CURRENT.remove();
+    }
+
+    public <T> T call(Supplier<T> work) {
+        Workload previous = CURRENT.get();
+        CURRENT.set(this);
+        try {
+            return work.get();
+        } finally {
+            restore(previous);
+        }
+    }
+
+    public void run(Runnable work) {
+        call(() -> {
+            work.run();
+            return null;
+        });
+    }
+
+    private static void restore(Workload previous) {
+        if (previous != null) {
+            CURRENT.set(previous);
+        } else {
+            CURRENT.remove();
+        }
+    }
+}
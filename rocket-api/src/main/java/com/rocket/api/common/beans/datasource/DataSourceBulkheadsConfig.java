@@ -0,0 +1,142 @@
+package com.rocket.api.common.beans.datasource;
+
+import com.rocket.api.common.beans.bulkhead.Workload;
+import com.rocket.api.common.beans.storage.OnPostgresStorage;
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+import javax.sql.DataSource;
+import java.util.Map;
+
+/*
+ * One connection pool per workload, so a burst of one kind of work cannot take the connections of another:
+ * rocket-ingest for message ingest and everything unmarked, rocket-read for read-only transactions, rocket-query for
+ * other statements of threads running as Workload.QUERY (reads repeated on the primary) and rocket-jobs for threads
+ * running as Workload.JOBS (admin requests, background jobs).
+ */
+@Configuration(proxyBeanMethods = false)
+@OnPostgresStorage
+@ConditionalOnProperty(name = "rocket.datasource.bulkheads.enabled", havingValue = "true", matchIfMissing = true)
+public class DataSourceBulkheadsConfig {
+
+    /*
+     * The pool Spring Boot would create from spring.datasource.
+     */
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource ingestDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = pool(properties);
+        dataSource.setPoolName("rocket-ingest");
+        return dataSource;
+    }
+
+    /*
+     * Pool for read-only transactions, on rocket.datasource.read.url (a streaming replica) or, without one, on the
+     * primary. Driver settings are the ingest pool's.
+     */
+    @Bean
+    public HikariDataSource readDataSource(
+            DataSourceProperties properties,
+            @Qualifier("ingestDataSource") HikariDataSource ingestDataSource,
+            @Value("${rocket.datasource.read.url:}") String url,
+            @Value("${rocket.datasource.read.username:}") String username,
+            @Value("${rocket.datasource.read.password:}") String password,
+            @Value("${rocket.datasource.read.maximum-pool-size:10}") int maximumPoolSize,
+            @Value("${rocket.datasource.read.minimum-idle:2}") int minimumIdle
+    ) {
+        HikariDataSource dataSource = pool(properties);
+        if (!url.isBlank()) {
+            dataSource.setJdbcUrl(url);
+        }
+        if (!username.isBlank()) {
+            dataSource.setUsername(username);
+            dataSource.setPassword(password);
+        }
+        dataSource.setDataSourceProperties(ingestDataSource.getDataSourceProperties());
+        dataSource.setMaximumPoolSize(maximumPoolSize);
+        dataSource.setMinimumIdle(minimumIdle);
+        dataSource.setReadOnly(true);
+        dataSource.setPoolName("rocket-read");
+        return dataSource;
+    }
+
+    /*
+     * Pool on the primary for query requests outside read-only transactions, such as reads ReplicaReads repeats
+     * because the replica lagged. It must not be the read pool, which may be that replica. Empty while nothing runs.
+     */
+    @Bean
+    public HikariDataSource queryDataSource(
+            DataSourceProperties properties,
+            @Qualifier("ingestDataSource") HikariDataSource ingestDataSource,
+            @Value("${rocket.datasource.query.maximum-pool-size:4}") int maximumPoolSize,
+            @Value("${rocket.datasource.query.minimum-idle:0}") int minimumIdle
+    ) {
+        HikariDataSource dataSource = pool(properties);
+        dataSource.setDataSourceProperties(ingestDataSource.getDataSourceProperties());
+        dataSource.setMaximumPoolSize(maximumPoolSize);
+        dataSource.setMinimumIdle(minimumIdle);
+        dataSource.setPoolName("rocket-query");
+        return dataSource;
+    }
+
+    /*
+     * Small pool on the primary for admin and background work, empty while nothing runs.
+     */
+    @Bean
+    public HikariDataSource jobsDataSource(
+            DataSourceProperties properties,
+            @Qualifier("ingestDataSource") HikariDataSource ingestDataSource,
+            @Value("${rocket.datasource.jobs.maximum-pool-size:4}") int maximumPoolSize,
+            @Value("${rocket.datasource.jobs.minimum-idle:0}") int minimumIdle
+    ) {
+        HikariDataSource dataSource = pool(properties);
+        dataSource.setDataSourceProperties(ingestDataSource.getDataSourceProperties());
+        dataSource.setMaximumPoolSize(maximumPoolSize);
+        dataSource.setMinimumIdle(minimumIdle);
+        dataSource.setPoolName("rocket-jobs");
+        return dataSource;
+    }
+
+    /*
+     * Read-only transactions get a connection of the read pool, everything else one of the pool of the current
+     * workload. Connections are fetched lazily, on the first statement, when the read-only flag is known.
+     */
+    @Bean
+    @Primary
+    public DataSource dataSource(
+            @Qualifier("ingestDataSource") DataSource ingestDataSource,
+            @Qualifier("readDataSource") DataSource readDataSource,
+            @Qualifier("queryDataSource") DataSource queryDataSource,
+            @Qualifier("jobsDataSource") DataSource jobsDataSource
+    ) {
+        WorkloadRoutingDataSource byWorkload = new WorkloadRoutingDataSource();
+        byWorkload.setTargetDataSources(Map.of(Workload.QUERY, queryDataSource, Workload.JOBS, jobsDataSource));
+        byWorkload.setDefaultTargetDataSource(ingestDataSource);
+        byWorkload.afterPropertiesSet();
+
+        LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy(byWorkload);
+        dataSource.setReadOnlyDataSource(readDataSource);
+        return dataSource;
+    }
+
+    private static HikariDataSource pool(DataSourceProperties properties) {
+        return properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+
+    private static class WorkloadRoutingDataSource extends AbstractRoutingDataSource {
+
+        @Override
+        protected Object determineCurrentLookupKey() {
+            return Workload.current();
+        }
+    }
+}
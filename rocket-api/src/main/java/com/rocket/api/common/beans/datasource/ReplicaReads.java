@@ -0,0 +1,57 @@
+package com.rocket.api.common.beans.datasource;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/*
+ * Runs query reads in a read-only transaction, which DataSourceBulkheadsConfig routes to the read pool. Without
+ * rocket.datasource.bulkheads.enabled a read runs as before, without a transaction.
+ *
+ * A replica may lag behind the primary. With the staleness check on, a result the caller does not consider fresh
+ * is read again outside the read-only transaction, from the primary, and counted in rocket.datasource.read.stale.
+ */
+@Component
+@Slf4j
+public class ReplicaReads {
+
+    private final boolean enabled;
+    private final boolean stalenessCheck;
+    private final TransactionTemplate readOnly;
+    private final Counter stale;
+
+    public ReplicaReads(
+            @Value("${rocket.datasource.bulkheads.enabled:true}") boolean enabled,
+            @Value("${rocket.datasource.read.staleness-check:true}") boolean stalenessCheck,
+            PlatformTransactionManager transactionManager,
+            MeterRegistry meterRegistry
+    ) {
+        this.enabled = enabled;
+        this.stalenessCheck = stalenessCheck;
+        this.readOnly = new TransactionTemplate(transactionManager);
+        this.readOnly.setReadOnly(true);
+        this.stale = Counter.builder("rocket.datasource.read.stale")
+                .description("Reads repeated on the primary because the read pool returned an outdated result")
+                .register(meterRegistry);
+    }
+
+    public <T> T read(Supplier<T> query, Predicate<T> fresh) {
+        if (!enabled) {
+            return query.get();
+        }
+        T result = readOnly.execute(status -> query.get());
+        if (stalenessCheck && !fresh.test(result)) {
+            stale.increment();
+            log.debug("Read pool returned an outdated result, reading from the primary");
+            return query.get();
+        }
+        return result;
+    }
+}
@@ -0,0 +1,23 @@
+package com.rocket.api.common.beans.replay;
+
+import com.rocket.api.domain.SegmentedReplay;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration(proxyBeanMethods = false)
+public class ReplayConfig {
+
+    /*
+     * Tails of at least min-events-to-split events are replayed in segments of segment-size events on the replay
+     * pool, shorter ones on the calling thread.
+     */
+    @Bean
+    public SegmentedReplay segmentedReplay(
+            ReplayPool replayPool,
+            @Value("${rocket.replay.min-events-to-split:4000}") int minEventsToSplit,
+            @Value("${rocket.replay.segment-size:1000}") int segmentSize
+    ) {
+        return new SegmentedReplay(replayPool.pool(), minEventsToSplit, segmentSize);
+    }
+}
@@ -0,0 +1,52 @@
+package com.rocket.api.common.beans.replay;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.TimeUnit;
+
+/*
+ * Fork-join pool of the segmented replay, separate from the common pool so parallel streams elsewhere cannot starve a
+ * rebuild and a rebuild cannot starve them. Replay is pure computation, its threads never touch the database.
+ *
+ * Not a bean itself: an Executor bean would replace the task executor Spring Boot configures for MVC async requests.
+ * Saturation is reported through the executor metrics tagged name=rocket-replay.
+ */
+@Component
+public class ReplayPool {
+
+    private final ForkJoinPool pool;
+
+    public ReplayPool(
+            @Value("${rocket.replay.parallelism:0}") int parallelism,
+            MeterRegistry meterRegistry
+    ) {
+        this.pool = new ForkJoinPool(
+                parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors(),
+                forkJoinPool -> {
+                    ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(forkJoinPool);
+                    thread.setName("rocket-replay-" + thread.getPoolIndex());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                null,
+                false);
+        new ExecutorServiceMetrics(pool, "rocket-replay", Tags.empty()).bindTo(meterRegistry);
+    }
+
+    public ForkJoinPool pool() {
+        return pool;
+    }
+
+    @PreDestroy
+    public void close() throws InterruptedException {
+        pool.shutdownNow();
+        pool.awaitTermination(10, TimeUnit.SECONDS);
+    }
+}
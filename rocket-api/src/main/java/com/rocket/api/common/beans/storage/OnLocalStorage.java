@@ -0,0 +1,18 @@
+package com.rocket.api.common.beans.storage;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/*
+ * Registers the bean only with rocket.storage.type=local, the single node mode without a database
+ * (see the local profile).
+ */
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.RUNTIME)
+@ConditionalOnProperty(name = "rocket.storage.type", havingValue = "local")
+public @interface OnLocalStorage {
+}
@@ -8,7 +8,7 @@ import lombok.Getter;
  */
 @Getter
 public sealed abstract class ApplicationException extends RuntimeException permits BusinessRuleViolationException, ForbiddenException,
-    InternalServerException, ResourceOrEntityNotFoundException, UnauthorizedException, ValidationException {
+    InternalServerException, ResourceOrEntityNotFoundException, ServiceUnavailableException, UnauthorizedException, ValidationException {
 
   protected final String errorCode;
   protected final String errorMessage;
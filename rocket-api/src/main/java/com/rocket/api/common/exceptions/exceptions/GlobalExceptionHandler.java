@@ -5,6 +5,7 @@ import com.rocket.api.common.uuid.UuidProvider;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.dao.DataAccessException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ExceptionHandler;
@@ -61,6 +62,11 @@ public class GlobalExceptionHandler {
             ErrorResponse.responseWithoutCustomDataModel(new InternalServerError(), e.errorMessage, e.errorCode, uuidGenerator.nextUuidV7()),
             HttpStatus.INTERNAL_SERVER_ERROR);
       }
+      case ServiceUnavailableException e -> {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+            .header(HttpHeaders.RETRY_AFTER, String.valueOf(Math.max(1, e.getRetryAfter().toSeconds())))
+            .body(ErrorResponse.responseWithoutCustomDataModel(new ServiceUnavailable(), e.errorMessage, e.errorCode, uuidGenerator.nextUuidV7()));
+      }
       case UnauthorizedException e -> {
         return new ResponseEntity<>(
             ErrorResponse.responseWithoutCustomDataModel(new Unauthorized(), e.errorMessage, e.errorCode, uuidGenerator.nextUuidV7()),
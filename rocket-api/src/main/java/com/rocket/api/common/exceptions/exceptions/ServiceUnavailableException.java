@@ -0,0 +1,27 @@
+package com.rocket.api.common.exceptions.exceptions;
+
+import lombok.EqualsAndHashCode;
+import lombok.Value;
+
+import java.time.Duration;
+
+/*
+ * Request turned away because the service is overloaded, answered with 503 and a Retry-After header. Thrown on hot
+ * paths while shedding load, so it carries no stack trace.
+ */
+@EqualsAndHashCode(callSuper = true)
+@Value
+public class ServiceUnavailableException extends ApplicationException {
+
+  Duration retryAfter;
+
+  public ServiceUnavailableException(String errorCode, String errorMessage, Duration retryAfter) {
+    super(errorCode, errorMessage);
+    this.retryAfter = retryAfter;
+  }
+
+  @Override
+  public synchronized Throwable fillInStackTrace() {
+    return this;
+  }
+}
@@ -2,7 +2,7 @@ package com.rocket.api.common.exceptions.exceptions.status;
 
 import com.fasterxml.jackson.annotation.JsonValue;
 
-public sealed abstract class ErrorHttpStatus permits BadRequest, Conflict, Forbidden, InternalServerError, NotFound, Unauthorized{
+public sealed abstract class ErrorHttpStatus permits BadRequest, Conflict, Forbidden, InternalServerError, NotFound, ServiceUnavailable, Unauthorized{
   private final Integer code;
 
   public ErrorHttpStatus(int code) {
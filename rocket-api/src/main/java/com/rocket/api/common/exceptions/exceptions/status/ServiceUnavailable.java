@@ -0,0 +1,7 @@
+package com.rocket.api.common.exceptions.exceptions.status;
+
+public final class ServiceUnavailable extends ErrorHttpStatus {
+  public ServiceUnavailable() {
+    super(503);
+  }
+}
@@ -1,9 +1,33 @@
 package com.rocket.api.domain;
 
+/*
+ * Codes are stable identifiers used by the binary encoding and the event store, independent of declaration order.
+ */
 public enum MessageType {
-    RocketLaunched,
-    RocketSpeedIncreased,
-    RocketSpeedDecreased,
-    RocketExploded,
-    RocketMissionChanged
-}
\ No newline at end of file
+    RocketLaunched(1),
+    RocketSpeedIncreased(2),
+    RocketSpeedDecreased(3),
+    RocketExploded(4),
+    RocketMissionChanged(5);
+
+    private final int code;
+
+    MessageType(int code) {
+        this.code = code;
+    }
+
+    public int code() {
+        return code;
+    }
+
+    public static MessageType fromCode(int code) {
+        return switch (code) {
+            case 1 -> RocketLaunched;
+            case 2 -> RocketSpeedIncreased;
+            case 3 -> RocketSpeedDecreased;
+            case 4 -> RocketExploded;
+            case 5 -> RocketMissionChanged;
+            default -> throw new IllegalArgumentException("Unknown message type code " + code);
+        };
+    }
+}
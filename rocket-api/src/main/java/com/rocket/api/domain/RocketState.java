@@ -3,6 +3,7 @@ package com.rocket.api.domain;
 import lombok.With;
 import java.util.List;
 import java.util.UUID;
+import java.util.function.BiConsumer;
 
 @With
 public record RocketState(
@@ -25,6 +26,13 @@ public record RocketState(
     }
 
     public RocketState applyAll(List<RocketEvent> events, UtcDateTime now) {
+        return applyAll(events, now, (event, state) -> {});
+    }
+
+    /*
+     * Same as applyAll, additionally reporting every applied event together with the state right after it.
+     */
+    public RocketState applyAll(List<RocketEvent> events, UtcDateTime now, BiConsumer<RocketEvent, RocketState> applied) {
         RocketState current = this;
         int expected = this.lastProcessedMsgNumber + 1;
 
@@ -34,6 +42,7 @@ public record RocketState(
             }
             expected = event.messageNumber() + 1;
             current = current.apply(event, now);
+            applied.accept(event, current);
         }
         return current;
     }
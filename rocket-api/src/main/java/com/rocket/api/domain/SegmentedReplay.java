@@ -0,0 +1,343 @@
+package com.rocket.api.domain;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.BiConsumer;
+
+/*
+ * Replays long event tails on several cores with the same result as RocketState.applyAll.
+ *
+ * A run of events is summarized as a transformer of the state: launch, mission change and explosion overwrite fields
+ * (last writer wins) and every speed change maps the speed s to max(floor, s + shift), a form that is closed under
+ * composition, the clamp at zero included. The tail is cut into segments that are summarized in parallel and the
+ * summaries are composed in order. When the caller wants every intermediate state, the start state of each segment
+ * follows from the composed summaries and the segments are replayed with applyAll in parallel as well.
+ *
+ * Message number gaps are found before splitting, the events after a gap are not applied and the result is stale,
+ * as with applyAll. Tails shorter than minEventsToSplit, and tails whose speeds could leave the int range (where
+ * applyAll wraps around), are replayed sequentially.
+ */
+public class SegmentedReplay {
+
+    private final ForkJoinPool pool;
+    private final int minEventsToSplit;
+    private final int segmentSize;
+
+    public SegmentedReplay(ForkJoinPool pool, int minEventsToSplit, int segmentSize) {
+        if (segmentSize < 1) {
+            throw new IllegalArgumentException("segmentSize must be positive");
+        }
+        this.pool = pool;
+        this.minEventsToSplit = minEventsToSplit;
+        this.segmentSize = segmentSize;
+    }
+
+    public RocketState applyAll(RocketState state, List<RocketEvent> events, UtcDateTime now) {
+        int applicable = applicablePrefix(state, events);
+        if (applicable < minEventsToSplit) {
+            return state.applyAll(events, now);
+        }
+        List<List<RocketEvent>> segments = segments(events.subList(0, applicable));
+        Summary summary = pool.invoke(new Summarize(segments, 0, segments.size()));
+        if (!summary.fitsInt(state.speed())) {
+            return state.applyAll(events, now);
+        }
+        RocketState replayed = summary.applyTo(state, now);
+        return applicable < events.size() ? replayed.withStale(true) : replayed;
+    }
+
+    /*
+     * Same as applyAll, reporting every applied event with the state right after it, in event order on the calling
+     * thread.
+     */
+    public RocketState applyAll(RocketState state, List<RocketEvent> events, UtcDateTime now, BiConsumer<RocketEvent, RocketState> applied) {
+        int applicable = applicablePrefix(state, events);
+        if (applicable < minEventsToSplit) {
+            return state.applyAll(events, now, applied);
+        }
+        List<List<RocketEvent>> segments = segments(events.subList(0, applicable));
+        List<Summary> summaries = pool.invoke(new SummarizeEach(segments));
+        Summary total = summaries.stream().reduce(Summary.IDENTITY, Summary::then);
+        if (!total.fitsInt(state.speed())) {
+            return state.applyAll(events, now, applied);
+        }
+
+        RocketState[] starts = new RocketState[segments.size()];
+        RocketState start = state;
+        for (int i = 0; i < starts.length; i++) {
+            starts[i] = start;
+            start = summaries.get(i).applyTo(start, now);
+        }
+        RocketState[][] states = new RocketState[segments.size()][];
+        pool.invoke(new ReplayEach(segments, starts, states, now));
+
+        for (int i = 0; i < states.length; i++) {
+            List<RocketEvent> segment = segments.get(i);
+            for (int j = 0; j < segment.size(); j++) {
+                applied.accept(segment.get(j), states[i][j]);
+            }
+        }
+        return applicable < events.size() ? start.withStale(true) : start;
+    }
+
+    // Number of leading events that applyAll applies: each must carry the message number after the previous one
+    private static int applicablePrefix(RocketState state, List<RocketEvent> events) {
+        int expected = state.lastProcessedMsgNumber() + 1;
+        for (int i = 0; i < events.size(); i++) {
+            if (events.get(i).messageNumber() != expected + i) {
+                return i;
+            }
+        }
+        return events.size();
+    }
+
+    private List<List<RocketEvent>> segments(List<RocketEvent> events) {
+        List<List<RocketEvent>> segments = new ArrayList<>(events.size() / segmentSize + 1);
+        for (int from = 0; from < events.size(); from += segmentSize) {
+            segments.add(events.subList(from, Math.min(events.size(), from + segmentSize)));
+        }
+        return segments;
+    }
+
+    private static final class Summarize extends RecursiveTask<Summary> {
+
+        private final List<List<RocketEvent>> segments;
+        private final int from;
+        private final int to;
+
+        Summarize(List<List<RocketEvent>> segments, int from, int to) {
+            this.segments = segments;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected Summary compute() {
+            if (to - from <= 1) {
+                return from < to ? Summary.of(segments.get(from)) : Summary.IDENTITY;
+            }
+            int middle = (from + to) >>> 1;
+            Summarize later = new Summarize(segments, middle, to);
+            later.fork();
+            Summary earlier = new Summarize(segments, from, middle).compute();
+            return earlier.then(later.join());
+        }
+    }
+
+    private static final class SummarizeEach extends RecursiveTask<List<Summary>> {
+
+        private final List<List<RocketEvent>> segments;
+
+        SummarizeEach(List<List<RocketEvent>> segments) {
+            this.segments = segments;
+        }
+
+        @Override
+        protected List<Summary> compute() {
+            List<Summarize> tasks = new ArrayList<>(segments.size());
+            for (int i = 0; i < segments.size(); i++) {
+                tasks.add(new Summarize(segments, i, i + 1));
+            }
+            invokeAll(tasks);
+            List<Summary> summaries = new ArrayList<>(tasks.size());
+            for (Summarize task : tasks) {
+                summaries.add(task.join());
+            }
+            return summaries;
+        }
+    }
+
+    private static final class ReplayEach extends RecursiveAction {
+
+        private final List<List<RocketEvent>> segments;
+        private final RocketState[] starts;
+        private final RocketState[][] states;
+        private final UtcDateTime now;
+
+        ReplayEach(List<List<RocketEvent>> segments, RocketState[] starts, RocketState[][] states, UtcDateTime now) {
+            this.segments = segments;
+            this.starts = starts;
+            this.states = states;
+            this.now = now;
+        }
+
+        @Override
+        protected void compute() {
+            List<ForkJoinTask<?>> tasks = new ArrayList<>(segments.size());
+            for (int i = 0; i < segments.size(); i++) {
+                int segment = i;
+                tasks.add(ForkJoinTask.adapt(() -> replay(segment)));
+            }
+            invokeAll(tasks);
+        }
+
+        private void replay(int segment) {
+            List<RocketEvent> events = segments.get(segment);
+            RocketState[] replayed = new RocketState[events.size()];
+            int[] next = {0};
+            starts[segment].applyAll(events, now, (event, state) -> replayed[next[0]++] = state);
+            states[segment] = replayed;
+        }
+    }
+
+    /*
+     * Effect of a run of gapless events on a state. Absent fields are left alone by the run.
+     */
+    private record Summary(
+            int events,
+            int lastMessageNumber,
+            Speed speed,
+            boolean launched,
+            String rocketType,
+            UtcDateTime launchedAt,
+            boolean missionSet,
+            String mission,
+            RocketStatus status,
+            String explodedReason,
+            long speedMagnitude
+    ) {
+
+        static final Summary IDENTITY = new Summary(0, 0, Speed.IDENTITY, false, null, null, false, null, null, null, 0);
+
+        static Summary of(List<RocketEvent> events) {
+            Summary summary = IDENTITY;
+            for (RocketEvent event : events) {
+                summary = summary.then(event);
+            }
+            return summary;
+        }
+
+        Summary then(RocketEvent event) {
+            int number = event.messageNumber();
+            return switch (event.messageType()) {
+                case RocketLaunched -> {
+                    int launchSpeed = event.getLaunchSpeed();
+                    yield new Summary(events + 1, number, Speed.constant(launchSpeed), true, event.getRocketType(),
+                            event.messageTime(), true, event.getMission(), RocketStatus.launched, null,
+                            speedMagnitude + Math.abs((long) launchSpeed));
+                }
+                case RocketSpeedIncreased -> {
+                    int delta = event.getSpeedDelta();
+                    yield withSpeed(number, speed.plus(delta), Math.abs((long) delta));
+                }
+                case RocketSpeedDecreased -> {
+                    int delta = event.getSpeedDelta();
+                    yield withSpeed(number, speed.minusClamped(delta), Math.abs((long) delta));
+                }
+                case RocketMissionChanged -> new Summary(events + 1, number, speed, launched, rocketType, launchedAt,
+                        true, event.getNewMission(), status, explodedReason, speedMagnitude);
+                case RocketExploded -> new Summary(events + 1, number, speed, launched, rocketType, launchedAt,
+                        missionSet, mission, RocketStatus.exploded, event.getExplodedReason(), speedMagnitude);
+            };
+        }
+
+        Summary then(Summary later) {
+            if (later.events == 0) {
+                return this;
+            }
+            if (events == 0) {
+                return later;
+            }
+            return new Summary(
+                    events + later.events,
+                    later.lastMessageNumber,
+                    speed.then(later.speed),
+                    launched || later.launched,
+                    later.launched ? later.rocketType : rocketType,
+                    later.launched ? later.launchedAt : launchedAt,
+                    missionSet || later.missionSet,
+                    later.missionSet ? later.mission : mission,
+                    later.status != null ? later.status : status,
+                    later.status != null ? later.explodedReason : explodedReason,
+                    speedMagnitude + later.speedMagnitude
+            );
+        }
+
+        /*
+         * True when no speed on the way can leave the int range, so long arithmetic gives what applyAll computes:
+         * speedMagnitude sums the absolute launch speeds and deltas of the run, no speed can get further from zero.
+         */
+        boolean fitsInt(int startSpeed) {
+            return Math.abs((long) startSpeed) + speedMagnitude <= Integer.MAX_VALUE;
+        }
+
+        RocketState applyTo(RocketState state, UtcDateTime now) {
+            if (events == 0) {
+                return state;
+            }
+            RocketState applied = state
+                    .withSpeed((int) speed.apply(state.speed()))
+                    .withLastUpdatedAt(now)
+                    .withLastProcessedMsgNumber(lastMessageNumber);
+            if (launched) {
+                applied = applied.withRocketType(rocketType).withLaunchedAt(launchedAt);
+            }
+            if (missionSet) {
+                applied = applied.withMission(mission);
+            }
+            if (status != null) {
+                applied = applied.withStatus(status).withExplodedReason(explodedReason);
+            }
+            return applied;
+        }
+
+        private Summary withSpeed(int number, Speed changed, long magnitude) {
+            return new Summary(events + 1, number, changed, launched, rocketType, launchedAt, missionSet, mission,
+                    status, explodedReason, speedMagnitude + magnitude);
+        }
+    }
+
+    /*
+     * Speed after a run of events: a constant after a launch, otherwise max(floor, speed + shift), without floor when
+     * no decrease clamped yet.
+     */
+    private record Speed(boolean constant, long value, boolean floored, long floor, long shift) {
+
+        static final Speed IDENTITY = new Speed(false, 0, false, 0, 0);
+
+        static Speed constant(long value) {
+            return new Speed(true, value, false, 0, 0);
+        }
+
+        Speed plus(long delta) {
+            return constant ? constant(value + delta) : new Speed(false, 0, floored, floor + delta, shift + delta);
+        }
+
+        Speed minusClamped(long delta) {
+            if (constant) {
+                return constant(Math.max(0, value - delta));
+            }
+            return new Speed(false, 0, true, floored ? Math.max(0, floor - delta) : 0, shift - delta);
+        }
+
+        long apply(long speed) {
+            if (constant) {
+                return value;
+            }
+            return floored ? Math.max(floor, speed + shift) : speed + shift;
+        }
+
+        Speed then(Speed later) {
+            if (later.constant) {
+                return later;
+            }
+            if (constant) {
+                return constant(later.apply(value));
+            }
+            boolean composedFloored = floored || later.floored;
+            long composedFloor;
+            if (floored && later.floored) {
+                composedFloor = Math.max(later.floor, floor + later.shift);
+            } else if (floored) {
+                composedFloor = floor + later.shift;
+            } else {
+                composedFloor = later.floor;
+            }
+            return new Speed(false, 0, composedFloored, composedFloor, shift + later.shift);
+        }
+    }
+}
@@ -1,40 +1,96 @@
 package com.rocket.api.domain;
 
 import java.time.Clock;
+import java.time.Instant;
 import java.time.OffsetDateTime;
 import java.time.ZoneOffset;
 import java.time.ZonedDateTime;
 
 /*
  * Represents a UTC-normalized datetime value object.
- * Automatically converts any timezone to UTC on construction.
+ *
+ * Backed by microseconds since the epoch, the precision of PostgreSQL timestamptz, so values are compared and copied
+ * as a primitive. The java.time views are only created when asked for, at the edges (JDBC binding, JSON output).
+ * Sub-microsecond input is truncated.
  */
-public record UtcDateTime(ZonedDateTime value) {
+public final class UtcDateTime implements Comparable<UtcDateTime> {
 
-    public UtcDateTime {
-        if (!value.getZone().equals(ZoneOffset.UTC)) {
-            value = value.withZoneSameInstant(ZoneOffset.UTC);
-        }
+    private static final long MICROS_PER_SECOND = 1_000_000L;
+    private static final long MICROS_PER_MINUTE = 60 * MICROS_PER_SECOND;
+
+    private final long epochMicros;
+
+    private UtcDateTime(long epochMicros) {
+        this.epochMicros = epochMicros;
+    }
+
+    public UtcDateTime(ZonedDateTime value) {
+        this(toEpochMicros(value.toInstant()));
     }
 
     public static UtcDateTime now(Clock clock) {
-        return new UtcDateTime(ZonedDateTime.now(clock).withZoneSameInstant(ZoneOffset.UTC));
+        return new UtcDateTime(toEpochMicros(clock.instant()));
     }
 
     public static UtcDateTime of(OffsetDateTime offsetDateTime) {
-        return new UtcDateTime(offsetDateTime.toZonedDateTime());
+        return new UtcDateTime(Math.addExact(
+                Math.multiplyExact(offsetDateTime.toEpochSecond(), MICROS_PER_SECOND),
+                offsetDateTime.getNano() / 1_000L));
+    }
+
+    public static UtcDateTime ofEpochMicros(long epochMicros) {
+        return new UtcDateTime(epochMicros);
+    }
+
+    public static UtcDateTime ofEpochNanos(long epochNanos) {
+        return new UtcDateTime(Math.floorDiv(epochNanos, 1_000L));
     }
 
     public UtcDateTime plusMinutes(long minutes) {
-        return new UtcDateTime(value.plusMinutes(minutes));
+        return new UtcDateTime(Math.addExact(epochMicros, Math.multiplyExact(minutes, MICROS_PER_MINUTE)));
+    }
+
+    public ZonedDateTime value() {
+        return ZonedDateTime.ofInstant(toInstant(), ZoneOffset.UTC);
     }
 
     public OffsetDateTime toOffsetDateTime() {
-        return value.toOffsetDateTime();
+        return OffsetDateTime.ofInstant(toInstant(), ZoneOffset.UTC);
+    }
+
+    public Instant toInstant() {
+        return Instant.ofEpochSecond(Math.floorDiv(epochMicros, MICROS_PER_SECOND), Math.floorMod(epochMicros, MICROS_PER_SECOND) * 1_000L);
+    }
+
+    public long toEpochMicros() {
+        return epochMicros;
+    }
+
+    public long toEpochNanos() {
+        return Math.multiplyExact(epochMicros, 1_000L);
+    }
+
+    @Override
+    public int compareTo(UtcDateTime other) {
+        return Long.compare(epochMicros, other.epochMicros);
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        return other instanceof UtcDateTime that && epochMicros == that.epochMicros;
+    }
+
+    @Override
+    public int hashCode() {
+        return Long.hashCode(epochMicros);
     }
 
     @Override
     public String toString() {
-        return value.toString();
+        return value().toString();
+    }
+
+    private static long toEpochMicros(Instant instant) {
+        return Math.addExact(Math.multiplyExact(instant.getEpochSecond(), MICROS_PER_SECOND), instant.getNano() / 1_000L);
     }
-}
\ No newline at end of file
+}
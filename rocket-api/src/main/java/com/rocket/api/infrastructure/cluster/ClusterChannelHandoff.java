@@ -0,0 +1,137 @@
+package com.rocket.api.infrastructure.cluster;
+
+import com.rocket.api.common.beans.storage.OnPostgresStorage;
+import com.rocket.api.usecase.RecomputeRocketStateUseCase;
+import com.rocket.api.usecase.port.ChannelHandoff;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.TreeSet;
+import java.util.UUID;
+
+/*
+ * Hands the recomputation of channels owned by other nodes over through rocket_recompute_request.
+ *
+ * The receiving node upserts a request in the transaction that stores the events. Every node polls the table, claims
+ * the requests of the channels it owns by deleting them and recomputes those channels in the same transaction. The
+ * upsert locks an existing request row, so it either waits for a claim in progress and inserts a new request, or the
+ * claim waits for it and then sees its events: a stored event is never left without a recomputation.
+ * Requests of a node that left are claimed by the new owners once the ring changed.
+ */
+@Component
+@OnPostgresStorage
+@ConditionalOnProperty(name = "rocket.cluster.enabled", havingValue = "true")
+@Slf4j
+public class ClusterChannelHandoff implements ChannelHandoff {
+
+    private static final String REQUEST = """
+            INSERT INTO rocket_recompute_request (channel, requested_at)
+            VALUES (?, NOW())
+            ON CONFLICT (channel) DO UPDATE SET requested_at = EXCLUDED.requested_at
+            """;
+
+    private final ClusterMembership membership;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final RecomputeRocketStateUseCase recomputeRocketStateUseCase;
+    private final Duration pollInterval;
+    private final int batchSize;
+    private volatile Thread thread;
+
+    public ClusterChannelHandoff(
+            ClusterMembership membership,
+            JdbcTemplate jdbcTemplate,
+            TransactionTemplate transactionTemplate,
+            RecomputeRocketStateUseCase recomputeRocketStateUseCase,
+            @Value("${rocket.cluster.handoff-poll-interval:100ms}") Duration pollInterval,
+            @Value("${rocket.cluster.handoff-batch-size:500}") int batchSize
+    ) {
+        this.membership = membership;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.recomputeRocketStateUseCase = recomputeRocketStateUseCase;
+        this.pollInterval = pollInterval;
+        this.batchSize = batchSize;
+        membership.onRebalance(this::wakeUp);
+    }
+
+    @Override
+    public boolean isOwnedLocally(UUID channel) {
+        return membership.isLocal(channel);
+    }
+
+    @Override
+    public void handOff(Collection<UUID> channels) {
+        // Sorted, so concurrent hand-offs lock request rows in the same order
+        jdbcTemplate.batchUpdate(REQUEST, new TreeSet<>(channels).stream().map(channel -> new Object[]{channel}).toList());
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        thread = Thread.ofPlatform().daemon().name("cluster-recompute-handoff").start(this::claimLoop);
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        Thread running = thread;
+        if (running != null) {
+            running.interrupt();
+            running.join();
+        }
+    }
+
+    /*
+     * Claims and recomputes every requested channel this node owns, returns the number of recomputed channels.
+     */
+    public int claim() {
+        List<UUID> owned = jdbcTemplate.queryForList("SELECT channel FROM rocket_recompute_request", UUID.class).stream()
+                .filter(membership::isLocal)
+                .sorted()
+                .toList();
+
+        int recomputed = 0;
+        for (int from = 0; from < owned.size(); from += batchSize) {
+            UUID[] batch = owned.subList(from, Math.min(from + batchSize, owned.size())).toArray(UUID[]::new);
+            recomputed += transactionTemplate.execute(status -> {
+                List<UUID> claimed = jdbcTemplate.queryForList(
+                        "DELETE FROM rocket_recompute_request WHERE channel = ANY(?) RETURNING channel", UUID.class, (Object) batch);
+                return recomputeRocketStateUseCase.executeAll(new TreeSet<>(claimed)).size();
+            });
+        }
+        if (recomputed > 0) {
+            log.debug("Recomputed {} channels handed off by other nodes", recomputed);
+        }
+        return recomputed;
+    }
+
+    private synchronized void wakeUp() {
+        notifyAll();
+    }
+
+    private void claimLoop() {
+        while (!Thread.currentThread().isInterrupted()) {
+            try {
+                claim();
+            } catch (RuntimeException e) {
+                log.warn("Failed to recompute handed off channels, retrying: {}", e.getMessage());
+            }
+            try {
+                synchronized (this) {
+                    wait(pollInterval.toMillis());
+                }
+            } catch (InterruptedException e) {
+                return;
+            }
+        }
+    }
+}
@@ -0,0 +1,133 @@
+package com.rocket.api.infrastructure.cluster;
+
+import com.rocket.api.common.beans.storage.OnPostgresStorage;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/*
+ * Membership of this node in the cluster, kept in cluster_member with a heartbeat every heartbeat interval.
+ *
+ * Nodes with a heartbeat younger than the member timeout form the ring that assigns channels to owners. Heartbeats use
+ * the database clock, so clock skew between nodes does not matter. The ring always contains this node: until the first
+ * heartbeat, or while the database is unreachable, it keeps the last membership it has seen.
+ */
+@Component
+@OnPostgresStorage
+@ConditionalOnProperty(name = "rocket.cluster.enabled", havingValue = "true")
+@Slf4j
+public class ClusterMembership {
+
+    private static final String HEARTBEAT = """
+            INSERT INTO cluster_member (node_id, heartbeat_at)
+            VALUES (?, NOW())
+            ON CONFLICT (node_id) DO UPDATE SET heartbeat_at = NOW()
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final String nodeId;
+    private final Duration heartbeatInterval;
+    private final Duration memberTimeout;
+    private final int virtualNodes;
+    private final List<Runnable> rebalanceListeners = new CopyOnWriteArrayList<>();
+    private volatile ConsistentHashRing ring;
+    private volatile Thread thread;
+
+    public ClusterMembership(
+            JdbcTemplate jdbcTemplate,
+            @Value("${rocket.cluster.node-id:}") String nodeId,
+            @Value("${rocket.cluster.heartbeat-interval:2s}") Duration heartbeatInterval,
+            @Value("${rocket.cluster.member-timeout:10s}") Duration memberTimeout,
+            @Value("${rocket.cluster.virtual-nodes:128}") int virtualNodes
+    ) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.nodeId = nodeId.isBlank() ? UUID.randomUUID().toString() : nodeId;
+        this.heartbeatInterval = heartbeatInterval;
+        this.memberTimeout = memberTimeout;
+        this.virtualNodes = virtualNodes;
+        this.ring = new ConsistentHashRing(List.of(this.nodeId), virtualNodes);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        log.info("Joining cluster as node {}", nodeId);
+        thread = Thread.ofPlatform().daemon().name("cluster-heartbeat").start(this::heartbeatLoop);
+    }
+
+    /*
+     * Leaves the cluster right away instead of after the member timeout, the other nodes take over on their next heartbeat.
+     */
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        Thread running = thread;
+        if (running != null) {
+            running.interrupt();
+            running.join();
+        }
+        try {
+            jdbcTemplate.update("DELETE FROM cluster_member WHERE node_id = ?", nodeId);
+        } catch (RuntimeException e) {
+            log.warn("Failed to leave cluster, other nodes take over after the member timeout: {}", e.getMessage());
+        }
+    }
+
+    public String nodeId() {
+        return nodeId;
+    }
+
+    public boolean isLocal(UUID channel) {
+        return ring.owner(channel).equals(nodeId);
+    }
+
+    /*
+     * Runs the listener on the heartbeat thread whenever the channel assignment changed.
+     */
+    public void onRebalance(Runnable listener) {
+        rebalanceListeners.add(listener);
+    }
+
+    /*
+     * Renews the heartbeat of this node and rebuilds the ring when the set of live members changed.
+     */
+    public void heartbeat() {
+        double timeoutSeconds = memberTimeout.toMillis() / 1_000.0;
+        jdbcTemplate.update(HEARTBEAT, nodeId);
+        jdbcTemplate.update("DELETE FROM cluster_member WHERE heartbeat_at < NOW() - make_interval(secs => ?)", timeoutSeconds);
+        Set<String> members = new HashSet<>(jdbcTemplate.queryForList("SELECT node_id FROM cluster_member", String.class));
+        members.add(nodeId);
+
+        if (!members.equals(ring.nodes())) {
+            ring = new ConsistentHashRing(members, virtualNodes);
+            log.info("Cluster membership changed, {} nodes: {}", members.size(), new TreeSet<>(members));
+            rebalanceListeners.forEach(Runnable::run);
+        }
+    }
+
+    private void heartbeatLoop() {
+        while (!Thread.currentThread().isInterrupted()) {
+            try {
+                heartbeat();
+            } catch (RuntimeException e) {
+                log.warn("Cluster heartbeat failed, keeping {} nodes: {}", ring.nodes().size(), e.getMessage());
+            }
+            try {
+                Thread.sleep(heartbeatInterval);
+            } catch (InterruptedException e) {
+                return;
+            }
+        }
+    }
+}
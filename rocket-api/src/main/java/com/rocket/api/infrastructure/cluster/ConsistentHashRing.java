@@ -0,0 +1,64 @@
+package com.rocket.api.infrastructure.cluster;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.UUID;
+
+/*
+ * Assigns channels to nodes by consistent hashing. Every node is placed on the ring at a fixed number of points
+ * derived from its id, a channel belongs to the first node point at or after its own hash. When a node leaves, only
+ * its channels move, spread over the remaining nodes; all nodes compute the same assignment from the same members.
+ */
+public final class ConsistentHashRing {
+
+    private final Set<String> nodes;
+    private final NavigableMap<Long, String> points = new TreeMap<>();
+
+    public ConsistentHashRing(Collection<String> nodes, int virtualNodes) {
+        if (nodes.isEmpty()) {
+            throw new IllegalArgumentException("A ring needs at least one node");
+        }
+        this.nodes = Set.copyOf(nodes);
+        // Sorted, so a (very unlikely) point collision is resolved the same way on every node
+        for (String node : new TreeSet<>(nodes)) {
+            for (int i = 0; i < virtualNodes; i++) {
+                points.putIfAbsent(hash(node + '#' + i), node);
+            }
+        }
+    }
+
+    public Set<String> nodes() {
+        return nodes;
+    }
+
+    public String owner(UUID channel) {
+        long position = mix(channel.getMostSignificantBits() ^ Long.rotateLeft(channel.getLeastSignificantBits(), 32));
+        Map.Entry<Long, String> point = points.ceilingEntry(position);
+        return (point != null ? point : points.firstEntry()).getValue();
+    }
+
+    // 64-bit FNV-1a of the UTF-8 bytes, then mixed so that similar ids land far apart
+    private static long hash(String key) {
+        long hash = 0xcbf29ce484222325L;
+        for (byte b : key.getBytes(StandardCharsets.UTF_8)) {
+            hash ^= b & 0xff;
+            hash *= 0x100000001b3L;
+        }
+        return mix(hash);
+    }
+
+    // Finalizer of MurmurHash3
+    private static long mix(long value) {
+        value ^= value >>> 33;
+        value *= 0xff51afd7ed558ccdL;
+        value ^= value >>> 33;
+        value *= 0xc4ceb9fe1a85ec53L;
+        value ^= value >>> 33;
+        return value;
+    }
+}
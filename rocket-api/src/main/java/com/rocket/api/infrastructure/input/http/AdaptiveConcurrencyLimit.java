@@ -0,0 +1,87 @@
+package com.rocket.api.infrastructure.input.http;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/*
+ * Concurrency limit that adapts to the latency of the work it admits, after the gradient algorithm: a short and a long
+ * exponential average of the latency are kept, and while the short one stays within tolerance of the long one the
+ * limit grows by a queue allowance of sqrt(limit). When latency rises the limit shrinks in proportion, down to half
+ * per update; failures caused by overload cut it multiplicatively. The limit only grows while at least half of it is
+ * in use, an idle service learns nothing about its capacity.
+ */
+public class AdaptiveConcurrencyLimit {
+
+    private static final double SHORT_WINDOW = 10;
+    private static final double LONG_WINDOW = 600;
+    private static final double SMOOTHING = 0.2;
+    private static final double BACKOFF_RATIO = 0.9;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final double tolerance;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private volatile double limit;
+    private double shortLatency;
+    private double longLatency;
+
+    public AdaptiveConcurrencyLimit(int initialLimit, int minLimit, int maxLimit, double tolerance) {
+        if (minLimit < 1 || minLimit > maxLimit || initialLimit < minLimit || initialLimit > maxLimit) {
+            throw new IllegalArgumentException("Limits must satisfy 1 <= min <= initial <= max");
+        }
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.tolerance = tolerance;
+        this.limit = initialLimit;
+    }
+
+    /*
+     * Takes a slot unless the limit is reached. Every successful call must be followed by one release.
+     */
+    public boolean tryAcquire() {
+        while (true) {
+            int current = inFlight.get();
+            if (current >= limit()) {
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    /*
+     * Frees the slot and feeds the latency of the admitted work into the limit, overloaded when it failed because the
+     * backend could not keep up.
+     */
+    public void release(long latencyNanos, boolean overloaded) {
+        int used = inFlight.getAndDecrement();
+        update(latencyNanos, overloaded, used);
+    }
+
+    public int limit() {
+        return (int) limit;
+    }
+
+    public int inFlight() {
+        return inFlight.get();
+    }
+
+    private synchronized void update(long latencyNanos, boolean overloaded, int used) {
+        if (overloaded) {
+            limit = Math.max(minLimit, limit * BACKOFF_RATIO);
+            return;
+        }
+        shortLatency = shortLatency == 0 ? latencyNanos : shortLatency + (latencyNanos - shortLatency) / SHORT_WINDOW;
+        longLatency = longLatency == 0 ? latencyNanos : longLatency + (latencyNanos - longLatency) / LONG_WINDOW;
+        // Latency back to normal after an overload: move the baseline down faster than the long average would
+        if (longLatency > 2 * shortLatency) {
+            longLatency *= 0.95;
+        }
+        if (used < limit / 2) {
+            return;
+        }
+        double gradient = Math.max(0.5, Math.min(1.0, tolerance * longLatency / Math.max(shortLatency, 1)));
+        double target = limit * gradient + Math.sqrt(limit);
+        limit = Math.max(minLimit, Math.min(maxLimit, limit * (1 - SMOOTHING) + target * SMOOTHING));
+    }
+}
@@ -0,0 +1,55 @@
+package com.rocket.api.infrastructure.input.http;
+
+import com.rocket.api.common.beans.bulkhead.Bulkhead;
+import com.rocket.api.common.beans.bulkhead.Workload;
+import com.rocket.api.common.exceptions.exceptions.ServiceUnavailableException;
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+
+import java.time.Duration;
+
+/*
+ * Runs the requests it is registered for inside a bulkhead and binds the bulkhead's workload to the request thread.
+ * A full bulkhead answers 503 through ServiceUnavailableException. The slot of an asynchronous request, such as an
+ * event export, is held until the async dispatch completes it.
+ */
+class BulkheadInterceptor implements AsyncHandlerInterceptor {
+
+    private final Bulkhead bulkhead;
+    private final Duration retryAfter;
+    private final String slotAttribute;
+
+    BulkheadInterceptor(Bulkhead bulkhead, Duration retryAfter) {
+        this.bulkhead = bulkhead;
+        this.retryAfter = retryAfter;
+        this.slotAttribute = BulkheadInterceptor.class.getName() + "." + bulkhead.name();
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (request.getDispatcherType() != DispatcherType.ASYNC) {
+            if (!bulkhead.tryEnter()) {
+                throw new ServiceUnavailableException("bulkhead.full", "Too many " + bulkhead.name() + " requests in progress, retry later", retryAfter);
+            }
+            request.setAttribute(slotAttribute, Boolean.TRUE);
+        }
+        bulkhead.workload().bind();
+        return true;
+    }
+
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        Workload.unbind();
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        Workload.unbind();
+        if (request.getAttribute(slotAttribute) != null) {
+            request.removeAttribute(slotAttribute);
+            bulkhead.exit();
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package com.rocket.api.infrastructure.input.http;
+
+import com.rocket.api.common.beans.bulkhead.Bulkhead;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.time.Duration;
+
+/*
+ * Queries and admin requests each run in their own bulkhead. Ingest is limited by IngestAdmission, actuator endpoints
+ * are not limited at all.
+ */
+@Configuration(proxyBeanMethods = false)
+public class BulkheadWebConfig implements WebMvcConfigurer {
+
+    private final Bulkhead queryBulkhead;
+    private final Bulkhead adminBulkhead;
+    private final Duration retryAfter;
+
+    public BulkheadWebConfig(
+            @Qualifier("queryBulkhead") Bulkhead queryBulkhead,
+            @Qualifier("adminBulkhead") Bulkhead adminBulkhead,
+            @Value("${rocket.bulkhead.retry-after:1s}") Duration retryAfter
+    ) {
+        this.queryBulkhead = queryBulkhead;
+        this.adminBulkhead = adminBulkhead;
+        this.retryAfter = retryAfter;
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new BulkheadInterceptor(queryBulkhead, retryAfter)).addPathPatterns("/rockets", "/rockets/**");
+        registry.addInterceptor(new BulkheadInterceptor(adminBulkhead, retryAfter)).addPathPatterns("/admin/**");
+    }
+}
@@ -0,0 +1,55 @@
+package com.rocket.api.infrastructure.input.http;
+
+/*
+ * Strong ETags derived from rocket_state change versions.
+ */
+final class ETags {
+
+    private ETags() {
+    }
+
+    static String of(long version) {
+        return "\"" + version + "\"";
+    }
+
+    /*
+     * ETag of a rocket list: the fleet version, the late write count that tells apart lists changed below an unchanged
+     * fleet version, and the query parameters normalized the way the stores apply them, so different lists never
+     * share a tag.
+     */
+    static String ofList(long fleetVersion, long lateWrites, String sortBy, String sortOrder, Long changedSince) {
+        String sort = switch (sortBy == null ? "" : sortBy) {
+            case "speed", "mission", "status" -> sortBy;
+            default -> "type";
+        };
+        String order = "desc".equalsIgnoreCase(sortOrder) ? "desc" : "asc";
+        StringBuilder tag = new StringBuilder("\"").append(fleetVersion);
+        if (lateWrites != 0) {
+            tag.append('.').append(lateWrites);
+        }
+        tag.append('-').append(sort).append('-').append(order);
+        if (changedSince != null) {
+            tag.append("-since-").append(changedSince);
+        }
+        return tag.append('"').toString();
+    }
+
+    /*
+     * Evaluates an If-None-Match header value, which may be "*" or a comma separated list of (weak) entity tags.
+     */
+    static boolean matches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null || ifNoneMatch.isBlank()) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.startsWith("W/")) {
+                tag = tag.substring(2);
+            }
+            if (tag.equals("*") || tag.equals(etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
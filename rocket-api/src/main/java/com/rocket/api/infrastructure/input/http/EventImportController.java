@@ -0,0 +1,48 @@
+package com.rocket.api.infrastructure.input.http;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.rocket.api.common.beans.storage.OnPostgresStorage;
+import com.rocket.api.domain.RocketEvent;
+import com.rocket.api.usecase.EventImportResult;
+import com.rocket.api.usecase.ImportEventsUseCase;
+import io.swagger.v3.oas.annotations.Operation;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Iterator;
+
+/*
+ * Not part of the OpenAPI contract, the body is read as a stream instead of being bound to a generated model.
+ */
+@RestController
+@OnPostgresStorage
+@RequiredArgsConstructor
+public class EventImportController {
+
+    private final ImportEventsUseCase importEventsUseCase;
+    private final ObjectMapper objectMapper;
+
+    @Operation(summary = "Bulk import events from NDJSON, CSV or binary records", tags = "Events")
+    @PostMapping(value = "/admin/events/import", consumes = {"application/x-ndjson", "text/csv", RocketEventBinaryFormat.MEDIA_TYPE_VALUE})
+    public ResponseEntity<EventImportResult> importEvents(HttpServletRequest request) throws IOException {
+        MediaType contentType = MediaType.parseMediaType(request.getContentType());
+
+        try (InputStream body = request.getInputStream()) {
+            Iterator<RocketEvent> events;
+            if (contentType.isCompatibleWith(RocketEventBinaryFormat.MEDIA_TYPE)) {
+                events = RocketEventBinaryFormat.decodeAll(body);
+            } else if (contentType.isCompatibleWith(MediaType.parseMediaType("text/csv"))) {
+                events = ImportedEvents.csv(objectMapper, body);
+            } else {
+                events = ImportedEvents.ndjson(objectMapper, body);
+            }
+            return ResponseEntity.ok(importEventsUseCase.execute(events));
+        }
+    }
+}
@@ -0,0 +1,166 @@
+package com.rocket.api.infrastructure.input.http;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvSchema;
+import com.rocket.api.common.exceptions.exceptions.ValidationException;
+import com.rocket.api.domain.MessageType;
+import com.rocket.api.domain.RocketEvent;
+import com.rocket.api.domain.UtcDateTime;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.time.OffsetDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.UUID;
+
+/*
+ * Lazily parses an import body into events, one line at a time, so the body is never held in memory.
+ *
+ * NDJSON lines are RocketMessage documents read by RocketEventJsonReader, with the same checks as POST /messages.
+ * CSV needs a header with the columns channel, messageNumber, messageTime, messageType and payload, the latter holding
+ * the message as JSON. An invalid line is reported with its line number and the field it violates, a failure to read
+ * the body itself surfaces as UncheckedIOException.
+ */
+final class ImportedEvents implements Iterator<RocketEvent> {
+
+    private static final CsvMapper CSV_MAPPER = new CsvMapper();
+
+    private final JsonParser parser;
+    private final IOStep<Boolean> advance;
+    private final IOStep<RocketEvent> read;
+    private RocketEvent pending;
+    private int line;
+
+    /*
+     * advance moves the parser to the next record and tells whether there is one, read parses the record.
+     */
+    private ImportedEvents(JsonParser parser, IOStep<Boolean> advance, IOStep<RocketEvent> read) {
+        this.parser = parser;
+        this.advance = advance;
+        this.read = read;
+    }
+
+    static Iterator<RocketEvent> ndjson(ObjectMapper objectMapper, InputStream body) throws IOException {
+        JsonParser parser = objectMapper.createParser(body);
+        return new ImportedEvents(parser, () -> parser.nextToken() != null, () -> RocketEventJsonReader.read(parser));
+    }
+
+    static Iterator<RocketEvent> csv(ObjectMapper objectMapper, InputStream body) throws IOException {
+        MappingIterator<CsvRow> rows = CSV_MAPPER.readerFor(CsvRow.class)
+                .with(CsvSchema.emptySchema().withHeader())
+                .readValues(body);
+        return new ImportedEvents(rows.getParser(), rows::hasNextValue, () -> rows.nextValue().toEvent(objectMapper));
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (pending == null) {
+            pending = read();
+        }
+        return pending != null;
+    }
+
+    @Override
+    public RocketEvent next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        RocketEvent event = pending;
+        pending = null;
+        return event;
+    }
+
+    private RocketEvent read() {
+        try {
+            line = parser.currentLocation().getLineNr();
+            if (!advance.run()) {
+                return null;
+            }
+            // Taken at the start of the record, once it is read the parser may already be on the next line
+            line = parser.currentLocation().getLineNr();
+            return read.run();
+        } catch (ValidationException e) {
+            throw invalidLine(e.getErrorMessage());
+        } catch (JsonProcessingException e) {
+            throw invalidLine(e.getOriginalMessage());
+        } catch (IOException e) {
+            // The body could not be read, not a fault of the line
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private ValidationException invalidLine(String reason) {
+        return new ValidationException("rocket.import.invalid.line", "Line " + line + ": " + reason);
+    }
+
+    @FunctionalInterface
+    private interface IOStep<T> {
+        T run() throws IOException;
+    }
+
+    record CsvRow(String channel, Integer messageNumber, String messageTime, String messageType, String payload) {
+
+        RocketEvent toEvent(ObjectMapper objectMapper) {
+            return new RocketEvent(
+                    channel(required(channel, "channel")),
+                    required(messageNumber, "messageNumber"),
+                    time(required(messageTime, "messageTime")),
+                    type(required(messageType, "messageType")),
+                    payload(objectMapper, required(payload, "payload"))
+            );
+        }
+
+        private static UUID channel(String value) {
+            try {
+                return UUID.fromString(value);
+            } catch (IllegalArgumentException e) {
+                throw invalid("channel must be a UUID");
+            }
+        }
+
+        private static UtcDateTime time(String value) {
+            try {
+                return UtcDateTime.of(OffsetDateTime.parse(value));
+            } catch (DateTimeParseException e) {
+                throw invalid("messageTime must be an ISO-8601 date-time with offset");
+            }
+        }
+
+        private static MessageType type(String value) {
+            try {
+                return MessageType.valueOf(value);
+            } catch (IllegalArgumentException e) {
+                throw invalid("messageType " + value + " is not supported");
+            }
+        }
+
+        private static Map<String, Object> payload(ObjectMapper objectMapper, String value) {
+            try {
+                Map<String, Object> payload = objectMapper.readValue(value, new TypeReference<>() {});
+                return required(payload, "payload");
+            } catch (JsonProcessingException e) {
+                throw invalid("payload must be a JSON object");
+            }
+        }
+
+        private static <T> T required(T value, String column) {
+            if (value == null || value instanceof String text && text.isEmpty()) {
+                throw invalid(column + " is required");
+            }
+            return value;
+        }
+
+        private static ValidationException invalid(String message) {
+            return new ValidationException("rocket.message.invalid", message);
+        }
+    }
+}
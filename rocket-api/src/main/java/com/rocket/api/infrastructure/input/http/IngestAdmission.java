@@ -0,0 +1,73 @@
+package com.rocket.api.infrastructure.input.http;
+
+import com.rocket.api.common.exceptions.exceptions.ServiceUnavailableException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.TransientDataAccessException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.CannotCreateTransactionException;
+
+import java.time.Duration;
+import java.util.function.Supplier;
+
+/*
+ * Admission control of POST /messages. Ingest requests beyond the adaptive limit are answered at once with 503 and
+ * Retry-After, before the database is touched, so a slow database cannot tie up every request thread and reads,
+ * streams and health checks keep being served. Transient database failures, such as query timeouts or no connection
+ * to start a transaction with, count as overload; constraint violations and other failures of the request do not.
+ *
+ * Exposes rocket.ingest.admission.limit, rocket.ingest.admission.in-flight and rocket.ingest.admission.rejected.
+ */
+@Component
+public class IngestAdmission {
+
+    private final boolean enabled;
+    private final Duration retryAfter;
+    private final AdaptiveConcurrencyLimit limit;
+    private final Counter rejected;
+
+    public IngestAdmission(
+            @Value("${rocket.ingest.admission.enabled:true}") boolean enabled,
+            @Value("${rocket.ingest.admission.initial-limit:20}") int initialLimit,
+            @Value("${rocket.ingest.admission.min-limit:4}") int minLimit,
+            @Value("${rocket.ingest.admission.max-limit:100}") int maxLimit,
+            @Value("${rocket.ingest.admission.latency-tolerance:1.5}") double latencyTolerance,
+            @Value("${rocket.ingest.admission.retry-after:1s}") Duration retryAfter,
+            MeterRegistry meterRegistry
+    ) {
+        this.enabled = enabled;
+        this.retryAfter = retryAfter;
+        this.limit = new AdaptiveConcurrencyLimit(initialLimit, minLimit, maxLimit, latencyTolerance);
+        Gauge.builder("rocket.ingest.admission.limit", limit, AdaptiveConcurrencyLimit::limit)
+                .description("Maximum concurrent ingest requests, adapted to the observed latency")
+                .register(meterRegistry);
+        Gauge.builder("rocket.ingest.admission.in-flight", limit, AdaptiveConcurrencyLimit::inFlight)
+                .description("Ingest requests in progress")
+                .register(meterRegistry);
+        this.rejected = Counter.builder("rocket.ingest.admission.rejected")
+                .description("Ingest requests turned away with 503 because the limit was reached")
+                .register(meterRegistry);
+    }
+
+    public <T> T admit(Supplier<T> work) {
+        if (!enabled) {
+            return work.get();
+        }
+        if (!limit.tryAcquire()) {
+            rejected.increment();
+            throw new ServiceUnavailableException("ingest.overloaded", "Too many messages in progress, retry later", retryAfter);
+        }
+        long started = System.nanoTime();
+        boolean overloaded = false;
+        try {
+            return work.get();
+        } catch (TransientDataAccessException | CannotCreateTransactionException e) {
+            overloaded = true;
+            throw e;
+        } finally {
+            limit.release(System.nanoTime() - started, overloaded);
+        }
+    }
+}
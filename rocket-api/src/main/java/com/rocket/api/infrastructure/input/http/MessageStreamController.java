@@ -0,0 +1,176 @@
+package com.rocket.api.infrastructure.input.http;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.rocket.api.common.exceptions.exceptions.ApplicationException;
+import com.rocket.api.domain.RocketEvent;
+import com.rocket.api.usecase.ReceiveMessageUseCase;
+import io.swagger.v3.oas.annotations.Operation;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+/*
+ * Long lived ingest connection: the client keeps writing NDJSON or binary messages and reads NDJSON acks from the same
+ * exchange.
+ *
+ * A reader thread parses messages off the wire into a bounded queue, the response thread drains it in micro-batches
+ * of one transaction each and acks every committed batch with the highest contiguous message number per channel.
+ * When the database falls behind the queue fills up, the reader stops reading and TCP pushes back on the client.
+ * Any failure ends the stream with an error frame. The exchange has its own async timeout instead of the global one.
+ * Not part of the OpenAPI contract, the generator cannot express a streamed body.
+ */
+@RestController
+@Slf4j
+public class MessageStreamController {
+
+    private final ReceiveMessageUseCase receiveMessageUseCase;
+    private final ObjectMapper objectMapper;
+    private final int batchSize;
+    private final int queueCapacity;
+    private final Duration timeout;
+
+    public MessageStreamController(
+            ReceiveMessageUseCase receiveMessageUseCase,
+            ObjectMapper objectMapper,
+            @Value("${rocket.ingest.stream.batch-size:500}") int batchSize,
+            @Value("${rocket.ingest.stream.queue-capacity:5000}") int queueCapacity,
+            @Value("${rocket.ingest.stream.timeout:30m}") Duration timeout
+    ) {
+        this.receiveMessageUseCase = receiveMessageUseCase;
+        this.objectMapper = objectMapper;
+        this.batchSize = batchSize;
+        this.queueCapacity = queueCapacity;
+        this.timeout = timeout;
+    }
+
+    @Operation(summary = "Stream messages as NDJSON or binary records, acks are streamed back as NDJSON", tags = "Messages")
+    @PostMapping(value = "/messages/stream", consumes = {"application/x-ndjson", RocketEventBinaryFormat.MEDIA_TYPE_VALUE},
+            produces = "application/x-ndjson")
+    public ResponseEntity<StreamingResponseBody> streamMessages(HttpServletRequest request) throws IOException {
+        InputStream body = request.getInputStream();
+        boolean binary = RocketEventBinaryFormat.MEDIA_TYPE.isCompatibleWith(MediaType.parseMediaType(request.getContentType()));
+        StreamTimeout.register(request, timeout);
+        return ResponseEntity.ok()
+                .contentType(RocketEventsController.APPLICATION_NDJSON)
+                .body(outputStream -> ingest(body, binary, outputStream));
+    }
+
+    private void ingest(InputStream body, boolean binary, OutputStream outputStream) throws IOException {
+        BlockingQueue<Incoming> queue = new ArrayBlockingQueue<>(queueCapacity);
+        Thread reader = Thread.ofVirtual().name("message-stream-reader").start(() -> read(body, binary, queue));
+
+        try (SequenceWriter writer = objectMapper.writer()
+                .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+                .withRootValueSeparator("\n")
+                .writeValues(outputStream)) {
+            long committed = 0;
+            boolean open = true;
+            while (open) {
+                List<Incoming> taken = new ArrayList<>(batchSize);
+                taken.add(queue.take());
+                queue.drainTo(taken, batchSize - 1);
+
+                List<RocketEvent> batch = new ArrayList<>(taken.size());
+                RuntimeException failure = null;
+                for (Incoming incoming : taken) {
+                    if (incoming.event() != null) {
+                        batch.add(incoming.event());
+                    } else {
+                        failure = incoming.failure();
+                        open = false;
+                        break;
+                    }
+                }
+
+                if (!batch.isEmpty()) {
+                    try {
+                        Map<UUID, Integer> acked = receiveMessageUseCase.executeBatch(batch);
+                        committed += batch.size();
+                        writer.write(new StreamAck(committed, acked));
+                    } catch (RuntimeException e) {
+                        failure = e;
+                        open = false;
+                    }
+                }
+                if (failure != null) {
+                    writer.write(StreamError.of(failure));
+                }
+                writer.flush();
+            }
+            outputStream.write('\n');
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            reader.interrupt();
+        }
+    }
+
+    private void read(InputStream body, boolean binary, BlockingQueue<Incoming> queue) {
+        try {
+            Iterator<RocketEvent> events = binary
+                    ? RocketEventBinaryFormat.decodeAll(body)
+                    : ImportedEvents.ndjson(objectMapper, body);
+            while (events.hasNext()) {
+                queue.put(new Incoming(events.next(), null));
+            }
+            queue.put(Incoming.END);
+        } catch (IOException | UncheckedIOException e) {
+            log.debug("Message stream closed by client", e);
+            putQuietly(queue, Incoming.END);
+        } catch (RuntimeException e) {
+            putQuietly(queue, new Incoming(null, e));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void putQuietly(BlockingQueue<Incoming> queue, Incoming incoming) {
+        try {
+            queue.put(incoming);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /*
+     * A parsed event, or the end of the stream, optionally because of an invalid message.
+     */
+    private record Incoming(RocketEvent event, RuntimeException failure) {
+        static final Incoming END = new Incoming(null, null);
+    }
+
+    record StreamAck(long committed, Map<UUID, Integer> channels) {
+    }
+
+    record StreamError(String errorCode, String message) {
+
+        // Unexpected failures, such as the database going away, are logged and reported like GlobalExceptionHandler does
+        static StreamError of(RuntimeException failure) {
+            if (failure instanceof ApplicationException e) {
+                return new StreamError(e.getErrorCode(), e.getMessage());
+            }
+            log.error("Message stream failed", failure);
+            return new StreamError("internal.server.error", "Internal service error occurred");
+        }
+    }
+}
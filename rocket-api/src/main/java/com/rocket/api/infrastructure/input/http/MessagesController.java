@@ -1,37 +1,43 @@
 package com.rocket.api.infrastructure.input.http;
 
-import com.rocket.api.usecase.ReceiveMessageUseCase;
-import com.rocket.api.domain.MessageType;
+import com.rocket.api.usecase.AcceptMessageUseCase;
 import com.rocket.api.domain.RocketEvent;
-import com.rocket.api.domain.UtcDateTime;
-import com.rocket.api.openapi.api.MessagesApi;
-import com.rocket.api.openapi.model.RocketMessage;
+import io.swagger.v3.oas.annotations.Operation;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RestController;
 
+/*
+ * POST /messages is declared in the OpenAPI spec, but the generated MessagesApi is not implemented: the body is bound
+ * straight to RocketEvent by RocketEventJsonHttpMessageConverter instead of the generated RocketMessage model.
+ */
 @RestController
 @RequiredArgsConstructor
-public class MessagesController implements MessagesApi {
+public class MessagesController {
 
-    private final ReceiveMessageUseCase receiveMessageUseCase;
+    private final AcceptMessageUseCase acceptMessageUseCase;
+    private final IngestAdmission ingestAdmission;
 
-    @Override
-    public ResponseEntity<Void> postMessage(RocketMessage rocketMessage) {
-        RocketEvent event = mapToEvent(rocketMessage);
-        receiveMessageUseCase.execute(event);
-        return ResponseEntity.ok().build();
+    @Operation(summary = "Receive a rocket message", tags = "Messages")
+    @PostMapping(value = "/messages", consumes = "application/json")
+    public ResponseEntity<Void> postMessage(@RequestBody RocketEvent event) {
+        return accepted(ingestAdmission.admit(() -> acceptMessageUseCase.execute(event)));
     }
 
-    private RocketEvent mapToEvent(RocketMessage message) {
-        var metadata = message.getMetadata();
+    /*
+     * Same as postMessage for the compact binary encoding, decoded straight into the domain event.
+     */
+    @Operation(summary = "Receive a rocket message in the binary encoding", tags = "Messages")
+    @PostMapping(value = "/messages", consumes = RocketEventBinaryFormat.MEDIA_TYPE_VALUE)
+    public ResponseEntity<Void> postBinaryMessage(@RequestBody byte[] body) {
+        RocketEvent event = RocketEventBinaryFormat.decode(body);
+        return accepted(ingestAdmission.admit(() -> acceptMessageUseCase.execute(event)));
+    }
 
-        return new RocketEvent(
-                metadata.getChannel(),
-                metadata.getMessageNumber(),
-                UtcDateTime.of(metadata.getMessageTime().toOffsetDateTime()),
-                MessageType.valueOf(metadata.getMessageType().getValue()),
-                message.getMessage()
-        );
+    // 202 when the message only reached the ingest spool, 200 once it is stored
+    private static ResponseEntity<Void> accepted(boolean spooled) {
+        return spooled ? ResponseEntity.accepted().build() : ResponseEntity.ok().build();
     }
 }
\ No newline at end of file
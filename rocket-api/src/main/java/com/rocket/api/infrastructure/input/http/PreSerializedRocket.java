@@ -0,0 +1,47 @@
+package com.rocket.api.infrastructure.input.http;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.JsonSerializable;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.jsontype.TypeSerializer;
+import com.rocket.api.openapi.model.Rocket;
+
+import java.io.IOException;
+
+/*
+ * Rocket response whose JSON encoding was produced once, when the state was written.
+ * Jackson copies the cached UTF-8 bytes straight into the output buffer instead of serializing the bean again,
+ * so a list response is just the cached fragments joined in the requested order.
+ */
+final class PreSerializedRocket extends Rocket implements JsonSerializable {
+
+    private final long version;
+    // Set once by encode, before the rocket is published to the cache
+    private SerializableString json;
+
+    PreSerializedRocket(long version) {
+        this.version = version;
+    }
+
+    void encode(String json) {
+        this.json = new SerializedString(json);
+        // Encode once up front, SerializedString keeps the bytes for every later write
+        this.json.asUnquotedUTF8();
+    }
+
+    long version() {
+        return version;
+    }
+
+    @Override
+    public void serialize(JsonGenerator gen, SerializerProvider serializers) throws IOException {
+        gen.writeRawValue(json);
+    }
+
+    @Override
+    public void serializeWithType(JsonGenerator gen, SerializerProvider serializers, TypeSerializer typeSer) throws IOException {
+        serialize(gen, serializers);
+    }
+}
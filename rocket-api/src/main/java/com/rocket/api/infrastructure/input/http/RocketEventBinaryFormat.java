@@ -0,0 +1,151 @@
+package com.rocket.api.infrastructure.input.http;
+
+import com.rocket.api.common.exceptions.exceptions.ValidationException;
+import com.rocket.api.domain.MessageType;
+import com.rocket.api.domain.RocketEvent;
+import com.rocket.api.domain.UtcDateTime;
+import org.springframework.http.MediaType;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.DataOutput;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UTFDataFormatException;
+import java.io.UncheckedIOException;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.UUID;
+
+/*
+ * Compact binary encoding of a rocket message, an alternative to JSON for high rate senders.
+ *
+ * A record is big-endian: channel as two longs, message number (int), message time as epoch nanos (long),
+ * MessageType.code (byte), then the fields of that type. Strings are optional, a presence byte followed by modified
+ * UTF-8 as written by DataOutput.writeUTF. Records are concatenated without framing in streams.
+ *
+ *   RocketLaunched (1)        type: string, launchSpeed: int, mission: string
+ *   RocketSpeedIncreased (2)  by: int
+ *   RocketSpeedDecreased (3)  by: int
+ *   RocketExploded (4)        reason: string
+ *   RocketMissionChanged (5)  newMission: string
+ */
+final class RocketEventBinaryFormat {
+
+    static final String MEDIA_TYPE_VALUE = "application/vnd.rocket.event";
+    static final MediaType MEDIA_TYPE = MediaType.parseMediaType(MEDIA_TYPE_VALUE);
+
+    private RocketEventBinaryFormat() {
+    }
+
+    static RocketEvent decode(byte[] body) {
+        DataInputStream input = new DataInputStream(new ByteArrayInputStream(body));
+        try {
+            RocketEvent event = read(input);
+            if (input.available() > 0) {
+                throw new ValidationException("rocket.messages.invalid.binary", "Trailing bytes after message");
+            }
+            return event;
+        } catch (IOException | IllegalArgumentException e) {
+            throw invalid("Message", e);
+        }
+    }
+
+    static Iterator<RocketEvent> decodeAll(InputStream body) {
+        BufferedInputStream buffered = new BufferedInputStream(body);
+        DataInputStream input = new DataInputStream(buffered);
+        return new Iterator<>() {
+
+            private long index;
+
+            @Override
+            public boolean hasNext() {
+                try {
+                    buffered.mark(1);
+                    boolean more = buffered.read() >= 0;
+                    buffered.reset();
+                    return more;
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+
+            @Override
+            public RocketEvent next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                index++;
+                try {
+                    return read(input);
+                } catch (EOFException | UTFDataFormatException | RuntimeException e) {
+                    throw invalid("Message " + index, e);
+                } catch (IOException e) {
+                    // The body could not be read, not a fault of the message
+                    throw new UncheckedIOException(e);
+                }
+            }
+        };
+    }
+
+    static void encode(RocketEvent event, DataOutput output) throws IOException {
+        output.writeLong(event.channel().getMostSignificantBits());
+        output.writeLong(event.channel().getLeastSignificantBits());
+        output.writeInt(event.messageNumber());
+        output.writeLong(event.messageTime().toEpochNanos());
+        output.writeByte(event.messageType().code());
+        switch (event.messageType()) {
+            case RocketLaunched -> {
+                writeString(output, event.getRocketType());
+                output.writeInt(event.getLaunchSpeed());
+                writeString(output, event.getMission());
+            }
+            case RocketSpeedIncreased, RocketSpeedDecreased -> output.writeInt(event.getSpeedDelta());
+            case RocketExploded -> writeString(output, event.getExplodedReason());
+            case RocketMissionChanged -> writeString(output, event.getNewMission());
+        }
+    }
+
+    private static RocketEvent read(DataInput input) throws IOException {
+        UUID channel = new UUID(input.readLong(), input.readLong());
+        int messageNumber = input.readInt();
+        UtcDateTime messageTime = UtcDateTime.ofEpochNanos(input.readLong());
+        MessageType messageType = MessageType.fromCode(input.readByte());
+
+        Map<String, Object> payload = new HashMap<>(4);
+        switch (messageType) {
+            case RocketLaunched -> {
+                putString(payload, "type", input);
+                payload.put("launchSpeed", input.readInt());
+                putString(payload, "mission", input);
+            }
+            case RocketSpeedIncreased, RocketSpeedDecreased -> payload.put("by", input.readInt());
+            case RocketExploded -> putString(payload, "reason", input);
+            case RocketMissionChanged -> putString(payload, "newMission", input);
+        }
+        return new RocketEvent(channel, messageNumber, messageTime, messageType, payload);
+    }
+
+    private static ValidationException invalid(String message, Exception cause) {
+        String reason = cause instanceof EOFException ? "truncated" : cause.getMessage();
+        return new ValidationException("rocket.messages.invalid.binary", message + ": " + reason);
+    }
+
+    private static void writeString(DataOutput output, String value) throws IOException {
+        output.writeBoolean(value != null);
+        if (value != null) {
+            output.writeUTF(value);
+        }
+    }
+
+    private static void putString(Map<String, Object> payload, String key, DataInput input) throws IOException {
+        if (input.readBoolean()) {
+            payload.put(key, input.readUTF());
+        }
+    }
+}
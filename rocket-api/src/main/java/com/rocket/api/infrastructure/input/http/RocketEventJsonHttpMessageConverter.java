@@ -0,0 +1,63 @@
+package com.rocket.api.infrastructure.input.http;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.rocket.api.common.exceptions.exceptions.ValidationException;
+import com.rocket.api.domain.RocketEvent;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotWritableException;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.List;
+
+/*
+ * Binds JSON request bodies to RocketEvent with RocketEventJsonReader. Spring Boot registers converter beans ahead of
+ * the default ones, the Jackson converter still handles every other type.
+ *
+ * Read only: canWrite is always false, so Spring never picks this converter for a response body.
+ */
+@Component
+class RocketEventJsonHttpMessageConverter implements HttpMessageConverter<RocketEvent> {
+
+    private static final List<MediaType> SUPPORTED_MEDIA_TYPES = List.of(MediaType.APPLICATION_JSON);
+
+    private final ObjectMapper objectMapper;
+
+    RocketEventJsonHttpMessageConverter(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public boolean canRead(Class<?> clazz, MediaType mediaType) {
+        return RocketEvent.class == clazz && (mediaType == null || MediaType.APPLICATION_JSON.includes(mediaType));
+    }
+
+    @Override
+    public boolean canWrite(Class<?> clazz, MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    public List<MediaType> getSupportedMediaTypes() {
+        return SUPPORTED_MEDIA_TYPES;
+    }
+
+    @Override
+    public RocketEvent read(Class<? extends RocketEvent> clazz, HttpInputMessage inputMessage) throws IOException {
+        try (JsonParser parser = objectMapper.createParser(inputMessage.getBody())) {
+            return RocketEventJsonReader.read(parser);
+        } catch (JsonProcessingException e) {
+            throw new ValidationException("rocket.message.malformed.json", "Malformed JSON: " + e.getOriginalMessage());
+        }
+    }
+
+    @Override
+    public void write(RocketEvent event, MediaType contentType, HttpOutputMessage outputMessage) {
+        throw new HttpMessageNotWritableException("RocketEvent is never written as a response body");
+    }
+}
@@ -0,0 +1,152 @@
+package com.rocket.api.infrastructure.input.http;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.rocket.api.common.exceptions.exceptions.ValidationException;
+import com.rocket.api.domain.MessageType;
+import com.rocket.api.domain.RocketEvent;
+import com.rocket.api.domain.UtcDateTime;
+
+import java.io.IOException;
+import java.time.OffsetDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/*
+ * Reads a RocketMessage JSON document token by token straight into a RocketEvent.
+ *
+ * Replaces databind into the generated RocketMessage/MessageMetadata models, bean validation and the copy into the
+ * domain event with a single pass. The checks of the OpenAPI schema are done inline and reported as
+ * ValidationException. Unknown fields are skipped, like the default ObjectMapper does.
+ */
+final class RocketEventJsonReader {
+
+    private RocketEventJsonReader() {
+    }
+
+    /*
+     * Expects the parser on the START_OBJECT of the message, or before it.
+     */
+    static RocketEvent read(JsonParser parser) throws IOException {
+        if (parser.currentToken() == null) {
+            parser.nextToken();
+        }
+        expect(parser, JsonToken.START_OBJECT, "message");
+
+        UUID channel = null;
+        Integer messageNumber = null;
+        UtcDateTime messageTime = null;
+        MessageType messageType = null;
+        Map<String, Object> payload = null;
+
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            parser.nextToken();
+            switch (field) {
+                case "metadata" -> {
+                    expect(parser, JsonToken.START_OBJECT, "metadata");
+                    while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                        String metadataField = parser.currentName();
+                        parser.nextToken();
+                        switch (metadataField) {
+                            case "channel" -> channel = channel(text(parser, "metadata.channel"));
+                            case "messageNumber" -> messageNumber = integer(parser, "metadata.messageNumber");
+                            case "messageTime" -> messageTime = time(text(parser, "metadata.messageTime"));
+                            case "messageType" -> messageType = type(text(parser, "metadata.messageType"));
+                            default -> parser.skipChildren();
+                        }
+                    }
+                }
+                case "message" -> {
+                    expect(parser, JsonToken.START_OBJECT, "message");
+                    payload = object(parser);
+                }
+                default -> parser.skipChildren();
+            }
+        }
+
+        return new RocketEvent(
+                required(channel, "metadata.channel"),
+                required(messageNumber, "metadata.messageNumber"),
+                required(messageTime, "metadata.messageTime"),
+                required(messageType, "metadata.messageType"),
+                required(payload, "message")
+        );
+    }
+
+    private static Map<String, Object> object(JsonParser parser) throws IOException {
+        Map<String, Object> values = new LinkedHashMap<>();
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            JsonToken token = parser.nextToken();
+            values.put(field, switch (token) {
+                case VALUE_STRING -> parser.getText();
+                case VALUE_NUMBER_INT -> parser.getNumberValue();
+                case VALUE_NUMBER_FLOAT -> parser.getDoubleValue();
+                case VALUE_TRUE -> Boolean.TRUE;
+                case VALUE_FALSE -> Boolean.FALSE;
+                case VALUE_NULL -> null;
+                case START_OBJECT -> object(parser);
+                default -> parser.readValueAs(Object.class);
+            });
+        }
+        return values;
+    }
+
+    private static void expect(JsonParser parser, JsonToken token, String field) {
+        if (parser.currentToken() != token) {
+            throw invalid(field + " must be an object");
+        }
+    }
+
+    private static String text(JsonParser parser, String field) throws IOException {
+        if (parser.currentToken() != JsonToken.VALUE_STRING) {
+            throw invalid(field + " must be a string");
+        }
+        return parser.getText();
+    }
+
+    private static Integer integer(JsonParser parser, String field) throws IOException {
+        if (parser.currentToken() != JsonToken.VALUE_NUMBER_INT || parser.getNumberType() != JsonParser.NumberType.INT) {
+            throw invalid(field + " must be an integer");
+        }
+        return parser.getIntValue();
+    }
+
+    private static UUID channel(String value) {
+        try {
+            return UUID.fromString(value);
+        } catch (IllegalArgumentException e) {
+            throw invalid("metadata.channel must be a UUID");
+        }
+    }
+
+    private static UtcDateTime time(String value) {
+        try {
+            return UtcDateTime.of(OffsetDateTime.parse(value));
+        } catch (DateTimeParseException e) {
+            throw invalid("metadata.messageTime must be an ISO-8601 date-time with offset");
+        }
+    }
+
+    private static MessageType type(String value) {
+        try {
+            return MessageType.valueOf(value);
+        } catch (IllegalArgumentException e) {
+            throw invalid("metadata.messageType " + value + " is not supported");
+        }
+    }
+
+    private static <T> T required(T value, String field) {
+        if (value == null) {
+            throw invalid(field + " is required");
+        }
+        return value;
+    }
+
+    private static ValidationException invalid(String message) {
+        return new ValidationException("rocket.message.invalid", message);
+    }
+}
@@ -0,0 +1,111 @@
+package com.rocket.api.infrastructure.input.http;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.rocket.api.domain.RocketEvent;
+import com.rocket.api.openapi.api.EventsApi;
+import com.rocket.api.openapi.model.MessageMetadata;
+import com.rocket.api.openapi.model.RocketEventPage;
+import com.rocket.api.openapi.model.RocketMessage;
+import com.rocket.api.usecase.GetRocketEventsUseCase;
+import io.swagger.v3.oas.annotations.Operation;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+@RestController
+public class RocketEventsController implements EventsApi {
+
+    static final MediaType APPLICATION_NDJSON = MediaType.parseMediaType("application/x-ndjson");
+
+    private final GetRocketEventsUseCase getRocketEventsUseCase;
+    private final ObjectMapper objectMapper;
+    private final Duration exportTimeout;
+
+    public RocketEventsController(
+            GetRocketEventsUseCase getRocketEventsUseCase,
+            ObjectMapper objectMapper,
+            @Value("${rocket.events.export-timeout:30m}") Duration exportTimeout
+    ) {
+        this.getRocketEventsUseCase = getRocketEventsUseCase;
+        this.objectMapper = objectMapper;
+        this.exportTimeout = exportTimeout;
+    }
+
+    @Override
+    public ResponseEntity<RocketEventPage> listRocketEvents(UUID rocketId, Integer after, Integer limit) {
+        List<RocketEvent> events = getRocketEventsUseCase.page(rocketId, after, limit);
+        int size = limit != null ? limit : GetRocketEventsUseCase.DEFAULT_PAGE_SIZE;
+
+        RocketEventPage page = new RocketEventPage();
+        page.setEvents(events.stream().map(this::mapToMessage).toList());
+        if (events.size() == size) {
+            page.setNextAfter(events.getLast().messageNumber());
+        }
+        return ResponseEntity.ok(page);
+    }
+
+    /*
+     * Not part of the OpenAPI contract, the generator cannot express a streamed body.
+     * Rows go from the JDBC cursor straight to the response, one JSON document per line. A long history takes longer
+     * than the default async timeout, the export has its own.
+     */
+    @Operation(summary = "Export rocket event history as NDJSON", tags = "Events")
+    @GetMapping(value = "/rockets/{rocketId}/events/export", produces = "application/x-ndjson")
+    public ResponseEntity<StreamingResponseBody> exportRocketEvents(
+            @PathVariable("rocketId") UUID rocketId,
+            @RequestParam(value = "after", required = false) Integer after,
+            HttpServletRequest request
+    ) {
+        int afterMessageNumber = getRocketEventsUseCase.validateExport(rocketId, after);
+        StreamTimeout.register(request, exportTimeout);
+
+        StreamingResponseBody body = outputStream -> {
+            AtomicBoolean written = new AtomicBoolean();
+            try (SequenceWriter writer = objectMapper.writer()
+                    .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+                    .withRootValueSeparator("\n")
+                    .writeValues(outputStream)) {
+                getRocketEventsUseCase.stream(rocketId, afterMessageNumber, event -> {
+                    try {
+                        writer.write(mapToMessage(event));
+                        written.set(true);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            }
+            // The separator only goes between documents, end the last line; an empty export stays empty
+            if (written.get()) {
+                outputStream.write('\n');
+            }
+        };
+        return ResponseEntity.ok().contentType(APPLICATION_NDJSON).body(body);
+    }
+
+    private RocketMessage mapToMessage(RocketEvent event) {
+        MessageMetadata metadata = new MessageMetadata()
+                .channel(event.channel())
+                .messageNumber(event.messageNumber())
+                .messageTime(event.messageTime().value())
+                .messageType(MessageMetadata.MessageTypeEnum.fromValue(event.messageType().name()));
+
+        return new RocketMessage()
+                .metadata(metadata)
+                .message(event.payload());
+    }
+}
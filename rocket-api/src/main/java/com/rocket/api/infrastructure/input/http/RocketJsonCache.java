@@ -0,0 +1,83 @@
+package com.rocket.api.infrastructure.input.http;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.rocket.api.domain.RocketState;
+import com.rocket.api.infrastructure.output.memory.RocketReadModel;
+import com.rocket.api.openapi.model.Rocket;
+import com.rocket.api.usecase.port.VersionedRocketState;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/*
+ * Per rocket cache of the serialized Rocket response, keyed by channel and tagged with the state version.
+ * Entries are refreshed after a state write commits, reads only reuse an entry whose version matches the state they serve.
+ */
+@Component
+class RocketJsonCache implements RocketReadModel {
+
+    // Written as a plain Rocket bean, PreSerializedRocket would otherwise write its not yet encoded JSON
+    private final ObjectWriter rocketWriter;
+
+    private final Map<UUID, PreSerializedRocket> fragments = new ConcurrentHashMap<>();
+
+    RocketJsonCache(ObjectMapper objectMapper) {
+        this.rocketWriter = objectMapper.writerFor(Rocket.class);
+    }
+
+    @Override
+    public void reload(List<VersionedRocketState> states) {
+        fragments.clear();
+        states.forEach(this::fragment);
+    }
+
+    @Override
+    public void apply(VersionedRocketState saved) {
+        fragment(saved);
+    }
+
+    Optional<Rocket> find(UUID channel, long version) {
+        PreSerializedRocket cached = fragments.get(channel);
+        return cached != null && cached.version() == version ? Optional.of(cached) : Optional.empty();
+    }
+
+    Rocket fragment(VersionedRocketState versioned) {
+        UUID channel = versioned.state().channel();
+        PreSerializedRocket cached = fragments.get(channel);
+        if (cached != null && cached.version() == versioned.version()) {
+            return cached;
+        }
+
+        PreSerializedRocket fresh = serialize(versioned);
+        // Never replace a newer fragment with an older one, commits may be delivered out of order
+        fragments.merge(channel, fresh, (current, candidate) -> candidate.version() > current.version() ? candidate : current);
+        return fresh;
+    }
+
+    private PreSerializedRocket serialize(VersionedRocketState versioned) {
+        PreSerializedRocket rocket = mapToResponse(versioned.state(), new PreSerializedRocket(versioned.version()));
+        try {
+            rocket.encode(rocketWriter.writeValueAsString(rocket));
+            return rocket;
+        } catch (JsonProcessingException e) {
+            throw new RuntimeException("Failed to serialize rocket response", e);
+        }
+    }
+
+    static <T extends Rocket> T mapToResponse(RocketState state, T rocket) {
+        rocket.setId(state.channel());
+        rocket.setType(state.rocketType());
+        rocket.setSpeed(state.speed());
+        rocket.setMission(state.mission());
+        rocket.setStatus(Rocket.StatusEnum.fromValue(state.status().name()));
+        rocket.setExplodedReason(state.explodedReason());
+        rocket.setStale(state.stale());
+        return rocket;
+    }
+}
@@ -1,56 +1,169 @@
 package com.rocket.api.infrastructure.input.http;
 
-import com.rocket.api.usecase.GetRocketUseCase;
-import com.rocket.api.usecase.ListRocketsUseCase;
 import com.rocket.api.domain.RocketState;
+import com.rocket.api.domain.UtcDateTime;
+import com.rocket.api.infrastructure.output.memory.RocketFleetStats;
+import com.rocket.api.infrastructure.output.memory.series.SpeedPoint;
 import com.rocket.api.openapi.api.RocketsApi;
+import com.rocket.api.openapi.model.FleetStats;
 import com.rocket.api.openapi.model.Rocket;
+import com.rocket.api.openapi.model.RocketAt;
+import com.rocket.api.openapi.model.RocketSpeedPoint;
+import com.rocket.api.openapi.model.RocketTypeStats;
+import com.rocket.api.usecase.GetFleetStatsUseCase;
+import com.rocket.api.usecase.GetRocketAtUseCase;
+import com.rocket.api.usecase.GetRocketSpeedSeriesUseCase;
+import com.rocket.api.usecase.GetRocketUseCase;
+import com.rocket.api.usecase.ListRocketsUseCase;
+import com.rocket.api.usecase.QueryRocketsBySpeedUseCase;
+import com.rocket.api.usecase.port.VersionedRocketState;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.time.ZonedDateTime;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.OptionalLong;
 import java.util.UUID;
 
 @RestController
 public class RocketsController implements RocketsApi {
 
+    static final String FLEET_VERSION_HEADER = "X-Fleet-Version";
+
     private final GetRocketUseCase getRocketUseCase;
     private final ListRocketsUseCase listRocketsUseCase;
+    private final QueryRocketsBySpeedUseCase queryRocketsBySpeedUseCase;
+    private final GetFleetStatsUseCase getFleetStatsUseCase;
+    private final GetRocketSpeedSeriesUseCase getRocketSpeedSeriesUseCase;
+    private final GetRocketAtUseCase getRocketAtUseCase;
+    private final RocketJsonCache jsonCache;
 
     public RocketsController(
             GetRocketUseCase getRocketUseCase,
-            ListRocketsUseCase listRocketsUseCase
+            ListRocketsUseCase listRocketsUseCase,
+            QueryRocketsBySpeedUseCase queryRocketsBySpeedUseCase,
+            GetFleetStatsUseCase getFleetStatsUseCase,
+            GetRocketSpeedSeriesUseCase getRocketSpeedSeriesUseCase,
+            GetRocketAtUseCase getRocketAtUseCase,
+            RocketJsonCache jsonCache
     ) {
         this.getRocketUseCase = getRocketUseCase;
         this.listRocketsUseCase = listRocketsUseCase;
+        this.queryRocketsBySpeedUseCase = queryRocketsBySpeedUseCase;
+        this.getFleetStatsUseCase = getFleetStatsUseCase;
+        this.getRocketSpeedSeriesUseCase = getRocketSpeedSeriesUseCase;
+        this.getRocketAtUseCase = getRocketAtUseCase;
+        this.jsonCache = jsonCache;
     }
 
     @Override
-    public ResponseEntity<Rocket> getRocket(UUID rocketId) {
-        return getRocketUseCase.execute(rocketId)
-                .map(this::mapToResponse)
-                .map(ResponseEntity::ok)
+    public ResponseEntity<Rocket> getRocket(UUID rocketId, String ifNoneMatch) {
+        OptionalLong version = getRocketUseCase.version(rocketId);
+        if (version.isEmpty()) {
+            return getRocketUseCase.execute(rocketId)
+                    .map(jsonCache::fragment)
+                    .map(ResponseEntity::ok)
+                    .orElse(ResponseEntity.notFound().build());
+        }
+
+        String etag = ETags.of(version.getAsLong());
+        if (ETags.matches(ifNoneMatch, etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+        }
+        return jsonCache.find(rocketId, version.getAsLong())
+                .or(() -> getRocketUseCase.execute(rocketId).map(jsonCache::fragment))
+                .map(rocket -> ResponseEntity.ok().eTag(etag).body(rocket))
                 .orElse(ResponseEntity.notFound().build());
     }
 
     @Override
-    public ResponseEntity<List<Rocket>> listRockets(String sortBy, String sortOrder) {
-        List<RocketState> rockets = listRocketsUseCase.execute(sortBy, sortOrder);
-        List<Rocket> response = rockets.stream()
-                .map(this::mapToResponse)
+    public ResponseEntity<List<Rocket>> listRockets(String sortBy, String sortOrder, Long changedSince, String ifNoneMatch) {
+        // Read before querying, so the returned version never claims changes the response does not contain
+        long lateWrites = listRocketsUseCase.lateWrites();
+        long fleetVersion = listRocketsUseCase.fleetVersion();
+        String etag = ETags.ofList(fleetVersion, lateWrites, sortBy, sortOrder, changedSince);
+        if (ETags.matches(ifNoneMatch, etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(etag)
+                    .header(FLEET_VERSION_HEADER, String.valueOf(fleetVersion))
+                    .build();
+        }
+
+        List<VersionedRocketState> rockets = listRocketsUseCase.execute(sortBy, sortOrder, changedSince);
+        return ResponseEntity.ok()
+                .eTag(etag)
+                .header(FLEET_VERSION_HEADER, String.valueOf(fleetVersion))
+                .body(toResponse(rockets));
+    }
+
+    @Override
+    public ResponseEntity<List<Rocket>> listTopRockets(String by, Integer limit) {
+        return ResponseEntity.ok(toResponse(queryRocketsBySpeedUseCase.top(by, limit)));
+    }
+
+    @Override
+    public ResponseEntity<List<Rocket>> listRocketsBySpeedRange(Integer minSpeed, Integer maxSpeed, String sortOrder) {
+        return ResponseEntity.ok(toResponse(queryRocketsBySpeedUseCase.speedRange(minSpeed, maxSpeed, sortOrder)));
+    }
+
+    @Override
+    public ResponseEntity<FleetStats> getFleetStats() {
+        RocketFleetStats.Snapshot snapshot = getFleetStatsUseCase.execute();
+
+        Map<String, Long> byStatus = new LinkedHashMap<>();
+        snapshot.byStatus().forEach((status, count) -> byStatus.put(status.name(), count));
+
+        List<RocketTypeStats> byType = snapshot.byType().entrySet().stream()
+                .map(entry -> new RocketTypeStats()
+                        .type(entry.getKey())
+                        .count(entry.getValue().count())
+                        .averageSpeed(entry.getValue().averageSpeed()))
                 .toList();
+
+        FleetStats stats = new FleetStats();
+        stats.setTotal(snapshot.total());
+        stats.setByStatus(byStatus);
+        stats.setByType(byType);
+        stats.setByMission(snapshot.byMission());
+        return ResponseEntity.ok(stats);
+    }
+
+    @Override
+    public ResponseEntity<List<RocketSpeedPoint>> getRocketSpeedSeries(UUID rocketId, ZonedDateTime from, ZonedDateTime to, String resolution) {
+        List<SpeedPoint> points = getRocketSpeedSeriesUseCase.execute(
+                rocketId,
+                from != null ? UtcDateTime.of(from.toOffsetDateTime()) : null,
+                to != null ? UtcDateTime.of(to.toOffsetDateTime()) : null,
+                resolution
+        );
+        return ResponseEntity.ok(points.stream()
+                .map(point -> new RocketSpeedPoint()
+                        .time(UtcDateTime.ofEpochMicros(point.epochMicros()).value())
+                        .min(point.min())
+                        .max(point.max())
+                        .last(point.last()))
+                .toList());
+    }
+
+    @Override
+    public ResponseEntity<RocketAt> getRocketAt(UUID rocketId, Integer messageNumber, ZonedDateTime time) {
+        RocketState state = getRocketAtUseCase.execute(
+                rocketId,
+                messageNumber,
+                time != null ? UtcDateTime.of(time.toOffsetDateTime()) : null
+        );
+        RocketAt response = new RocketAt()
+                .atMessageNumber(state.lastProcessedMsgNumber())
+                .rocket(RocketJsonCache.mapToResponse(state, new Rocket()));
         return ResponseEntity.ok(response);
     }
 
-    private Rocket mapToResponse(RocketState state) {
-        Rocket rocket = new Rocket();
-        rocket.setId(state.channel());
-        rocket.setType(state.rocketType());
-        rocket.setSpeed(state.speed());
-        rocket.setMission(state.mission());
-        rocket.setStatus(Rocket.StatusEnum.fromValue(state.status().name()));
-        rocket.setExplodedReason(state.explodedReason());
-        rocket.setStale(state.stale());
-        return rocket;
+    private List<Rocket> toResponse(List<VersionedRocketState> rockets) {
+        return rockets.stream()
+                .map(jsonCache::fragment)
+                .toList();
     }
-}
\ No newline at end of file
+}
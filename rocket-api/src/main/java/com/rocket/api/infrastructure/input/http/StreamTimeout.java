@@ -0,0 +1,34 @@
+package com.rocket.api.infrastructure.input.http;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.async.AsyncWebRequest;
+import org.springframework.web.context.request.async.CallableProcessingInterceptor;
+import org.springframework.web.context.request.async.WebAsyncUtils;
+
+import java.time.Duration;
+import java.util.concurrent.Callable;
+
+/*
+ * Gives one streamed exchange its own async timeout instead of the container default. It is set just before the
+ * exchange goes async, the callable is the StreamingResponseBody task.
+ */
+final class StreamTimeout implements CallableProcessingInterceptor {
+
+    private final Duration timeout;
+
+    private StreamTimeout(Duration timeout) {
+        this.timeout = timeout;
+    }
+
+    static void register(HttpServletRequest request, Duration timeout) {
+        WebAsyncUtils.getAsyncManager(request).registerCallableInterceptor(StreamTimeout.class, new StreamTimeout(timeout));
+    }
+
+    @Override
+    public <T> void beforeConcurrentHandling(NativeWebRequest request, Callable<T> task) {
+        if (request instanceof AsyncWebRequest asyncRequest) {
+            asyncRequest.setTimeout(timeout.toMillis());
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package com.rocket.api.infrastructure.output.local;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.rocket.api.domain.MessageType;
+import com.rocket.api.domain.RocketEvent;
+import com.rocket.api.domain.UtcDateTime;
+import com.rocket.api.infrastructure.output.persistence.RocketEventColumns;
+
+import java.io.DataOutput;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.util.Map;
+import java.util.UUID;
+
+/*
+ * Event record of the local logs: channel, message number and message time (epoch micros) first, so recovery can
+ * index a record from its first 28 bytes, then the RocketEventColumns layout: the type code, the typed payload fields
+ * and the remaining payload fields as JSON.
+ */
+final class EventRecordCodec {
+
+    private static final TypeReference<Map<String, Object>> PAYLOAD = new TypeReference<>() {};
+
+    private final ObjectMapper objectMapper;
+
+    EventRecordCodec(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    void write(DataOutput output, RocketEvent event) throws IOException {
+        RocketEventColumns columns = RocketEventColumns.of(event);
+        output.writeLong(event.channel().getMostSignificantBits());
+        output.writeLong(event.channel().getLeastSignificantBits());
+        output.writeInt(event.messageNumber());
+        output.writeLong(event.messageTime().toEpochMicros());
+        output.writeByte(columns.messageType().code());
+        LocalRecords.writeInt(output, columns.launchSpeed());
+        LocalRecords.writeInt(output, columns.speedDelta());
+        LocalRecords.writeString(output, columns.rocketType());
+        LocalRecords.writeString(output, columns.mission());
+        LocalRecords.writeString(output, columns.reason());
+        LocalRecords.writeBytes(output, columns.extras() != null ? objectMapper.writeValueAsBytes(columns.extras()) : null);
+    }
+
+    RocketEvent read(ByteBuffer record) {
+        UUID channel = new UUID(record.getLong(), record.getLong());
+        int messageNumber = record.getInt();
+        UtcDateTime messageTime = UtcDateTime.ofEpochMicros(record.getLong());
+        MessageType messageType = MessageType.fromCode(record.get());
+        Integer launchSpeed = LocalRecords.readInt(record);
+        Integer speedDelta = LocalRecords.readInt(record);
+        String rocketType = LocalRecords.readString(record);
+        String mission = LocalRecords.readString(record);
+        String reason = LocalRecords.readString(record);
+        byte[] extras = LocalRecords.readBytes(record);
+
+        Map<String, Object> payload = new RocketEventColumns(messageType, launchSpeed, speedDelta, rocketType, mission, reason,
+                extras != null ? readPayload(extras) : null).payload();
+        return new RocketEvent(channel, messageNumber, messageTime, messageType, payload);
+    }
+
+    private Map<String, Object> readPayload(byte[] json) {
+        try {
+            return objectMapper.readValue(json, PAYLOAD);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to decode event payload", e);
+        }
+    }
+}
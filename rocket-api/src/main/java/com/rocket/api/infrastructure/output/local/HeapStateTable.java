@@ -0,0 +1,50 @@
+package com.rocket.api.infrastructure.output.local;
+
+import com.rocket.api.usecase.port.VersionedRocketState;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+/*
+ * State table of the state objects themselves, the default.
+ */
+class HeapStateTable implements StateTable {
+
+    private final Map<UUID, VersionedRocketState> states = new ConcurrentHashMap<>();
+
+    @Override
+    public VersionedRocketState get(UUID channel) {
+        return states.get(channel);
+    }
+
+    @Override
+    public boolean putIfNewer(VersionedRocketState update, Consumer<VersionedRocketState> beforeStore) {
+        boolean[] stored = new boolean[1];
+        // compute serializes writers of one channel
+        states.compute(update.state().channel(), (channel, current) -> {
+            if (current != null && current.version() >= update.version()) {
+                return current;
+            }
+            beforeStore.accept(update);
+            stored[0] = true;
+            return update;
+        });
+        return stored[0];
+    }
+
+    @Override
+    public int size() {
+        return states.size();
+    }
+
+    @Override
+    public void forEach(Consumer<VersionedRocketState> action) {
+        states.values().forEach(action);
+    }
+
+    @Override
+    public void close() {
+    }
+}
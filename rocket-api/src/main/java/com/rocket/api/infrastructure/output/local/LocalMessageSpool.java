@@ -0,0 +1,223 @@
+package com.rocket.api.infrastructure.output.local;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.rocket.api.domain.RocketEvent;
+import com.rocket.api.usecase.port.MessageSpool;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/*
+ * Message spool on a segmented log on local disk, records are the spool time (epoch millis) followed by the event
+ * as written by EventRecordCodec.
+ *
+ * The position of the last removed record is kept in the file "drained" next to the journal, segments before it are
+ * deleted. The file is replaced without fsync: after a machine crash some messages may be handed out again, which
+ * the event store ignores as duplicates.
+ *
+ * Messages the drainer could not store are appended to the file "rejected.ndjson" in the POST /messages format, so
+ * they can be fixed and replayed through /admin/events/import. Each line is forced to disk before the message leaves
+ * the journal.
+ */
+@Component
+@ConditionalOnProperty(name = "rocket.ingest.spool.enabled", havingValue = "true")
+@Slf4j
+public class LocalMessageSpool implements MessageSpool {
+
+    private final Path cursorFile;
+    private final Path deadLetterFile;
+    private final ObjectMapper objectMapper;
+    private final EventRecordCodec codec;
+    private final Clock clock;
+    private final SegmentedLog journal;
+    private final LogFlusher flusher;
+    private final ArrayDeque<Spooled> pending = new ArrayDeque<>();
+
+    public LocalMessageSpool(
+            @Value("${rocket.ingest.spool.directory:./spool}") Path directory,
+            @Value("${rocket.ingest.spool.segment-size:64MB}") DataSize segmentSize,
+            @Value("${rocket.ingest.spool.fsync-interval:10ms}") Duration fsyncInterval,
+            ObjectMapper objectMapper,
+            Clock clock,
+            MeterRegistry meterRegistry
+    ) {
+        this.cursorFile = directory.resolve("drained");
+        this.deadLetterFile = directory.resolve("rejected.ndjson");
+        this.objectMapper = objectMapper;
+        this.codec = new EventRecordCodec(objectMapper);
+        this.clock = clock;
+
+        long drained = readCursor();
+        this.journal = SegmentedLog.open(directory.resolve("journal"), Math.toIntExact(segmentSize.toBytes()), (position, record) -> {
+            if (position > drained) {
+                pending.add(new Spooled(position, record.getLong(0)));
+            }
+        });
+        journal.deleteSegmentsBefore(drained);
+        this.flusher = new LogFlusher("message-spool-fsync", fsyncInterval);
+        flusher.add(journal);
+
+        Gauge.builder("rocket.ingest.spool.depth", this, LocalMessageSpool::depth)
+                .description("Messages accepted but not stored yet")
+                .register(meterRegistry);
+        Gauge.builder("rocket.ingest.spool.age", this, LocalMessageSpool::oldestAgeSeconds)
+                .description("Time the oldest spooled message has been waiting")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+        log.info("Message spool in {}, {} messages pending", directory.toAbsolutePath(), pending.size());
+    }
+
+    @Override
+    public void append(RocketEvent event) {
+        long spooledAt = clock.millis();
+        ByteBuffer record = encode(spooledAt, event);
+        synchronized (this) {
+            pending.add(new Spooled(journal.append(record), spooledAt));
+            notifyAll();
+        }
+    }
+
+    @Override
+    public List<RocketEvent> peek(int max, Duration timeout) throws InterruptedException {
+        long[] positions;
+        synchronized (this) {
+            long deadline = System.nanoTime() + timeout.toNanos();
+            while (pending.isEmpty()) {
+                long remaining = deadline - System.nanoTime();
+                if (remaining <= 0) {
+                    return List.of();
+                }
+                TimeUnit.NANOSECONDS.timedWait(this, remaining);
+            }
+            positions = new long[Math.min(max, pending.size())];
+            Iterator<Spooled> oldest = pending.iterator();
+            for (int i = 0; i < positions.length; i++) {
+                positions[i] = oldest.next().position();
+            }
+        }
+
+        List<RocketEvent> events = new ArrayList<>(positions.length);
+        for (long position : positions) {
+            events.add(codec.read(journal.read(position).position(Long.BYTES)));
+        }
+        return events;
+    }
+
+    @Override
+    public void remove(int count) {
+        long drained;
+        synchronized (this) {
+            Spooled last = null;
+            for (int i = 0; i < count; i++) {
+                last = pending.remove();
+            }
+            if (last == null) {
+                return;
+            }
+            drained = last.position();
+        }
+        writeCursor(drained);
+        journal.deleteSegmentsBefore(drained);
+    }
+
+    @Override
+    public void deadLetter(RocketEvent event) {
+        try (FileChannel file = FileChannel.open(deadLetterFile,
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+            ByteBuffer line = ByteBuffer.wrap(deadLetterLine(event));
+            while (line.hasRemaining()) {
+                file.write(line);
+            }
+            file.force(false);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to write " + deadLetterFile, e);
+        }
+    }
+
+    @PreDestroy
+    public void close() throws InterruptedException {
+        flusher.close();
+    }
+
+    private synchronized int depth() {
+        return pending.size();
+    }
+
+    private synchronized double oldestAgeSeconds() {
+        Spooled oldest = pending.peek();
+        return oldest != null ? (clock.millis() - oldest.spooledAt()) / 1_000.0 : 0;
+    }
+
+    private ByteBuffer encode(long spooledAt, RocketEvent event) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(72);
+        try (DataOutputStream output = new DataOutputStream(bytes)) {
+            output.writeLong(spooledAt);
+            codec.write(output, event);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to encode spooled message", e);
+        }
+        return ByteBuffer.wrap(bytes.toByteArray());
+    }
+
+    private byte[] deadLetterLine(RocketEvent event) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(256);
+        try (JsonGenerator json = objectMapper.createGenerator(bytes)) {
+            json.writeStartObject();
+            json.writeObjectFieldStart("metadata");
+            json.writeStringField("channel", event.channel().toString());
+            json.writeNumberField("messageNumber", event.messageNumber());
+            json.writeStringField("messageTime", event.messageTime().toOffsetDateTime().toString());
+            json.writeStringField("messageType", event.messageType().name());
+            json.writeEndObject();
+            json.writeObjectField("message", event.payload());
+            json.writeEndObject();
+        }
+        bytes.write('\n');
+        return bytes.toByteArray();
+    }
+
+    private long readCursor() {
+        try {
+            return Files.exists(cursorFile) ? Long.parseLong(Files.readString(cursorFile).trim()) : -1;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read " + cursorFile, e);
+        }
+    }
+
+    private void writeCursor(long position) {
+        Path next = cursorFile.resolveSibling(cursorFile.getFileName() + ".next");
+        try {
+            Files.writeString(next, Long.toString(position));
+            Files.move(next, cursorFile, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to write " + cursorFile, e);
+        }
+    }
+
+    private record Spooled(long position, long spooledAt) {
+    }
+}
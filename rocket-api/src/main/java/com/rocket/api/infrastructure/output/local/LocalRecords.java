@@ -0,0 +1,66 @@
+package com.rocket.api.infrastructure.output.local;
+
+import com.rocket.api.domain.UtcDateTime;
+
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/*
+ * Field encodings shared by the local store records, all big-endian.
+ * Nullable values carry a presence byte, strings are UTF-8 with an int length.
+ */
+final class LocalRecords {
+
+    private LocalRecords() {
+    }
+
+    static void writeString(DataOutput output, String value) throws IOException {
+        writeBytes(output, value != null ? value.getBytes(StandardCharsets.UTF_8) : null);
+    }
+
+    static String readString(ByteBuffer input) {
+        byte[] bytes = readBytes(input);
+        return bytes != null ? new String(bytes, StandardCharsets.UTF_8) : null;
+    }
+
+    static void writeBytes(DataOutput output, byte[] value) throws IOException {
+        output.writeBoolean(value != null);
+        if (value != null) {
+            output.writeInt(value.length);
+            output.write(value);
+        }
+    }
+
+    static byte[] readBytes(ByteBuffer input) {
+        if (input.get() == 0) {
+            return null;
+        }
+        byte[] bytes = new byte[input.getInt()];
+        input.get(bytes);
+        return bytes;
+    }
+
+    static void writeInt(DataOutput output, Integer value) throws IOException {
+        output.writeBoolean(value != null);
+        if (value != null) {
+            output.writeInt(value);
+        }
+    }
+
+    static Integer readInt(ByteBuffer input) {
+        return input.get() != 0 ? input.getInt() : null;
+    }
+
+    static void writeTime(DataOutput output, UtcDateTime value) throws IOException {
+        output.writeBoolean(value != null);
+        if (value != null) {
+            output.writeLong(value.toEpochMicros());
+        }
+    }
+
+    static UtcDateTime readTime(ByteBuffer input) {
+        return input.get() != 0 ? UtcDateTime.ofEpochMicros(input.getLong()) : null;
+    }
+}
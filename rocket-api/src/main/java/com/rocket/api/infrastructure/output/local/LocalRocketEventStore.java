@@ -0,0 +1,219 @@
+package com.rocket.api.infrastructure.output.local;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.rocket.api.common.beans.storage.OnLocalStorage;
+import com.rocket.api.domain.RocketEvent;
+import com.rocket.api.domain.UtcDateTime;
+import com.rocket.api.usecase.port.RocketEventStore;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Repository;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+import java.util.function.LongSupplier;
+
+/*
+ * Event store on segmented logs, one per channel shard, with an in-memory offset index per channel.
+ *
+ * Records are written by EventRecordCodec. The index maps message numbers to log positions and is rebuilt from the logs
+ * on startup; within a log the first record of a message number wins, as with the primary key in Postgres. A channel
+ * always maps to the same shard, so rocket.storage.local.event-shards must not change once the directory holds data.
+ */
+@Repository
+@OnLocalStorage
+@Slf4j
+public class LocalRocketEventStore implements RocketEventStore {
+
+    private final EventRecordCodec codec;
+    private final SegmentedLog[] shards;
+    private final Map<UUID, ChannelIndex> channels = new ConcurrentHashMap<>();
+
+    public LocalRocketEventStore(LocalStorage storage, ObjectMapper objectMapper) {
+        this.codec = new EventRecordCodec(objectMapper);
+        this.shards = new SegmentedLog[storage.eventShards()];
+        for (int shard = 0; shard < shards.length; shard++) {
+            shards[shard] = storage.open("events-" + shard, this::recover);
+        }
+        log.info("Recovered event index for {} channels", channels.size());
+    }
+
+    @Override
+    public boolean save(RocketEvent event) {
+        ByteBuffer record = encode(event);
+        SegmentedLog shard = shardOf(event.channel());
+        return channels.computeIfAbsent(event.channel(), channel -> new ChannelIndex())
+                .addIfAbsent(event.messageNumber(), event.messageTime().toEpochMicros(), () -> shard.append(record));
+    }
+
+    @Override
+    public boolean[] saveAll(List<RocketEvent> events) {
+        boolean[] saved = new boolean[events.size()];
+        for (int i = 0; i < saved.length; i++) {
+            saved[i] = save(events.get(i));
+        }
+        return saved;
+    }
+
+    @Override
+    public List<RocketEvent> findByChannelAfterMessageNumber(UUID channel, int afterMessageNumber) {
+        return findPageByChannel(channel, afterMessageNumber, Integer.MAX_VALUE);
+    }
+
+    @Override
+    public List<RocketEvent> findByChannelBetweenMessageNumbers(UUID channel, int afterMessageNumber, int upToMessageNumber) {
+        return read(channel, positions(channel, afterMessageNumber, upToMessageNumber, Integer.MAX_VALUE));
+    }
+
+    @Override
+    public Optional<Integer> findLatestMessageNumberAtOrBefore(UUID channel, OffsetDateTime messageTime) {
+        ChannelIndex index = channels.get(channel);
+        return index != null ? index.latestAtOrBefore(UtcDateTime.of(messageTime).toEpochMicros()) : Optional.empty();
+    }
+
+    @Override
+    public Optional<Integer> findEarliestMessageNumberAtOrAfter(UUID channel, OffsetDateTime messageTime) {
+        ChannelIndex index = channels.get(channel);
+        return index != null ? index.earliestAtOrAfter(UtcDateTime.of(messageTime).toEpochMicros()) : Optional.empty();
+    }
+
+    @Override
+    public List<RocketEvent> findPageByChannel(UUID channel, int afterMessageNumber, int limit) {
+        return read(channel, positions(channel, afterMessageNumber, Integer.MAX_VALUE, limit));
+    }
+
+    @Override
+    public void streamByChannelAfterMessageNumber(UUID channel, int afterMessageNumber, int fetchSize, Consumer<RocketEvent> consumer) {
+        SegmentedLog shard = shardOf(channel);
+        for (long position : positions(channel, afterMessageNumber, Integer.MAX_VALUE, Integer.MAX_VALUE)) {
+            consumer.accept(codec.read(shard.read(position)));
+        }
+    }
+
+    @Override
+    public boolean existsByChannel(UUID channel) {
+        return countByChannel(channel) > 0;
+    }
+
+    @Override
+    public int countByChannel(UUID channel) {
+        ChannelIndex index = channels.get(channel);
+        return index != null ? index.size() : 0;
+    }
+
+    private SegmentedLog shardOf(UUID channel) {
+        return shards[Math.floorMod(channel.hashCode(), shards.length)];
+    }
+
+    private long[] positions(UUID channel, int afterMessageNumber, int upToMessageNumber, int limit) {
+        ChannelIndex index = channels.get(channel);
+        return index != null ? index.positions(afterMessageNumber, upToMessageNumber, limit) : new long[0];
+    }
+
+    private List<RocketEvent> read(UUID channel, long[] positions) {
+        SegmentedLog shard = shardOf(channel);
+        List<RocketEvent> events = new ArrayList<>(positions.length);
+        for (long position : positions) {
+            events.add(codec.read(shard.read(position)));
+        }
+        return events;
+    }
+
+    private void recover(long position, ByteBuffer record) {
+        UUID channel = new UUID(record.getLong(), record.getLong());
+        int messageNumber = record.getInt();
+        long messageTime = record.getLong();
+        channels.computeIfAbsent(channel, key -> new ChannelIndex()).addIfAbsent(messageNumber, messageTime, () -> position);
+    }
+
+    private ByteBuffer encode(RocketEvent event) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(64);
+        try (DataOutputStream output = new DataOutputStream(bytes)) {
+            codec.write(output, event);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to encode event", e);
+        }
+        return ByteBuffer.wrap(bytes.toByteArray());
+    }
+
+    /*
+     * Message numbers of one channel in ascending order with message time and log position. Events mostly arrive in
+     * order, so adding one is usually an append to the arrays.
+     */
+    private static final class ChannelIndex {
+
+        private int size;
+        private int[] messageNumbers = new int[8];
+        private long[] messageTimes = new long[8];
+        private long[] positions = new long[8];
+
+        /*
+         * Calls append and indexes the position it returns unless the message number is already indexed.
+         */
+        synchronized boolean addIfAbsent(int messageNumber, long messageTime, LongSupplier append) {
+            int slot = Arrays.binarySearch(messageNumbers, 0, size, messageNumber);
+            if (slot >= 0) {
+                return false;
+            }
+            long position = append.getAsLong();
+            if (size == messageNumbers.length) {
+                int capacity = size * 2;
+                messageNumbers = Arrays.copyOf(messageNumbers, capacity);
+                messageTimes = Arrays.copyOf(messageTimes, capacity);
+                positions = Arrays.copyOf(positions, capacity);
+            }
+            int insertAt = -slot - 1;
+            System.arraycopy(messageNumbers, insertAt, messageNumbers, insertAt + 1, size - insertAt);
+            System.arraycopy(messageTimes, insertAt, messageTimes, insertAt + 1, size - insertAt);
+            System.arraycopy(positions, insertAt, positions, insertAt + 1, size - insertAt);
+            messageNumbers[insertAt] = messageNumber;
+            messageTimes[insertAt] = messageTime;
+            positions[insertAt] = position;
+            size++;
+            return true;
+        }
+
+        synchronized long[] positions(int afterMessageNumber, int upToMessageNumber, int limit) {
+            int from = Arrays.binarySearch(messageNumbers, 0, size, afterMessageNumber);
+            from = from >= 0 ? from + 1 : -from - 1;
+            int to = from;
+            while (to < size && messageNumbers[to] <= upToMessageNumber && to - from < limit) {
+                to++;
+            }
+            return Arrays.copyOfRange(positions, from, to);
+        }
+
+        synchronized Optional<Integer> latestAtOrBefore(long messageTime) {
+            for (int i = size - 1; i >= 0; i--) {
+                if (messageTimes[i] <= messageTime) {
+                    return Optional.of(messageNumbers[i]);
+                }
+            }
+            return Optional.empty();
+        }
+
+        synchronized Optional<Integer> earliestAtOrAfter(long messageTime) {
+            for (int i = 0; i < size; i++) {
+                if (messageTimes[i] >= messageTime) {
+                    return Optional.of(messageNumbers[i]);
+                }
+            }
+            return Optional.empty();
+        }
+
+        synchronized int size() {
+            return size;
+        }
+    }
+}
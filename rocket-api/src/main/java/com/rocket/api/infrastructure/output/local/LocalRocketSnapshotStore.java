@@ -0,0 +1,102 @@
+package com.rocket.api.infrastructure.output.local;
+
+import com.rocket.api.common.beans.storage.OnLocalStorage;
+import com.rocket.api.domain.RocketSnapshot;
+import com.rocket.api.domain.RocketStatus;
+import com.rocket.api.usecase.port.RocketSnapshotStore;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Repository;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/*
+ * Snapshot store holding all snapshots in memory, every new one is appended to a segmented log that is replayed
+ * on startup. One snapshot is taken every 80 events, so memory grows with the event count but far slower.
+ */
+@Repository
+@OnLocalStorage
+@Slf4j
+public class LocalRocketSnapshotStore implements RocketSnapshotStore {
+
+    private final Map<UUID, NavigableMap<Integer, RocketSnapshot>> snapshots = new ConcurrentHashMap<>();
+    private final SegmentedLog snapshotLog;
+
+    public LocalRocketSnapshotStore(LocalStorage storage) {
+        this.snapshotLog = storage.open("snapshots", (position, record) -> add(decode(record)));
+        log.info("Recovered snapshots for {} channels", snapshots.size());
+    }
+
+    @Override
+    public void saveAll(List<RocketSnapshot> updates) {
+        for (RocketSnapshot snapshot : updates) {
+            if (add(snapshot)) {
+                snapshotLog.append(encode(snapshot));
+            }
+        }
+    }
+
+    @Override
+    public Optional<RocketSnapshot> findLatestByChannel(UUID channel) {
+        return findLatestByChannelAtOrBefore(channel, Integer.MAX_VALUE);
+    }
+
+    @Override
+    public Optional<RocketSnapshot> findLatestByChannelAtOrBefore(UUID channel, int messageNumber) {
+        NavigableMap<Integer, RocketSnapshot> byMessageNumber = snapshots.get(channel);
+        if (byMessageNumber == null) {
+            return Optional.empty();
+        }
+        Map.Entry<Integer, RocketSnapshot> latest = byMessageNumber.floorEntry(messageNumber);
+        return latest != null ? Optional.of(latest.getValue()) : Optional.empty();
+    }
+
+    // A stored snapshot is never replaced, same as ON CONFLICT DO NOTHING in RocketSnapshotRepository
+    private boolean add(RocketSnapshot snapshot) {
+        return snapshots.computeIfAbsent(snapshot.channel(), channel -> new ConcurrentSkipListMap<>())
+                .putIfAbsent(snapshot.atMessageNumber(), snapshot) == null;
+    }
+
+    private static ByteBuffer encode(RocketSnapshot snapshot) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(96);
+        try (DataOutputStream output = new DataOutputStream(bytes)) {
+            output.writeLong(snapshot.channel().getMostSignificantBits());
+            output.writeLong(snapshot.channel().getLeastSignificantBits());
+            output.writeInt(snapshot.atMessageNumber());
+            LocalRecords.writeString(output, snapshot.rocketType());
+            LocalRecords.writeString(output, snapshot.mission());
+            output.writeInt(snapshot.speed());
+            LocalRecords.writeString(output, snapshot.status().name());
+            LocalRecords.writeString(output, snapshot.explodedReason());
+            LocalRecords.writeTime(output, snapshot.launchedAt());
+            LocalRecords.writeTime(output, snapshot.createdAt());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to encode rocket snapshot", e);
+        }
+        return ByteBuffer.wrap(bytes.toByteArray());
+    }
+
+    private static RocketSnapshot decode(ByteBuffer record) {
+        return new RocketSnapshot(
+                new UUID(record.getLong(), record.getLong()),
+                record.getInt(),
+                LocalRecords.readString(record),
+                LocalRecords.readString(record),
+                record.getInt(),
+                RocketStatus.valueOf(LocalRecords.readString(record)),
+                LocalRecords.readString(record),
+                LocalRecords.readTime(record),
+                LocalRecords.readTime(record)
+        );
+    }
+}
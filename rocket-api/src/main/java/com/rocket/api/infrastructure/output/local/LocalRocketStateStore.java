@@ -0,0 +1,191 @@
+package com.rocket.api.infrastructure.output.local;
+
+import com.rocket.api.common.beans.storage.OnLocalStorage;
+import com.rocket.api.domain.RocketState;
+import com.rocket.api.domain.RocketStatus;
+import com.rocket.api.usecase.port.RocketStateStore;
+import com.rocket.api.usecase.port.VersionedRocketState;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Repository;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+/*
+ * State store holding the current states in memory, every accepted write is appended to a segmented log. States are
+ * kept as objects, or with rocket.storage.local.state-table=off-heap in native memory, see OffHeapStateTable.
+ *
+ * On startup the log is replayed keeping the highest version per channel. When it holds more than twice as many
+ * records as rockets, the current states are written to a fresh segment and the older segments are deleted;
+ * a crash in between only leaves duplicates that the next replay ignores.
+ */
+@Repository
+@OnLocalStorage
+@Slf4j
+public class LocalRocketStateStore implements RocketStateStore {
+
+    private static final int MIN_RECORDS_TO_COMPACT = 1024;
+    private static final int OFF_HEAP_STRIPES = 64;
+
+    private final StateTable states;
+    private final SegmentedLog stateLog;
+    private final AtomicLong lastVersion = new AtomicLong();
+    private long recovered;
+
+    public LocalRocketStateStore(
+            LocalStorage storage,
+            @Value("${rocket.storage.local.state-table:heap}") String stateTable,
+            @Value("${rocket.storage.local.expected-rockets:1024}") int expectedRockets
+    ) {
+        this.states = switch (stateTable) {
+            case "heap" -> new HeapStateTable();
+            case "off-heap" -> new OffHeapStateTable(expectedRockets, OFF_HEAP_STRIPES);
+            default -> throw new IllegalArgumentException("Unknown rocket.storage.local.state-table: " + stateTable);
+        };
+        this.stateLog = storage.open("states", (position, record) -> {
+            recovered++;
+            VersionedRocketState saved = decode(record);
+            states.putIfNewer(saved, kept -> {});
+            lastVersion.accumulateAndGet(saved.version(), Math::max);
+        });
+        log.info("Recovered {} rocket states from {} records into the {} state table", states.size(), recovered, stateTable);
+        if (recovered >= MIN_RECORDS_TO_COMPACT && recovered > 2L * states.size()) {
+            compact();
+        }
+    }
+
+    @Override
+    public long[] nextVersions(int count) {
+        long last = lastVersion.addAndGet(count);
+        long[] versions = new long[count];
+        for (int i = 0; i < count; i++) {
+            versions[i] = last - count + 1 + i;
+        }
+        return versions;
+    }
+
+    @Override
+    public void saveAll(List<VersionedRocketState> updates) {
+        for (VersionedRocketState update : updates) {
+            // Writers of one channel are serialized, the log order matches the version order per channel
+            states.putIfNewer(update, accepted -> stateLog.append(encode(accepted)));
+        }
+    }
+
+    @Override
+    public Optional<RocketState> findByChannel(UUID channel) {
+        return findVersionedByChannel(channel).map(VersionedRocketState::state);
+    }
+
+    @Override
+    public Optional<VersionedRocketState> findVersionedByChannel(UUID channel) {
+        return Optional.ofNullable(states.get(channel));
+    }
+
+    @Override
+    public List<VersionedRocketState> findAll(String sortBy, String sortOrder) {
+        List<VersionedRocketState> result = new ArrayList<>(states.size());
+        states.forEach(result::add);
+        result.sort(ordering(sortBy, sortOrder));
+        return result;
+    }
+
+    @Override
+    public List<VersionedRocketState> findChangedSince(long version, String sortBy, String sortOrder) {
+        List<VersionedRocketState> result = new ArrayList<>();
+        states.forEach(saved -> {
+            if (saved.version() > version) {
+                result.add(saved);
+            }
+        });
+        result.sort(ordering(sortBy, sortOrder));
+        return result;
+    }
+
+    @Override
+    public List<VersionedRocketState> findAllVersioned() {
+        List<VersionedRocketState> result = new ArrayList<>(states.size());
+        states.forEach(result::add);
+        return result;
+    }
+
+    @PreDestroy
+    public void close() {
+        states.close();
+    }
+
+    private void compact() {
+        long compactedFrom = stateLog.roll();
+        states.forEach(saved -> stateLog.append(encode(saved)));
+        stateLog.force();
+        stateLog.deleteSegmentsBefore(compactedFrom);
+        log.info("Compacted state log from {} to {} records", recovered, states.size());
+    }
+
+    // Same order as RocketStateRepository: one column, nulls last in both directions
+    private static Comparator<VersionedRocketState> ordering(String sortBy, String sortOrder) {
+        boolean descending = "desc".equalsIgnoreCase(sortOrder);
+        Comparator<VersionedRocketState> byColumn = switch (sortBy) {
+            case "speed" -> Comparator.comparing(saved -> saved.state().speed(), direction(descending));
+            case "mission" -> Comparator.comparing(saved -> saved.state().mission(), Comparator.nullsLast(direction(descending)));
+            case "status" -> Comparator.comparing(saved -> saved.state().status().name(), direction(descending));
+            default -> Comparator.comparing(saved -> saved.state().rocketType(), Comparator.nullsLast(direction(descending)));
+        };
+        return byColumn.thenComparing(saved -> saved.state().channel());
+    }
+
+    private static <T extends Comparable<? super T>> Comparator<T> direction(boolean descending) {
+        return descending ? Comparator.reverseOrder() : Comparator.naturalOrder();
+    }
+
+    private static ByteBuffer encode(VersionedRocketState saved) {
+        RocketState state = saved.state();
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(96);
+        try (DataOutputStream output = new DataOutputStream(bytes)) {
+            output.writeLong(state.channel().getMostSignificantBits());
+            output.writeLong(state.channel().getLeastSignificantBits());
+            output.writeLong(saved.version());
+            LocalRecords.writeString(output, state.rocketType());
+            LocalRecords.writeString(output, state.mission());
+            output.writeInt(state.speed());
+            LocalRecords.writeString(output, state.status().name());
+            LocalRecords.writeString(output, state.explodedReason());
+            LocalRecords.writeTime(output, state.launchedAt());
+            LocalRecords.writeTime(output, state.lastUpdatedAt());
+            output.writeInt(state.lastProcessedMsgNumber());
+            output.writeBoolean(state.stale());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to encode rocket state", e);
+        }
+        return ByteBuffer.wrap(bytes.toByteArray());
+    }
+
+    private static VersionedRocketState decode(ByteBuffer record) {
+        UUID channel = new UUID(record.getLong(), record.getLong());
+        long version = record.getLong();
+        RocketState state = new RocketState(
+                channel,
+                LocalRecords.readString(record),
+                LocalRecords.readString(record),
+                record.getInt(),
+                RocketStatus.valueOf(LocalRecords.readString(record)),
+                LocalRecords.readString(record),
+                LocalRecords.readTime(record),
+                LocalRecords.readTime(record),
+                record.getInt(),
+                record.get() != 0
+        );
+        return new VersionedRocketState(state, version);
+    }
+}
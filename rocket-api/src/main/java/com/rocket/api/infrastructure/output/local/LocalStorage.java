@@ -0,0 +1,56 @@
+package com.rocket.api.infrastructure.output.local;
+
+import com.rocket.api.common.beans.storage.OnLocalStorage;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+/*
+ * Owns the segmented logs of the local stores below rocket.storage.local.directory. Logs are not forced per write
+ * but every fsync-interval, see LogFlusher.
+ */
+@Component
+@OnLocalStorage
+@Slf4j
+public class LocalStorage {
+
+    private final Path directory;
+    private final int segmentBytes;
+    private final int eventShards;
+    private final LogFlusher flusher;
+
+    public LocalStorage(
+            @Value("${rocket.storage.local.directory:./data}") Path directory,
+            @Value("${rocket.storage.local.segment-size:64MB}") DataSize segmentSize,
+            @Value("${rocket.storage.local.event-shards:8}") int eventShards,
+            @Value("${rocket.storage.local.fsync-interval:10ms}") Duration fsyncInterval
+    ) {
+        this.directory = directory;
+        this.segmentBytes = Math.toIntExact(segmentSize.toBytes());
+        this.eventShards = eventShards;
+        this.flusher = new LogFlusher("local-storage-fsync", fsyncInterval);
+        log.info("Local storage in {}, segments of {}, fsync every {}", directory.toAbsolutePath(), segmentSize, fsyncInterval);
+    }
+
+    int eventShards() {
+        return eventShards;
+    }
+
+    SegmentedLog open(String name, SegmentedLog.RecordVisitor recovery) {
+        long startedAt = System.nanoTime();
+        SegmentedLog opened = SegmentedLog.open(directory.resolve(name), segmentBytes, recovery);
+        flusher.add(opened);
+        log.debug("Opened log {} in {} ms", name, Duration.ofNanos(System.nanoTime() - startedAt).toMillis());
+        return opened;
+    }
+
+    @PreDestroy
+    public void close() throws InterruptedException {
+        flusher.close();
+    }
+}
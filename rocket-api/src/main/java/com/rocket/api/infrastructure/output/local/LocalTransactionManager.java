@@ -0,0 +1,66 @@
+package com.rocket.api.infrastructure.output.local;
+
+import com.rocket.api.common.beans.storage.OnLocalStorage;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.AbstractPlatformTransactionManager;
+import org.springframework.transaction.support.DefaultTransactionStatus;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/*
+ * Transaction manager of the local stores, which have no transactions of their own.
+ *
+ * It only demarcates transaction boundaries, so @Transactional and TransactionTemplate keep working and after-commit
+ * callbacks (state versions, @TransactionalEventListener) still run once the outermost transaction completes.
+ * Writes are not undone on rollback; an event stored before a failure stays stored and the state catches up with the
+ * next message of its channel.
+ */
+@Component
+@OnLocalStorage
+public class LocalTransactionManager extends AbstractPlatformTransactionManager {
+
+    @Override
+    protected Object doGetTransaction() {
+        return new LocalTransaction(TransactionSynchronizationManager.hasResource(this));
+    }
+
+    @Override
+    protected boolean isExistingTransaction(Object transaction) {
+        return ((LocalTransaction) transaction).existing();
+    }
+
+    @Override
+    protected void doBegin(Object transaction, TransactionDefinition definition) {
+        TransactionSynchronizationManager.bindResource(this, Boolean.TRUE);
+    }
+
+    @Override
+    protected Object doSuspend(Object transaction) {
+        return TransactionSynchronizationManager.unbindResource(this);
+    }
+
+    @Override
+    protected void doResume(Object transaction, Object suspendedResources) {
+        TransactionSynchronizationManager.bindResource(this, suspendedResources);
+    }
+
+    @Override
+    protected void doCommit(DefaultTransactionStatus status) {
+    }
+
+    @Override
+    protected void doRollback(DefaultTransactionStatus status) {
+    }
+
+    @Override
+    protected void doSetRollbackOnly(DefaultTransactionStatus status) {
+    }
+
+    @Override
+    protected void doCleanupAfterCompletion(Object transaction) {
+        TransactionSynchronizationManager.unbindResourceIfPossible(this);
+    }
+
+    private record LocalTransaction(boolean existing) {
+    }
+}
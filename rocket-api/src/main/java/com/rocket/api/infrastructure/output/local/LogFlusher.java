@@ -0,0 +1,54 @@
+package com.rocket.api.infrastructure.output.local;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/*
+ * Forces a set of segmented logs to disk from one background thread at a fixed interval, so a burst of writes costs
+ * one fsync per log instead of one per write. A machine crash loses at most one interval of writes, a process crash
+ * none. Closing stops the thread and closes the logs, which forces them a last time.
+ */
+@Slf4j
+final class LogFlusher implements AutoCloseable {
+
+    private final Duration interval;
+    private final List<SegmentedLog> logs = new CopyOnWriteArrayList<>();
+    private final Thread thread;
+
+    LogFlusher(String name, Duration interval) {
+        this.interval = interval;
+        this.thread = Thread.ofPlatform().daemon().name(name).start(this::forceLoop);
+    }
+
+    SegmentedLog add(SegmentedLog opened) {
+        logs.add(opened);
+        return opened;
+    }
+
+    @Override
+    public void close() throws InterruptedException {
+        thread.interrupt();
+        thread.join();
+        logs.forEach(SegmentedLog::close);
+    }
+
+    private void forceLoop() {
+        while (!Thread.currentThread().isInterrupted()) {
+            try {
+                Thread.sleep(interval);
+            } catch (InterruptedException e) {
+                return;
+            }
+            for (SegmentedLog opened : logs) {
+                try {
+                    opened.force();
+                } catch (RuntimeException e) {
+                    log.error("Failed to force log to disk", e);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,279 @@
+package com.rocket.api.infrastructure.output.local;
+
+import com.rocket.api.domain.RocketState;
+import com.rocket.api.domain.RocketStatus;
+import com.rocket.api.domain.UtcDateTime;
+import com.rocket.api.usecase.port.VersionedRocketState;
+
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.util.UUID;
+import java.util.concurrent.locks.StampedLock;
+import java.util.function.Consumer;
+
+import static java.lang.foreign.ValueLayout.JAVA_BYTE;
+import static java.lang.foreign.ValueLayout.JAVA_INT;
+import static java.lang.foreign.ValueLayout.JAVA_LONG;
+
+/*
+ * State table in native memory, for fleets too large to keep as objects: a state takes one fixed 64 byte slot and no
+ * heap at all, the collector never sees it.
+ *
+ * Open addressing with linear probing, keyed by the two longs of the channel. The table is split into stripes by the
+ * top bits of the hash, each with its own slots, lock and growth, so writers of different stripes do not contend and
+ * a resize only blocks one stripe. Strings are stored as ids of dictionaries shared by all stripes; states are
+ * materialized as objects on every get, callers keep them only as long as they need them.
+ */
+final class OffHeapStateTable implements StateTable {
+
+    private static final long SLOT_BYTES = 64;
+    private static final long MSB = 0;
+    private static final long LSB = 8;
+    private static final long VERSION = 16;
+    private static final long LAUNCHED_AT = 24;
+    private static final long LAST_UPDATED_AT = 32;
+    private static final long SPEED = 40;
+    private static final long LAST_PROCESSED_MSG_NUMBER = 44;
+    private static final long ROCKET_TYPE = 48;
+    private static final long MISSION = 52;
+    private static final long EXPLODED_REASON = 56;
+    private static final long STATUS = 60;
+    private static final long FLAGS = 61;
+
+    private static final byte OCCUPIED = 1;
+    private static final byte STALE = 2;
+    // Epoch micros of a null time, not a representable timestamptz
+    private static final long NO_TIME = Long.MIN_VALUE;
+    private static final RocketStatus[] STATUSES = RocketStatus.values();
+    private static final double MAX_LOAD = 0.6;
+
+    private final Stripe[] stripes;
+    private final int stripeShift;
+    private final StringDictionary rocketTypes = new StringDictionary();
+    private final StringDictionary missions = new StringDictionary();
+    private final StringDictionary explodedReasons = new StringDictionary();
+
+    /*
+     * stripes is rounded up to a power of two, expectedSize only sizes the initial slots.
+     */
+    OffHeapStateTable(int expectedSize, int stripes) {
+        int stripeCount = powerOfTwoAtLeast(stripes);
+        this.stripes = new Stripe[stripeCount];
+        this.stripeShift = Long.SIZE - Integer.numberOfTrailingZeros(stripeCount);
+        int perStripe = (int) Math.ceil(expectedSize / MAX_LOAD / stripeCount);
+        int capacity = powerOfTwoAtLeast(Math.max(16, perStripe));
+        for (int i = 0; i < stripeCount; i++) {
+            this.stripes[i] = new Stripe(capacity);
+        }
+    }
+
+    @Override
+    public VersionedRocketState get(UUID channel) {
+        long msb = channel.getMostSignificantBits();
+        long lsb = channel.getLeastSignificantBits();
+        long hash = hash(msb, lsb);
+        Stripe stripe = stripeOf(hash);
+        long stamp = stripe.lock.readLock();
+        try {
+            long slot = stripe.find(hash, msb, lsb);
+            return isOccupied(stripe.slots, slot) ? read(stripe.slots, slot, channel) : null;
+        } finally {
+            stripe.lock.unlockRead(stamp);
+        }
+    }
+
+    @Override
+    public boolean putIfNewer(VersionedRocketState update, Consumer<VersionedRocketState> beforeStore) {
+        UUID channel = update.state().channel();
+        long msb = channel.getMostSignificantBits();
+        long lsb = channel.getLeastSignificantBits();
+        long hash = hash(msb, lsb);
+        Stripe stripe = stripeOf(hash);
+        long stamp = stripe.lock.writeLock();
+        try {
+            long slot = stripe.find(hash, msb, lsb);
+            boolean present = isOccupied(stripe.slots, slot);
+            if (present && stripe.slots.get(JAVA_LONG, slot + VERSION) >= update.version()) {
+                return false;
+            }
+            beforeStore.accept(update);
+            if (!present && stripe.size + 1 > stripe.capacity * MAX_LOAD) {
+                stripe.grow();
+                slot = stripe.find(hash, msb, lsb);
+            }
+            write(stripe.slots, slot, update);
+            if (!present) {
+                stripe.size++;
+            }
+            return true;
+        } finally {
+            stripe.lock.unlockWrite(stamp);
+        }
+    }
+
+    @Override
+    public int size() {
+        int size = 0;
+        for (Stripe stripe : stripes) {
+            long stamp = stripe.lock.readLock();
+            size += stripe.size;
+            stripe.lock.unlockRead(stamp);
+        }
+        return size;
+    }
+
+    @Override
+    public void forEach(Consumer<VersionedRocketState> action) {
+        for (Stripe stripe : stripes) {
+            long stamp = stripe.lock.readLock();
+            try {
+                for (long slot = 0; slot < stripe.capacity * SLOT_BYTES; slot += SLOT_BYTES) {
+                    if (isOccupied(stripe.slots, slot)) {
+                        UUID channel = new UUID(stripe.slots.get(JAVA_LONG, slot + MSB), stripe.slots.get(JAVA_LONG, slot + LSB));
+                        action.accept(read(stripe.slots, slot, channel));
+                    }
+                }
+            } finally {
+                stripe.lock.unlockRead(stamp);
+            }
+        }
+    }
+
+    /*
+     * Native bytes held by the slots of all stripes.
+     */
+    long reservedBytes() {
+        long bytes = 0;
+        for (Stripe stripe : stripes) {
+            long stamp = stripe.lock.readLock();
+            bytes += stripe.capacity * SLOT_BYTES;
+            stripe.lock.unlockRead(stamp);
+        }
+        return bytes;
+    }
+
+    @Override
+    public void close() {
+        for (Stripe stripe : stripes) {
+            long stamp = stripe.lock.writeLock();
+            try {
+                stripe.arena.close();
+            } finally {
+                stripe.lock.unlockWrite(stamp);
+            }
+        }
+    }
+
+    private Stripe stripeOf(long hash) {
+        return stripes[stripeShift == Long.SIZE ? 0 : (int) (hash >>> stripeShift)];
+    }
+
+    private VersionedRocketState read(MemorySegment slots, long slot, UUID channel) {
+        byte flags = slots.get(JAVA_BYTE, slot + FLAGS);
+        RocketState state = new RocketState(
+                channel,
+                rocketTypes.valueOf(slots.get(JAVA_INT, slot + ROCKET_TYPE)),
+                missions.valueOf(slots.get(JAVA_INT, slot + MISSION)),
+                slots.get(JAVA_INT, slot + SPEED),
+                STATUSES[slots.get(JAVA_BYTE, slot + STATUS)],
+                explodedReasons.valueOf(slots.get(JAVA_INT, slot + EXPLODED_REASON)),
+                readTime(slots, slot + LAUNCHED_AT),
+                readTime(slots, slot + LAST_UPDATED_AT),
+                slots.get(JAVA_INT, slot + LAST_PROCESSED_MSG_NUMBER),
+                (flags & STALE) != 0
+        );
+        return new VersionedRocketState(state, slots.get(JAVA_LONG, slot + VERSION));
+    }
+
+    private void write(MemorySegment slots, long slot, VersionedRocketState update) {
+        RocketState state = update.state();
+        slots.set(JAVA_LONG, slot + MSB, state.channel().getMostSignificantBits());
+        slots.set(JAVA_LONG, slot + LSB, state.channel().getLeastSignificantBits());
+        slots.set(JAVA_LONG, slot + VERSION, update.version());
+        slots.set(JAVA_LONG, slot + LAUNCHED_AT, state.launchedAt() != null ? state.launchedAt().toEpochMicros() : NO_TIME);
+        slots.set(JAVA_LONG, slot + LAST_UPDATED_AT, state.lastUpdatedAt() != null ? state.lastUpdatedAt().toEpochMicros() : NO_TIME);
+        slots.set(JAVA_INT, slot + SPEED, state.speed());
+        slots.set(JAVA_INT, slot + LAST_PROCESSED_MSG_NUMBER, state.lastProcessedMsgNumber());
+        slots.set(JAVA_INT, slot + ROCKET_TYPE, rocketTypes.idOf(state.rocketType()));
+        slots.set(JAVA_INT, slot + MISSION, missions.idOf(state.mission()));
+        slots.set(JAVA_INT, slot + EXPLODED_REASON, explodedReasons.idOf(state.explodedReason()));
+        slots.set(JAVA_BYTE, slot + STATUS, (byte) state.status().ordinal());
+        slots.set(JAVA_BYTE, slot + FLAGS, (byte) (OCCUPIED | (state.stale() ? STALE : 0)));
+    }
+
+    private static UtcDateTime readTime(MemorySegment slots, long offset) {
+        long micros = slots.get(JAVA_LONG, offset);
+        return micros == NO_TIME ? null : UtcDateTime.ofEpochMicros(micros);
+    }
+
+    private static int powerOfTwoAtLeast(int value) {
+        return value <= 1 ? 1 : Integer.highestOneBit(value - 1) << 1;
+    }
+
+    private static boolean isOccupied(MemorySegment slots, long slot) {
+        return (slots.get(JAVA_BYTE, slot + FLAGS) & OCCUPIED) != 0;
+    }
+
+    // murmur3 fmix64 of the folded halves, UUIDv4 bits are random already but UUIDv7 starts with a timestamp
+    private static long hash(long msb, long lsb) {
+        long value = msb ^ Long.rotateLeft(lsb, 32);
+        value ^= value >>> 33;
+        value *= 0xff51afd7ed558ccdL;
+        value ^= value >>> 33;
+        value *= 0xc4ceb9fe1a85ec53L;
+        value ^= value >>> 33;
+        return value;
+    }
+
+    private static final class Stripe {
+
+        private final StampedLock lock = new StampedLock();
+        private Arena arena;
+        private MemorySegment slots;
+        private int capacity;
+        private int size;
+
+        Stripe(int capacity) {
+            allocate(capacity);
+        }
+
+        /*
+         * Byte offset of the slot holding the channel, or of the free slot it would go to. Never fails, the load
+         * factor keeps free slots.
+         */
+        long find(long hash, long msb, long lsb) {
+            int mask = capacity - 1;
+            int index = (int) hash & mask;
+            while (true) {
+                long slot = index * SLOT_BYTES;
+                if (!isOccupied(slots, slot)
+                        || slots.get(JAVA_LONG, slot + MSB) == msb && slots.get(JAVA_LONG, slot + LSB) == lsb) {
+                    return slot;
+                }
+                index = (index + 1) & mask;
+            }
+        }
+
+        void grow() {
+            Arena previousArena = arena;
+            MemorySegment previous = slots;
+            int previousCapacity = capacity;
+            allocate(capacity * 2);
+            for (long slot = 0; slot < previousCapacity * SLOT_BYTES; slot += SLOT_BYTES) {
+                if (isOccupied(previous, slot)) {
+                    long msb = previous.get(JAVA_LONG, slot + MSB);
+                    long lsb = previous.get(JAVA_LONG, slot + LSB);
+                    MemorySegment.copy(previous, slot, slots, find(hash(msb, lsb), msb, lsb), SLOT_BYTES);
+                }
+            }
+            previousArena.close();
+        }
+
+        private void allocate(int capacity) {
+            this.arena = Arena.ofShared();
+            this.slots = arena.allocate(capacity * SLOT_BYTES, Long.BYTES);
+            this.slots.fill((byte) 0);
+            this.capacity = capacity;
+        }
+    }
+}
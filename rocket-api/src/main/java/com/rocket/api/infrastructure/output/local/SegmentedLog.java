@@ -0,0 +1,315 @@
+package com.rocket.api.infrastructure.output.local;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+
+/*
+ * Append only log of length prefixed records in memory-mapped segment files.
+ *
+ * A record is written as [int length][int crc32c][payload] and addressed by its position, the segment base plus its
+ * offset in the segment. Segments are named after their base, the next segment starts where the previous one ends.
+ * A zero length marks the end of the written part, new segments are zero filled by the file system.
+ *
+ * Writes land in the page cache, so a process crash loses nothing; only unforced pages are lost when the machine goes
+ * down, see force. On open every record is checked against its checksum: the log ends before the first torn or
+ * unwritten record of the last segment, and everything after it is zeroed so it can never be mistaken for a record
+ * later. A full segment is forced before the next one is created, so only the last one can be torn.
+ *
+ * Appends are serialized, reads of already returned positions are safe from any thread. Forces are serialized on their
+ * own lock, so appends go on while the bytes go to disk, and a force returns only when everything appended before it
+ * is forced, also when another thread was already forcing it. The force lock is taken before the log lock.
+ */
+final class SegmentedLog implements Closeable {
+
+    static final int HEADER_BYTES = 8;
+
+    private static final String SUFFIX = ".seg";
+
+    private final Path directory;
+    private final int segmentBytes;
+    private final ConcurrentSkipListMap<Long, Segment> segments = new ConcurrentSkipListMap<>();
+    private final Object forceLock = new Object();
+
+    private Segment active;
+    private int writeOffset;
+    private int forcedOffset;
+
+    @FunctionalInterface
+    interface RecordVisitor {
+        void visit(long position, ByteBuffer record);
+    }
+
+    private SegmentedLog(Path directory, int segmentBytes) {
+        this.directory = directory;
+        this.segmentBytes = segmentBytes;
+    }
+
+    /*
+     * Opens or creates the log in the directory and hands every stored record, in log order, to the visitor.
+     */
+    static SegmentedLog open(Path directory, int segmentBytes, RecordVisitor recovery) {
+        if (segmentBytes % 8 != 0 || segmentBytes <= HEADER_BYTES) {
+            throw new IllegalArgumentException("Segment size must be a positive multiple of 8 bytes: " + segmentBytes);
+        }
+        SegmentedLog log = new SegmentedLog(directory, segmentBytes);
+        try {
+            Files.createDirectories(directory);
+            log.recover(recovery);
+        } catch (IOException e) {
+            log.close();
+            throw new UncheckedIOException("Failed to open log " + directory, e);
+        }
+        return log;
+    }
+
+    synchronized long append(ByteBuffer record) {
+        int length = record.remaining();
+        if (length == 0 || length > segmentBytes - HEADER_BYTES) {
+            throw new IllegalArgumentException("Record of " + length + " bytes does not fit a segment of " + segmentBytes);
+        }
+        if (writeOffset + HEADER_BYTES + length > active.capacity()) {
+            roll();
+        }
+
+        CRC32C crc = new CRC32C();
+        crc.update(record.duplicate());
+
+        MappedByteBuffer buffer = active.buffer();
+        int offset = writeOffset;
+        buffer.putInt(offset, length);
+        buffer.putInt(offset + 4, (int) crc.getValue());
+        buffer.put(offset + HEADER_BYTES, record, record.position(), length);
+        writeOffset = offset + HEADER_BYTES + length;
+        return active.base() + offset;
+    }
+
+    /*
+     * Returns a view of the record at a position returned by append or passed to the recovery visitor.
+     */
+    ByteBuffer read(long position) {
+        Map.Entry<Long, Segment> entry = segments.floorEntry(position);
+        if (entry == null) {
+            throw new IllegalArgumentException("No segment holds position " + position);
+        }
+        Segment segment = entry.getValue();
+        int offset = (int) (position - segment.base());
+        int length = segment.buffer().getInt(offset);
+        return segment.buffer().slice(offset + HEADER_BYTES, length);
+    }
+
+    /*
+     * Starts a new segment and returns its base, every record appended afterwards has a position at or after it.
+     */
+    synchronized long roll() {
+        forceActive();
+        active = createSegment(active.base() + active.capacity());
+        writeOffset = 0;
+        forcedOffset = 0;
+        return active.base();
+    }
+
+    /*
+     * Deletes all segments that end at or before the position, used to drop records superseded by newer ones.
+     */
+    void deleteSegmentsBefore(long position) {
+        synchronized (forceLock) {
+            synchronized (this) {
+                deleteSegments(position);
+            }
+        }
+    }
+
+    private void deleteSegments(long position) {
+        for (Segment segment : List.copyOf(segments.headMap(position).values())) {
+            if (segment == active || segment.base() + segment.capacity() > position) {
+                continue;
+            }
+            segments.remove(segment.base());
+            try {
+                segment.channel().close();
+                Files.delete(segmentPath(segment.base()));
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed to delete segment " + segment.base() + " of " + directory, e);
+            }
+        }
+    }
+
+    /*
+     * Forces everything appended so far to disk. The forced offset only moves once the bytes are on disk, a roll in
+     * between forces the rest of the captured segment itself before it starts the next one.
+     */
+    void force() {
+        synchronized (forceLock) {
+            Segment segment;
+            int from;
+            int to;
+            synchronized (this) {
+                segment = active;
+                from = forcedOffset;
+                to = writeOffset;
+            }
+            if (to <= from) {
+                return;
+            }
+            segment.buffer().force(from, to - from);
+            synchronized (this) {
+                if (active == segment && forcedOffset < to) {
+                    forcedOffset = to;
+                }
+            }
+        }
+    }
+
+    @Override
+    public void close() {
+        synchronized (forceLock) {
+            synchronized (this) {
+                closeSegments();
+            }
+        }
+    }
+
+    private void closeSegments() {
+        if (active != null) {
+            forceActive();
+        }
+        for (Segment segment : segments.values()) {
+            try {
+                segment.channel().close();
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed to close segment " + segment.base() + " of " + directory, e);
+            }
+        }
+        segments.clear();
+    }
+
+    private void forceActive() {
+        if (writeOffset > forcedOffset) {
+            active.buffer().force(forcedOffset, writeOffset - forcedOffset);
+            forcedOffset = writeOffset;
+        }
+    }
+
+    private void recover(RecordVisitor recovery) throws IOException {
+        List<Long> bases = new ArrayList<>();
+        try (Stream<Path> files = Files.list(directory)) {
+            files.map(file -> file.getFileName().toString())
+                    .filter(name -> name.endsWith(SUFFIX))
+                    .map(name -> Long.parseLong(name.substring(0, name.length() - SUFFIX.length())))
+                    .sorted()
+                    .forEach(bases::add);
+        }
+        if (bases.isEmpty()) {
+            active = createSegment(0);
+            return;
+        }
+
+        for (int i = 0; i < bases.size(); i++) {
+            Segment segment = mapSegment(bases.get(i));
+            segments.put(segment.base(), segment);
+            boolean last = i == bases.size() - 1;
+            int end = scan(segment, recovery);
+            if (end < 0 && !last) {
+                throw new IllegalStateException("Corrupt record in segment " + segment.base() + " of " + directory);
+            }
+            if (last) {
+                active = segment;
+                writeOffset = end < 0 ? ~end : end;
+                zeroTail(segment, writeOffset);
+                forcedOffset = writeOffset;
+            }
+        }
+    }
+
+    /*
+     * Visits the valid records of the segment and returns the end offset, bitwise inverted when the segment ends
+     * with a torn record instead of unwritten space.
+     */
+    private static int scan(Segment segment, RecordVisitor recovery) {
+        MappedByteBuffer buffer = segment.buffer();
+        CRC32C crc = new CRC32C();
+        int offset = 0;
+        while (offset + HEADER_BYTES <= segment.capacity()) {
+            int length = buffer.getInt(offset);
+            if (length == 0) {
+                return offset;
+            }
+            if (length < 0 || length > segment.capacity() - offset - HEADER_BYTES) {
+                return ~offset;
+            }
+            ByteBuffer record = buffer.slice(offset + HEADER_BYTES, length);
+            crc.reset();
+            crc.update(record.duplicate());
+            if ((int) crc.getValue() != buffer.getInt(offset + 4)) {
+                return ~offset;
+            }
+            recovery.visit(segment.base() + offset, record);
+            offset += HEADER_BYTES + length;
+        }
+        return offset;
+    }
+
+    private static void zeroTail(Segment segment, int from) {
+        MappedByteBuffer buffer = segment.buffer();
+        boolean zeroed = false;
+        int offset = from;
+        for (; offset < segment.capacity() && offset % 8 != 0; offset++) {
+            if (buffer.get(offset) != 0) {
+                buffer.put(offset, (byte) 0);
+                zeroed = true;
+            }
+        }
+        for (; offset < segment.capacity(); offset += 8) {
+            if (buffer.getLong(offset) != 0) {
+                buffer.putLong(offset, 0);
+                zeroed = true;
+            }
+        }
+        if (zeroed) {
+            buffer.force();
+        }
+    }
+
+    private Segment createSegment(long base) {
+        try {
+            FileChannel channel = FileChannel.open(segmentPath(base),
+                    StandardOpenOption.CREATE_NEW, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            Segment segment = new Segment(base, segmentBytes, channel, channel.map(FileChannel.MapMode.READ_WRITE, 0, segmentBytes));
+            segments.put(base, segment);
+            return segment;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to create segment " + base + " of " + directory, e);
+        }
+    }
+
+    private Segment mapSegment(long base) throws IOException {
+        FileChannel channel = FileChannel.open(segmentPath(base), StandardOpenOption.READ, StandardOpenOption.WRITE);
+        // A crash right after creating the file leaves it empty, mapping extends it again
+        long size = channel.size() > 0 ? channel.size() : segmentBytes;
+        if (size > Integer.MAX_VALUE || size % 8 != 0) {
+            channel.close();
+            throw new IllegalStateException("Unexpected size " + size + " of segment " + base + " in " + directory);
+        }
+        return new Segment(base, (int) size, channel, channel.map(FileChannel.MapMode.READ_WRITE, 0, size));
+    }
+
+    private Path segmentPath(long base) {
+        return directory.resolve("%020d%s".formatted(base, SUFFIX));
+    }
+
+    private record Segment(long base, int capacity, FileChannel channel, MappedByteBuffer buffer) {
+    }
+}
@@ -0,0 +1,27 @@
+package com.rocket.api.infrastructure.output.local;
+
+import com.rocket.api.usecase.port.VersionedRocketState;
+
+import java.util.UUID;
+import java.util.function.Consumer;
+
+/*
+ * Current rocket states of LocalRocketStateStore by channel. Entries are never removed.
+ */
+interface StateTable extends AutoCloseable {
+
+    VersionedRocketState get(UUID channel);
+
+    /*
+     * Stores the update unless the table holds the channel with the same or a newer version. beforeStore runs first,
+     * while writers of the channel are held off; when it throws nothing is stored.
+     */
+    boolean putIfNewer(VersionedRocketState update, Consumer<VersionedRocketState> beforeStore);
+
+    int size();
+
+    void forEach(Consumer<VersionedRocketState> action);
+
+    @Override
+    void close();
+}
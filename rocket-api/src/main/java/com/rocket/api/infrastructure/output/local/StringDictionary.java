@@ -0,0 +1,49 @@
+package com.rocket.api.infrastructure.output.local;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/*
+ * Assigns dense int ids to strings, null is -1. Ids are never released, meant for the few distinct rocket types,
+ * missions and explosion reasons of a fleet. Looked up strings are shared instances.
+ */
+final class StringDictionary {
+
+    static final int NULL = -1;
+
+    private final Map<String, Integer> ids = new ConcurrentHashMap<>();
+    private volatile String[] values = new String[64];
+    private int size;
+
+    int idOf(String value) {
+        if (value == null) {
+            return NULL;
+        }
+        Integer id = ids.get(value);
+        return id != null ? id : add(value);
+    }
+
+    String valueOf(int id) {
+        return id == NULL ? null : values[id];
+    }
+
+    int size() {
+        return ids.size();
+    }
+
+    private synchronized int add(String value) {
+        Integer id = ids.get(value);
+        if (id != null) {
+            return id;
+        }
+        String[] current = values;
+        if (size == current.length) {
+            current = Arrays.copyOf(current, size * 2);
+        }
+        current[size] = value;
+        values = current;
+        ids.put(value, size);
+        return size++;
+    }
+}
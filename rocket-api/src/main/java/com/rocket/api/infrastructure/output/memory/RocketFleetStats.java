@@ -0,0 +1,94 @@
+package com.rocket.api.infrastructure.output.memory;
+
+import com.rocket.api.domain.RocketState;
+import com.rocket.api.domain.RocketStatus;
+import com.rocket.api.usecase.port.VersionedRocketState;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+
+/*
+ * Fleet wide aggregates maintained incrementally from committed state writes.
+ *
+ * Each transition removes the contribution of the rocket's previous state and adds the new one, so an update is O(1)
+ * and a read only copies the aggregates, whose size depends on the number of distinct types and missions,
+ * never on the number of rockets. Updates and reads share one monitor so a read always sees consistent totals.
+ */
+@Component
+public class RocketFleetStats implements RocketReadModel {
+
+    private final Map<UUID, VersionedRocketState> rockets = new HashMap<>();
+    private final Map<RocketStatus, Long> byStatus = new EnumMap<>(RocketStatus.class);
+    private final Map<String, TypeStats> byType = new HashMap<>();
+    private final Map<String, Long> byMission = new HashMap<>();
+
+    @Override
+    public synchronized void reload(List<VersionedRocketState> states) {
+        rockets.clear();
+        byStatus.clear();
+        byType.clear();
+        byMission.clear();
+        states.forEach(this::apply);
+    }
+
+    @Override
+    public synchronized void apply(VersionedRocketState saved) {
+        VersionedRocketState previous = rockets.get(saved.state().channel());
+        if (previous != null && previous.version() >= saved.version()) {
+            return;
+        }
+        if (previous != null) {
+            add(previous.state(), -1);
+        }
+        add(saved.state(), 1);
+        rockets.put(saved.state().channel(), saved);
+    }
+
+    public synchronized Snapshot snapshot() {
+        Map<RocketStatus, Long> statuses = new EnumMap<>(RocketStatus.class);
+        for (RocketStatus status : RocketStatus.values()) {
+            statuses.put(status, byStatus.getOrDefault(status, 0L));
+        }
+        Map<String, TypeStats> types = new TreeMap<>(byType);
+        Map<String, Long> missions = new TreeMap<>(byMission);
+        return new Snapshot(rockets.size(), statuses, types, missions);
+    }
+
+    private void add(RocketState state, int sign) {
+        byStatus.merge(state.status(), (long) sign, Long::sum);
+        if (state.rocketType() != null) {
+            byType.merge(state.rocketType(), new TypeStats(sign, (long) sign * state.speed()), TypeStats::plus);
+            byType.remove(state.rocketType(), TypeStats.EMPTY);
+        }
+        if (state.mission() != null) {
+            byMission.merge(state.mission(), (long) sign, Long::sum);
+            byMission.remove(state.mission(), 0L);
+        }
+    }
+
+    public record TypeStats(long count, long speedSum) {
+
+        private static final TypeStats EMPTY = new TypeStats(0, 0);
+
+        public double averageSpeed() {
+            return count > 0 ? (double) speedSum / count : 0.0;
+        }
+
+        private TypeStats plus(TypeStats other) {
+            return new TypeStats(count + other.count, speedSum + other.speedSum);
+        }
+    }
+
+    public record Snapshot(
+            long total,
+            Map<RocketStatus, Long> byStatus,
+            Map<String, TypeStats> byType,
+            Map<String, Long> byMission
+    ) {
+    }
+}
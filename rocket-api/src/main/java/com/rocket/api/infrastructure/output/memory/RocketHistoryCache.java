@@ -0,0 +1,46 @@
+package com.rocket.api.infrastructure.output.memory;
+
+import com.rocket.api.domain.RocketState;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+/*
+ * LRU cache of historical rocket states keyed by (channel, message number).
+ *
+ * Only complete points belong here: once every event up to a message number is stored, the state at that number
+ * can never change again because events are immutable and duplicates are ignored.
+ */
+@Component
+public class RocketHistoryCache {
+
+    private final Map<Key, RocketState> states;
+
+    public RocketHistoryCache(@Value("${rocket.history.cache-size:1024}") int cacheSize) {
+        this.states = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, RocketState> eldest) {
+                return size() > cacheSize;
+            }
+        };
+    }
+
+    public synchronized Optional<RocketState> find(UUID channel, int messageNumber) {
+        return Optional.ofNullable(states.get(new Key(channel, messageNumber)));
+    }
+
+    public synchronized void put(RocketState state) {
+        states.put(new Key(state.channel(), state.lastProcessedMsgNumber()), state);
+    }
+
+    public synchronized void clear() {
+        states.clear();
+    }
+
+    private record Key(UUID channel, int messageNumber) {
+    }
+}
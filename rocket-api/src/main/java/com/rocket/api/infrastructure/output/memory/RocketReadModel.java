@@ -0,0 +1,18 @@
+package com.rocket.api.infrastructure.output.memory;
+
+import com.rocket.api.usecase.port.VersionedRocketState;
+
+import java.util.List;
+
+/*
+ * In-memory projection of rocket_state which is kept up to date by RocketReadModels.
+ *
+ * Implementations must tolerate out of order delivery of apply, commits of different transactions are not
+ * delivered in version order, so an older version must never replace a newer one.
+ */
+public interface RocketReadModel {
+
+    void reload(List<VersionedRocketState> states);
+
+    void apply(VersionedRocketState saved);
+}
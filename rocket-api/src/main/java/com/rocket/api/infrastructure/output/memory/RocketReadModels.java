@@ -0,0 +1,64 @@
+package com.rocket.api.infrastructure.output.memory;
+
+import com.rocket.api.infrastructure.output.memory.series.RocketSpeedSeries;
+import com.rocket.api.usecase.port.RocketStateStore;
+import com.rocket.api.usecase.port.VersionedRocketState;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.List;
+import java.util.UUID;
+
+/*
+ * Loads all in-memory read models from rocket_state on startup and feeds them every committed state write
+ * published by ReceiveMessageUseCase, and the writes of other nodes read back after their change notification.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class RocketReadModels {
+
+    private final RocketStateStore stateStore;
+    private final RocketStateVersions stateVersions;
+    private final List<RocketReadModel> readModels;
+    private final RocketSpeedSeries speedSeries;
+
+    @PostConstruct
+    public void reload() {
+        List<VersionedRocketState> states = stateStore.findAllVersioned();
+        readModels.forEach(readModel -> readModel.reload(states));
+        // Versions last, a visible version implies every read model already holds that state
+        stateVersions.reload(states);
+        log.info("Loaded {} read models with {} rockets", readModels.size(), states.size());
+    }
+
+    @TransactionalEventListener
+    public void onStateSaved(VersionedRocketState saved) {
+        readModels.forEach(readModel -> readModel.apply(saved));
+    }
+
+    /*
+     * Applies current rows of rocket_state that may have been written by another node. Rows this node already knows,
+     * its own writes included, are skipped. The speed series of a changed rocket is dropped, its samples were taken
+     * on the other node.
+     */
+    public void applyExternal(List<VersionedRocketState> states) {
+        int applied = 0;
+        for (VersionedRocketState saved : states) {
+            UUID channel = saved.state().channel();
+            if (stateVersions.knows(channel, saved.version())) {
+                continue;
+            }
+            readModels.forEach(readModel -> readModel.apply(saved));
+            speedSeries.evict(channel);
+            stateVersions.observe(channel, saved.version());
+            applied++;
+        }
+        if (applied > 0) {
+            log.debug("Applied {} rocket states written by other nodes", applied);
+        }
+    }
+}
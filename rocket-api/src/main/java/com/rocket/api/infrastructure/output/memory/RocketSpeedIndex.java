@@ -0,0 +1,106 @@
+package com.rocket.api.infrastructure.output.memory;
+
+import com.rocket.api.usecase.port.VersionedRocketState;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+
+/*
+ * Rockets ordered by speed, maintained incrementally from committed state writes.
+ *
+ * Entries live in a concurrent skip list ordered by (speed, channel), so top-k and range reads cost O(log n + k)
+ * and never touch the database. A speed change inserts the new entry before removing the old one, so a reader running
+ * concurrently may briefly see that single rocket at both positions, but never loses it. Any other change keeps the
+ * entry and only replaces the state it holds.
+ */
+@Component
+public class RocketSpeedIndex implements RocketReadModel {
+
+    private static final UUID LOWEST_CHANNEL = new UUID(Long.MIN_VALUE, Long.MIN_VALUE);
+    private static final UUID HIGHEST_CHANNEL = new UUID(Long.MAX_VALUE, Long.MAX_VALUE);
+
+    private static final Comparator<Entry> BY_SPEED = Comparator
+            .comparingInt(Entry::speed)
+            .thenComparing(Entry::channel);
+
+    private final NavigableSet<Entry> bySpeed = new ConcurrentSkipListSet<>(BY_SPEED);
+    private final Map<UUID, Entry> byChannel = new ConcurrentHashMap<>();
+
+    @Override
+    public void reload(List<VersionedRocketState> states) {
+        bySpeed.clear();
+        byChannel.clear();
+        states.forEach(this::apply);
+    }
+
+    @Override
+    public void apply(VersionedRocketState saved) {
+        UUID channel = saved.state().channel();
+        // compute serializes writers of one channel, so updates of the same rocket never interleave
+        byChannel.compute(channel, (key, current) -> {
+            if (current != null && current.rocket.version() >= saved.version()) {
+                return current;
+            }
+            if (current != null && current.speed() == saved.state().speed()) {
+                // Same position, swap the state in place so readers never find the rocket missing
+                current.rocket = saved;
+                return current;
+            }
+            Entry updated = new Entry(saved.state().speed(), channel, saved);
+            bySpeed.add(updated);
+            if (current != null) {
+                bySpeed.remove(current);
+            }
+            return updated;
+        });
+    }
+
+    public List<VersionedRocketState> fastest(int limit) {
+        return take(bySpeed.descendingIterator(), limit);
+    }
+
+    public List<VersionedRocketState> speedBetween(int minSpeed, int maxSpeed, boolean descending) {
+        NavigableSet<Entry> range = bySpeed.subSet(
+                new Entry(minSpeed, LOWEST_CHANNEL, null), true,
+                new Entry(maxSpeed, HIGHEST_CHANNEL, null), true
+        );
+        return take(descending ? range.descendingIterator() : range.iterator(), Integer.MAX_VALUE);
+    }
+
+    private static List<VersionedRocketState> take(Iterator<Entry> entries, int limit) {
+        List<VersionedRocketState> result = new ArrayList<>(Math.min(limit, 64));
+        while (entries.hasNext() && result.size() < limit) {
+            result.add(entries.next().rocket);
+        }
+        return result;
+    }
+
+    private static final class Entry {
+
+        private final int speed;
+        private final UUID channel;
+        private volatile VersionedRocketState rocket;
+
+        Entry(int speed, UUID channel, VersionedRocketState rocket) {
+            this.speed = speed;
+            this.channel = channel;
+            this.rocket = rocket;
+        }
+
+        int speed() {
+            return speed;
+        }
+
+        UUID channel() {
+            return channel;
+        }
+    }
+}
@@ -0,0 +1,194 @@
+package com.rocket.api.infrastructure.output.memory;
+
+import com.rocket.api.usecase.port.RocketStateStore;
+import com.rocket.api.usecase.port.VersionedRocketState;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.OptionalLong;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/*
+ * Keeps track of rocket_state change versions in memory, so conditional reads can be answered without a DB query.
+ *
+ * Versions are allocated by the state store, so they stay unique when several nodes write. The fleet version is the
+ * highest known version below which every write of this node is already committed, so a client polling with
+ * changedSince=<fleet version> can never miss a row this node commits late. Writes of other nodes become known when
+ * their change notification arrives, see RocketStateChangeListener. One that commits after a higher version was already
+ * known is a late write: a client may hold a fleet version above it, so changedSince reads that could have missed it are
+ * widened to start below it (changedSinceFrom), and lateWrites changes the list ETag.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class RocketStateVersions {
+
+    // Late writes kept apart, beyond this the lowest ones are merged into one wider range
+    private static final int MAX_LATE_WRITES = 1024;
+
+    private final RocketStateStore stateStore;
+    private final Map<UUID, Long> channelVersions = new ConcurrentHashMap<>();
+    private final TreeSet<Long> inFlight = new TreeSet<>();
+    // lastKnown when an allocation started, with the number of allocations still waiting for the store
+    private final TreeMap<Long, Integer> allocating = new TreeMap<>();
+    private long lastKnown;
+    // Version of a late write, with lastKnown when it became known: fleet versions handed out before lie in between
+    private final TreeMap<Long, Long> lateWrites = new TreeMap<>();
+    private long lateWriteCount;
+
+    /*
+     * Seeds the versions from rocket_state, see RocketReadModels. The fleet version itself never moves backwards.
+     */
+    public void reload(List<VersionedRocketState> states) {
+        long max = 0;
+        channelVersions.clear();
+        for (VersionedRocketState versioned : states) {
+            channelVersions.put(versioned.state().channel(), versioned.version());
+            max = Math.max(max, versioned.version());
+        }
+        synchronized (this) {
+            lastKnown = Math.max(lastKnown, max);
+        }
+        log.info("Loaded state versions for {} rockets, fleetVersion={}", states.size(), max);
+    }
+
+    /*
+     * Allocates the versions for state writes of the given channels in the current transaction, in the same order.
+     * A version stays in flight until the transaction completes and becomes visible as the channel version only after
+     * a successful commit.
+     */
+    public long[] next(List<UUID> channels) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            throw new IllegalStateException("State versions can only be allocated inside a transaction");
+        }
+        if (channels.isEmpty()) {
+            return new long[0];
+        }
+
+        // Versions allocated from here on are above lastKnown, the fleet version stays there until they are in flight
+        long floor;
+        synchronized (this) {
+            floor = lastKnown;
+            allocating.merge(floor, 1, Integer::sum);
+        }
+        long[] versions;
+        try {
+            versions = stateStore.nextVersions(channels.size());
+        } finally {
+            synchronized (this) {
+                allocating.computeIfPresent(floor, (key, count) -> count > 1 ? count - 1 : null);
+            }
+        }
+        synchronized (this) {
+            for (long version : versions) {
+                inFlight.add(version);
+            }
+            lastKnown = Math.max(lastKnown, versions[versions.length - 1]);
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status == STATUS_COMMITTED) {
+                    for (int i = 0; i < versions.length; i++) {
+                        channelVersions.merge(channels.get(i), versions[i], Math::max);
+                    }
+                }
+                synchronized (RocketStateVersions.this) {
+                    for (long version : versions) {
+                        inFlight.remove(version);
+                    }
+                }
+            }
+        });
+        return versions;
+    }
+
+    /*
+     * Records a version committed by another node.
+     */
+    public void observe(UUID channel, long version) {
+        channelVersions.merge(channel, version, Math::max);
+        synchronized (this) {
+            if (version < lastKnown) {
+                log.debug("Late state write of channel={} version={} below lastKnown={}", channel, version, lastKnown);
+                lateWrites.merge(version, lastKnown, Math::max);
+                lateWriteCount++;
+                if (lateWrites.size() > MAX_LATE_WRITES) {
+                    Map.Entry<Long, Long> lowest = lateWrites.pollFirstEntry();
+                    Map.Entry<Long, Long> next = lateWrites.pollFirstEntry();
+                    lateWrites.put(lowest.getKey(), Math.max(lowest.getValue(), next.getValue()));
+                }
+            }
+            lastKnown = Math.max(lastKnown, version);
+        }
+    }
+
+    /*
+     * The version a changedSince read has to start after. A client holding a fleet version handed out before a late
+     * write became known has not seen that write, so such a read starts right below the lowest one it may have missed.
+     */
+    public synchronized long changedSinceFrom(long changedSince) {
+        for (Map.Entry<Long, Long> late : lateWrites.headMap(changedSince, true).entrySet()) {
+            if (late.getValue() >= changedSince) {
+                return late.getKey() - 1;
+            }
+        }
+        return changedSince;
+    }
+
+    /*
+     * Number of late writes so far. A fleet version alone does not move when one arrives.
+     */
+    public synchronized long lateWrites() {
+        return lateWriteCount;
+    }
+
+    /*
+     * True when the version is committed or in flight on this node, or an older one than the channel version.
+     */
+    public boolean knows(UUID channel, long version) {
+        Long committed = channelVersions.get(channel);
+        if (committed != null && committed >= version) {
+            return true;
+        }
+        synchronized (this) {
+            return inFlight.contains(version);
+        }
+    }
+
+    public synchronized long fleetVersion() {
+        long fleetVersion = inFlight.isEmpty() ? lastKnown : inFlight.first() - 1;
+        return allocating.isEmpty() ? fleetVersion : Math.min(fleetVersion, allocating.firstKey());
+    }
+
+    /*
+     * True when the rows hold every rocket this node knows to have changed after the given version, each at least at
+     * the version known here. Used to tell whether a replica has caught up.
+     */
+    public boolean covers(Collection<VersionedRocketState> rows, long changedSince) {
+        Map<UUID, Long> returned = new HashMap<>(rows.size() * 2);
+        rows.forEach(row -> returned.put(row.state().channel(), row.version()));
+        for (Map.Entry<UUID, Long> known : channelVersions.entrySet()) {
+            if (known.getValue() > changedSince && returned.getOrDefault(known.getKey(), Long.MIN_VALUE) < known.getValue()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public OptionalLong channelVersion(UUID channel) {
+        Long version = channelVersions.get(channel);
+        return version != null ? OptionalLong.of(version) : OptionalLong.empty();
+    }
+}
@@ -0,0 +1,86 @@
+package com.rocket.api.infrastructure.output.memory.series;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/*
+ * Fixed capacity ring of speed buckets backed by primitive arrays. With a bucket width of 0 every sample gets its own
+ * slot, otherwise samples falling into the newest bucket are folded into its min/max/last. Appends are O(1), the
+ * oldest bucket is overwritten once the ring is full. Not thread safe, guarded by the owning SpeedSeries.
+ */
+final class DownsampledRing {
+
+    private final long bucketMicros;
+    private final long[] starts;
+    private final int[] mins;
+    private final int[] maxs;
+    private final int[] lasts;
+
+    private int newest = -1;
+    private int size;
+    private boolean evicted;
+
+    DownsampledRing(int capacity, long bucketMicros) {
+        this.bucketMicros = bucketMicros;
+        this.starts = new long[capacity];
+        this.mins = new int[capacity];
+        this.maxs = new int[capacity];
+        this.lasts = new int[capacity];
+    }
+
+    void append(long epochMicros, int speed) {
+        long start = bucketMicros > 0 ? Math.floorDiv(epochMicros, bucketMicros) * bucketMicros : epochMicros;
+
+        // Late samples (sender clock skew) are folded into the newest bucket instead of reordering the ring
+        if (bucketMicros > 0 && size > 0 && start <= starts[newest]) {
+            mins[newest] = Math.min(mins[newest], speed);
+            maxs[newest] = Math.max(maxs[newest], speed);
+            lasts[newest] = speed;
+            return;
+        }
+
+        newest = (newest + 1) % starts.length;
+        if (size == starts.length) {
+            evicted = true;
+        } else {
+            size++;
+        }
+        starts[newest] = start;
+        mins[newest] = speed;
+        maxs[newest] = speed;
+        lasts[newest] = speed;
+    }
+
+    void clear() {
+        newest = -1;
+        size = 0;
+        evicted = false;
+    }
+
+    /*
+     * True when the ring still holds every bucket from the given time on, i.e. nothing at or after it was evicted.
+     */
+    boolean retainsSince(long epochMicros) {
+        return !evicted || (size > 0 && starts[oldest()] <= epochMicros);
+    }
+
+    List<SpeedPoint> between(long fromMicros, long toMicros) {
+        List<SpeedPoint> points = new ArrayList<>();
+        for (int i = 0, slot = oldest(); i < size; i++, slot = (slot + 1) % starts.length) {
+            long start = starts[slot];
+            if (start + Math.max(bucketMicros, 1) > fromMicros && start <= toMicros) {
+                points.add(new SpeedPoint(start, mins[slot], maxs[slot], lasts[slot]));
+            }
+        }
+        if (bucketMicros == 0) {
+            // Raw samples keep arrival order in the ring, late ones are put back in place by time
+            points.sort(Comparator.comparingLong(SpeedPoint::epochMicros));
+        }
+        return points;
+    }
+
+    private int oldest() {
+        return Math.floorMod(newest - size + 1, starts.length);
+    }
+}
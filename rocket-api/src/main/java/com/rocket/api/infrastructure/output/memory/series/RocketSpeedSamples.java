@@ -0,0 +1,17 @@
+package com.rocket.api.infrastructure.output.memory.series;
+
+import java.util.List;
+import java.util.UUID;
+
+/*
+ * Speed samples produced by one state recomputation, published by ReceiveMessageUseCase and delivered after commit.
+ * A recomputation replays every event since the latest snapshot, so samples which were already appended are repeated.
+ * The message number range tells which events were replayed, including those which did not change the speed.
+ */
+public record RocketSpeedSamples(
+        UUID channel,
+        int firstMessageNumber,
+        int lastMessageNumber,
+        List<SpeedSample> samples
+) {
+}
@@ -0,0 +1,149 @@
+package com.rocket.api.infrastructure.output.memory.series;
+
+import com.rocket.api.domain.MessageType;
+import com.rocket.api.domain.RocketEvent;
+import com.rocket.api.domain.RocketState;
+import com.rocket.api.domain.UtcDateTime;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/*
+ * Per rocket speed history kept in bounded rings at raw, 1 second and 1 minute resolution.
+ *
+ * Samples are appended after the recomputation that produced them commits. Memory per rocket is fixed by the
+ * configured capacities. A series only answers ranges it fully retains, older ranges are replayed from the event log.
+ */
+@Component
+public class RocketSpeedSeries {
+
+    private final int rawCapacity;
+    private final int secondCapacity;
+    private final int minuteCapacity;
+
+    private final Map<UUID, Series> series = new ConcurrentHashMap<>();
+
+    public RocketSpeedSeries(
+            @Value("${rocket.speed-series.raw-capacity:512}") int rawCapacity,
+            @Value("${rocket.speed-series.second-capacity:900}") int secondCapacity,
+            @Value("${rocket.speed-series.minute-capacity:1440}") int minuteCapacity
+    ) {
+        this.rawCapacity = rawCapacity;
+        this.secondCapacity = secondCapacity;
+        this.minuteCapacity = minuteCapacity;
+    }
+
+    public static boolean isSpeedChange(RocketEvent event) {
+        return event.messageType() == MessageType.RocketLaunched
+                || event.messageType() == MessageType.RocketSpeedIncreased
+                || event.messageType() == MessageType.RocketSpeedDecreased;
+    }
+
+    /*
+     * Rebuilds the series of a rocket by replaying events on a start state, used for ranges the rings no longer retain.
+     */
+    public static List<SpeedPoint> replay(RocketState start, List<RocketEvent> events, long fromMicros, long toMicros,
+                                          SpeedSeriesResolution resolution, UtcDateTime now) {
+        DownsampledRing ring = new DownsampledRing(Math.max(1, events.size()), resolution.bucketMicros());
+        start.applyAll(events, now, (event, state) -> {
+            if (isSpeedChange(event)) {
+                ring.append(event.messageTime().toEpochMicros(), state.speed());
+            }
+        });
+        return ring.between(fromMicros, toMicros);
+    }
+
+    @TransactionalEventListener
+    public void onSamples(RocketSpeedSamples batch) {
+        series.computeIfAbsent(batch.channel(), channel -> new Series()).append(batch);
+    }
+
+    public void clear() {
+        series.clear();
+    }
+
+    /*
+     * Drops the series of a rocket whose events were processed elsewhere, ranges are replayed until it refills.
+     */
+    public void evict(UUID channel) {
+        series.remove(channel);
+    }
+
+    /*
+     * Points between the given times, empty when the rings do not retain the whole range.
+     */
+    public Optional<List<SpeedPoint>> find(UUID channel, long fromMicros, long toMicros, SpeedSeriesResolution resolution) {
+        Series rocketSeries = series.get(channel);
+        return rocketSeries != null ? rocketSeries.between(fromMicros, toMicros, resolution) : Optional.empty();
+    }
+
+    /*
+     * Whatever the rings currently hold up to the given time, empty when nothing was recorded for the rocket.
+     */
+    public Optional<List<SpeedPoint>> buffered(UUID channel, long toMicros, SpeedSeriesResolution resolution) {
+        Series rocketSeries = series.get(channel);
+        return rocketSeries != null ? rocketSeries.buffered(toMicros, resolution) : Optional.empty();
+    }
+
+    private final class Series {
+
+        private final DownsampledRing raw = new DownsampledRing(rawCapacity, SpeedSeriesResolution.RAW.bucketMicros());
+        private final DownsampledRing seconds = new DownsampledRing(secondCapacity, SpeedSeriesResolution.SECOND.bucketMicros());
+        private final DownsampledRing minutes = new DownsampledRing(minuteCapacity, SpeedSeriesResolution.MINUTE.bucketMicros());
+
+        private int lastMessageNumber;
+        private long coveredSince = Long.MAX_VALUE;
+
+        synchronized void append(RocketSpeedSamples batch) {
+            if (lastMessageNumber == 0 || batch.firstMessageNumber() > lastMessageNumber + 1) {
+                // First batch, or events between the last batch and this one were never seen, e.g. after a restart:
+                // start over, covering all history only when the batch starts at the first message
+                raw.clear();
+                seconds.clear();
+                minutes.clear();
+                coveredSince = batch.firstMessageNumber() == 1 ? Long.MIN_VALUE : Long.MAX_VALUE;
+            }
+
+            for (SpeedSample sample : batch.samples()) {
+                if (sample.messageNumber() <= lastMessageNumber) {
+                    continue;
+                }
+                long epochMicros = sample.messageTime().toEpochMicros();
+                coveredSince = Math.min(coveredSince, epochMicros);
+                raw.append(epochMicros, sample.speed());
+                seconds.append(epochMicros, sample.speed());
+                minutes.append(epochMicros, sample.speed());
+            }
+            lastMessageNumber = Math.max(lastMessageNumber, batch.lastMessageNumber());
+        }
+
+        synchronized Optional<List<SpeedPoint>> between(long fromMicros, long toMicros, SpeedSeriesResolution resolution) {
+            DownsampledRing ring = ring(resolution);
+            if (fromMicros < coveredSince || !ring.retainsSince(fromMicros)) {
+                return Optional.empty();
+            }
+            return Optional.of(ring.between(fromMicros, toMicros));
+        }
+
+        synchronized Optional<List<SpeedPoint>> buffered(long toMicros, SpeedSeriesResolution resolution) {
+            if (coveredSince == Long.MAX_VALUE) {
+                return Optional.empty();
+            }
+            return Optional.of(ring(resolution).between(Long.MIN_VALUE, toMicros));
+        }
+
+        private DownsampledRing ring(SpeedSeriesResolution resolution) {
+            return switch (resolution) {
+                case RAW -> raw;
+                case SECOND -> seconds;
+                case MINUTE -> minutes;
+            };
+        }
+    }
+}
@@ -0,0 +1,12 @@
+package com.rocket.api.infrastructure.output.memory.series;
+
+/*
+ * Speed aggregated over one bucket starting at the given epoch microsecond. Raw points have min == max == last.
+ */
+public record SpeedPoint(
+        long epochMicros,
+        int min,
+        int max,
+        int last
+) {
+}
@@ -0,0 +1,13 @@
+package com.rocket.api.infrastructure.output.memory.series;
+
+import com.rocket.api.domain.UtcDateTime;
+
+/*
+ * Speed of a rocket right after the event with the given message number was applied.
+ */
+public record SpeedSample(
+        int messageNumber,
+        UtcDateTime messageTime,
+        int speed
+) {
+}
@@ -0,0 +1,33 @@
+package com.rocket.api.infrastructure.output.memory.series;
+
+import com.rocket.api.common.exceptions.exceptions.ValidationException;
+
+public enum SpeedSeriesResolution {
+    RAW("raw", 0L),
+    SECOND("1s", 1_000_000L),
+    MINUTE("1m", 60_000_000L);
+
+    private final String value;
+    private final long bucketMicros;
+
+    SpeedSeriesResolution(String value, long bucketMicros) {
+        this.value = value;
+        this.bucketMicros = bucketMicros;
+    }
+
+    public long bucketMicros() {
+        return bucketMicros;
+    }
+
+    public static SpeedSeriesResolution fromValue(String value) {
+        if (value == null) {
+            return RAW;
+        }
+        for (SpeedSeriesResolution resolution : values()) {
+            if (resolution.value.equals(value)) {
+                return resolution;
+            }
+        }
+        throw new ValidationException("rocket.speed.series.unsupported.resolution", "Resolution must be one of raw, 1s, 1m");
+    }
+}
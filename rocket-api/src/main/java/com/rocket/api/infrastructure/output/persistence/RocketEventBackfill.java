@@ -0,0 +1,127 @@
+package com.rocket.api.infrastructure.output.persistence;
+
+import com.rocket.api.common.beans.bulkhead.JobExecutor;
+import com.rocket.api.common.beans.storage.OnPostgresStorage;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/*
+ * Converts rocket_event rows written before V4 to the typed column layout, see RocketEventColumns.
+ *
+ * Runs on the job executor after startup in small batches of one statement each, so it never holds many row locks and
+ * concurrent writers are not blocked. SKIP LOCKED lets several nodes run it at the same time. Reads handle both layouts
+ * until it is done, so it does not matter when a row gets converted.
+ */
+@Component
+@OnPostgresStorage
+@Slf4j
+public class RocketEventBackfill {
+
+    // Same rules as RocketEventColumns.of: only values of the expected JSON type move to a column
+    private static final String BACKFILL_BATCH = """
+            WITH batch AS (
+                SELECT channel, message_number, message_type, payload
+                FROM rocket_event
+                WHERE type_code IS NULL
+                  AND message_type IN ('RocketLaunched', 'RocketSpeedIncreased', 'RocketSpeedDecreased',
+                                       'RocketExploded', 'RocketMissionChanged')
+                LIMIT ?
+                FOR UPDATE SKIP LOCKED
+            ), typed AS (
+                SELECT channel, message_number, payload,
+                       CASE message_type
+                           WHEN 'RocketLaunched' THEN 1
+                           WHEN 'RocketSpeedIncreased' THEN 2
+                           WHEN 'RocketSpeedDecreased' THEN 3
+                           WHEN 'RocketExploded' THEN 4
+                           WHEN 'RocketMissionChanged' THEN 5
+                       END AS type_code,
+                       CASE WHEN message_type = 'RocketLaunched'
+                                 AND jsonb_typeof(payload -> 'launchSpeed') = 'number'
+                                 AND payload ->> 'launchSpeed' ~ '^-?[0-9]{1,9}$'
+                            THEN (payload ->> 'launchSpeed')::integer
+                       END AS launch_speed,
+                       CASE WHEN message_type IN ('RocketSpeedIncreased', 'RocketSpeedDecreased')
+                                 AND jsonb_typeof(payload -> 'by') = 'number'
+                                 AND payload ->> 'by' ~ '^-?[0-9]{1,9}$'
+                            THEN (payload ->> 'by')::integer
+                       END AS speed_delta,
+                       CASE WHEN message_type = 'RocketLaunched' AND jsonb_typeof(payload -> 'type') = 'string'
+                            THEN payload ->> 'type'
+                       END AS rocket_type,
+                       CASE WHEN message_type = 'RocketLaunched' AND jsonb_typeof(payload -> 'mission') = 'string'
+                            THEN payload ->> 'mission'
+                            WHEN message_type = 'RocketMissionChanged' AND jsonb_typeof(payload -> 'newMission') = 'string'
+                            THEN payload ->> 'newMission'
+                       END AS mission,
+                       CASE WHEN message_type = 'RocketExploded' AND jsonb_typeof(payload -> 'reason') = 'string'
+                            THEN payload ->> 'reason'
+                       END AS reason
+                FROM batch
+            )
+            UPDATE rocket_event e
+            SET type_code    = t.type_code,
+                launch_speed = t.launch_speed,
+                speed_delta  = t.speed_delta,
+                rocket_type  = t.rocket_type,
+                mission      = t.mission,
+                reason       = t.reason,
+                message_type = NULL,
+                payload      = NULLIF(t.payload - ARRAY_REMOVE(ARRAY[
+                                   CASE WHEN t.launch_speed IS NOT NULL THEN 'launchSpeed' END,
+                                   CASE WHEN t.speed_delta IS NOT NULL THEN 'by' END,
+                                   CASE WHEN t.rocket_type IS NOT NULL THEN 'type' END,
+                                   CASE WHEN t.mission IS NOT NULL
+                                        THEN CASE t.type_code WHEN 1 THEN 'mission' ELSE 'newMission' END
+                                   END,
+                                   CASE WHEN t.reason IS NOT NULL THEN 'reason' END
+                               ], NULL), '{}'::jsonb)
+            FROM typed t
+            WHERE e.channel = t.channel AND e.message_number = t.message_number
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final JobExecutor jobExecutor;
+    private final int batchSize;
+
+    public RocketEventBackfill(
+            JdbcTemplate jdbcTemplate,
+            JobExecutor jobExecutor,
+            @Value("${rocket.events.backfill-batch-size:5000}") int batchSize
+    ) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.jobExecutor = jobExecutor;
+        this.batchSize = batchSize;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        jobExecutor.submit(() -> {
+            try {
+                backfill();
+            } catch (RuntimeException e) {
+                log.error("Typed column backfill of rocket_event stopped, it resumes on the next start", e);
+            }
+        });
+    }
+
+    /*
+     * Converts batches until no untyped row is left and returns the number of converted rows.
+     */
+    public long backfill() {
+        long converted = 0;
+        int updated;
+        while ((updated = jdbcTemplate.update(BACKFILL_BATCH, batchSize)) > 0) {
+            converted += updated;
+            log.debug("Converted {} rocket_event rows to the typed layout", converted);
+        }
+        if (converted > 0) {
+            log.info("Typed column backfill of rocket_event done, converted {} rows", converted);
+        }
+        return converted;
+    }
+}
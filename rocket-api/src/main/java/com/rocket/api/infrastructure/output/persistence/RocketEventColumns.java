@@ -0,0 +1,78 @@
+package com.rocket.api.infrastructure.output.persistence;
+
+import com.rocket.api.domain.MessageType;
+import com.rocket.api.domain.RocketEvent;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/*
+ * Typed column layout of a rocket_event row. Payload fields the domain reads are stored in their own columns when
+ * they have the expected JSON type; anything else stays in the JSONB extras so the payload round trips unchanged.
+ * The mission column holds mission for RocketLaunched and newMission for RocketMissionChanged.
+ * The local event log stores its records in the same layout.
+ */
+public record RocketEventColumns(
+        MessageType messageType,
+        Integer launchSpeed,
+        Integer speedDelta,
+        String rocketType,
+        String mission,
+        String reason,
+        Map<String, Object> extras
+) {
+
+    public static RocketEventColumns of(RocketEvent event) {
+        Map<String, Object> extras = new LinkedHashMap<>(event.payload());
+        Integer launchSpeed = null;
+        Integer speedDelta = null;
+        String rocketType = null;
+        String mission = null;
+        String reason = null;
+
+        switch (event.messageType()) {
+            case RocketLaunched -> {
+                rocketType = takeString(extras, "type");
+                launchSpeed = takeInt(extras, "launchSpeed");
+                mission = takeString(extras, "mission");
+            }
+            case RocketSpeedIncreased, RocketSpeedDecreased -> speedDelta = takeInt(extras, "by");
+            case RocketExploded -> reason = takeString(extras, "reason");
+            case RocketMissionChanged -> mission = takeString(extras, "newMission");
+        }
+        return new RocketEventColumns(event.messageType(), launchSpeed, speedDelta, rocketType, mission, reason,
+                extras.isEmpty() ? null : extras);
+    }
+
+    public Map<String, Object> payload() {
+        Map<String, Object> payload = new LinkedHashMap<>(4);
+        switch (messageType) {
+            case RocketLaunched -> {
+                putIfPresent(payload, "type", rocketType);
+                putIfPresent(payload, "launchSpeed", launchSpeed);
+                putIfPresent(payload, "mission", mission);
+            }
+            case RocketSpeedIncreased, RocketSpeedDecreased -> putIfPresent(payload, "by", speedDelta);
+            case RocketExploded -> putIfPresent(payload, "reason", reason);
+            case RocketMissionChanged -> putIfPresent(payload, "newMission", mission);
+        }
+        if (extras != null) {
+            payload.putAll(extras);
+        }
+        return payload;
+    }
+
+    private static String takeString(Map<String, Object> payload, String key) {
+        return payload.get(key) instanceof String value && payload.remove(key) != null ? value : null;
+    }
+
+    private static Integer takeInt(Map<String, Object> payload, String key) {
+        return payload.get(key) instanceof Integer value && payload.remove(key) != null ? value : null;
+    }
+
+    private static void putIfPresent(Map<String, Object> payload, String key, Object value) {
+        if (value != null) {
+            payload.put(key, value);
+        }
+    }
+}
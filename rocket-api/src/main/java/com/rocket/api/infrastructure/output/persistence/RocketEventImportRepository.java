@@ -0,0 +1,153 @@
+package com.rocket.api.infrastructure.output.persistence;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.rocket.api.common.beans.storage.OnPostgresStorage;
+import com.rocket.api.domain.RocketEvent;
+import lombok.RequiredArgsConstructor;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.PGCopyOutputStream;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Repository;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.UUID;
+
+/*
+ * Bulk load of rocket_event through a staging table filled with COPY.
+ *
+ * The staging table is a temporary table dropped on commit, so both steps have to run in the same transaction.
+ * COPY skips per row statement overhead and the merge then inserts in primary key order in a single statement.
+ */
+@Repository
+@OnPostgresStorage
+@RequiredArgsConstructor
+public class RocketEventImportRepository {
+
+    private static final int COPY_BUFFER_SIZE = 1 << 16;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+
+    /*
+     * Streams the events into the staging table and returns how many were written.
+     */
+    public long copyToStaging(Iterator<RocketEvent> events) {
+        jdbcTemplate.execute("""
+                CREATE TEMPORARY TABLE rocket_event_import (
+                    seq             BIGINT      NOT NULL,
+                    channel         UUID        NOT NULL,
+                    message_number  INTEGER     NOT NULL,
+                    message_time    TIMESTAMPTZ NOT NULL,
+                    type_code       SMALLINT    NOT NULL,
+                    launch_speed    INTEGER,
+                    speed_delta     INTEGER,
+                    rocket_type     TEXT,
+                    mission         TEXT,
+                    reason          TEXT,
+                    payload         JSONB
+                ) ON COMMIT DROP
+                """);
+
+        Long copied = jdbcTemplate.execute((ConnectionCallback<Long>) connection -> {
+            PGConnection pgConnection = connection.unwrap(PGConnection.class);
+            long seq = 0;
+            try (Writer writer = new BufferedWriter(new OutputStreamWriter(
+                    new PGCopyOutputStream(pgConnection, "COPY rocket_event_import FROM STDIN (FORMAT csv)", COPY_BUFFER_SIZE),
+                    StandardCharsets.UTF_8), COPY_BUFFER_SIZE)) {
+                while (events.hasNext()) {
+                    writeRow(writer, ++seq, events.next());
+                }
+            } catch (IOException e) {
+                throw new DataAccessResourceFailureException("Failed to copy events into staging table", e);
+            }
+            return seq;
+        });
+        return copied != null ? copied : 0;
+    }
+
+    /*
+     * Moves staged events into rocket_event. Events already stored, or repeated within the import, are skipped;
+     * within the import the first occurrence wins, as it would through POST /messages.
+     * Returns the number of inserted events per channel.
+     */
+    public Map<UUID, Long> mergeStaging() {
+        Map<UUID, Long> insertedByChannel = new HashMap<>();
+        jdbcTemplate.query("""
+                WITH inserted AS (
+                    INSERT INTO rocket_event (channel, message_number, message_time, type_code, launch_speed, speed_delta,
+                                              rocket_type, mission, reason, payload)
+                    SELECT DISTINCT ON (channel, message_number) channel, message_number, message_time, type_code, launch_speed,
+                           speed_delta, rocket_type, mission, reason, payload
+                    FROM rocket_event_import
+                    ORDER BY channel, message_number, seq
+                    ON CONFLICT (channel, message_number) DO NOTHING
+                    RETURNING channel
+                )
+                SELECT channel, COUNT(*) AS inserted FROM inserted GROUP BY channel
+                """,
+                (RowCallbackHandler) rs -> insertedByChannel.put(rs.getObject("channel", UUID.class), rs.getLong("inserted"))
+        );
+        return insertedByChannel;
+    }
+
+    private void writeRow(Writer writer, long seq, RocketEvent event) throws IOException {
+        RocketEventColumns columns = RocketEventColumns.of(event);
+
+        writer.write(Long.toString(seq));
+        writer.write(',');
+        writer.write(event.channel().toString());
+        writer.write(',');
+        writer.write(Integer.toString(event.messageNumber()));
+        writer.write(',');
+        writer.write(event.messageTime().toOffsetDateTime().toString());
+        writer.write(',');
+        writer.write(Integer.toString(columns.messageType().code()));
+        writer.write(',');
+        writeNumber(writer, columns.launchSpeed());
+        writer.write(',');
+        writeNumber(writer, columns.speedDelta());
+        writer.write(',');
+        writeText(writer, columns.rocketType());
+        writer.write(',');
+        writeText(writer, columns.mission());
+        writer.write(',');
+        writeText(writer, columns.reason());
+        writer.write(',');
+        writeText(writer, columns.extras() != null ? toJson(columns.extras()) : null);
+        writer.write('\n');
+    }
+
+    // In COPY csv an unquoted empty field is NULL, a quoted one the empty string
+    private static void writeNumber(Writer writer, Integer value) throws IOException {
+        if (value != null) {
+            writer.write(value.toString());
+        }
+    }
+
+    private static void writeText(Writer writer, String value) throws IOException {
+        if (value != null) {
+            writer.write('"');
+            writer.write(value.replace("\"", "\"\""));
+            writer.write('"');
+        }
+    }
+
+    private String toJson(Map<String, Object> payload) {
+        try {
+            return objectMapper.writeValueAsString(payload);
+        } catch (JsonProcessingException e) {
+            throw new RuntimeException("Failed to serialize event payload", e);
+        }
+    }
+}
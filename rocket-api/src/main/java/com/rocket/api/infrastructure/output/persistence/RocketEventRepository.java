@@ -3,92 +3,239 @@ package com.rocket.api.infrastructure.output.persistence;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.rocket.api.common.beans.storage.OnPostgresStorage;
 import com.rocket.api.domain.MessageType;
 import com.rocket.api.domain.RocketEvent;
 import com.rocket.api.domain.UtcDateTime;
+import com.rocket.api.usecase.port.RocketEventStore;
 import lombok.RequiredArgsConstructor;
-import org.springframework.dao.DuplicateKeyException;
 import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
 import org.springframework.jdbc.core.RowMapper;
 import org.springframework.stereotype.Repository;
 
+import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.time.OffsetDateTime;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.UUID;
+import java.util.function.Consumer;
 
 @Repository
+@OnPostgresStorage
 @RequiredArgsConstructor
-public class RocketEventRepository{
+public class RocketEventRepository implements RocketEventStore {
+
+    private static final String INSERT_EVENT = """
+            INSERT INTO rocket_event (channel, message_number, message_time, type_code, launch_speed, speed_delta, rocket_type, mission, reason, payload)
+            VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?::jsonb)
+            ON CONFLICT (channel, message_number) DO NOTHING
+            """;
 
     private final JdbcTemplate jdbcTemplate;
     private final ObjectMapper objectMapper;
 
+    @Override
     public boolean save(RocketEvent event) {
-        try {
-            String payloadJson = objectMapper.writeValueAsString(event.payload());
-            jdbcTemplate.update("""
-                INSERT INTO rocket_event (channel, message_number, message_time, message_type, payload)
-                VALUES (?::uuid, ?, ?, ?, ?::jsonb)
-                """,
-                    event.channel().toString(),
-                    event.messageNumber(),
-                    event.messageTime().toOffsetDateTime(),
-                    event.messageType().name(),
-                    payloadJson
-            );
-            return true;
-        } catch (DuplicateKeyException e) {
-            return false;
-        } catch (JsonProcessingException e) {
-            throw new RuntimeException("Failed to serialize event payload", e);
+        return jdbcTemplate.update(INSERT_EVENT, toArgs(event)) > 0;
+    }
+
+    /*
+     * Inserts the events in one JDBC batch. Returns, per event, whether it was new; duplicates are skipped.
+     */
+    @Override
+    public boolean[] saveAll(List<RocketEvent> events) {
+        int[] counts = jdbcTemplate.batchUpdate(INSERT_EVENT, events.stream().map(this::toArgs).toList());
+
+        boolean[] saved = new boolean[counts.length];
+        for (int i = 0; i < counts.length; i++) {
+            saved[i] = counts[i] != 0;
         }
+        return saved;
     }
 
+    @Override
     public List<RocketEvent> findByChannelAfterMessageNumber(UUID channel, int afterMessageNumber) {
         return jdbcTemplate.query("""
-                SELECT channel, message_number, message_time, message_type, payload
+                SELECT channel, message_number, message_time, type_code, launch_speed, speed_delta, rocket_type, mission, reason, message_type, payload
                 FROM rocket_event
-                WHERE channel = ?::uuid AND message_number > ?
+                WHERE channel = ? AND message_number > ?
                 ORDER BY message_number ASC
                 """,
                 new RocketEventRowMapper(),
-                channel.toString(),
+                channel,
                 afterMessageNumber
         );
     }
 
+    @Override
+    public List<RocketEvent> findByChannelBetweenMessageNumbers(UUID channel, int afterMessageNumber, int upToMessageNumber) {
+        return jdbcTemplate.query("""
+                SELECT channel, message_number, message_time, type_code, launch_speed, speed_delta, rocket_type, mission, reason, message_type, payload
+                FROM rocket_event
+                WHERE channel = ? AND message_number > ? AND message_number <= ?
+                ORDER BY message_number ASC
+                """,
+                new RocketEventRowMapper(),
+                channel,
+                afterMessageNumber,
+                upToMessageNumber
+        );
+    }
+
+    @Override
+    public Optional<Integer> findLatestMessageNumberAtOrBefore(UUID channel, OffsetDateTime messageTime) {
+        Integer messageNumber = jdbcTemplate.queryForObject(
+                "SELECT MAX(message_number) FROM rocket_event WHERE channel = ? AND message_time <= ?",
+                Integer.class,
+                channel,
+                messageTime
+        );
+        return Optional.ofNullable(messageNumber);
+    }
+
+    @Override
+    public Optional<Integer> findEarliestMessageNumberAtOrAfter(UUID channel, OffsetDateTime messageTime) {
+        Integer messageNumber = jdbcTemplate.queryForObject(
+                "SELECT MIN(message_number) FROM rocket_event WHERE channel = ? AND message_time >= ?",
+                Integer.class,
+                channel,
+                messageTime
+        );
+        return Optional.ofNullable(messageNumber);
+    }
+
+    @Override
+    public List<RocketEvent> findPageByChannel(UUID channel, int afterMessageNumber, int limit) {
+        return jdbcTemplate.query("""
+                SELECT channel, message_number, message_time, type_code, launch_speed, speed_delta, rocket_type, mission, reason, message_type, payload
+                FROM rocket_event
+                WHERE channel = ? AND message_number > ?
+                ORDER BY message_number ASC
+                LIMIT ?
+                """,
+                new RocketEventRowMapper(),
+                channel,
+                afterMessageNumber,
+                limit
+        );
+    }
+
+    /*
+     * Streams events row by row from a server side cursor, so memory use does not depend on the number of events.
+     * PostgreSQL only uses a cursor inside a transaction, callers must run this within one.
+     */
+    @Override
+    public void streamByChannelAfterMessageNumber(UUID channel, int afterMessageNumber, int fetchSize, Consumer<RocketEvent> consumer) {
+        RocketEventRowMapper rowMapper = new RocketEventRowMapper();
+        jdbcTemplate.query(
+                connection -> {
+                    PreparedStatement statement = connection.prepareStatement("""
+                            SELECT channel, message_number, message_time, type_code, launch_speed, speed_delta, rocket_type, mission, reason, message_type, payload
+                            FROM rocket_event
+                            WHERE channel = ? AND message_number > ?
+                            ORDER BY message_number ASC
+                            """);
+                    statement.setFetchSize(fetchSize);
+                    statement.setObject(1, channel);
+                    statement.setInt(2, afterMessageNumber);
+                    return statement;
+                },
+                (RowCallbackHandler) rs -> consumer.accept(rowMapper.mapRow(rs, rs.getRow()))
+        );
+    }
+
+    @Override
+    public boolean existsByChannel(UUID channel) {
+        Boolean exists = jdbcTemplate.queryForObject(
+                "SELECT EXISTS (SELECT 1 FROM rocket_event WHERE channel = ?)",
+                Boolean.class,
+                channel
+        );
+        return Boolean.TRUE.equals(exists);
+    }
+
+    @Override
     public int countByChannel(UUID channel) {
         Integer count = jdbcTemplate.queryForObject(
-                "SELECT COUNT(*) FROM rocket_event WHERE channel = ?::uuid",
+                "SELECT COUNT(*) FROM rocket_event WHERE channel = ?",
                 Integer.class,
-                channel.toString()
+                channel
         );
         return count != null ? count : 0;
     }
 
+    private Object[] toArgs(RocketEvent event) {
+        RocketEventColumns columns = RocketEventColumns.of(event);
+        return new Object[]{
+                event.channel(),
+                event.messageNumber(),
+                event.messageTime().toOffsetDateTime(),
+                columns.messageType().code(),
+                columns.launchSpeed(),
+                columns.speedDelta(),
+                columns.rocketType(),
+                columns.mission(),
+                columns.reason(),
+                columns.extras() != null ? toJson(columns.extras()) : null
+        };
+    }
+
+    private String toJson(Map<String, Object> payload) {
+        try {
+            return objectMapper.writeValueAsString(payload);
+        } catch (JsonProcessingException e) {
+            throw new RuntimeException("Failed to serialize event payload", e);
+        }
+    }
+
+    /*
+     * Rows written before the typed layout (type_code NULL) are read from message_type and the full JSONB payload
+     * until RocketEventBackfill converted them.
+     */
     private class RocketEventRowMapper implements RowMapper<RocketEvent> {
         @Override
         public RocketEvent mapRow(ResultSet rs, int rowNum) throws SQLException {
+            String payloadJson = rs.getString("payload");
+            Map<String, Object> json = payloadJson != null ? fromJson(payloadJson) : null;
+
+            short typeCode = rs.getShort("type_code");
+            MessageType messageType;
+            Map<String, Object> payload;
+            if (rs.wasNull()) {
+                messageType = MessageType.valueOf(rs.getString("message_type"));
+                payload = json != null ? json : Map.of();
+            } else {
+                messageType = MessageType.fromCode(typeCode);
+                payload = new RocketEventColumns(
+                        messageType,
+                        rs.getObject("launch_speed", Integer.class),
+                        rs.getObject("speed_delta", Integer.class),
+                        rs.getString("rocket_type"),
+                        rs.getString("mission"),
+                        rs.getString("reason"),
+                        json
+                ).payload();
+            }
+
+            return new RocketEvent(
+                    rs.getObject("channel", UUID.class),
+                    rs.getInt("message_number"),
+                    UtcDateTime.of(rs.getObject("message_time", OffsetDateTime.class)),
+                    messageType,
+                    payload
+            );
+        }
+
+        private Map<String, Object> fromJson(String payloadJson) throws SQLException {
             try {
-                String payloadJson = rs.getString("payload");
-                Map<String, Object> payload = objectMapper.readValue(
-                        payloadJson,
-                        new TypeReference<>() {}
-                );
-
-                return new RocketEvent(
-                        UUID.fromString(rs.getString("channel")),
-                        rs.getInt("message_number"),
-                        UtcDateTime.of(rs.getObject("message_time", OffsetDateTime.class)),
-                        MessageType.valueOf(rs.getString("message_type")),
-                        payload
-                );
+                return objectMapper.readValue(payloadJson, new TypeReference<>() {});
             } catch (JsonProcessingException e) {
                 throw new SQLException("Failed to deserialize event payload", e);
             }
         }
     }
-}
\ No newline at end of file
+}
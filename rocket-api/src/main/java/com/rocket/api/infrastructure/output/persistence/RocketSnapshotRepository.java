@@ -1,8 +1,10 @@
 package com.rocket.api.infrastructure.output.persistence;
 
+import com.rocket.api.common.beans.storage.OnPostgresStorage;
 import com.rocket.api.domain.RocketSnapshot;
 import com.rocket.api.domain.RocketStatus;
 import com.rocket.api.domain.UtcDateTime;
+import com.rocket.api.usecase.port.RocketSnapshotStore;
 import lombok.RequiredArgsConstructor;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.jdbc.core.RowMapper;
@@ -16,49 +18,81 @@ import java.util.Optional;
 import java.util.UUID;
 
 @Repository
+@OnPostgresStorage
 @RequiredArgsConstructor
-public class RocketSnapshotRepository {
+public class RocketSnapshotRepository implements RocketSnapshotStore {
+
+    private static final String INSERT_SNAPSHOT = """
+            INSERT INTO rocket_snapshot (channel, at_message_number, rocket_type, mission, speed, status, exploded_reason, launched_at)
+            VALUES (?, ?, ?, ?, ?, ?, ?, ?)
+            ON CONFLICT (channel, at_message_number) DO NOTHING
+            """;
 
     private final JdbcTemplate jdbcTemplate;
 
     public void save(RocketSnapshot snapshot) {
-        jdbcTemplate.update("""
-                INSERT INTO rocket_snapshot (channel, at_message_number, rocket_type, mission, speed, status, exploded_reason, launched_at)
-                VALUES (?::uuid, ?, ?, ?, ?, ?, ?, ?)
-                ON CONFLICT (channel, at_message_number) DO NOTHING
+        jdbcTemplate.update(INSERT_SNAPSHOT, toArgs(snapshot));
+    }
+
+    @Override
+    public void saveAll(List<RocketSnapshot> snapshots) {
+        if (snapshots.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(INSERT_SNAPSHOT, snapshots.stream().map(RocketSnapshotRepository::toArgs).toList());
+    }
+
+    @Override
+    public Optional<RocketSnapshot> findLatestByChannel(UUID channel) {
+        List<RocketSnapshot> results = jdbcTemplate.query("""
+                SELECT channel, at_message_number, rocket_type, mission, speed, status, exploded_reason, launched_at, created_at
+                FROM rocket_snapshot
+                WHERE channel = ?
+                ORDER BY at_message_number DESC
+                LIMIT 1
                 """,
-                snapshot.channel().toString(),
-                snapshot.atMessageNumber(),
-                snapshot.rocketType(),
-                snapshot.mission(),
-                snapshot.speed(),
-                snapshot.status().name(),
-                snapshot.explodedReason(),
-                snapshot.launchedAt() != null ? snapshot.launchedAt().toOffsetDateTime() : null
+                new RocketSnapshotRowMapper(),
+                channel
         );
+        return results.isEmpty() ? Optional.empty() : Optional.of(results.getFirst());
     }
 
-    public Optional<RocketSnapshot> findLatestByChannel(UUID channel) {
+    @Override
+    public Optional<RocketSnapshot> findLatestByChannelAtOrBefore(UUID channel, int messageNumber) {
         List<RocketSnapshot> results = jdbcTemplate.query("""
                 SELECT channel, at_message_number, rocket_type, mission, speed, status, exploded_reason, launched_at, created_at
                 FROM rocket_snapshot
-                WHERE channel = ?::uuid
+                WHERE channel = ? AND at_message_number <= ?
                 ORDER BY at_message_number DESC
                 LIMIT 1
                 """,
                 new RocketSnapshotRowMapper(),
-                channel.toString()
+                channel,
+                messageNumber
         );
         return results.isEmpty() ? Optional.empty() : Optional.of(results.getFirst());
     }
 
+    private static Object[] toArgs(RocketSnapshot snapshot) {
+        return new Object[]{
+                snapshot.channel(),
+                snapshot.atMessageNumber(),
+                snapshot.rocketType(),
+                snapshot.mission(),
+                snapshot.speed(),
+                snapshot.status().name(),
+                snapshot.explodedReason(),
+                snapshot.launchedAt() != null ? snapshot.launchedAt().toOffsetDateTime() : null
+        };
+    }
+
     private static class RocketSnapshotRowMapper implements RowMapper<RocketSnapshot> {
         @Override
         public RocketSnapshot mapRow(ResultSet rs, int rowNum) throws SQLException {
             OffsetDateTime launchedAt = rs.getObject("launched_at", OffsetDateTime.class);
             OffsetDateTime createdAt = rs.getObject("created_at", OffsetDateTime.class);
             return new RocketSnapshot(
-                    UUID.fromString(rs.getString("channel")),
+                    rs.getObject("channel", UUID.class),
                     rs.getInt("at_message_number"),
                     rs.getString("rocket_type"),
                     rs.getString("mission"),
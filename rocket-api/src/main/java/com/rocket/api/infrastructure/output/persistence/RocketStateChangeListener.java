@@ -0,0 +1,168 @@
+package com.rocket.api.infrastructure.output.persistence;
+
+import com.rocket.api.common.beans.bulkhead.Workload;
+import com.rocket.api.common.beans.storage.OnPostgresStorage;
+import com.rocket.api.infrastructure.output.memory.RocketReadModels;
+import com.rocket.api.infrastructure.output.memory.RocketStateVersions;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.Properties;
+import java.util.Set;
+import java.util.UUID;
+
+/*
+ * Keeps the in-memory read models of this node coherent with state writes of other nodes sharing the database.
+ *
+ * The rocket_state trigger (V6) announces every committed row change on rocket_state_changed as '<channel>:<version>'.
+ * This listener holds its own connection outside the pool, reads the current rows of announced channels it does not
+ * know yet and hands them to RocketReadModels. Notifications sent while it is not subscribed are lost, so after every
+ * (re)subscribe all rows are read once; a broken connection is reopened with exponential backoff.
+ */
+@Component
+@OnPostgresStorage
+@ConditionalOnProperty(name = "rocket.state.change-notifications.enabled", havingValue = "true", matchIfMissing = true)
+@Slf4j
+public class RocketStateChangeListener {
+
+    static final String CHANNEL = "rocket_state_changed";
+
+    private static final Duration MIN_BACKOFF = Duration.ofMillis(100);
+    private static final Duration MAX_BACKOFF = Duration.ofSeconds(10);
+
+    private final DataSourceProperties dataSourceProperties;
+    private final RocketStateRepository stateRepository;
+    private final RocketReadModels readModels;
+    private final RocketStateVersions stateVersions;
+    private final Duration pollInterval;
+    private volatile Thread thread;
+    private volatile Connection connection;
+
+    public RocketStateChangeListener(
+            DataSourceProperties dataSourceProperties,
+            RocketStateRepository stateRepository,
+            RocketReadModels readModels,
+            RocketStateVersions stateVersions,
+            @Value("${rocket.state.change-notifications.poll-interval:10s}") Duration pollInterval
+    ) {
+        this.dataSourceProperties = dataSourceProperties;
+        this.stateRepository = stateRepository;
+        this.readModels = readModels;
+        this.stateVersions = stateVersions;
+        this.pollInterval = pollInterval;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        thread = Thread.ofPlatform().daemon().name("rocket-state-change-listener").start(this::listenLoop);
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        Thread running = thread;
+        if (running != null) {
+            running.interrupt();
+            closeQuietly(connection);
+            running.join();
+        }
+    }
+
+    // Full resyncs read every row, they run on the jobs pool instead of the ingest pool
+    private void listenLoop() {
+        Workload.JOBS.bind();
+        Duration backoff = MIN_BACKOFF;
+        while (!Thread.currentThread().isInterrupted()) {
+            try (Connection listening = connect()) {
+                connection = listening;
+                try (Statement statement = listening.createStatement()) {
+                    statement.execute("LISTEN " + CHANNEL);
+                }
+                readModels.applyExternal(stateRepository.findAllVersioned());
+                log.info("Listening for rocket state changes on {}", CHANNEL);
+                backoff = MIN_BACKOFF;
+                receive(listening);
+            } catch (SQLException | RuntimeException e) {
+                if (Thread.currentThread().isInterrupted()) {
+                    break;
+                }
+                log.warn("Rocket state change listener failed, reconnecting in {} ms: {}", backoff.toMillis(), e.getMessage());
+                try {
+                    Thread.sleep(backoff);
+                } catch (InterruptedException interrupted) {
+                    break;
+                }
+                backoff = backoff.multipliedBy(2).compareTo(MAX_BACKOFF) < 0 ? backoff.multipliedBy(2) : MAX_BACKOFF;
+            }
+        }
+        log.info("Rocket state change listener stopped");
+    }
+
+    /*
+     * Applies notifications until the thread is interrupted or the connection fails. Without notifications the
+     * connection is checked every poll interval, so a silently dropped connection is noticed.
+     */
+    private void receive(Connection listening) throws SQLException {
+        PGConnection notifications = listening.unwrap(PGConnection.class);
+        while (!Thread.currentThread().isInterrupted()) {
+            PGNotification[] received = notifications.getNotifications(Math.toIntExact(pollInterval.toMillis()));
+            if (received == null || received.length == 0) {
+                try (Statement statement = listening.createStatement()) {
+                    statement.execute("SELECT 1");
+                }
+                continue;
+            }
+            // Own writes are announced too, only channels with an unknown version are read back
+            Set<UUID> changed = new HashSet<>();
+            for (PGNotification notification : received) {
+                String payload = notification.getParameter();
+                int separator = payload.indexOf(':');
+                UUID channel = UUID.fromString(payload.substring(0, separator));
+                if (!stateVersions.knows(channel, Long.parseLong(payload.substring(separator + 1)))) {
+                    changed.add(channel);
+                }
+            }
+            if (!changed.isEmpty()) {
+                readModels.applyExternal(stateRepository.findVersionedByChannels(changed));
+            }
+        }
+    }
+
+    private Connection connect() throws SQLException {
+        Properties properties = new Properties();
+        if (dataSourceProperties.determineUsername() != null) {
+            properties.setProperty("user", dataSourceProperties.determineUsername());
+        }
+        if (dataSourceProperties.determinePassword() != null) {
+            properties.setProperty("password", dataSourceProperties.determinePassword());
+        }
+        properties.setProperty("ApplicationName", "rocket-api-state-listener");
+        properties.setProperty("tcpKeepAlive", "true");
+        return DriverManager.getConnection(dataSourceProperties.determineUrl(), properties);
+    }
+
+    // Unblocks a pending getNotifications on shutdown
+    private static void closeQuietly(Connection listening) {
+        if (listening == null) {
+            return;
+        }
+        try {
+            listening.close();
+        } catch (SQLException e) {
+            log.debug("Failed to close rocket state change listener connection", e);
+        }
+    }
+}
@@ -1,8 +1,11 @@
 package com.rocket.api.infrastructure.output.persistence;
 
+import com.rocket.api.common.beans.storage.OnPostgresStorage;
 import com.rocket.api.domain.RocketState;
 import com.rocket.api.domain.RocketStatus;
 import com.rocket.api.domain.UtcDateTime;
+import com.rocket.api.usecase.port.RocketStateStore;
+import com.rocket.api.usecase.port.VersionedRocketState;
 import lombok.RequiredArgsConstructor;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.jdbc.core.RowMapper;
@@ -11,70 +14,159 @@ import org.springframework.stereotype.Repository;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.time.OffsetDateTime;
+import java.util.Arrays;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
 import java.util.UUID;
 
 @Repository
+@OnPostgresStorage
 @RequiredArgsConstructor
-public class RocketStateRepository {
+public class RocketStateRepository implements RocketStateStore {
 
     private static final Set<String> ALLOWED_SORT_ORDERS = Set.of("asc", "desc");
 
+    private static final String UPSERT_STATE = """
+            INSERT INTO rocket_state (channel, rocket_type, mission, speed, status, exploded_reason, launched_at, last_updated_at, last_processed_msg_number, stale, version)
+            VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)
+            ON CONFLICT (channel) DO UPDATE SET
+                rocket_type = EXCLUDED.rocket_type,
+                mission = EXCLUDED.mission,
+                speed = EXCLUDED.speed,
+                status = EXCLUDED.status,
+                exploded_reason = EXCLUDED.exploded_reason,
+                launched_at = EXCLUDED.launched_at,
+                last_updated_at = EXCLUDED.last_updated_at,
+                last_processed_msg_number = EXCLUDED.last_processed_msg_number,
+                stale = EXCLUDED.stale,
+                version = EXCLUDED.version
+            WHERE rocket_state.version < EXCLUDED.version
+            """;
+
     private final JdbcTemplate jdbcTemplate;
 
-    public void save(RocketState state) {
-        jdbcTemplate.update("""
-                INSERT INTO rocket_state (channel, rocket_type, mission, speed, status, exploded_reason, launched_at, last_updated_at, last_processed_msg_number, stale)
-                VALUES (?::uuid, ?, ?, ?, ?, ?, ?, ?, ?, ?)
-                ON CONFLICT (channel) DO UPDATE SET
-                    rocket_type = EXCLUDED.rocket_type,
-                    mission = EXCLUDED.mission,
-                    speed = EXCLUDED.speed,
-                    status = EXCLUDED.status,
-                    exploded_reason = EXCLUDED.exploded_reason,
-                    launched_at = EXCLUDED.launched_at,
-                    last_updated_at = EXCLUDED.last_updated_at,
-                    last_processed_msg_number = EXCLUDED.last_processed_msg_number,
-                    stale = EXCLUDED.stale
-                """,
-                state.channel().toString(),
-                state.rocketType(),
-                state.mission(),
-                state.speed(),
-                state.status().name(),
-                state.explodedReason(),
-                state.launchedAt() != null ? state.launchedAt().toOffsetDateTime() : null,
-                state.lastUpdatedAt() != null ? state.lastUpdatedAt().toOffsetDateTime() : null,
-                state.lastProcessedMsgNumber(),
-                state.stale()
-        );
+    @Override
+    public long[] nextVersions(int count) {
+        long[] versions = jdbcTemplate.queryForList("SELECT nextval('rocket_state_version_seq') FROM generate_series(1, ?)", Long.class, count)
+                .stream().mapToLong(Long::longValue).toArray();
+        Arrays.sort(versions);
+        return versions;
+    }
+
+    /*
+     * Upserts the state with its change version. A write carrying an older version than the stored row is ignored,
+     * so concurrent recomputations of the same channel can never move the row back in time.
+     */
+    public void save(RocketState state, long version) {
+        jdbcTemplate.update(UPSERT_STATE, toArgs(state, version));
+    }
+
+    /*
+     * Same as save for several states, sent as one JDBC batch.
+     */
+    @Override
+    public void saveAll(List<VersionedRocketState> states) {
+        if (states.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(UPSERT_STATE, states.stream().map(saved -> toArgs(saved.state(), saved.version())).toList());
     }
 
+    @Override
     public Optional<RocketState> findByChannel(UUID channel) {
         List<RocketState> results = jdbcTemplate.query("""
                 SELECT channel, rocket_type, mission, speed, status, exploded_reason, launched_at, last_updated_at, last_processed_msg_number, stale
                 FROM rocket_state
-                WHERE channel = ?::uuid
+                WHERE channel = ?
                 """,
                 new RocketStateRowMapper(),
-                channel.toString()
+                channel
+        );
+        return results.isEmpty() ? Optional.empty() : Optional.of(results.getFirst());
+    }
+
+    @Override
+    public Optional<VersionedRocketState> findVersionedByChannel(UUID channel) {
+        List<VersionedRocketState> results = jdbcTemplate.query("""
+                SELECT channel, rocket_type, mission, speed, status, exploded_reason, launched_at, last_updated_at, last_processed_msg_number, stale, version
+                FROM rocket_state
+                WHERE channel = ?
+                """,
+                new VersionedRocketStateRowMapper(),
+                channel
         );
         return results.isEmpty() ? Optional.empty() : Optional.of(results.getFirst());
     }
 
-    public List<RocketState> findAll(String sortBy, String sortOrder) {
+    @Override
+    public List<VersionedRocketState> findAll(String sortBy, String sortOrder) {
         String column = mapSortColumn(sortBy);
         String order = ALLOWED_SORT_ORDERS.contains(sortOrder.toLowerCase()) ? sortOrder.toUpperCase() : "ASC";
 
         String sql = String.format("""
-                SELECT channel, rocket_type, mission, speed, status, exploded_reason, launched_at, last_updated_at, last_processed_msg_number, stale
+                SELECT channel, rocket_type, mission, speed, status, exploded_reason, launched_at, last_updated_at, last_processed_msg_number, stale, version
                 FROM rocket_state
                 ORDER BY %s %s NULLS LAST
                 """, column, order);
 
-        return jdbcTemplate.query(sql, new RocketStateRowMapper());
+        return jdbcTemplate.query(sql, new VersionedRocketStateRowMapper());
+    }
+
+    @Override
+    public List<VersionedRocketState> findChangedSince(long version, String sortBy, String sortOrder) {
+        String column = mapSortColumn(sortBy);
+        String order = ALLOWED_SORT_ORDERS.contains(sortOrder.toLowerCase()) ? sortOrder.toUpperCase() : "ASC";
+
+        String sql = String.format("""
+                SELECT channel, rocket_type, mission, speed, status, exploded_reason, launched_at, last_updated_at, last_processed_msg_number, stale, version
+                FROM rocket_state
+                WHERE version > ?
+                ORDER BY %s %s NULLS LAST
+                """, column, order);
+
+        return jdbcTemplate.query(sql, new VersionedRocketStateRowMapper(), version);
+    }
+
+    /*
+     * Current rows of the given channels, in no particular order; channels without a row are left out.
+     */
+    public List<VersionedRocketState> findVersionedByChannels(Collection<UUID> channels) {
+        return jdbcTemplate.query("""
+                SELECT channel, rocket_type, mission, speed, status, exploded_reason, launched_at, last_updated_at, last_processed_msg_number, stale, version
+                FROM rocket_state
+                WHERE channel = ANY(?)
+                """,
+                new VersionedRocketStateRowMapper(),
+                (Object) channels.toArray(UUID[]::new)
+        );
+    }
+
+    @Override
+    public List<VersionedRocketState> findAllVersioned() {
+        return jdbcTemplate.query("""
+                SELECT channel, rocket_type, mission, speed, status, exploded_reason, launched_at, last_updated_at, last_processed_msg_number, stale, version
+                FROM rocket_state
+                """,
+                new VersionedRocketStateRowMapper()
+        );
+    }
+
+    private static Object[] toArgs(RocketState state, long version) {
+        return new Object[]{
+                state.channel(),
+                state.rocketType(),
+                state.mission(),
+                state.speed(),
+                state.status().name(),
+                state.explodedReason(),
+                state.launchedAt() != null ? state.launchedAt().toOffsetDateTime() : null,
+                state.lastUpdatedAt() != null ? state.lastUpdatedAt().toOffsetDateTime() : null,
+                state.lastProcessedMsgNumber(),
+                state.stale(),
+                version
+        };
     }
 
     private String mapSortColumn(String sortBy) {
@@ -93,7 +185,7 @@ public class RocketStateRepository {
             OffsetDateTime launchedAt = rs.getObject("launched_at", OffsetDateTime.class);
             OffsetDateTime lastUpdatedAt = rs.getObject("last_updated_at", OffsetDateTime.class);
             return new RocketState(
-                    UUID.fromString(rs.getString("channel")),
+                    rs.getObject("channel", UUID.class),
                     rs.getString("rocket_type"),
                     rs.getString("mission"),
                     rs.getInt("speed"),
@@ -106,4 +198,13 @@ public class RocketStateRepository {
             );
         }
     }
-}
\ No newline at end of file
+
+    private static class VersionedRocketStateRowMapper implements RowMapper<VersionedRocketState> {
+        private final RocketStateRowMapper stateRowMapper = new RocketStateRowMapper();
+
+        @Override
+        public VersionedRocketState mapRow(ResultSet rs, int rowNum) throws SQLException {
+            return new VersionedRocketState(stateRowMapper.mapRow(rs, rowNum), rs.getLong("version"));
+        }
+    }
+}
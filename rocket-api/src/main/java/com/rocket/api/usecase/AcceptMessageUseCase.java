@@ -0,0 +1,33 @@
+package com.rocket.api.usecase;
+
+import com.rocket.api.domain.RocketEvent;
+import com.rocket.api.usecase.port.MessageSpool;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.util.Optional;
+
+/*
+ * Entry point of single incoming messages. With the spool enabled a message is only appended to it and stored later
+ * by MessageSpoolDrainer, so accepting keeps working while the database is slow or down; otherwise it is stored
+ * right away.
+ */
+@Service
+@RequiredArgsConstructor
+public class AcceptMessageUseCase {
+
+    private final ReceiveMessageUseCase receiveMessageUseCase;
+    private final Optional<MessageSpool> spool;
+
+    /*
+     * Returns true when the message was spooled and is not stored yet.
+     */
+    public boolean execute(RocketEvent event) {
+        if (spool.isPresent()) {
+            spool.get().append(event);
+            return true;
+        }
+        receiveMessageUseCase.execute(event);
+        return false;
+    }
+}
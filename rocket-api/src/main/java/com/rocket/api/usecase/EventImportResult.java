@@ -0,0 +1,11 @@
+package com.rocket.api.usecase;
+
+public record EventImportResult(
+        long received,
+        long inserted,
+        long duplicates,
+        int channels,
+        int failedChannels,
+        long durationMillis
+) {
+}
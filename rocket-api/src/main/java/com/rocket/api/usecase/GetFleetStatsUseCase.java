@@ -0,0 +1,16 @@
+package com.rocket.api.usecase;
+
+import com.rocket.api.infrastructure.output.memory.RocketFleetStats;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+@Service
+@RequiredArgsConstructor
+public class GetFleetStatsUseCase {
+
+    private final RocketFleetStats fleetStats;
+
+    public RocketFleetStats.Snapshot execute() {
+        return fleetStats.snapshot();
+    }
+}
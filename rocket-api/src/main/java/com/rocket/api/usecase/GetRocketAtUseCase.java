@@ -0,0 +1,73 @@
+package com.rocket.api.usecase;
+
+import com.rocket.api.common.exceptions.exceptions.ResourceOrEntityNotFoundException;
+import com.rocket.api.common.exceptions.exceptions.ValidationException;
+import com.rocket.api.domain.RocketEvent;
+import com.rocket.api.domain.RocketSnapshot;
+import com.rocket.api.domain.RocketState;
+import com.rocket.api.domain.UtcDateTime;
+import com.rocket.api.infrastructure.output.memory.RocketHistoryCache;
+import com.rocket.api.usecase.port.RocketEventStore;
+import com.rocket.api.usecase.port.RocketSnapshotStore;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.time.Clock;
+import java.util.List;
+import java.util.UUID;
+
+/*
+ * Rebuilds the state of a rocket as of a message number, or as of the latest message sent at or before a time.
+ * The cost is one snapshot read plus at most one snapshot interval of events, regardless of the history depth.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class GetRocketAtUseCase {
+
+    private final RocketEventStore eventStore;
+    private final RocketSnapshotStore snapshotStore;
+    private final RocketHistoryCache historyCache;
+    private final Clock clock;
+
+    public RocketState execute(UUID channel, Integer messageNumber, UtcDateTime time) {
+        if ((messageNumber == null) == (time == null)) {
+            throw new ValidationException("rocket.at.invalid.target", "Exactly one of messageNumber or time must be provided");
+        }
+        if (messageNumber != null && messageNumber < 1) {
+            throw new ValidationException("rocket.message.should.be.positive", "Message number must be a positive integer starting from 1");
+        }
+
+        int target = messageNumber != null
+                ? messageNumber
+                : eventStore.findLatestMessageNumberAtOrBefore(channel, time.toOffsetDateTime())
+                        .orElseThrow(() -> new ResourceOrEntityNotFoundException("Rocket", channel.toString()));
+
+        return historyCache.find(channel, target)
+                .orElseGet(() -> replay(channel, target));
+    }
+
+    private RocketState replay(UUID channel, int target) {
+        UtcDateTime now = UtcDateTime.now(clock);
+
+        RocketState state = snapshotStore.findLatestByChannelAtOrBefore(channel, target)
+                .map(RocketSnapshot::toState)
+                .orElse(RocketState.empty(channel, now));
+
+        List<RocketEvent> events = eventStore.findByChannelBetweenMessageNumbers(channel, state.lastProcessedMsgNumber(), target);
+        if (state.lastProcessedMsgNumber() == 0 && events.isEmpty()) {
+            throw new ResourceOrEntityNotFoundException("Rocket", channel.toString());
+        }
+
+        log.debug("Replaying {} events for channel={} from messageNumber={} to {}", events.size(), channel, state.lastProcessedMsgNumber(), target);
+        state = state.applyAll(events, now);
+
+        if (state.lastProcessedMsgNumber() < target) {
+            // Missing events before the target, the point is incomplete and may still change
+            return state.withStale(true);
+        }
+        historyCache.put(state);
+        return state;
+    }
+}
@@ -0,0 +1,72 @@
+package com.rocket.api.usecase;
+
+import com.rocket.api.common.exceptions.exceptions.ResourceOrEntityNotFoundException;
+import com.rocket.api.common.exceptions.exceptions.ValidationException;
+import com.rocket.api.domain.RocketEvent;
+import com.rocket.api.usecase.port.RocketEventStore;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+/*
+ * Raw event history of a channel, either as keyset pages on message_number or as a single cursor backed stream.
+ */
+@Service
+public class GetRocketEventsUseCase {
+
+    public static final int DEFAULT_PAGE_SIZE = 100;
+    private static final int MAX_PAGE_SIZE = 1000;
+
+    private final RocketEventStore eventStore;
+    private final int exportFetchSize;
+
+    public GetRocketEventsUseCase(
+            RocketEventStore eventStore,
+            @Value("${rocket.events.export-fetch-size:500}") int exportFetchSize
+    ) {
+        this.eventStore = eventStore;
+        this.exportFetchSize = exportFetchSize;
+    }
+
+    public List<RocketEvent> page(UUID channel, Integer after, Integer limit) {
+        int afterMessageNumber = validateAfter(after);
+        int size = limit != null ? limit : DEFAULT_PAGE_SIZE;
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            throw new ValidationException("rocket.events.invalid.limit", "Limit must be between 1 and " + MAX_PAGE_SIZE);
+        }
+
+        List<RocketEvent> events = eventStore.findPageByChannel(channel, afterMessageNumber, size);
+        if (events.isEmpty() && !eventStore.existsByChannel(channel)) {
+            throw new ResourceOrEntityNotFoundException("Rocket", channel.toString());
+        }
+        return events;
+    }
+
+    /*
+     * Checks an export request before any of the response is written, returns the message number to stream after.
+     */
+    public int validateExport(UUID channel, Integer after) {
+        int afterMessageNumber = validateAfter(after);
+        if (!eventStore.existsByChannel(channel)) {
+            throw new ResourceOrEntityNotFoundException("Rocket", channel.toString());
+        }
+        return afterMessageNumber;
+    }
+
+    @Transactional(readOnly = true)
+    public void stream(UUID channel, int afterMessageNumber, Consumer<RocketEvent> consumer) {
+        eventStore.streamByChannelAfterMessageNumber(channel, afterMessageNumber, exportFetchSize, consumer);
+    }
+
+    private int validateAfter(Integer after) {
+        int afterMessageNumber = after != null ? after : 0;
+        if (afterMessageNumber < 0) {
+            throw new ValidationException("rocket.events.invalid.after", "after must not be negative");
+        }
+        return afterMessageNumber;
+    }
+}
@@ -0,0 +1,82 @@
+package com.rocket.api.usecase;
+
+import com.rocket.api.common.exceptions.exceptions.ResourceOrEntityNotFoundException;
+import com.rocket.api.common.exceptions.exceptions.ValidationException;
+import com.rocket.api.domain.RocketEvent;
+import com.rocket.api.domain.RocketSnapshot;
+import com.rocket.api.domain.RocketState;
+import com.rocket.api.domain.UtcDateTime;
+import com.rocket.api.infrastructure.output.memory.series.RocketSpeedSeries;
+import com.rocket.api.infrastructure.output.memory.series.SpeedPoint;
+import com.rocket.api.infrastructure.output.memory.series.SpeedSeriesResolution;
+import com.rocket.api.usecase.port.RocketEventStore;
+import com.rocket.api.usecase.port.RocketSnapshotStore;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.time.Clock;
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class GetRocketSpeedSeriesUseCase {
+
+    private final RocketSpeedSeries speedSeries;
+    private final RocketEventStore eventStore;
+    private final RocketSnapshotStore snapshotStore;
+    private final Clock clock;
+
+    public List<SpeedPoint> execute(UUID channel, UtcDateTime from, UtcDateTime to, String resolution) {
+        SpeedSeriesResolution seriesResolution = SpeedSeriesResolution.fromValue(resolution);
+        long fromMicros = from != null ? from.toEpochMicros() : Long.MIN_VALUE;
+        long toMicros = to != null ? to.toEpochMicros() : Long.MAX_VALUE;
+        if (fromMicros > toMicros) {
+            throw new ValidationException("rocket.speed.series.invalid.range", "from must not be after to");
+        }
+
+        Optional<List<SpeedPoint>> buffered = from != null
+                ? speedSeries.find(channel, fromMicros, toMicros, seriesResolution)
+                : speedSeries.buffered(channel, toMicros, seriesResolution);
+        if (buffered.isPresent()) {
+            return buffered.get();
+        }
+
+        // Events numbered after upTo were all sent after the range, those numbered before first all before it
+        int upTo = to != null
+                ? eventStore.findLatestMessageNumberAtOrBefore(channel, to.toOffsetDateTime()).orElse(0)
+                : Integer.MAX_VALUE;
+        int first = from != null
+                ? eventStore.findEarliestMessageNumberAtOrAfter(channel, bucketStart(fromMicros, seriesResolution)).orElse(Integer.MAX_VALUE)
+                : 1;
+        if (first > upTo) {
+            if (!eventStore.existsByChannel(channel)) {
+                throw new ResourceOrEntityNotFoundException("Rocket", channel.toString());
+            }
+            return List.of();
+        }
+
+        UtcDateTime now = UtcDateTime.now(clock);
+        RocketState start = snapshotStore.findLatestByChannelAtOrBefore(channel, first - 1)
+                .map(RocketSnapshot::toState)
+                .orElse(RocketState.empty(channel, now));
+        List<RocketEvent> events = eventStore.findByChannelBetweenMessageNumbers(channel, start.lastProcessedMsgNumber(), upTo);
+        if (start.lastProcessedMsgNumber() == 0 && events.isEmpty()) {
+            throw new ResourceOrEntityNotFoundException("Rocket", channel.toString());
+        }
+        log.debug("Backfilling speed series for channel={} from messageNumber={} to {}, {} events",
+                channel, start.lastProcessedMsgNumber(), upTo, events.size());
+        return RocketSpeedSeries.replay(start, events, fromMicros, toMicros, seriesResolution, now);
+    }
+
+    // Start of the bucket holding the given time, its points before the time count as well
+    private static OffsetDateTime bucketStart(long epochMicros, SpeedSeriesResolution resolution) {
+        long bucketMicros = resolution.bucketMicros();
+        long start = bucketMicros > 0 ? Math.floorDiv(epochMicros, bucketMicros) * bucketMicros : epochMicros;
+        return UtcDateTime.ofEpochMicros(start).toOffsetDateTime();
+    }
+}
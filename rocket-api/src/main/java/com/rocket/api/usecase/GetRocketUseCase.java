@@ -1,20 +1,35 @@
 package com.rocket.api.usecase;
 
-import com.rocket.api.domain.RocketState;
-import com.rocket.api.infrastructure.output.persistence.RocketStateRepository;
+import com.rocket.api.common.beans.datasource.ReplicaReads;
+import com.rocket.api.infrastructure.output.memory.RocketStateVersions;
+import com.rocket.api.usecase.port.RocketStateStore;
+import com.rocket.api.usecase.port.VersionedRocketState;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
 import java.util.Optional;
+import java.util.OptionalLong;
 import java.util.UUID;
 
 @Service
 @RequiredArgsConstructor
 public class GetRocketUseCase {
 
-    private final RocketStateRepository stateRepository;
+    private final RocketStateStore stateStore;
+    private final RocketStateVersions stateVersions;
+    private final ReplicaReads replicaReads;
 
-    public Optional<RocketState> execute(UUID channel) {
-        return stateRepository.findByChannel(channel);
+    public Optional<VersionedRocketState> execute(UUID channel) {
+        return replicaReads.read(() -> stateStore.findVersionedByChannel(channel), found -> {
+            OptionalLong known = stateVersions.channelVersion(channel);
+            return known.isEmpty() || found.isPresent() && found.get().version() >= known.getAsLong();
+        });
     }
-}
\ No newline at end of file
+
+    /*
+     * Committed change version of the rocket, answered from memory. Empty when the rocket is unknown.
+     */
+    public OptionalLong version(UUID channel) {
+        return stateVersions.channelVersion(channel);
+    }
+}
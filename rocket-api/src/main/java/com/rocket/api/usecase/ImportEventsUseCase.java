@@ -0,0 +1,118 @@
+package com.rocket.api.usecase;
+
+import com.rocket.api.common.beans.bulkhead.JobExecutor;
+import com.rocket.api.common.beans.storage.OnPostgresStorage;
+import com.rocket.api.domain.RocketEvent;
+import com.rocket.api.infrastructure.output.persistence.RocketEventImportRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+/*
+ * Bulk import of historical events.
+ *
+ * Events are copied and merged in one transaction, so an invalid line rejects the whole import. Affected channels are
+ * recomputed afterwards on the job executor, in parallel and each in its own transaction. A channel that fails to recompute keeps its
+ * imported events and catches up with its next message.
+ */
+@Service
+@OnPostgresStorage
+@Slf4j
+public class ImportEventsUseCase {
+
+    private final RocketEventImportRepository importRepository;
+    private final RecomputeRocketStateUseCase recomputeRocketStateUseCase;
+    private final TransactionTemplate transactionTemplate;
+    private final JobExecutor jobExecutor;
+
+    // Every worker holds a connection of the jobs pool and a job thread, keep it within both
+    private final int recomputeParallelism;
+
+    public ImportEventsUseCase(
+            RocketEventImportRepository importRepository,
+            RecomputeRocketStateUseCase recomputeRocketStateUseCase,
+            TransactionTemplate transactionTemplate,
+            JobExecutor jobExecutor,
+            @Value("${rocket.import.recompute-parallelism:4}") int recomputeParallelism
+    ) {
+        this.importRepository = importRepository;
+        this.recomputeRocketStateUseCase = recomputeRocketStateUseCase;
+        this.transactionTemplate = transactionTemplate;
+        this.jobExecutor = jobExecutor;
+        this.recomputeParallelism = recomputeParallelism;
+    }
+
+    public EventImportResult execute(Iterator<RocketEvent> events) {
+        long startedAt = System.nanoTime();
+
+        Staged staged = transactionTemplate.execute(status -> {
+            long received = importRepository.copyToStaging(events);
+            return new Staged(received, importRepository.mergeStaging());
+        });
+
+        long inserted = staged.insertedByChannel().values().stream().mapToLong(Long::longValue).sum();
+        log.info("Imported {} of {} events into {} channels", inserted, staged.received(), staged.insertedByChannel().size());
+
+        int failed = recompute(List.copyOf(staged.insertedByChannel().keySet()));
+
+        return new EventImportResult(
+                staged.received(),
+                inserted,
+                staged.received() - inserted,
+                staged.insertedByChannel().size(),
+                failed,
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt)
+        );
+    }
+
+    private int recompute(List<UUID> channels) {
+        if (channels.isEmpty()) {
+            return 0;
+        }
+
+        Queue<UUID> pending = new ConcurrentLinkedQueue<>(channels);
+        AtomicInteger failed = new AtomicInteger();
+        List<Future<?>> workers = IntStream.range(0, Math.min(recomputeParallelism, channels.size()))
+                .<Future<?>>mapToObj(worker -> jobExecutor.submit(() -> recomputeAll(pending, failed)))
+                .toList();
+        for (Future<?> worker : workers) {
+            try {
+                worker.get();
+            } catch (ExecutionException e) {
+                throw new IllegalStateException("Recompute worker failed after import", e.getCause());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while recomputing imported channels", e);
+            }
+        }
+        return failed.get();
+    }
+
+    private void recomputeAll(Queue<UUID> pending, AtomicInteger failed) {
+        UUID channel;
+        while ((channel = pending.poll()) != null) {
+            try {
+                recomputeRocketStateUseCase.execute(channel);
+            } catch (RuntimeException e) {
+                failed.incrementAndGet();
+                log.error("Failed to recompute state for channel={} after import", channel, e);
+            }
+        }
+    }
+
+    private record Staged(long received, Map<UUID, Long> insertedByChannel) {
+    }
+}
@@ -1,7 +1,9 @@
 package com.rocket.api.usecase;
 
-import com.rocket.api.infrastructure.output.persistence.RocketStateRepository;
-import com.rocket.api.domain.RocketState;
+import com.rocket.api.common.beans.datasource.ReplicaReads;
+import com.rocket.api.infrastructure.output.memory.RocketStateVersions;
+import com.rocket.api.usecase.port.RocketStateStore;
+import com.rocket.api.usecase.port.VersionedRocketState;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
@@ -11,12 +13,33 @@ import java.util.List;
 @RequiredArgsConstructor
 public class ListRocketsUseCase {
 
-    private final RocketStateRepository stateRepository;
+    private final RocketStateStore stateStore;
+    private final RocketStateVersions stateVersions;
+    private final ReplicaReads replicaReads;
 
-    public List<RocketState> execute(String sortBy, String sortOrder) {
-        return stateRepository.findAll(
-                sortBy != null ? sortBy : "type",
-                sortOrder != null ? sortOrder : "asc"
-        );
+    public List<VersionedRocketState> execute(String sortBy, String sortOrder, Long changedSince) {
+        String sort = sortBy != null ? sortBy : "type";
+        String order = sortOrder != null ? sortOrder : "asc";
+
+        if (changedSince != null) {
+            long from = stateVersions.changedSinceFrom(changedSince);
+            return replicaReads.read(() -> stateStore.findChangedSince(from, sort, order),
+                    rockets -> stateVersions.covers(rockets, from));
+        }
+        return replicaReads.read(() -> stateStore.findAll(sort, order), rockets -> stateVersions.covers(rockets, Long.MIN_VALUE));
+    }
+
+    /*
+     * Fleet version answered from memory. Every state change with a version up to this value is committed.
+     */
+    public long fleetVersion() {
+        return stateVersions.fleetVersion();
+    }
+
+    /*
+     * Changes whenever a write of another node arrives below the fleet version, see RocketStateVersions.
+     */
+    public long lateWrites() {
+        return stateVersions.lateWrites();
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,148 @@
+package com.rocket.api.usecase;
+
+import com.rocket.api.domain.RocketEvent;
+import com.rocket.api.usecase.port.MessageSpool;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.RecoverableDataAccessException;
+import org.springframework.dao.TransientDataAccessException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.CannotCreateTransactionException;
+
+import java.time.Duration;
+import java.util.List;
+
+/*
+ * Stores the messages of the spool from one background thread, in batches through ReceiveMessageUseCase.executeBatch.
+ *
+ * While the database is unavailable the same batch is retried with exponential backoff and the spool grows. A batch
+ * failing for another reason is retried one message at a time, so one bad message does not hold up the rest; messages
+ * that still fail were already acknowledged with 202, so they go to the dead letter of the spool, are logged with
+ * their channel and message number and counted in rocket.ingest.spool.rejected. One drainer keeps the spool order, so the
+ * messages of a channel are stored in the order they were accepted.
+ */
+@Component
+@ConditionalOnProperty(name = "rocket.ingest.spool.enabled", havingValue = "true")
+@Slf4j
+public class MessageSpoolDrainer {
+
+    private static final Duration PEEK_TIMEOUT = Duration.ofSeconds(1);
+    private static final Duration MIN_BACKOFF = Duration.ofMillis(100);
+    private static final Duration MAX_BACKOFF = Duration.ofSeconds(5);
+
+    private final MessageSpool spool;
+    private final ReceiveMessageUseCase receiveMessageUseCase;
+    private final int batchSize;
+    private final Counter drained;
+    private final Counter rejected;
+    private volatile Thread thread;
+
+    public MessageSpoolDrainer(
+            MessageSpool spool,
+            ReceiveMessageUseCase receiveMessageUseCase,
+            @Value("${rocket.ingest.spool.drain-batch-size:500}") int batchSize,
+            MeterRegistry meterRegistry
+    ) {
+        this.spool = spool;
+        this.receiveMessageUseCase = receiveMessageUseCase;
+        this.batchSize = batchSize;
+        this.drained = Counter.builder("rocket.ingest.spool.drained")
+                .description("Spooled messages stored in the event store")
+                .register(meterRegistry);
+        this.rejected = Counter.builder("rocket.ingest.spool.rejected")
+                .description("Spooled messages moved to the dead letter because storing them failed")
+                .register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        thread = Thread.ofPlatform().name("message-spool-drainer").start(this::drainLoop);
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        Thread running = thread;
+        if (running != null) {
+            running.interrupt();
+            running.join();
+        }
+    }
+
+    private void drainLoop() {
+        try {
+            while (!Thread.currentThread().isInterrupted()) {
+                List<RocketEvent> batch = spool.peek(batchSize, PEEK_TIMEOUT);
+                if (!batch.isEmpty()) {
+                    store(batch);
+                    spool.remove(batch.size());
+                }
+            }
+        } catch (InterruptedException e) {
+            log.info("Message spool drainer stopped");
+        } catch (RuntimeException e) {
+            log.error("Message spool drainer failed, spooled messages are kept until the next start", e);
+        }
+    }
+
+    private void store(List<RocketEvent> batch) throws InterruptedException {
+        Duration backoff = MIN_BACKOFF;
+        while (true) {
+            try {
+                receiveMessageUseCase.executeBatch(batch);
+                drained.increment(batch.size());
+                return;
+            } catch (RuntimeException e) {
+                if (!isTransient(e)) {
+                    log.warn("Failed to store batch of {} spooled messages, storing them one by one", batch.size(), e);
+                    storeOneByOne(batch);
+                    return;
+                }
+                log.warn("Database unavailable, retrying {} spooled messages in {} ms: {}", batch.size(), backoff.toMillis(), e.getMessage());
+                Thread.sleep(backoff);
+                backoff = longer(backoff);
+            }
+        }
+    }
+
+    private void storeOneByOne(List<RocketEvent> batch) throws InterruptedException {
+        for (RocketEvent event : batch) {
+            Duration backoff = MIN_BACKOFF;
+            while (true) {
+                try {
+                    receiveMessageUseCase.execute(event);
+                    drained.increment();
+                    break;
+                } catch (RuntimeException e) {
+                    if (!isTransient(e)) {
+                        log.error("Moving spooled message to the dead letter: channel={}, messageNumber={}",
+                                event.channel(), event.messageNumber(), e);
+                        spool.deadLetter(event);
+                        rejected.increment();
+                        break;
+                    }
+                    Thread.sleep(backoff);
+                    backoff = longer(backoff);
+                }
+            }
+        }
+    }
+
+    private static Duration longer(Duration backoff) {
+        Duration doubled = backoff.multipliedBy(2);
+        return doubled.compareTo(MAX_BACKOFF) < 0 ? doubled : MAX_BACKOFF;
+    }
+
+    private static boolean isTransient(RuntimeException e) {
+        return e instanceof TransientDataAccessException
+                || e instanceof RecoverableDataAccessException
+                || e instanceof DataAccessResourceFailureException
+                || e instanceof CannotCreateTransactionException;
+    }
+}
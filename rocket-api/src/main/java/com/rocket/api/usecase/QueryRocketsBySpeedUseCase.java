@@ -0,0 +1,38 @@
+package com.rocket.api.usecase;
+
+import com.rocket.api.common.exceptions.exceptions.ValidationException;
+import com.rocket.api.infrastructure.output.memory.RocketSpeedIndex;
+import com.rocket.api.usecase.port.VersionedRocketState;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+@Service
+@RequiredArgsConstructor
+public class QueryRocketsBySpeedUseCase {
+
+    private static final int MAX_LIMIT = 1000;
+
+    private final RocketSpeedIndex speedIndex;
+
+    public List<VersionedRocketState> top(String by, Integer limit) {
+        if (by != null && !by.equals("speed")) {
+            throw new ValidationException("rocket.top.unsupported.field", "Top rockets can only be ranked by speed");
+        }
+        int size = limit != null ? limit : 10;
+        if (size < 1 || size > MAX_LIMIT) {
+            throw new ValidationException("rocket.top.invalid.limit", "Limit must be between 1 and " + MAX_LIMIT);
+        }
+        return speedIndex.fastest(size);
+    }
+
+    public List<VersionedRocketState> speedRange(Integer minSpeed, Integer maxSpeed, String sortOrder) {
+        int min = minSpeed != null ? minSpeed : 0;
+        int max = maxSpeed != null ? maxSpeed : Integer.MAX_VALUE;
+        if (min < 0 || min > max) {
+            throw new ValidationException("rocket.speed.invalid.range", "Speed range must satisfy 0 <= minSpeed <= maxSpeed");
+        }
+        return speedIndex.speedBetween(min, max, "desc".equalsIgnoreCase(sortOrder));
+    }
+}
@@ -1,36 +1,41 @@
 package com.rocket.api.usecase;
 
 import com.rocket.api.domain.RocketEvent;
-import com.rocket.api.domain.RocketSnapshot;
 import com.rocket.api.domain.RocketState;
-import com.rocket.api.domain.UtcDateTime;
-import com.rocket.api.infrastructure.output.persistence.RocketEventRepository;
-import com.rocket.api.infrastructure.output.persistence.RocketSnapshotRepository;
-import com.rocket.api.infrastructure.output.persistence.RocketStateRepository;
+import com.rocket.api.usecase.port.ChannelHandoff;
+import com.rocket.api.usecase.port.RocketEventStore;
+import com.rocket.api.usecase.port.RocketStateStore;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.time.Clock;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
 import java.util.UUID;
 
+/*
+ * Stores incoming events and recomputes the state of their channels. In cluster mode a channel owned by another node
+ * is handed off to its owner instead of being recomputed here, see ChannelHandoff.
+ */
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class ReceiveMessageUseCase {
 
-
-    private final RocketEventRepository eventRepository;
-    private final RocketStateRepository stateRepository;
-    private final RocketSnapshotRepository snapshotRepository;
-    private final Clock clock;
+    private final RocketEventStore eventStore;
+    private final RocketStateStore stateStore;
+    private final RecomputeRocketStateUseCase recomputeRocketStateUseCase;
+    private final Optional<ChannelHandoff> channelHandoff;
 
     @Transactional
     public void execute(RocketEvent event) {
 
-        boolean saved = eventRepository.save(event);
+        boolean saved = eventStore.save(event);
 
         if (!saved) {
             log.debug("Duplicate event ignored: channel={}, messageNumber={}", event.channel(), event.messageNumber());
@@ -38,30 +43,58 @@ public class ReceiveMessageUseCase {
         }
 
         log.info("Saved event: channel={}, messageNumber={}, type={}", event.channel(), event.messageNumber(), event.messageType());
-        recomputeState(event.channel());
+        if (isOwnedElsewhere(event.channel())) {
+            channelHandoff.get().handOff(List.of(event.channel()));
+            return;
+        }
+        recomputeRocketStateUseCase.execute(event.channel());
     }
 
-    private void recomputeState(UUID channel) {
-        UtcDateTime now = UtcDateTime.now(clock);
-
-        RocketState state = snapshotRepository.findLatestByChannel(channel)
-                .map(RocketSnapshot::toState)
-                .orElse(RocketState.empty(channel, now));
-
-        List<RocketEvent> events = eventRepository.findByChannelAfterMessageNumber(channel, state.lastProcessedMsgNumber());
-
-        log.debug("Replaying {} events for channel={} from messageNumber={}", events.size(), channel, state.lastProcessedMsgNumber());
-
-        state = state.applyAll(events, now);
-
-        stateRepository.save(state);
+    /*
+     * Stores a batch of events and recomputes every channel in it once, all in one transaction.
+     * Returns, per channel of the batch, the highest message number up to which all events are committed. For channels
+     * handed off to another node that is the state as last recomputed by the owner.
+     */
+    @Transactional
+    public Map<UUID, Integer> executeBatch(List<RocketEvent> events) {
+        boolean[] saved = eventStore.saveAll(events);
+
+        // Sorted, so concurrent batches lock rocket_state rows in the same order
+        Set<UUID> changed = new TreeSet<>();
+        Set<UUID> unchanged = new TreeSet<>();
+        int savedCount = 0;
+        for (int i = 0; i < events.size(); i++) {
+            if (saved[i]) {
+                changed.add(events.get(i).channel());
+                savedCount++;
+            } else {
+                unchanged.add(events.get(i).channel());
+            }
+        }
+        unchanged.removeAll(changed);
+        Set<UUID> handedOff = new TreeSet<>();
+        for (UUID channel : changed) {
+            if (isOwnedElsewhere(channel)) {
+                handedOff.add(channel);
+            }
+        }
+        if (!handedOff.isEmpty()) {
+            changed.removeAll(handedOff);
+            channelHandoff.get().handOff(handedOff);
+            unchanged.addAll(handedOff);
+        }
+        log.info("Saved {} of {} events in batch, recomputing {} channels, handed off {}", savedCount, events.size(), changed.size(), handedOff.size());
 
-        if (state.shouldSnapshot()) {
-            snapshotRepository.save(RocketSnapshot.fromState(state, clock));
-            log.debug("Saved snapshot for channel={} at messageNumber={}", channel, state.lastProcessedMsgNumber());
+        Map<UUID, Integer> committed = new LinkedHashMap<>();
+        recomputeRocketStateUseCase.executeAll(changed)
+                .forEach((channel, state) -> committed.put(channel, state.lastProcessedMsgNumber()));
+        for (UUID channel : unchanged) {
+            committed.put(channel, stateStore.findByChannel(channel).map(RocketState::lastProcessedMsgNumber).orElse(0));
         }
+        return committed;
+    }
 
-        log.info("Updated state for channel={}: type={}, speed={}, status={}, lastMsg={}, stale={}",
-                channel, state.rocketType(), state.speed(), state.status(), state.lastProcessedMsgNumber(), state.stale());
+    private boolean isOwnedElsewhere(UUID channel) {
+        return channelHandoff.isPresent() && !channelHandoff.get().isOwnedLocally(channel);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,119 @@
+package com.rocket.api.usecase;
+
+import com.rocket.api.domain.RocketEvent;
+import com.rocket.api.domain.RocketSnapshot;
+import com.rocket.api.domain.RocketState;
+import com.rocket.api.domain.SegmentedReplay;
+import com.rocket.api.domain.UtcDateTime;
+import com.rocket.api.infrastructure.output.memory.RocketStateVersions;
+import com.rocket.api.infrastructure.output.memory.series.RocketSpeedSamples;
+import com.rocket.api.infrastructure.output.memory.series.RocketSpeedSeries;
+import com.rocket.api.infrastructure.output.memory.series.SpeedSample;
+import com.rocket.api.usecase.port.RocketEventStore;
+import com.rocket.api.usecase.port.RocketSnapshotStore;
+import com.rocket.api.usecase.port.RocketStateStore;
+import com.rocket.api.usecase.port.VersionedRocketState;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Clock;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/*
+ * Rebuilds the materialized state of a channel from its latest snapshot and the events stored after it.
+ *
+ * Events are replayed in pages, so a channel with a long unprocessed tail (e.g. after a bulk import) never has to fit
+ * into memory at once. Every state on the way that is due for a snapshot gets one, not only the final state.
+ * Snapshots are collected while replaying and written as one batch at the end, replay never reads them back. Long pages
+ * are replayed in parallel segments (SegmentedReplay), callbacks still see the events in order.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class RecomputeRocketStateUseCase {
+
+    private static final int REPLAY_PAGE_SIZE = 10_000;
+
+    private final RocketEventStore eventStore;
+    private final RocketStateStore stateStore;
+    private final RocketSnapshotStore snapshotStore;
+    private final RocketStateVersions stateVersions;
+    private final SegmentedReplay segmentedReplay;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Clock clock;
+
+    @Transactional
+    public RocketState execute(UUID channel) {
+        return executeAll(List.of(channel)).get(channel);
+    }
+
+    /*
+     * Recomputes several channels in the current transaction. Snapshots and states of all of them are written as one
+     * JDBC batch each; channels are recomputed in the given order, callers sort them to keep row locks ordered.
+     */
+    @Transactional
+    public Map<UUID, RocketState> executeAll(Collection<UUID> channels) {
+        UtcDateTime now = UtcDateTime.now(clock);
+        Map<UUID, RocketState> recomputed = new LinkedHashMap<>();
+        List<RocketSnapshot> snapshots = new ArrayList<>();
+        List<VersionedRocketState> states = new ArrayList<>(channels.size());
+
+        for (UUID channel : channels) {
+            RocketState state = replay(channel, now, snapshots);
+            recomputed.put(channel, state);
+
+            log.info("Updated state for channel={}: type={}, speed={}, status={}, lastMsg={}, stale={}",
+                    channel, state.rocketType(), state.speed(), state.status(), state.lastProcessedMsgNumber(), state.stale());
+        }
+
+        // One allocation for the whole batch, versions come from the store
+        long[] versions = stateVersions.next(List.copyOf(recomputed.keySet()));
+        int i = 0;
+        for (RocketState state : recomputed.values()) {
+            states.add(new VersionedRocketState(state, versions[i++]));
+        }
+
+        snapshotStore.saveAll(snapshots);
+        stateStore.saveAll(states);
+        // Delivered to read models after commit, see @TransactionalEventListener
+        states.forEach(eventPublisher::publishEvent);
+        return recomputed;
+    }
+
+    private RocketState replay(UUID channel, UtcDateTime now, List<RocketSnapshot> snapshots) {
+        RocketState state = snapshotStore.findLatestByChannel(channel)
+                .map(RocketSnapshot::toState)
+                .orElse(RocketState.empty(channel, now));
+
+        log.debug("Replaying events for channel={} from messageNumber={}", channel, state.lastProcessedMsgNumber());
+
+        List<RocketEvent> page;
+        do {
+            page = eventStore.findPageByChannel(channel, state.lastProcessedMsgNumber(), REPLAY_PAGE_SIZE);
+            int replayFrom = state.lastProcessedMsgNumber() + 1;
+            List<SpeedSample> speedSamples = new ArrayList<>();
+            state = segmentedReplay.applyAll(state, page, now, (event, applied) -> {
+                if (RocketSpeedSeries.isSpeedChange(event)) {
+                    speedSamples.add(new SpeedSample(event.messageNumber(), event.messageTime(), applied.speed()));
+                }
+                if (applied.shouldSnapshot()) {
+                    snapshots.add(RocketSnapshot.fromState(applied, clock));
+                }
+            });
+
+            if (!page.isEmpty()) {
+                // Delivered to the speed series after commit, consecutive pages form one contiguous range
+                eventPublisher.publishEvent(new RocketSpeedSamples(channel, replayFrom, state.lastProcessedMsgNumber(), speedSamples));
+            }
+        } while (page.size() == REPLAY_PAGE_SIZE && !state.stale());
+        return state;
+    }
+}
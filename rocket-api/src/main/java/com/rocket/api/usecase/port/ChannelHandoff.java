@@ -0,0 +1,19 @@
+package com.rocket.api.usecase.port;
+
+import java.util.Collection;
+import java.util.UUID;
+
+/*
+ * Channel affinity in cluster mode: every channel is recomputed by one node, its owner. Other nodes still store the
+ * events of a channel but leave the recomputation to the owner.
+ */
+public interface ChannelHandoff {
+
+    boolean isOwnedLocally(UUID channel);
+
+    /*
+     * Asks the owners of the channels to recompute them. Takes effect with the current transaction, so a request is
+     * never seen before the events it is about.
+     */
+    void handOff(Collection<UUID> channels);
+}
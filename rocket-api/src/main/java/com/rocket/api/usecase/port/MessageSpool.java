@@ -0,0 +1,31 @@
+package com.rocket.api.usecase.port;
+
+import com.rocket.api.domain.RocketEvent;
+
+import java.time.Duration;
+import java.util.List;
+
+/*
+ * Durable FIFO of accepted messages that are not stored in the event store yet. Single consumer: messages are
+ * peeked, stored, then removed, so a message is handed out again until it was removed.
+ */
+public interface MessageSpool {
+
+    void append(RocketEvent event);
+
+    /*
+     * Returns up to max of the oldest messages, waiting up to timeout while the spool is empty.
+     */
+    List<RocketEvent> peek(int max, Duration timeout) throws InterruptedException;
+
+    /*
+     * Removes the count oldest messages.
+     */
+    void remove(int count);
+
+    /*
+     * Keeps a copy of a message that could not be stored, for inspection and replay. It is still removed with the
+     * rest of its batch.
+     */
+    void deadLetter(RocketEvent event);
+}
@@ -0,0 +1,46 @@
+package com.rocket.api.usecase.port;
+
+import com.rocket.api.domain.RocketEvent;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+/*
+ * Append only store of received rocket events, the source of truth every state is replayed from.
+ * Events are unique per (channel, message number), the first stored event wins.
+ */
+public interface RocketEventStore {
+
+    /*
+     * Returns false when an event with the same channel and message number is already stored.
+     */
+    boolean save(RocketEvent event);
+
+    /*
+     * Returns, per event, whether it was new; duplicates are skipped.
+     */
+    boolean[] saveAll(List<RocketEvent> events);
+
+    List<RocketEvent> findByChannelAfterMessageNumber(UUID channel, int afterMessageNumber);
+
+    List<RocketEvent> findByChannelBetweenMessageNumbers(UUID channel, int afterMessageNumber, int upToMessageNumber);
+
+    Optional<Integer> findLatestMessageNumberAtOrBefore(UUID channel, OffsetDateTime messageTime);
+
+    Optional<Integer> findEarliestMessageNumberAtOrAfter(UUID channel, OffsetDateTime messageTime);
+
+    List<RocketEvent> findPageByChannel(UUID channel, int afterMessageNumber, int limit);
+
+    /*
+     * Hands the events to the consumer one by one without loading them all, fetchSize is a hint for the batch size.
+     * Callers run this within a transaction.
+     */
+    void streamByChannelAfterMessageNumber(UUID channel, int afterMessageNumber, int fetchSize, Consumer<RocketEvent> consumer);
+
+    boolean existsByChannel(UUID channel);
+
+    int countByChannel(UUID channel);
+}
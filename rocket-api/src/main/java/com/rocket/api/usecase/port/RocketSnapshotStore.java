@@ -0,0 +1,20 @@
+package com.rocket.api.usecase.port;
+
+import com.rocket.api.domain.RocketSnapshot;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/*
+ * Periodic rocket states, so replays can start from the latest snapshot instead of the first event.
+ * A snapshot is never replaced once stored.
+ */
+public interface RocketSnapshotStore {
+
+    void saveAll(List<RocketSnapshot> snapshots);
+
+    Optional<RocketSnapshot> findLatestByChannel(UUID channel);
+
+    Optional<RocketSnapshot> findLatestByChannelAtOrBefore(UUID channel, int messageNumber);
+}
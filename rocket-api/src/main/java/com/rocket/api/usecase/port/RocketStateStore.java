@@ -0,0 +1,35 @@
+package com.rocket.api.usecase.port;
+
+import com.rocket.api.domain.RocketState;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/*
+ * Current state per rocket, derived from the event store. Every write carries a change version,
+ * a write with an older version than the stored one is ignored.
+ */
+public interface RocketStateStore {
+
+    /*
+     * Allocates count change versions in ascending order, each higher than every version allocated before, also by
+     * other nodes sharing the store.
+     */
+    long[] nextVersions(int count);
+
+    void saveAll(List<VersionedRocketState> states);
+
+    Optional<RocketState> findByChannel(UUID channel);
+
+    Optional<VersionedRocketState> findVersionedByChannel(UUID channel);
+
+    /*
+     * sortBy is one of type, speed, mission or status (default type), sortOrder asc or desc; nulls sort last.
+     */
+    List<VersionedRocketState> findAll(String sortBy, String sortOrder);
+
+    List<VersionedRocketState> findChangedSince(long version, String sortBy, String sortOrder);
+
+    List<VersionedRocketState> findAllVersioned();
+}
@@ -0,0 +1,12 @@
+package com.rocket.api.usecase.port;
+
+import com.rocket.api.domain.RocketState;
+
+/*
+ * Rocket state together with the change version of its state store row.
+ */
+public record VersionedRocketState(
+        RocketState state,
+        long version
+) {
+}
@@ -0,0 +1,11 @@
+-- Monotonic change version of each rocket_state row (bumped on every state write)
+ALTER TABLE rocket_state ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
+
+-- Existing rows get versions 1..n in the order they were last written, so "changed since 0" still returns them
+UPDATE rocket_state
+SET version = numbered.version
+FROM (SELECT channel, ROW_NUMBER() OVER (ORDER BY last_updated_at, channel) AS version FROM rocket_state) numbered
+WHERE rocket_state.channel = numbered.channel;
+
+-- Index for incremental "changed since" reads
+CREATE INDEX idx_rocket_state_version ON rocket_state (version);
@@ -0,0 +1,2 @@
+-- Index for resolving point-in-time queries (latest message of a channel at or before a given time)
+CREATE INDEX idx_rocket_event_channel_time ON rocket_event (channel, message_time);
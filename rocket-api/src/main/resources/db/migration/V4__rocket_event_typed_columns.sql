@@ -0,0 +1,16 @@
+-- Typed event layout: payload fields the domain reads get their own columns, message_type becomes a smallint code
+-- (1 RocketLaunched, 2 RocketSpeedIncreased, 3 RocketSpeedDecreased, 4 RocketExploded, 5 RocketMissionChanged).
+-- payload keeps only fields without a column and is NULL when there are none.
+--
+-- Only nullable columns without default are added and NOT NULL is dropped, all metadata changes, so this does not
+-- rewrite the table. Existing rows keep type_code NULL and are converted in batches by RocketEventBackfill.
+-- message_type (text) is only read for rows not converted yet; new rows leave it NULL.
+ALTER TABLE rocket_event
+    ADD COLUMN type_code    SMALLINT,
+    ADD COLUMN launch_speed INTEGER,
+    ADD COLUMN speed_delta  INTEGER,
+    ADD COLUMN rocket_type  TEXT,
+    ADD COLUMN mission      TEXT,
+    ADD COLUMN reason       TEXT,
+    ALTER COLUMN message_type DROP NOT NULL,
+    ALTER COLUMN payload DROP NOT NULL;
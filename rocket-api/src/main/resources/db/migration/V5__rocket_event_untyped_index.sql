@@ -0,0 +1,3 @@
+-- Rows still waiting for the typed column backfill, shrinks to nothing once it is done.
+-- Not CONCURRENTLY: Flyway holds its advisory lock in a transaction and the concurrent build would wait on it.
+CREATE INDEX IF NOT EXISTS idx_rocket_event_untyped ON rocket_event (channel, message_number) WHERE type_code IS NULL;
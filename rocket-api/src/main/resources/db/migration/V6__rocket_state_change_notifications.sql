@@ -0,0 +1,15 @@
+-- Versions come from one sequence, so state writes of several nodes never reuse a version
+CREATE SEQUENCE rocket_state_version_seq;
+SELECT setval('rocket_state_version_seq', COALESCE((SELECT MAX(version) FROM rocket_state), 0) + 1, false);
+
+-- Announces every state row change on rocket_state_changed as '<channel>:<version>', delivered on commit
+CREATE FUNCTION notify_rocket_state_changed() RETURNS trigger AS $$
+BEGIN
+    PERFORM pg_notify('rocket_state_changed', NEW.channel::text || ':' || NEW.version);
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER rocket_state_changed
+    AFTER INSERT OR UPDATE ON rocket_state
+    FOR EACH ROW EXECUTE FUNCTION notify_rocket_state_changed();
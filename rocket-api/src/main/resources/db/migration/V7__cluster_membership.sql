@@ -0,0 +1,11 @@
+-- Nodes running in cluster mode, a node counts as a member while its heartbeat is recent
+CREATE TABLE cluster_member (
+    node_id      TEXT        PRIMARY KEY,
+    heartbeat_at TIMESTAMPTZ NOT NULL
+);
+
+-- Channels with stored events that their owner still has to recompute, written by the node that received them
+CREATE TABLE rocket_recompute_request (
+    channel      UUID        PRIMARY KEY,
+    requested_at TIMESTAMPTZ NOT NULL DEFAULT NOW()
+);
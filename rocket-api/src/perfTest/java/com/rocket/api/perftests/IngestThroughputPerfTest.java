@@ -0,0 +1,92 @@
+package com.rocket.api.perftests;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.rocket.api.loadtest.LoadGenerator;
+import com.rocket.api.loadtest.LoadProfile;
+import com.rocket.api.loadtest.LoadResult;
+import com.rocket.api.loadtest.StateVerifier;
+import com.rocket.api.loadtest.TrafficPlan;
+import com.rocket.api.setup.AbstractIntegrationTest;
+import com.rocket.api.setup.annotations.CleanDBState;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.TestPropertySource;
+
+import java.net.URI;
+import java.nio.file.Path;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/*
+ * Ingest throughput as a tested property: a fixed workload of channels x events with reordering and duplicates is
+ * sent over HTTP to the application on the integration test container, after a warm-up of the same shape on other
+ * channels. Throughput and p99 are checked against perf-baseline.json, and every channel must end in its expected
+ * state. Results are written to perf.results (build/perf-results).
+ */
+@CleanDBState
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@TestPropertySource(properties = {
+        // The it profile logs every statement, that would be measured instead of ingest
+        "logging.level.com.rocket=WARN",
+        "logging.level.org.springframework.jdbc=WARN"
+})
+class IngestThroughputPerfTest extends AbstractIntegrationTest {
+
+    private static final String WORKLOAD = "ingest-closed-loop";
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void shouldIngestAtBaselineThroughputAndLatency() throws Exception {
+        // Given
+        URI baseUri = URI.create("http://localhost:" + port);
+        PerfBaseline baseline = PerfBaseline.load(WORKLOAD, objectMapper);
+        LoadProfile profile = workload(200, 2);
+        TrafficPlan warmUp = TrafficPlan.generate(workload(50, 1), objectMapper);
+        TrafficPlan measured = TrafficPlan.generate(profile, objectMapper);
+
+        // When
+        LoadResult result;
+        try (LoadGenerator generator = new LoadGenerator(baseUri, profile)) {
+            generator.run(warmUp);
+            result = generator.run(measured);
+        }
+        baseline.writeResult(result, Path.of(System.getProperty("perf.results", "build/perf-results")), objectMapper);
+
+        // Then
+        assertThat(result.failed()).isZero();
+        assertThat(new StateVerifier(baseUri, objectMapper).verify(measured.expected(), profile.verifyTimeout())).isEmpty();
+        assertThat(result.messagesPerSecond())
+                .as("messages/s, baseline %.0f with tolerance %.0f%%", baseline.minMessagesPerSecond(), baseline.tolerance() * 100)
+                .isGreaterThanOrEqualTo(baseline.throughputFloor());
+        assertThat(PerfBaseline.p99Millis(result))
+                .as("p99 ms, baseline %.0f with tolerance %.0f%%", baseline.maxP99Millis(), baseline.tolerance() * 100)
+                .isLessThanOrEqualTo(baseline.p99CeilingMillis());
+    }
+
+    // 50 events per channel, 10% reordered within 5 positions, 5% duplicated, no gaps so every channel ends complete
+    private static LoadProfile workload(int channels, long seed) {
+        return new LoadProfile(
+                channels,
+                50,
+                LoadProfile.Mode.CLOSED,
+                0,
+                16,
+                0.1,
+                5,
+                0.05,
+                0,
+                LoadProfile.GapPattern.DROP,
+                new LoadProfile.EventMix(45, 40, 10, 5),
+                Duration.ofSeconds(30),
+                seed
+        );
+    }
+}
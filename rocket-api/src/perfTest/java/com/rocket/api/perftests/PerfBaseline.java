@@ -0,0 +1,80 @@
+package com.rocket.api.perftests;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.rocket.api.loadtest.LoadResult;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/*
+ * Limits of a perf test workload, read from perf-baseline.json on the classpath. A measurement passes when its
+ * throughput is at least minMessagesPerSecond and its p99 at most maxP99Millis, both widened by the tolerance.
+ */
+record PerfBaseline(String workload, double minMessagesPerSecond, double maxP99Millis, double tolerance) {
+
+    static PerfBaseline load(String workload, ObjectMapper objectMapper) throws IOException {
+        try (InputStream in = PerfBaseline.class.getResourceAsStream("/perf-baseline.json")) {
+            if (in == null) {
+                throw new IllegalStateException("perf-baseline.json not on the classpath");
+            }
+            JsonNode root = objectMapper.readTree(in);
+            JsonNode limits = root.path("workloads").path(workload);
+            if (limits.isMissingNode()) {
+                throw new IllegalStateException("No baseline for workload " + workload);
+            }
+            return new PerfBaseline(workload, limits.path("minMessagesPerSecond").asDouble(),
+                    limits.path("maxP99Millis").asDouble(), root.path("tolerance").asDouble());
+        }
+    }
+
+    double throughputFloor() {
+        return minMessagesPerSecond * (1 - tolerance);
+    }
+
+    double p99CeilingMillis() {
+        return maxP99Millis * (1 + tolerance);
+    }
+
+    /*
+     * Writes <workload>.json with the measurement, the baseline and the verdict, next to the latency histogram and
+     * throughput series of LoadResult.writeTo, for CI to archive and compare across builds.
+     */
+    void writeResult(LoadResult result, Path directory, ObjectMapper objectMapper) throws IOException {
+        Map<String, Object> measured = new LinkedHashMap<>();
+        measured.put("messages", result.completed());
+        measured.put("rejected", result.rejected());
+        measured.put("failed", result.failed());
+        measured.put("durationMillis", result.duration().toMillis());
+        measured.put("messagesPerSecond", result.messagesPerSecond());
+        measured.put("p50Millis", result.latencyPercentileMicros(50) / 1000.0);
+        measured.put("p99Millis", p99Millis(result));
+        measured.put("maxMillis", result.latency().getMaxValue() / 1000.0);
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("workload", workload);
+        report.put("measured", measured);
+        report.put("baseline", Map.of(
+                "minMessagesPerSecond", minMessagesPerSecond,
+                "maxP99Millis", maxP99Millis,
+                "tolerance", tolerance));
+        report.put("passed", passes(result));
+
+        Path workloadDirectory = directory.resolve(workload);
+        result.writeTo(workloadDirectory);
+        Files.createDirectories(directory);
+        objectMapper.writerWithDefaultPrettyPrinter().writeValue(directory.resolve(workload + ".json").toFile(), report);
+    }
+
+    boolean passes(LoadResult result) {
+        return result.messagesPerSecond() >= throughputFloor() && p99Millis(result) <= p99CeilingMillis();
+    }
+
+    static double p99Millis(LoadResult result) {
+        return result.latencyPercentileMicros(99) / 1000.0;
+    }
+}
@@ -0,0 +1,108 @@
+package com.rocket.api.integrationtestsslow.usecases;
+
+import com.rocket.api.domain.RocketState;
+import com.rocket.api.infrastructure.cluster.ClusterMembership;
+import com.rocket.api.infrastructure.cluster.ConsistentHashRing;
+import com.rocket.api.infrastructure.output.persistence.RocketEventRepository;
+import com.rocket.api.infrastructure.output.persistence.RocketStateRepository;
+import com.rocket.api.setup.AbstractIntegrationTest;
+import com.rocket.api.setup.Await;
+import com.rocket.api.setup.annotations.CleanDBState;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+
+import java.util.List;
+import java.util.UUID;
+
+import static com.rocket.api.setup.RocketMessages.launched;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@CleanDBState
+@TestPropertySource(properties = {
+        "rocket.cluster.enabled=true",
+        "rocket.cluster.node-id=it-node",
+        "rocket.cluster.heartbeat-interval=100ms",
+        "rocket.cluster.member-timeout=1h",
+        "rocket.cluster.handoff-poll-interval=50ms"
+})
+class ClusterHandoffIT extends AbstractIntegrationTest {
+
+    private static final String OTHER_NODE = "it-other-node";
+
+    @Autowired
+    private ClusterMembership membership;
+
+    @Autowired
+    private RocketEventRepository rocketEventRepository;
+
+    @Autowired
+    private RocketStateRepository rocketStateRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @AfterEach
+    void leaveOtherNode() {
+        jdbcTemplate.update("DELETE FROM cluster_member WHERE node_id = ?", OTHER_NODE);
+        jdbcTemplate.update("DELETE FROM rocket_recompute_request");
+        membership.heartbeat();
+    }
+
+    @Test
+    void shouldHandOffChannelOwnedByOtherNodeAndTakeItOverWhenItLeaves() throws Exception {
+        // Given - a second node owning the channel
+        jdbcTemplate.update("INSERT INTO cluster_member (node_id, heartbeat_at) VALUES (?, NOW())", OTHER_NODE);
+        membership.heartbeat();
+        UUID channel = channelOwnedBy(OTHER_NODE);
+
+        // When
+        mockMvc.perform(post("/messages")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(launched(channel)))
+                .andExpect(status().isOk());
+
+        // Then - the event is stored and the recompute is left to the owner
+        assertThat(rocketEventRepository.countByChannel(channel)).isEqualTo(1);
+        assertThat(rocketStateRepository.findByChannel(channel)).isEmpty();
+        assertThat(jdbcTemplate.queryForList("SELECT channel FROM rocket_recompute_request", UUID.class)).containsExactly(channel);
+
+        // When - the owner leaves
+        jdbcTemplate.update("DELETE FROM cluster_member WHERE node_id = ?", OTHER_NODE);
+        membership.heartbeat();
+
+        // Then - this node takes the channel over and recomputes it
+        RocketState state = Await.until("recompute of " + channel, () -> rocketStateRepository.findByChannel(channel));
+        assertThat(state.speed()).isEqualTo(500);
+        assertThat(jdbcTemplate.queryForList("SELECT channel FROM rocket_recompute_request", UUID.class)).isEmpty();
+    }
+
+    @Test
+    void shouldRecomputeOwnChannelRightAway() throws Exception {
+        jdbcTemplate.update("INSERT INTO cluster_member (node_id, heartbeat_at) VALUES (?, NOW())", OTHER_NODE);
+        membership.heartbeat();
+        UUID channel = channelOwnedBy(membership.nodeId());
+
+        mockMvc.perform(post("/messages")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(launched(channel)))
+                .andExpect(status().isOk());
+
+        assertThat(rocketStateRepository.findByChannel(channel)).map(RocketState::speed).contains(500);
+    }
+
+    private UUID channelOwnedBy(String node) {
+        ConsistentHashRing ring = new ConsistentHashRing(List.of(membership.nodeId(), OTHER_NODE), 128);
+        for (int i = 0; ; i++) {
+            UUID channel = UUID.nameUUIDFromBytes(("cluster-it-" + i).getBytes());
+            if (ring.owner(channel).equals(node)) {
+                return channel;
+            }
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package com.rocket.api.integrationtestsslow.usecases;
+
+import com.rocket.api.domain.RocketEvent;
+import com.rocket.api.infrastructure.output.persistence.RocketEventRepository;
+import com.rocket.api.setup.AbstractIntegrationTest;
+import com.rocket.api.setup.annotations.CleanDBState;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.TestPropertySource;
+
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static com.rocket.api.setup.RocketMessages.launchedEvent;
+import static com.rocket.api.setup.RocketMessages.speedIncreasedEvent;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/*
+ * Runs on a real server, MockMvc never times out an async request. The client stops reading for longer than the
+ * default async timeout while the export is blocked on a full socket.
+ */
+@CleanDBState
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@TestPropertySource(properties = {
+        "spring.mvc.async.request-timeout=500ms",
+        "rocket.events.export-timeout=1m"
+})
+class ExportRocketEventsIT extends AbstractIntegrationTest {
+
+    private static final UUID CHANNEL = UUID.fromString("e1111111-1111-1111-1111-111111111111");
+    // Far more than the socket buffers of both ends hold
+    private static final int EVENTS = 100_000;
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private RocketEventRepository rocketEventRepository;
+
+    @Test
+    void shouldExportTailThatOutlastsDefaultAsyncTimeout() throws Exception {
+        // Given
+        List<RocketEvent> events = new ArrayList<>(EVENTS);
+        events.add(launchedEvent(CHANNEL));
+        for (int messageNumber = 2; messageNumber <= EVENTS; messageNumber++) {
+            events.add(speedIncreasedEvent(CHANNEL, messageNumber));
+        }
+        rocketEventRepository.saveAll(events);
+
+        // When - a client that pauses past the default timeout before reading the rest
+        String body;
+        try (Socket socket = new Socket()) {
+            socket.setReceiveBufferSize(8 * 1024);
+            socket.connect(new InetSocketAddress("localhost", port));
+            socket.getOutputStream().write("GET /rockets/%s/events/export HTTP/1.0\r\n\r\n".formatted(CHANNEL)
+                    .getBytes(StandardCharsets.US_ASCII));
+            InputStream in = socket.getInputStream();
+            ByteArrayOutputStream received = new ByteArrayOutputStream();
+            received.write(in.readNBytes(1024));
+            Thread.sleep(1500);
+            in.transferTo(received);
+            body = received.toString(StandardCharsets.UTF_8);
+        }
+
+        // Then - the whole history arrived
+        assertThat(body).startsWith("HTTP/1.1 200");
+        String[] lines = body.substring(body.indexOf("\r\n\r\n") + 4).strip().split("\n");
+        assertThat(lines).hasSize(EVENTS);
+        assertThat(lines[EVENTS - 1]).contains("\"messageNumber\":" + EVENTS);
+    }
+}
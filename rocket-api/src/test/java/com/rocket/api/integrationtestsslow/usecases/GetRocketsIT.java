@@ -1,19 +1,40 @@
 package com.rocket.api.integrationtestsslow.usecases;
 
+import com.rocket.api.infrastructure.output.memory.RocketStateVersions;
+import com.rocket.api.infrastructure.output.memory.series.RocketSpeedSeries;
 import com.rocket.api.setup.AbstractIntegrationTest;
 import com.rocket.api.setup.annotations.CleanDBState;
+import org.flywaydb.core.Flyway;
 import org.junit.jupiter.api.Test;
 import org.skyscreamer.jsonassert.JSONAssert;
 import org.skyscreamer.jsonassert.JSONCompareMode;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
 
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @CleanDBState
 class GetRocketsIT extends AbstractIntegrationTest {
 
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private RocketStateVersions stateVersions;
+
+    @Autowired
+    private RocketSpeedSeries speedSeries;
+
     @Test
     void shouldReturnRocketById() throws Exception {
         // Given - create a rocket
@@ -225,4 +246,604 @@ class GetRocketsIT extends AbstractIntegrationTest {
         String responseBody = result.getResponse().getContentAsString();
         JSONAssert.assertEquals("[]", responseBody, JSONCompareMode.STRICT);
     }
-}
\ No newline at end of file
+
+    @Test
+    void shouldReturn304WhenRocketNotModified() throws Exception {
+        // Given
+        String launchMessage = """
+                {
+                    "metadata": {
+                        "channel": "55555555-5555-5555-5555-555555555555",
+                        "messageNumber": 1,
+                        "messageTime": "2022-02-02T19:39:05.86337+01:00",
+                        "messageType": "RocketLaunched"
+                    },
+                    "message": {
+                        "type": "Falcon-9",
+                        "launchSpeed": 500,
+                        "mission": "ARTEMIS"
+                    }
+                }
+                """;
+
+        String speedMessage = """
+                {
+                    "metadata": {
+                        "channel": "55555555-5555-5555-5555-555555555555",
+                        "messageNumber": 2,
+                        "messageTime": "2022-02-02T19:40:05.86337+01:00",
+                        "messageType": "RocketSpeedIncreased"
+                    },
+                    "message": {
+                        "by": 100
+                    }
+                }
+                """;
+
+        mockMvc.perform(post("/messages")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(launchMessage))
+                .andExpect(status().isOk());
+
+        String etag = mockMvc.perform(get("/rockets/55555555-5555-5555-5555-555555555555"))
+                .andExpect(status().isOk())
+                .andExpect(header().exists("ETag"))
+                .andReturn()
+                .getResponse()
+                .getHeader("ETag");
+
+        // When & Then - unchanged rocket
+        mockMvc.perform(get("/rockets/55555555-5555-5555-5555-555555555555")
+                        .header("If-None-Match", etag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", etag));
+
+        // When & Then - changed rocket
+        mockMvc.perform(post("/messages")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(speedMessage))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/rockets/55555555-5555-5555-5555-555555555555")
+                        .header("If-None-Match", etag))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void shouldRefreshCachedRocketAfterStateUpdate() throws Exception {
+        // Given - the first read caches the serialized rocket
+        postLaunch("c1111111-1111-1111-1111-111111111111", "Falcon-9", 500, "ARTEMIS");
+        String firstEtag = mockMvc.perform(get("/rockets/c1111111-1111-1111-1111-111111111111"))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getHeader("ETag");
+
+        // When
+        postSpeedChange("c1111111-1111-1111-1111-111111111111", 2, "2022-02-02T19:40:05.86337+01:00", "RocketSpeedIncreased", 250);
+        var result = mockMvc.perform(get("/rockets/c1111111-1111-1111-1111-111111111111"))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        // Then
+        assertThat(result.getResponse().getHeader("ETag")).isNotEqualTo(firstEtag);
+        JSONAssert.assertEquals("""
+                { "id": "c1111111-1111-1111-1111-111111111111", "type": "Falcon-9", "speed": 750 }
+                """, result.getResponse().getContentAsString(), JSONCompareMode.LENIENT);
+    }
+
+    @Test
+    void shouldNotServeCachedRocketOfAnotherVersion() throws Exception {
+        // Given - a cached rocket, then a state written by another node: the row and its version change, the cache does not
+        UUID channel = UUID.fromString("c2222222-2222-2222-2222-222222222222");
+        postLaunch(channel.toString(), "Falcon-9", 500, "ARTEMIS");
+        mockMvc.perform(get("/rockets/" + channel))
+                .andExpect(status().isOk());
+
+        long version = jdbcTemplate.queryForObject("SELECT MAX(version) + 1 FROM rocket_state", Long.class);
+        jdbcTemplate.update("UPDATE rocket_state SET speed = 9000, mission = 'GEMINI', version = ? WHERE channel = ?", version, channel);
+        stateVersions.observe(channel, version);
+
+        // When
+        var result = mockMvc.perform(get("/rockets/" + channel))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        // Then
+        assertThat(result.getResponse().getHeader("ETag")).isEqualTo("\"" + version + "\"");
+        JSONAssert.assertEquals("""
+                { "id": "c2222222-2222-2222-2222-222222222222", "speed": 9000, "mission": "GEMINI" }
+                """, result.getResponse().getContentAsString(), JSONCompareMode.LENIENT);
+    }
+
+    @Test
+    void shouldReturnOnlyRocketsChangedSinceFleetVersion() throws Exception {
+        // Given
+        String rocket1 = """
+                {
+                    "metadata": {
+                        "channel": "66666666-6666-6666-6666-666666666666",
+                        "messageNumber": 1,
+                        "messageTime": "2022-02-02T19:39:05.86337+01:00",
+                        "messageType": "RocketLaunched"
+                    },
+                    "message": {
+                        "type": "Falcon-9",
+                        "launchSpeed": 500,
+                        "mission": "ARTEMIS"
+                    }
+                }
+                """;
+
+        String rocket2 = """
+                {
+                    "metadata": {
+                        "channel": "77777777-7777-7777-7777-777777777777",
+                        "messageNumber": 1,
+                        "messageTime": "2022-02-02T19:40:05.86337+01:00",
+                        "messageType": "RocketLaunched"
+                    },
+                    "message": {
+                        "type": "Saturn-V",
+                        "launchSpeed": 1000,
+                        "mission": "APOLLO"
+                    }
+                }
+                """;
+
+        mockMvc.perform(post("/messages")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(rocket1))
+                .andExpect(status().isOk());
+
+        var firstPoll = mockMvc.perform(get("/rockets"))
+                .andExpect(status().isOk())
+                .andExpect(header().exists("X-Fleet-Version"))
+                .andReturn()
+                .getResponse();
+        String etag = firstPoll.getHeader("ETag");
+        String fleetVersion = firstPoll.getHeader("X-Fleet-Version");
+
+        // When & Then - unchanged fleet
+        mockMvc.perform(get("/rockets")
+                        .header("If-None-Match", etag))
+                .andExpect(status().isNotModified());
+
+        // When - another rocket changes
+        mockMvc.perform(post("/messages")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(rocket2))
+                .andExpect(status().isOk());
+
+        var result = mockMvc.perform(get("/rockets")
+                        .param("changedSince", fleetVersion)
+                        .header("If-None-Match", etag))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        // Then - only the changed rocket is returned
+        String responseBody = result.getResponse().getContentAsString();
+        String expectedResponse = """
+                [
+                    {
+                        "id": "77777777-7777-7777-7777-777777777777",
+                        "type": "Saturn-V",
+                        "speed": 1000,
+                        "mission": "APOLLO",
+                        "status": "launched"
+                    }
+                ]
+                """;
+        JSONAssert.assertEquals(expectedResponse, responseBody, JSONCompareMode.LENIENT);
+        assertThat(Long.parseLong(result.getResponse().getHeader("X-Fleet-Version")))
+                .isGreaterThan(Long.parseLong(fleetVersion));
+    }
+
+    @Test
+    void shouldNotShareListETagAcrossQueries() throws Exception {
+        // Given
+        postLaunch("67777777-7777-7777-7777-777777777777", "Falcon-9", 500, "ARTEMIS");
+        String byType = mockMvc.perform(get("/rockets"))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getHeader("ETag");
+
+        // When - same fleet version, another order
+        var bySpeed = mockMvc.perform(get("/rockets")
+                        .param("sortBy", "speed")
+                        .param("sortOrder", "DESC")
+                        .header("If-None-Match", byType))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse();
+
+        // Then
+        assertThat(bySpeed.getHeader("ETag")).isNotEqualTo(byType);
+        mockMvc.perform(get("/rockets")
+                        .param("sortBy", "speed")
+                        .param("sortOrder", "desc")
+                        .header("If-None-Match", bySpeed.getHeader("ETag")))
+                .andExpect(status().isNotModified());
+        mockMvc.perform(get("/rockets")
+                        .param("changedSince", "0")
+                        .header("If-None-Match", byType))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void shouldVersionRowsWrittenBeforeTheVersionColumn() {
+        // Given - a schema at V1 holding two rockets
+        String schema = "v2_backfill";
+        Flyway v1 = Flyway.configure()
+                .dataSource(postgres.getJdbcUrl(), postgres.getUsername(), postgres.getPassword())
+                .schemas(schema)
+                .target("1")
+                .load();
+        try {
+            v1.migrate();
+            jdbcTemplate.update("INSERT INTO " + schema + ".rocket_state (channel, last_updated_at) VALUES (?, ?), (?, ?)",
+                    UUID.fromString("68888888-8888-8888-8888-888888888888"), OffsetDateTime.parse("2022-02-02T19:40:00Z"),
+                    UUID.fromString("69999999-9999-9999-9999-999999999999"), OffsetDateTime.parse("2022-02-02T19:39:00Z"));
+
+            // When
+            Flyway.configure().configuration(v1.getConfiguration()).target("2").load().migrate();
+
+            // Then - numbered in write order, so changedSince=0 returns them
+            assertThat(jdbcTemplate.queryForList(
+                    "SELECT version FROM " + schema + ".rocket_state ORDER BY last_updated_at", Long.class))
+                    .containsExactly(1L, 2L);
+        } finally {
+            jdbcTemplate.execute("DROP SCHEMA " + schema + " CASCADE");
+        }
+    }
+
+    @Test
+    void shouldListFastestRockets() throws Exception {
+        // Given
+        postLaunch("81111111-1111-1111-1111-111111111111", "Slow-Rocket", 100, "SLOW");
+        postLaunch("82222222-2222-2222-2222-222222222222", "Fast-Rocket", 9000, "FAST");
+        postLaunch("83333333-3333-3333-3333-333333333333", "Medium-Rocket", 4000, "MEDIUM");
+
+        // When
+        var result = mockMvc.perform(get("/rockets/top")
+                        .param("by", "speed")
+                        .param("limit", "2"))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        // Then
+        String responseBody = result.getResponse().getContentAsString();
+        String expectedResponse = """
+                [
+                    { "id": "82222222-2222-2222-2222-222222222222", "speed": 9000 },
+                    { "id": "83333333-3333-3333-3333-333333333333", "speed": 4000 }
+                ]
+                """;
+        JSONAssert.assertEquals(expectedResponse, responseBody, JSONCompareMode.STRICT_ORDER);
+    }
+
+    @Test
+    void shouldListRocketsWithinSpeedRange() throws Exception {
+        // Given
+        postLaunch("91111111-1111-1111-1111-111111111111", "Slow-Rocket", 100, "SLOW");
+        postLaunch("92222222-2222-2222-2222-222222222222", "Fast-Rocket", 9000, "FAST");
+        postLaunch("93333333-3333-3333-3333-333333333333", "Medium-Rocket", 4000, "MEDIUM");
+
+        // When
+        var result = mockMvc.perform(get("/rockets/speed-range")
+                        .param("minSpeed", "100")
+                        .param("maxSpeed", "4000")
+                        .param("sortOrder", "desc"))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        // Then
+        String responseBody = result.getResponse().getContentAsString();
+        String expectedResponse = """
+                [
+                    { "id": "93333333-3333-3333-3333-333333333333", "speed": 4000 },
+                    { "id": "91111111-1111-1111-1111-111111111111", "speed": 100 }
+                ]
+                """;
+        JSONAssert.assertEquals(expectedResponse, responseBody, JSONCompareMode.STRICT_ORDER);
+    }
+
+    @Test
+    void shouldRejectInvalidTopLimit() throws Exception {
+        // When & Then
+        mockMvc.perform(get("/rockets/top")
+                        .param("limit", "0"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void shouldReturnFleetStats() throws Exception {
+        // Given
+        postLaunch("a1111111-1111-1111-1111-111111111111", "Falcon-9", 500, "ARTEMIS");
+        postLaunch("a2222222-2222-2222-2222-222222222222", "Falcon-9", 1500, "APOLLO");
+        postLaunch("a3333333-3333-3333-3333-333333333333", "Saturn-V", 1000, "APOLLO");
+
+        // When
+        var result = mockMvc.perform(get("/rockets/stats"))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        // Then
+        String responseBody = result.getResponse().getContentAsString();
+        String expectedResponse = """
+                {
+                    "total": 3,
+                    "byStatus": { "pending": 0, "launched": 3, "exploded": 0 },
+                    "byType": [
+                        { "type": "Falcon-9", "count": 2, "averageSpeed": 1000.0 },
+                        { "type": "Saturn-V", "count": 1, "averageSpeed": 1000.0 }
+                    ],
+                    "byMission": { "APOLLO": 2, "ARTEMIS": 1 }
+                }
+                """;
+        JSONAssert.assertEquals(expectedResponse, responseBody, JSONCompareMode.STRICT);
+    }
+
+    @Test
+    void shouldReturnSpeedSeries() throws Exception {
+        // Given
+        postLaunch("b1111111-1111-1111-1111-111111111111", "Falcon-9", 500, "ARTEMIS");
+        postSpeedChange("b1111111-1111-1111-1111-111111111111", 2, "2022-02-02T18:39:30Z", "RocketSpeedIncreased", 100);
+        postSpeedChange("b1111111-1111-1111-1111-111111111111", 3, "2022-02-02T18:41:10Z", "RocketSpeedDecreased", 50);
+
+        // When
+        var raw = mockMvc.perform(get("/rockets/b1111111-1111-1111-1111-111111111111/speed-series"))
+                .andExpect(status().isOk())
+                .andReturn();
+        var perMinute = mockMvc.perform(get("/rockets/b1111111-1111-1111-1111-111111111111/speed-series")
+                        .param("from", "2022-02-02T18:00:00Z")
+                        .param("resolution", "1m"))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        // Then
+        JSONAssert.assertEquals("""
+                [
+                    { "min": 500, "max": 500, "last": 500 },
+                    { "min": 600, "max": 600, "last": 600 },
+                    { "min": 550, "max": 550, "last": 550 }
+                ]
+                """, raw.getResponse().getContentAsString(), JSONCompareMode.STRICT_ORDER);
+        JSONAssert.assertEquals("""
+                [
+                    { "time": "2022-02-02T18:39:00Z", "min": 500, "max": 600, "last": 600 },
+                    { "time": "2022-02-02T18:41:00Z", "min": 550, "max": 550, "last": 550 }
+                ]
+                """, perMinute.getResponse().getContentAsString(), JSONCompareMode.STRICT_ORDER);
+    }
+
+    @Test
+    void shouldReplaySpeedSeriesRangeFromEventLog() throws Exception {
+        // Given - message 4 was sent before message 3, nothing is buffered
+        postLaunch("b2222222-2222-2222-2222-222222222222", "Falcon-9", 500, "ARTEMIS");
+        postSpeedChange("b2222222-2222-2222-2222-222222222222", 2, "2022-02-02T18:39:30Z", "RocketSpeedIncreased", 100);
+        postSpeedChange("b2222222-2222-2222-2222-222222222222", 3, "2022-02-02T18:41:10Z", "RocketSpeedDecreased", 50);
+        postSpeedChange("b2222222-2222-2222-2222-222222222222", 4, "2022-02-02T18:40:00Z", "RocketSpeedIncreased", 10);
+        speedSeries.clear();
+
+        // When
+        var all = mockMvc.perform(get("/rockets/b2222222-2222-2222-2222-222222222222/speed-series"))
+                .andExpect(status().isOk())
+                .andReturn();
+        var window = mockMvc.perform(get("/rockets/b2222222-2222-2222-2222-222222222222/speed-series")
+                        .param("from", "2022-02-02T18:39:20Z")
+                        .param("to", "2022-02-02T18:40:30Z"))
+                .andExpect(status().isOk())
+                .andReturn();
+        var beforeLaunch = mockMvc.perform(get("/rockets/b2222222-2222-2222-2222-222222222222/speed-series")
+                        .param("from", "2022-02-01T00:00:00Z")
+                        .param("to", "2022-02-01T23:59:59Z"))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        // Then - raw points in time order
+        JSONAssert.assertEquals("""
+                [
+                    { "time": "2022-02-02T18:39:05.86337Z", "last": 500 },
+                    { "time": "2022-02-02T18:39:30Z", "last": 600 },
+                    { "time": "2022-02-02T18:40:00Z", "last": 560 },
+                    { "time": "2022-02-02T18:41:10Z", "last": 550 }
+                ]
+                """, all.getResponse().getContentAsString(), JSONCompareMode.STRICT_ORDER);
+        JSONAssert.assertEquals("""
+                [
+                    { "time": "2022-02-02T18:39:30Z", "last": 600 },
+                    { "time": "2022-02-02T18:40:00Z", "last": 560 }
+                ]
+                """, window.getResponse().getContentAsString(), JSONCompareMode.STRICT_ORDER);
+        JSONAssert.assertEquals("[]", beforeLaunch.getResponse().getContentAsString(), JSONCompareMode.STRICT);
+    }
+
+    @Test
+    void shouldReturn404ForSpeedSeriesOfNonExistentRocket() throws Exception {
+        // When & Then
+        mockMvc.perform(get("/rockets/00000000-0000-0000-0000-000000000000/speed-series"))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void shouldReturnRocketStateAtHistoricalPoint() throws Exception {
+        // Given
+        postLaunch("c1111111-1111-1111-1111-111111111111", "Falcon-9", 500, "ARTEMIS");
+        postSpeedChange("c1111111-1111-1111-1111-111111111111", 2, "2022-02-02T18:40:00Z", "RocketSpeedIncreased", 100);
+        postSpeedChange("c1111111-1111-1111-1111-111111111111", 3, "2022-02-02T18:45:00Z", "RocketSpeedIncreased", 300);
+
+        // When
+        var atMessage = mockMvc.perform(get("/rockets/c1111111-1111-1111-1111-111111111111/at")
+                        .param("messageNumber", "2"))
+                .andExpect(status().isOk())
+                .andReturn();
+        var atTime = mockMvc.perform(get("/rockets/c1111111-1111-1111-1111-111111111111/at")
+                        .param("time", "2022-02-02T18:39:59Z"))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        // Then
+        JSONAssert.assertEquals("""
+                { "atMessageNumber": 2, "rocket": { "speed": 600, "stale": false } }
+                """, atMessage.getResponse().getContentAsString(), JSONCompareMode.LENIENT);
+        JSONAssert.assertEquals("""
+                { "atMessageNumber": 1, "rocket": { "speed": 500, "stale": false } }
+                """, atTime.getResponse().getContentAsString(), JSONCompareMode.LENIENT);
+    }
+
+    @Test
+    void shouldRejectHistoricalQueryWithoutTarget() throws Exception {
+        // When & Then
+        mockMvc.perform(get("/rockets/c1111111-1111-1111-1111-111111111111/at"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void shouldPageThroughRocketEvents() throws Exception {
+        // Given
+        postLaunch("d1111111-1111-1111-1111-111111111111", "Falcon-9", 500, "ARTEMIS");
+        postSpeedChange("d1111111-1111-1111-1111-111111111111", 2, "2022-02-02T18:40:00Z", "RocketSpeedIncreased", 100);
+        postSpeedChange("d1111111-1111-1111-1111-111111111111", 3, "2022-02-02T18:45:00Z", "RocketSpeedDecreased", 50);
+
+        // When
+        var firstPage = mockMvc.perform(get("/rockets/d1111111-1111-1111-1111-111111111111/events")
+                        .param("limit", "2"))
+                .andExpect(status().isOk())
+                .andReturn();
+        var lastPage = mockMvc.perform(get("/rockets/d1111111-1111-1111-1111-111111111111/events")
+                        .param("after", "2")
+                        .param("limit", "2"))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        // Then
+        JSONAssert.assertEquals("""
+                {
+                    "events": [
+                        { "metadata": { "messageNumber": 1, "messageType": "RocketLaunched" }, "message": { "launchSpeed": 500 } },
+                        { "metadata": { "messageNumber": 2, "messageType": "RocketSpeedIncreased" }, "message": { "by": 100 } }
+                    ],
+                    "nextAfter": 2
+                }
+                """, firstPage.getResponse().getContentAsString(), JSONCompareMode.LENIENT);
+        JSONAssert.assertEquals("""
+                {
+                    "events": [
+                        { "metadata": { "messageNumber": 3, "messageType": "RocketSpeedDecreased" }, "message": { "by": 50 } }
+                    ]
+                }
+                """, lastPage.getResponse().getContentAsString(), JSONCompareMode.LENIENT);
+        assertThat(lastPage.getResponse().getContentAsString()).doesNotContain("nextAfter");
+    }
+
+    @Test
+    void shouldReturn404ForEventsOfNonExistentRocket() throws Exception {
+        // When & Then
+        mockMvc.perform(get("/rockets/00000000-0000-0000-0000-000000000000/events"))
+                .andExpect(status().isNotFound());
+        mockMvc.perform(get("/rockets/00000000-0000-0000-0000-000000000000/events/export"))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void shouldExportRocketEventsAsNdjson() throws Exception {
+        // Given
+        postLaunch("d2222222-2222-2222-2222-222222222222", "Falcon-9", 500, "ARTEMIS");
+        postSpeedChange("d2222222-2222-2222-2222-222222222222", 2, "2022-02-02T18:40:00Z", "RocketSpeedIncreased", 100);
+
+        // When
+        var started = mockMvc.perform(get("/rockets/d2222222-2222-2222-2222-222222222222/events/export"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        var result = mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Type", "application/x-ndjson"))
+                .andReturn();
+
+        // Then
+        String[] lines = result.getResponse().getContentAsString().strip().split("\n");
+        assertThat(lines).hasSize(2);
+        JSONAssert.assertEquals("""
+                { "metadata": { "messageNumber": 1 }, "message": { "type": "Falcon-9" } }
+                """, lines[0], JSONCompareMode.LENIENT);
+        JSONAssert.assertEquals("""
+                { "metadata": { "messageNumber": 2 }, "message": { "by": 100 } }
+                """, lines[1], JSONCompareMode.LENIENT);
+    }
+
+    @Test
+    void shouldExportNothingAfterLastEvent() throws Exception {
+        // Given
+        postLaunch("d3333333-3333-3333-3333-333333333333", "Falcon-9", 500, "ARTEMIS");
+
+        // When
+        var started = mockMvc.perform(get("/rockets/d3333333-3333-3333-3333-333333333333/events/export")
+                        .param("after", "1"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        var result = mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        // Then
+        assertThat(result.getResponse().getContentAsString()).isEmpty();
+    }
+
+    @Test
+    void shouldRejectNegativeExportAfterBeforeStreaming() throws Exception {
+        // Given
+        postLaunch("d4444444-4444-4444-4444-444444444444", "Falcon-9", 500, "ARTEMIS");
+
+        // When & Then
+        mockMvc.perform(get("/rockets/d4444444-4444-4444-4444-444444444444/events/export")
+                        .param("after", "-1"))
+                .andExpect(request().asyncNotStarted())
+                .andExpect(status().isBadRequest());
+    }
+
+    private void postLaunch(String channel, String type, int launchSpeed, String mission) throws Exception {
+        String launchMessage = """
+                {
+                    "metadata": {
+                        "channel": "%s",
+                        "messageNumber": 1,
+                        "messageTime": "2022-02-02T19:39:05.86337+01:00",
+                        "messageType": "RocketLaunched"
+                    },
+                    "message": {
+                        "type": "%s",
+                        "launchSpeed": %d,
+                        "mission": "%s"
+                    }
+                }
+                """.formatted(channel, type, launchSpeed, mission);
+
+        mockMvc.perform(post("/messages")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(launchMessage))
+                .andExpect(status().isOk());
+    }
+
+    private void postSpeedChange(String channel, int messageNumber, String messageTime, String messageType, int by) throws Exception {
+        String speedMessage = """
+                {
+                    "metadata": {
+                        "channel": "%s",
+                        "messageNumber": %d,
+                        "messageTime": "%s",
+                        "messageType": "%s"
+                    },
+                    "message": {
+                        "by": %d
+                    }
+                }
+                """.formatted(channel, messageNumber, messageTime, messageType, by);
+
+        mockMvc.perform(post("/messages")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(speedMessage))
+                .andExpect(status().isOk());
+    }
+}
@@ -0,0 +1,158 @@
+package com.rocket.api.integrationtestsslow.usecases;
+
+import com.rocket.api.infrastructure.output.persistence.RocketEventRepository;
+import com.rocket.api.infrastructure.output.persistence.RocketSnapshotRepository;
+import com.rocket.api.setup.AbstractIntegrationTest;
+import com.rocket.api.setup.annotations.CleanDBState;
+import org.junit.jupiter.api.Test;
+import org.skyscreamer.jsonassert.JSONAssert;
+import org.skyscreamer.jsonassert.JSONCompareMode;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+
+import java.util.UUID;
+
+import static com.rocket.api.setup.RocketMessages.message;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@CleanDBState
+class ImportEventsIT extends AbstractIntegrationTest {
+
+    private static final MediaType NDJSON = MediaType.parseMediaType("application/x-ndjson");
+
+    @Autowired
+    private RocketEventRepository rocketEventRepository;
+
+    @Autowired
+    private RocketSnapshotRepository rocketSnapshotRepository;
+
+    @Test
+    void shouldImportNdjsonAndRecomputeAffectedRockets() throws Exception {
+        // Given
+        String body = String.join("\n",
+                message("e1111111-1111-1111-1111-111111111111", 1, "RocketLaunched", """
+                        { "type": "Falcon-9", "launchSpeed": 500, "mission": "ARTEMIS" }"""),
+                message("e1111111-1111-1111-1111-111111111111", 2, "RocketSpeedIncreased", """
+                        { "by": 300 }"""),
+                message("e1111111-1111-1111-1111-111111111111", 2, "RocketSpeedIncreased", """
+                        { "by": 9999 }"""),
+                message("e2222222-2222-2222-2222-222222222222", 1, "RocketLaunched", """
+                        { "type": "Ariane-5", "launchSpeed": 800, "mission": "GAIA" }"""));
+
+        // When
+        var result = mockMvc.perform(post("/admin/events/import")
+                        .contentType(NDJSON)
+                        .content(body))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        // Then
+        JSONAssert.assertEquals("""
+                { "received": 4, "inserted": 3, "duplicates": 1, "channels": 2, "failedChannels": 0 }
+                """, result.getResponse().getContentAsString(), JSONCompareMode.LENIENT);
+
+        var rocket = mockMvc.perform(get("/rockets/e1111111-1111-1111-1111-111111111111"))
+                .andExpect(status().isOk())
+                .andReturn();
+        JSONAssert.assertEquals("""
+                { "type": "Falcon-9", "speed": 800, "mission": "ARTEMIS" }
+                """, rocket.getResponse().getContentAsString(), JSONCompareMode.LENIENT);
+    }
+
+    @Test
+    void shouldImportCsvAndWriteSnapshotsAlongTheWay() throws Exception {
+        // Given
+        UUID channel = UUID.fromString("e3333333-3333-3333-3333-333333333333");
+        StringBuilder body = new StringBuilder("channel,messageNumber,messageTime,messageType,payload\n");
+        body.append(channel).append(",1,2022-02-02T18:39:05Z,RocketLaunched,")
+                .append("\"{\"\"type\"\":\"\"Falcon-9\"\",\"\"launchSpeed\"\":500,\"\"mission\"\":\"\"ARTEMIS\"\"}\"\n");
+        for (int messageNumber = 2; messageNumber <= 170; messageNumber++) {
+            body.append(channel).append(',').append(messageNumber).append(",2022-02-02T18:40:00Z,RocketSpeedIncreased,")
+                    .append("\"{\"\"by\"\":1}\"\n");
+        }
+
+        // When
+        mockMvc.perform(post("/admin/events/import")
+                        .contentType("text/csv")
+                        .content(body.toString()))
+                .andExpect(status().isOk());
+
+        // Then
+        assertThat(rocketEventRepository.countByChannel(channel)).isEqualTo(170);
+        assertThat(rocketSnapshotRepository.findLatestByChannelAtOrBefore(channel, 159))
+                .hasValueSatisfying(snapshot -> assertThat(snapshot.atMessageNumber()).isEqualTo(80));
+        assertThat(rocketSnapshotRepository.findLatestByChannel(channel))
+                .hasValueSatisfying(snapshot -> assertThat(snapshot.speed()).isEqualTo(659));
+
+        var rocket = mockMvc.perform(get("/rockets/" + channel))
+                .andExpect(status().isOk())
+                .andReturn();
+        JSONAssert.assertEquals("""
+                { "speed": 669 }
+                """, rocket.getResponse().getContentAsString(), JSONCompareMode.LENIENT);
+    }
+
+    @Test
+    void shouldRejectWholeImportOnInvalidLine() throws Exception {
+        // Given
+        String body = String.join("\n",
+                message("e4444444-4444-4444-4444-444444444444", 1, "RocketLaunched", """
+                        { "type": "Falcon-9", "launchSpeed": 500, "mission": "ARTEMIS" }"""),
+                message("e4444444-4444-4444-4444-444444444444", 0, "RocketSpeedIncreased", """
+                        { "by": 300 }"""));
+
+        // When & Then
+        mockMvc.perform(post("/admin/events/import")
+                        .contentType(NDJSON)
+                        .content(body))
+                .andExpect(status().isBadRequest());
+        assertThat(rocketEventRepository.countByChannel(UUID.fromString("e4444444-4444-4444-4444-444444444444"))).isZero();
+    }
+
+    @Test
+    void shouldReportViolatedFieldOfInvalidNdjsonLine() throws Exception {
+        // Given - the second line has no channel
+        String body = String.join("\n",
+                message("e5555555-5555-5555-5555-555555555555", 1, "RocketLaunched", """
+                        { "type": "Falcon-9", "launchSpeed": 500, "mission": "ARTEMIS" }"""),
+                """
+                        {"metadata":{"messageNumber":2,"messageTime":"2022-02-02T18:40:00Z","messageType":"RocketSpeedIncreased"},"message":{"by":300}}""");
+
+        // When
+        var result = mockMvc.perform(post("/admin/events/import")
+                        .contentType(NDJSON)
+                        .content(body))
+                .andExpect(status().isBadRequest())
+                .andReturn();
+
+        // Then
+        JSONAssert.assertEquals("""
+                { "errorCode": "validation.error.rocket.import.invalid.line", "message": "Line 2: metadata.channel is required" }
+                """, result.getResponse().getContentAsString(), JSONCompareMode.LENIENT);
+        assertThat(rocketEventRepository.countByChannel(UUID.fromString("e5555555-5555-5555-5555-555555555555"))).isZero();
+    }
+
+    @Test
+    void shouldReportViolatedColumnOfInvalidCsvLine() throws Exception {
+        // Given - the first data row has no message type
+        String body = """
+                channel,messageNumber,messageTime,messageType,payload
+                e6666666-6666-6666-6666-666666666666,1,2022-02-02T18:39:05Z,,"{""by"":1}"
+                """;
+
+        // When
+        var result = mockMvc.perform(post("/admin/events/import")
+                        .contentType("text/csv")
+                        .content(body))
+                .andExpect(status().isBadRequest())
+                .andReturn();
+
+        // Then
+        JSONAssert.assertEquals("""
+                { "message": "Line 2: messageType is required" }
+                """, result.getResponse().getContentAsString(), JSONCompareMode.LENIENT);
+    }
+}
@@ -0,0 +1,93 @@
+package com.rocket.api.integrationtestsslow.usecases;
+
+import com.rocket.api.setup.AbstractIntegrationTest;
+import com.rocket.api.setup.Await;
+import com.rocket.api.setup.annotations.CleanDBState;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.skyscreamer.jsonassert.JSONAssert;
+import org.skyscreamer.jsonassert.JSONCompareMode;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.TestPropertySource;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+import static com.rocket.api.setup.RocketMessages.launched;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@CleanDBState
+@TestPropertySource(properties = {
+        "rocket.ingest.admission.initial-limit=1",
+        "rocket.ingest.admission.min-limit=1",
+        "rocket.ingest.admission.max-limit=1",
+        "rocket.ingest.admission.retry-after=2s"
+})
+class IngestAdmissionIT extends AbstractIntegrationTest {
+
+    private static final UUID BLOCKED_CHANNEL = UUID.fromString("8c4e2a16-5f3b-4d7a-9e1c-6b0d8f2a4c31");
+    private static final UUID REJECTED_CHANNEL = UUID.fromString("9d5f3b27-6a4c-4e8b-8f2d-7c1e9a3b5d42");
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void shouldRejectIngestBeyondLimitWithRetryAfter() throws Exception {
+        // Given - the only admitted request waits on a row another transaction holds
+        CompletableFuture<Integer> admitted;
+        try (Connection holder = dataSource.getConnection()) {
+            holder.setAutoCommit(false);
+            try (PreparedStatement insert = holder.prepareStatement(
+                    "INSERT INTO rocket_event (channel, message_number, message_time) VALUES (?, 1, NOW())")) {
+                insert.setObject(1, BLOCKED_CHANNEL);
+                insert.executeUpdate();
+            }
+            admitted = CompletableFuture.supplyAsync(() -> postLaunch(BLOCKED_CHANNEL));
+            Await.until("an ingest request in flight", () -> Optional.of(inFlight()).filter(requests -> requests >= 1));
+
+            // When
+            var rejected = mockMvc.perform(post("/messages")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(launched(REJECTED_CHANNEL)))
+                    .andExpect(status().isServiceUnavailable())
+                    .andExpect(header().string("Retry-After", "2"))
+                    .andReturn();
+
+            // Then
+            JSONAssert.assertEquals("""
+                    { "errorCode": "ingest.overloaded" }
+                    """, rejected.getResponse().getContentAsString(), JSONCompareMode.LENIENT);
+            assertThat(meterRegistry.get("rocket.ingest.admission.rejected").counter().count()).isEqualTo(1);
+
+            holder.rollback();
+        }
+        assertThat(admitted.join()).isEqualTo(200);
+        assertThat(inFlight()).isZero();
+    }
+
+    private int postLaunch(UUID channel) {
+        try {
+            return mockMvc.perform(post("/messages")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(launched(channel)))
+                    .andReturn().getResponse().getStatus();
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private double inFlight() {
+        return meterRegistry.get("rocket.ingest.admission.in-flight").gauge().value();
+    }
+}
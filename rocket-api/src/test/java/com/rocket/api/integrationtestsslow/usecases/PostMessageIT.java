@@ -1,18 +1,31 @@
 package com.rocket.api.integrationtestsslow.usecases;
 
+import com.rocket.api.domain.RocketEvent;
 import com.rocket.api.domain.RocketState;
+import com.rocket.api.infrastructure.output.persistence.RocketEventBackfill;
 import com.rocket.api.infrastructure.output.persistence.RocketEventRepository;
 import com.rocket.api.infrastructure.output.persistence.RocketStateRepository;
 import com.rocket.api.setup.AbstractIntegrationTest;
 import com.rocket.api.setup.annotations.CleanDBState;
 import org.junit.jupiter.api.Test;
+import org.skyscreamer.jsonassert.JSONAssert;
+import org.skyscreamer.jsonassert.JSONCompareMode;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
 
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @CleanDBState
@@ -24,6 +37,11 @@ class PostMessageIT extends AbstractIntegrationTest {
     @Autowired
     private RocketStateRepository rocketStateRepository;
 
+    @Autowired
+    private RocketEventBackfill rocketEventBackfill;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
 
     @Test
     void shouldReceiveRocketLaunchedMessage() throws Exception {
@@ -201,4 +219,242 @@ class PostMessageIT extends AbstractIntegrationTest {
         assertThat(state.status().name()).isEqualTo("exploded");
         assertThat(state.explodedReason()).isEqualTo("PRESSURE_VESSEL_FAILURE");
     }
-}
\ No newline at end of file
+
+    @Test
+    void shouldAckStreamedMessagesWithHighestContiguousMessageNumber() throws Exception {
+        // Given
+        String stream = """
+                {"metadata":{"channel":"d4e5f6a7-8901-bcde-f123-456789012345","messageNumber":1,"messageTime":"2022-02-02T19:39:05.86337+01:00","messageType":"RocketLaunched"},"message":{"type":"Falcon-9","launchSpeed":500,"mission":"ARTEMIS"}}
+                {"metadata":{"channel":"d4e5f6a7-8901-bcde-f123-456789012345","messageNumber":2,"messageTime":"2022-02-02T19:40:00+01:00","messageType":"RocketSpeedIncreased"},"message":{"by":100}}
+                {"metadata":{"channel":"d4e5f6a7-8901-bcde-f123-456789012345","messageNumber":4,"messageTime":"2022-02-02T19:42:00+01:00","messageType":"RocketSpeedIncreased"},"message":{"by":100}}
+                """;
+
+        // When
+        var started = mockMvc.perform(post("/messages/stream")
+                        .contentType("application/x-ndjson")
+                        .content(stream))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        var result = mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        // Then
+        String[] acks = result.getResponse().getContentAsString().strip().split("\n");
+        JSONAssert.assertEquals("""
+                { "committed": 3, "channels": { "d4e5f6a7-8901-bcde-f123-456789012345": 2 } }
+                """, acks[acks.length - 1], JSONCompareMode.STRICT);
+
+        UUID channel = UUID.fromString("d4e5f6a7-8901-bcde-f123-456789012345");
+        assertThat(rocketEventRepository.countByChannel(channel)).isEqualTo(3);
+        RocketState state = rocketStateRepository.findByChannel(channel).orElseThrow();
+        assertThat(state.speed()).isEqualTo(600);
+        assertThat(state.stale()).isTrue();
+    }
+
+    @Test
+    void shouldReportInvalidStreamedMessageAndKeepEarlierOnes() throws Exception {
+        // Given
+        String stream = """
+                {"metadata":{"channel":"e5f6a7b8-9012-cdef-1234-567890123456","messageNumber":1,"messageTime":"2022-02-02T19:39:05.86337+01:00","messageType":"RocketLaunched"},"message":{"type":"Falcon-9","launchSpeed":500,"mission":"ARTEMIS"}}
+                {"metadata":{"channel":"e5f6a7b8-9012-cdef-1234-567890123456","messageNumber":0,"messageTime":"2022-02-02T19:40:00+01:00","messageType":"RocketSpeedIncreased"},"message":{"by":100}}
+                """;
+
+        // When
+        var started = mockMvc.perform(post("/messages/stream")
+                        .contentType("application/x-ndjson")
+                        .content(stream))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        var result = mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        // Then
+        assertThat(result.getResponse().getContentAsString()).contains("validation.error.rocket.import.invalid.line");
+        assertThat(rocketEventRepository.countByChannel(UUID.fromString("e5f6a7b8-9012-cdef-1234-567890123456"))).isEqualTo(1);
+    }
+
+    @Test
+    void shouldEndStreamWithErrorFrameWhenBatchCannotBeStored() throws Exception {
+        // Given - Postgres text cannot hold a NUL character, so the batch fails in the database
+        String stream = """
+                {"metadata":{"channel":"a7b8c9d0-1234-ef12-3456-789012345678","messageNumber":1,"messageTime":"2022-02-02T19:39:05.86337+01:00","messageType":"RocketLaunched"},"message":{"type":"Falcon-9","launchSpeed":500,"mission":"ART\\u0000EMIS"}}
+                """;
+
+        // When
+        var started = mockMvc.perform(post("/messages/stream")
+                        .contentType("application/x-ndjson")
+                        .content(stream))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        var result = mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        // Then
+        JSONAssert.assertEquals("""
+                { "errorCode": "internal.server.error", "message": "Internal service error occurred" }
+                """, result.getResponse().getContentAsString().strip(), JSONCompareMode.STRICT);
+        assertThat(rocketEventRepository.countByChannel(UUID.fromString("a7b8c9d0-1234-ef12-3456-789012345678"))).isZero();
+    }
+
+    @Test
+    void shouldReceiveBinaryEncodedMessages() throws Exception {
+        // Given
+        UUID channel = UUID.fromString("f6a7b8c9-0123-def1-2345-678901234567");
+        long launchedAt = OffsetDateTime.parse("2022-02-02T19:39:05.86337+01:00").toInstant().toEpochMilli() * 1_000_000L;
+
+        ByteArrayOutputStream launch = new ByteArrayOutputStream();
+        DataOutputStream launchOut = new DataOutputStream(launch);
+        launchOut.writeLong(channel.getMostSignificantBits());
+        launchOut.writeLong(channel.getLeastSignificantBits());
+        launchOut.writeInt(1);
+        launchOut.writeLong(launchedAt);
+        launchOut.writeByte(1);
+        launchOut.writeBoolean(true);
+        launchOut.writeUTF("Falcon-9");
+        launchOut.writeInt(500);
+        launchOut.writeBoolean(true);
+        launchOut.writeUTF("ARTEMIS");
+
+        ByteArrayOutputStream increase = new ByteArrayOutputStream();
+        DataOutputStream increaseOut = new DataOutputStream(increase);
+        increaseOut.writeLong(channel.getMostSignificantBits());
+        increaseOut.writeLong(channel.getLeastSignificantBits());
+        increaseOut.writeInt(2);
+        increaseOut.writeLong(launchedAt + 60_000_000_000L);
+        increaseOut.writeByte(2);
+        increaseOut.writeInt(250);
+
+        // When
+        mockMvc.perform(post("/messages")
+                        .contentType("application/vnd.rocket.event")
+                        .content(launch.toByteArray()))
+                .andExpect(status().isOk());
+        mockMvc.perform(post("/messages")
+                        .contentType("application/vnd.rocket.event")
+                        .content(increase.toByteArray()))
+                .andExpect(status().isOk());
+
+        // Then
+        RocketState state = rocketStateRepository.findByChannel(channel).orElseThrow();
+        assertThat(state.rocketType()).isEqualTo("Falcon-9");
+        assertThat(state.mission()).isEqualTo("ARTEMIS");
+        assertThat(state.speed()).isEqualTo(750);
+        assertThat(state.lastProcessedMsgNumber()).isEqualTo(2);
+    }
+
+    @Test
+    void shouldRejectTruncatedBinaryMessage() throws Exception {
+        // When & Then
+        mockMvc.perform(post("/messages")
+                        .contentType("application/vnd.rocket.event")
+                        .content(new byte[]{1, 2, 3}))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void shouldRejectMessageWithMissingOrInvalidMetadata() throws Exception {
+        // Given
+        String missingChannel = """
+                {
+                    "metadata": {
+                        "messageNumber": 1,
+                        "messageTime": "2022-02-02T19:39:05.86337+01:00",
+                        "messageType": "RocketLaunched"
+                    },
+                    "message": { "type": "Falcon-9", "launchSpeed": 500, "mission": "ARTEMIS" }
+                }
+                """;
+        String unknownType = """
+                {
+                    "metadata": {
+                        "channel": "a7b8c9d0-1234-ef12-3456-789012345678",
+                        "messageNumber": 1,
+                        "messageTime": "2022-02-02T19:39:05.86337+01:00",
+                        "messageType": "RocketLanded"
+                    },
+                    "message": {}
+                }
+                """;
+
+        // When & Then
+        mockMvc.perform(post("/messages")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(missingChannel))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.errorCode").value("validation.error.rocket.message.invalid"))
+                .andExpect(jsonPath("$.message").value("metadata.channel is required"));
+        mockMvc.perform(post("/messages")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(unknownType))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.errorCode").value("validation.error.rocket.message.invalid"));
+        mockMvc.perform(post("/messages")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{ \"metadata\": "))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.errorCode").value("validation.error.rocket.message.malformed.json"));
+    }
+
+    @Test
+    void shouldReadEventsStoredBeforeTypedColumnsAndBackfillThem() throws Exception {
+        // Given - rows in the pre V4 layout
+        UUID channel = UUID.fromString("b8c9d0e1-2345-4f12-8456-789012345678");
+        String insertLegacy = """
+                INSERT INTO rocket_event (channel, message_number, message_time, message_type, payload)
+                VALUES (?, ?, ?, ?, ?::jsonb)
+                """;
+        jdbcTemplate.update(insertLegacy, channel, 1, OffsetDateTime.parse("2022-02-02T19:39:05Z"), "RocketLaunched",
+                "{\"type\": \"Falcon-9\", \"launchSpeed\": 500, \"mission\": \"ARTEMIS\", \"crew\": 4}");
+        jdbcTemplate.update(insertLegacy, channel, 2, OffsetDateTime.parse("2022-02-02T19:40:05Z"), "RocketSpeedIncreased",
+                "{\"by\": 300}");
+
+        // When - a new message arrives before the backfill ran
+        mockMvc.perform(post("/messages")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {
+                                    "metadata": {
+                                        "channel": "b8c9d0e1-2345-4f12-8456-789012345678",
+                                        "messageNumber": 3,
+                                        "messageTime": "2022-02-02T19:41:05Z",
+                                        "messageType": "RocketMissionChanged"
+                                    },
+                                    "message": { "newMission": "APOLLO" }
+                                }
+                                """))
+                .andExpect(status().isOk());
+
+        // Then - both layouts replay
+        RocketState state = rocketStateRepository.findByChannel(channel).orElseThrow();
+        assertThat(state.speed()).isEqualTo(800);
+        assertThat(state.mission()).isEqualTo("APOLLO");
+        assertThat(state.lastProcessedMsgNumber()).isEqualTo(3);
+
+        // When
+        rocketEventBackfill.backfill();
+
+        // Then - legacy rows are typed, only unknown fields stay in the payload, events read back unchanged
+        Map<String, Object> launched = jdbcTemplate.queryForMap(
+                "SELECT type_code, launch_speed, rocket_type, mission, message_type, payload::text AS payload FROM rocket_event WHERE channel = ? AND message_number = 1",
+                channel);
+        assertThat(launched.get("type_code")).isEqualTo(1);
+        assertThat(launched.get("launch_speed")).isEqualTo(500);
+        assertThat(launched.get("rocket_type")).isEqualTo("Falcon-9");
+        assertThat(launched.get("mission")).isEqualTo("ARTEMIS");
+        assertThat(launched.get("message_type")).isNull();
+        assertThat(launched.get("payload")).isEqualTo("{\"crew\": 4}");
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT payload IS NULL FROM rocket_event WHERE channel = ? AND message_number = 2", Boolean.class, channel))
+                .isTrue();
+
+        List<RocketEvent> events = rocketEventRepository.findByChannelAfterMessageNumber(channel, 0);
+        assertThat(events).extracting(RocketEvent::payload).containsExactly(
+                Map.of("type", "Falcon-9", "launchSpeed", 500, "mission", "ARTEMIS", "crew", 4),
+                Map.of("by", 300),
+                Map.of("newMission", "APOLLO")
+        );
+    }
+}
@@ -0,0 +1,208 @@
+package com.rocket.api.integrationtestsslow.usecases;
+
+import com.rocket.api.common.beans.bulkhead.Workload;
+import com.rocket.api.setup.AbstractIntegrationTest;
+import com.rocket.api.setup.annotations.CleanDBState;
+import com.rocket.api.usecase.GetRocketUseCase;
+import com.rocket.api.usecase.ListRocketsUseCase;
+import com.rocket.api.usecase.port.VersionedRocketState;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.skyscreamer.jsonassert.JSONAssert;
+import org.skyscreamer.jsonassert.JSONCompareMode;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.UUID;
+
+import static com.rocket.api.setup.RocketMessages.message;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/*
+ * The read pool points at a second database of the test container instead of a streaming replica, the tests fill it
+ * with copies of primary rows to stand for a replica at a given point of replay. Empty, it is a replica lagging behind
+ * forever.
+ */
+@CleanDBState
+class ReadReplicaIT extends AbstractIntegrationTest {
+
+    private static final String CHANNEL = "7a3e9c2d-1b4f-4e8a-9d6c-2f5b8e1a7c30";
+    private static final UUID BEHIND_CHANNEL = UUID.fromString("8b4fad3e-2c5a-4f9b-8e7d-3a6c9f2b8d41");
+    private static final int VERSIONS_BEHIND = 2;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    @Qualifier("queryDataSource")
+    private HikariDataSource queryDataSource;
+
+    @Autowired
+    private GetRocketUseCase getRocketUseCase;
+
+    @Autowired
+    private ListRocketsUseCase listRocketsUseCase;
+
+    private JdbcTemplate replica;
+
+    @DynamicPropertySource
+    static void configureReadPool(DynamicPropertyRegistry registry) {
+        registry.add("rocket.datasource.read.url", ReadReplicaIT::laggingReplicaUrl);
+    }
+
+    @BeforeEach
+    void emptyReplica() {
+        replica = new JdbcTemplate(new DriverManagerDataSource(laggingReplicaUrl(), postgres.getUsername(), postgres.getPassword()));
+        replica.update("DELETE FROM rocket_state");
+    }
+
+    @Test
+    void shouldServeReplicaHoldingTheKnownVersion() throws Exception {
+        // Given - the replica replayed the launch, its copy is marked to tell which database answered
+        postMessage(BEHIND_CHANNEL, 1, "RocketLaunched", """
+                {"type": "Falcon-9", "launchSpeed": 500, "mission": "ARTEMIS"}""");
+        copyToReplica(BEHIND_CHANNEL, "REPLICA");
+        double staleBefore = staleReads();
+
+        // When
+        VersionedRocketState rocket = getRocketUseCase.execute(BEHIND_CHANNEL).orElseThrow();
+        List<VersionedRocketState> rockets = listRocketsUseCase.execute(null, null, null);
+
+        // Then
+        assertThat(rocket.state().mission()).isEqualTo("REPLICA");
+        assertThat(rockets).extracting(row -> row.state().mission()).containsExactly("REPLICA");
+        assertThat(staleReads()).isEqualTo(staleBefore);
+    }
+
+    @Test
+    void shouldRepeatReadsOnPrimaryWhileReplicaIsVersionsBehind() throws Exception {
+        // Given - the replica stopped after the launch, the primary went on by two speed changes
+        postMessage(BEHIND_CHANNEL, 1, "RocketLaunched", """
+                {"type": "Falcon-9", "launchSpeed": 500, "mission": "ARTEMIS"}""");
+        long replicaVersion = copyToReplica(BEHIND_CHANNEL, "REPLICA");
+        for (int messageNumber = 2; messageNumber <= 1 + VERSIONS_BEHIND; messageNumber++) {
+            postMessage(BEHIND_CHANNEL, messageNumber, "RocketSpeedIncreased", """
+                    {"by": 100}""");
+        }
+        double staleBefore = staleReads();
+
+        // When
+        VersionedRocketState rocket = getRocketUseCase.execute(BEHIND_CHANNEL).orElseThrow();
+        List<VersionedRocketState> rockets = listRocketsUseCase.execute(null, null, null);
+        List<VersionedRocketState> changed = listRocketsUseCase.execute(null, null, replicaVersion);
+
+        // Then - every read is answered with the primary state
+        assertThat(rocket.version()).isEqualTo(replicaVersion + VERSIONS_BEHIND);
+        assertThat(rocket.state().speed()).isEqualTo(700);
+        assertThat(rocket.state().mission()).isEqualTo("ARTEMIS");
+        assertThat(rockets).extracting(VersionedRocketState::version).containsExactly(replicaVersion + VERSIONS_BEHIND);
+        assertThat(changed).extracting(VersionedRocketState::version).containsExactly(replicaVersion + VERSIONS_BEHIND);
+        assertThat(staleReads()).isEqualTo(staleBefore + 3);
+    }
+
+    @Test
+    void shouldReadFromPrimaryWhenReplicaLags() throws Exception {
+        // Given
+        mockMvc.perform(post("/messages")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {
+                                    "metadata": {
+                                        "channel": "%s",
+                                        "messageNumber": 1,
+                                        "messageTime": "2022-02-02T19:39:05.86337+01:00",
+                                        "messageType": "RocketLaunched"
+                                    },
+                                    "message": {"type": "Falcon-9", "launchSpeed": 500, "mission": "ARTEMIS"}
+                                }
+                                """.formatted(CHANNEL)))
+                .andExpect(status().isOk());
+        double staleBefore = staleReads();
+
+        // When
+        String rockets = mockMvc.perform(get("/rockets"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        // Then - the replica has no rows, the list is read again from the primary
+        JSONAssert.assertEquals("""
+                [{"id": "%s", "type": "Falcon-9", "speed": 500, "mission": "ARTEMIS"}]
+                """.formatted(CHANNEL), rockets, JSONCompareMode.LENIENT);
+        assertThat(staleReads()).isEqualTo(staleBefore + 1);
+    }
+
+    @Test
+    void shouldRunQueryStatementsOutsideReadOnlyTransactionsOnPrimaryQueryPool() {
+        // When
+        String database = Workload.QUERY.call(() -> jdbcTemplate.queryForObject("SELECT current_database()", String.class));
+
+        // Then - not the replica, and the connection came from rocket-query
+        assertThat(database).isEqualTo(postgres.getDatabaseName());
+        assertThat(queryDataSource.getHikariPoolMXBean()).isNotNull();
+        assertThat(queryDataSource.getHikariPoolMXBean().getTotalConnections()).isPositive();
+    }
+
+    /*
+     * Copies the current primary row to the replica with the mission replaced by the marker, returns its version.
+     */
+    private long copyToReplica(UUID channel, String missionMarker) {
+        var row = jdbcTemplate.queryForMap("""
+                SELECT rocket_type, speed, status, launched_at, last_updated_at, last_processed_msg_number, version
+                FROM rocket_state WHERE channel = ?""", channel);
+        replica.update("""
+                        INSERT INTO rocket_state (channel, rocket_type, mission, speed, status, launched_at, last_updated_at,
+                                                  last_processed_msg_number, version)
+                        VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)""",
+                channel, row.get("rocket_type"), missionMarker, row.get("speed"), row.get("status"), row.get("launched_at"),
+                row.get("last_updated_at"), row.get("last_processed_msg_number"), row.get("version"));
+        return (Long) row.get("version");
+    }
+
+    private void postMessage(UUID channel, int messageNumber, String messageType, String payload) throws Exception {
+        mockMvc.perform(post("/messages")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(message(channel, messageNumber, messageType, payload)))
+                .andExpect(status().isOk());
+    }
+
+    private double staleReads() {
+        return meterRegistry.counter("rocket.datasource.read.stale").count();
+    }
+
+    private static String laggingReplicaUrl() {
+        String url = postgres.getJdbcUrl().replace(postgres.getDatabaseName(), "rocket_replica");
+        try (Connection connection = DriverManager.getConnection(postgres.getJdbcUrl(), postgres.getUsername(), postgres.getPassword());
+             Statement statement = connection.createStatement()) {
+            if (!statement.executeQuery("SELECT 1 FROM pg_database WHERE datname = 'rocket_replica'").next()) {
+                statement.execute("CREATE DATABASE rocket_replica");
+                Flyway.configure()
+                        .dataSource(url, postgres.getUsername(), postgres.getPassword())
+                        .locations("classpath:db/migration")
+                        .load()
+                        .migrate();
+            }
+        } catch (SQLException e) {
+            throw new IllegalStateException("Failed to create the replica database", e);
+        }
+        return url;
+    }
+}
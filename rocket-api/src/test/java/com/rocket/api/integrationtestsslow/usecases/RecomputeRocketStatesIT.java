@@ -0,0 +1,115 @@
+package com.rocket.api.integrationtestsslow.usecases;
+
+import com.rocket.api.domain.RocketEvent;
+import com.rocket.api.domain.RocketState;
+import com.rocket.api.domain.RocketStatus;
+import com.rocket.api.domain.UtcDateTime;
+import com.rocket.api.infrastructure.output.persistence.RocketEventRepository;
+import com.rocket.api.infrastructure.output.persistence.RocketSnapshotRepository;
+import com.rocket.api.infrastructure.output.persistence.RocketStateRepository;
+import com.rocket.api.setup.AbstractIntegrationTest;
+import com.rocket.api.setup.annotations.CleanDBState;
+import com.rocket.api.usecase.RecomputeRocketStateUseCase;
+import com.rocket.api.usecase.port.VersionedRocketState;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static com.rocket.api.setup.RocketMessages.launchedEvent;
+import static com.rocket.api.setup.RocketMessages.speedIncreasedEvent;
+import static org.assertj.core.api.Assertions.assertThat;
+
+@CleanDBState
+class RecomputeRocketStatesIT extends AbstractIntegrationTest {
+
+    private static final UtcDateTime MESSAGE_TIME = UtcDateTime.of(OffsetDateTime.parse("2022-02-02T19:39:05Z"));
+
+    @Autowired
+    private RecomputeRocketStateUseCase recomputeRocketStateUseCase;
+
+    @Autowired
+    private RocketEventRepository rocketEventRepository;
+
+    @Autowired
+    private RocketSnapshotRepository rocketSnapshotRepository;
+
+    @Autowired
+    private RocketStateRepository rocketStateRepository;
+
+    @Test
+    void shouldRecomputeSeveralChannelsInOneBatch() {
+        // Given - a long tail due for a snapshot, a plain launch and a tail with a gap
+        UUID longTail = UUID.fromString("a1111111-1111-1111-1111-111111111111");
+        UUID launchOnly = UUID.fromString("a2222222-2222-2222-2222-222222222222");
+        UUID withGap = UUID.fromString("a3333333-3333-3333-3333-333333333333");
+        List<RocketEvent> events = new ArrayList<>();
+        events.add(launchedEvent(longTail));
+        for (int messageNumber = 2; messageNumber <= 100; messageNumber++) {
+            events.add(speedIncreasedEvent(longTail, messageNumber));
+        }
+        events.add(launchedEvent(launchOnly));
+        events.add(launchedEvent(withGap));
+        events.add(speedIncreasedEvent(withGap, 3));
+        rocketEventRepository.saveAll(events);
+
+        // When
+        Map<UUID, RocketState> recomputed = recomputeRocketStateUseCase.executeAll(List.of(longTail, launchOnly, withGap));
+
+        // Then
+        assertThat(recomputed).containsOnlyKeys(longTail, launchOnly, withGap);
+        VersionedRocketState first = rocketStateRepository.findVersionedByChannel(longTail).orElseThrow();
+        VersionedRocketState second = rocketStateRepository.findVersionedByChannel(launchOnly).orElseThrow();
+        VersionedRocketState third = rocketStateRepository.findVersionedByChannel(withGap).orElseThrow();
+
+        assertThat(first.state().speed()).isEqualTo(599);
+        assertThat(first.state().lastProcessedMsgNumber()).isEqualTo(100);
+        assertThat(second.state().status()).isEqualTo(RocketStatus.launched);
+        assertThat(second.state().speed()).isEqualTo(500);
+        assertThat(third.state().lastProcessedMsgNumber()).isEqualTo(1);
+        assertThat(third.state().stale()).isTrue();
+        // Versions are handed out in the order of the batch
+        assertThat(first.version()).isLessThan(second.version());
+        assertThat(second.version()).isLessThan(third.version());
+
+        assertThat(rocketSnapshotRepository.findLatestByChannel(longTail))
+                .hasValueSatisfying(snapshot -> assertThat(snapshot.atMessageNumber()).isEqualTo(80));
+        assertThat(rocketSnapshotRepository.findLatestByChannel(launchOnly)).isEmpty();
+    }
+
+    @Test
+    void shouldSkipOnlyTheRowsOfABatchCarryingAnOlderVersion() {
+        // Given
+        UUID newer = UUID.fromString("a4444444-4444-4444-4444-444444444444");
+        UUID older = UUID.fromString("a5555555-5555-5555-5555-555555555555");
+        rocketStateRepository.saveAll(List.of(
+                new VersionedRocketState(state(newer, 900), 20),
+                new VersionedRocketState(state(older, 100), 10)
+        ));
+
+        // When - one batch moves one row back in time and the other forward
+        rocketStateRepository.saveAll(List.of(
+                new VersionedRocketState(state(newer, 500), 15),
+                new VersionedRocketState(state(older, 300), 30)
+        ));
+
+        // Then
+        VersionedRocketState kept = rocketStateRepository.findVersionedByChannel(newer).orElseThrow();
+        assertThat(kept.state().speed()).isEqualTo(900);
+        assertThat(kept.version()).isEqualTo(20);
+
+        VersionedRocketState updated = rocketStateRepository.findVersionedByChannel(older).orElseThrow();
+        assertThat(updated.state().speed()).isEqualTo(300);
+        assertThat(updated.version()).isEqualTo(30);
+    }
+
+
+    private static RocketState state(UUID channel, int speed) {
+        return new RocketState(channel, "Falcon-9", "ARTEMIS", speed, RocketStatus.launched, null,
+                MESSAGE_TIME, MESSAGE_TIME, 1, false);
+    }
+}
@@ -0,0 +1,106 @@
+package com.rocket.api.integrationtestsslow.usecases;
+
+import com.rocket.api.domain.RocketState;
+import com.rocket.api.infrastructure.output.persistence.RocketEventRepository;
+import com.rocket.api.infrastructure.output.persistence.RocketStateRepository;
+import com.rocket.api.setup.AbstractIntegrationTest;
+import com.rocket.api.setup.Await;
+import com.rocket.api.setup.annotations.CleanDBState;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.UUID;
+
+import static com.rocket.api.setup.RocketMessages.message;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@CleanDBState
+class SpooledIngestIT extends AbstractIntegrationTest {
+
+    private static Path spoolDirectory;
+
+    @Autowired
+    private RocketEventRepository rocketEventRepository;
+
+    @Autowired
+    private RocketStateRepository rocketStateRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @DynamicPropertySource
+    static void spoolProperties(DynamicPropertyRegistry registry) throws IOException {
+        registry.add("rocket.ingest.spool.enabled", () -> "true");
+        spoolDirectory = Files.createTempDirectory("rocket-spool");
+        registry.add("rocket.ingest.spool.directory", spoolDirectory::toString);
+    }
+
+    @Test
+    void shouldAcceptMessagesIntoSpoolAndStoreThemInOrder() throws Exception {
+        // Given
+        UUID channel = UUID.fromString("7b1a4c52-3d6e-4f0a-9c1b-2e8d5f6a7b90");
+
+        // When - launched, then two speed increases, one of them delivered twice
+        mockMvc.perform(post("/messages")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(message(channel, 1, "RocketLaunched", """
+                                {"type": "Falcon-9", "launchSpeed": 500, "mission": "ARTEMIS"}""")))
+                .andExpect(status().isAccepted());
+        for (int messageNumber : new int[]{2, 3, 3}) {
+            mockMvc.perform(post("/messages")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(message(channel, messageNumber, "RocketSpeedIncreased", """
+                                    {"by": 100}""")))
+                    .andExpect(status().isAccepted());
+        }
+
+        // Then - the drainer stores them in the background
+        RocketState state = Await.until("all messages of " + channel, () -> rocketStateRepository.findByChannel(channel)
+                .filter(stored -> stored.lastProcessedMsgNumber() == 3));
+        assertThat(state.speed()).isEqualTo(700);
+        assertThat(rocketEventRepository.countByChannel(channel)).isEqualTo(3);
+    }
+
+    @Test
+    void shouldMoveMessageThatCannotBeStoredToDeadLetter() throws Exception {
+        // Given - Postgres text cannot hold a NUL character, so storing the first message fails for good
+        UUID rejected = UUID.fromString("8c2b5d63-4e7f-4a1b-8d2c-3f9e6a7b8c01");
+        UUID stored = UUID.fromString("9d3c6e74-5f8a-4b2c-9e3d-4a0f7b8c9d12");
+
+        // When
+        mockMvc.perform(post("/messages")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(message(rejected, 1, "RocketLaunched", """
+                                {"type": "Falcon-9", "launchSpeed": 500, "mission": "ART\\u0000EMIS"}""")))
+                .andExpect(status().isAccepted());
+        mockMvc.perform(post("/messages")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(message(stored, 1, "RocketLaunched", """
+                                {"type": "Falcon-9", "launchSpeed": 500, "mission": "ARTEMIS"}""")))
+                .andExpect(status().isAccepted());
+
+        // Then - the message behind it is stored, the rejected one is kept in the dead letter file
+        Await.until("launch of " + stored, () -> rocketStateRepository.findByChannel(stored));
+        assertThat(rocketStateRepository.findByChannel(rejected)).isEmpty();
+        assertThat(Files.readAllLines(spoolDirectory.resolve("rejected.ndjson"))).singleElement().satisfies(line ->
+                assertThat(line).contains("\"channel\":\"" + rejected + "\"", "\"messageNumber\":1", "\"launchSpeed\":500"));
+        assertThat(meterRegistry.get("rocket.ingest.spool.rejected").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldRejectInvalidMessageBeforeSpooling() throws Exception {
+        mockMvc.perform(post("/messages")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"metadata\": {}}"))
+                .andExpect(status().isBadRequest());
+    }
+}
@@ -0,0 +1,100 @@
+package com.rocket.api.integrationtestsslow.usecases;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.rocket.api.setup.AbstractIntegrationTest;
+import com.rocket.api.setup.Await;
+import com.rocket.api.setup.annotations.CleanDBState;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.Optional;
+import java.util.UUID;
+
+import static com.rocket.api.setup.RocketMessages.launched;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@CleanDBState
+class StateChangeNotificationsIT extends AbstractIntegrationTest {
+
+    private static final UUID CHANNEL = UUID.fromString("5d2c7e10-8a4b-4f6e-b1c3-9e7f0a2d4c68");
+    private static final UUID OTHER_CHANNEL = UUID.fromString("6e3d8f21-9b5c-4a7f-c2d4-0f8a1b3e5d79");
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void shouldServeStateWrittenByAnotherNode() throws Exception {
+        // Given - a rocket known to this node, cached on first read
+        launch(CHANNEL);
+        String etag = mockMvc.perform(get("/rockets/" + CHANNEL))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader("ETag");
+
+        // When - another node writes the row
+        jdbcTemplate.update("""
+                UPDATE rocket_state
+                SET speed = 900, last_processed_msg_number = 2, version = nextval('rocket_state_version_seq')
+                WHERE channel = ?
+                """, CHANNEL);
+
+        // Then - this node serves the new state once the notification arrived
+        MockHttpServletResponse response = awaitSpeed(CHANNEL, 900);
+        assertThat(response.getHeader("ETag")).isNotEqualTo(etag);
+        JsonNode top = objectMapper.readTree(mockMvc.perform(get("/rockets/top?limit=1"))
+                .andReturn().getResponse().getContentAsString());
+        assertThat(top.get(0).get("speed").asInt()).isEqualTo(900);
+    }
+
+    @Test
+    void shouldListWriteOfAnotherNodeCommittedBelowKnownFleetVersion() throws Exception {
+        // Given - two nodes took versions, the one with the higher version committed first
+        launch(CHANNEL);
+        launch(OTHER_CHANNEL);
+        long lowerVersion = jdbcTemplate.queryForObject("SELECT nextval('rocket_state_version_seq')", Long.class);
+        long higherVersion = jdbcTemplate.queryForObject("SELECT nextval('rocket_state_version_seq')", Long.class);
+        jdbcTemplate.update("UPDATE rocket_state SET speed = 900, version = ? WHERE channel = ?", higherVersion, OTHER_CHANNEL);
+        awaitSpeed(OTHER_CHANNEL, 900);
+
+        MockHttpServletResponse poll = mockMvc.perform(get("/rockets")).andReturn().getResponse();
+        String etag = poll.getHeader("ETag");
+        String fleetVersion = poll.getHeader("X-Fleet-Version");
+        assertThat(Long.parseLong(fleetVersion)).isGreaterThanOrEqualTo(higherVersion);
+
+        // When - the lower version commits late
+        jdbcTemplate.update("UPDATE rocket_state SET speed = 700, version = ? WHERE channel = ?", lowerVersion, CHANNEL);
+        awaitSpeed(CHANNEL, 700);
+
+        // Then - neither the delta nor the conditional read lose it
+        mockMvc.perform(get("/rockets").header("If-None-Match", etag))
+                .andExpect(status().isOk());
+        JsonNode changed = objectMapper.readTree(mockMvc.perform(get("/rockets").param("changedSince", fleetVersion))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString());
+        assertThat(changed.findValuesAsText("id")).contains(CHANNEL.toString());
+    }
+
+    private void launch(UUID channel) throws Exception {
+        mockMvc.perform(post("/messages")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(launched(channel)))
+                .andExpect(status().isOk());
+    }
+
+    private MockHttpServletResponse awaitSpeed(UUID channel, int speed) throws Exception {
+        return Await.until("speed " + speed + " of " + channel, () -> {
+            MockHttpServletResponse response = mockMvc.perform(get("/rockets/" + channel)).andReturn().getResponse();
+            boolean reached = objectMapper.readTree(response.getContentAsString()).get("speed").asInt() == speed;
+            return reached ? Optional.of(response) : Optional.empty();
+        });
+    }
+}
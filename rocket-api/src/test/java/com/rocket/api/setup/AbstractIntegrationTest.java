@@ -14,7 +14,7 @@ import org.testcontainers.containers.PostgreSQLContainer;
 @ActiveProfiles("it")
 public abstract class AbstractIntegrationTest {
 
-    static final PostgreSQLContainer<?> postgres;
+    protected static final PostgreSQLContainer<?> postgres;
 
     static {
         postgres = new PostgreSQLContainer<>("postgres:16-alpine")
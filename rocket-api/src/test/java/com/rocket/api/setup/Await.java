@@ -0,0 +1,37 @@
+package com.rocket.api.setup;
+
+import java.util.Optional;
+
+/*
+ * Polls for the outcome of background work (spool drainer, cluster handoff, state change notifications).
+ */
+public final class Await {
+
+    private static final long TIMEOUT_MILLIS = 10_000;
+    private static final long POLL_MILLIS = 50;
+
+    @FunctionalInterface
+    public interface Probe<T> {
+        Optional<T> poll() throws Exception;
+    }
+
+    private Await() {
+    }
+
+    /*
+     * Returns the first value the probe finds, fails with the description after ten seconds without one.
+     */
+    public static <T> T until(String description, Probe<T> probe) throws Exception {
+        long deadline = System.currentTimeMillis() + TIMEOUT_MILLIS;
+        while (true) {
+            Optional<T> found = probe.poll();
+            if (found.isPresent()) {
+                return found.get();
+            }
+            if (System.currentTimeMillis() > deadline) {
+                throw new AssertionError("Timed out waiting for " + description);
+            }
+            Thread.sleep(POLL_MILLIS);
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package com.rocket.api.setup;
+
+import com.rocket.api.domain.MessageType;
+import com.rocket.api.domain.RocketEvent;
+import com.rocket.api.domain.UtcDateTime;
+
+import java.time.OffsetDateTime;
+import java.util.Map;
+import java.util.UUID;
+
+/*
+ * Messages shared by the integration tests, as POST /messages bodies (one line each, so they also make NDJSON) and as
+ * events for the repositories. Every message has the same time.
+ */
+public final class RocketMessages {
+
+    public static final String MESSAGE_TIME = "2022-02-02T19:39:05.86337+01:00";
+
+    private static final UtcDateTime EVENT_TIME = UtcDateTime.of(OffsetDateTime.parse(MESSAGE_TIME));
+
+    private RocketMessages() {
+    }
+
+    /*
+     * Launch of a Falcon-9 at 500 on mission ARTEMIS, message number 1.
+     */
+    public static String launched(UUID channel) {
+        return message(channel, 1, "RocketLaunched", """
+                {"type": "Falcon-9", "launchSpeed": 500, "mission": "ARTEMIS"}""");
+    }
+
+    public static String message(UUID channel, int messageNumber, String messageType, String payload) {
+        return message(channel.toString(), messageNumber, messageType, payload);
+    }
+
+    public static String message(String channel, int messageNumber, String messageType, String payload) {
+        return """
+                {"metadata":{"channel":"%s","messageNumber":%d,"messageTime":"%s","messageType":"%s"},"message":%s}"""
+                .formatted(channel, messageNumber, MESSAGE_TIME, messageType, payload.strip());
+    }
+
+    public static RocketEvent launchedEvent(UUID channel) {
+        return new RocketEvent(channel, 1, EVENT_TIME, MessageType.RocketLaunched,
+                Map.of("type", "Falcon-9", "launchSpeed", 500, "mission", "ARTEMIS"));
+    }
+
+    public static RocketEvent speedIncreasedEvent(UUID channel, int messageNumber) {
+        return new RocketEvent(channel, messageNumber, EVENT_TIME, MessageType.RocketSpeedIncreased, Map.of("by", 1));
+    }
+}
@@ -1,5 +1,8 @@
 package com.rocket.api.setup.annotations;
 
+import com.rocket.api.infrastructure.output.memory.RocketHistoryCache;
+import com.rocket.api.infrastructure.output.memory.RocketReadModels;
+import com.rocket.api.infrastructure.output.memory.series.RocketSpeedSeries;
 import org.junit.jupiter.api.extension.BeforeEachCallback;
 import org.junit.jupiter.api.extension.ExtensionContext;
 import org.springframework.jdbc.core.JdbcTemplate;
@@ -16,6 +19,9 @@ public class CleanDBStateExtension implements BeforeEachCallback {
     var applicationContext = SpringExtension.getApplicationContext(context);
     var jdbcTemplate = applicationContext.getBean(JdbcTemplate.class);
     cleanupCatalogTables(jdbcTemplate);
+    applicationContext.getBean(RocketReadModels.class).reload();
+    applicationContext.getBean(RocketSpeedSeries.class).clear();
+    applicationContext.getBean(RocketHistoryCache.class).clear();
   }
 
   public static void cleanupCatalogTables(JdbcTemplate jdbcTemplate) {
@@ -0,0 +1,49 @@
+package com.rocket.api.unittests.common;
+
+import com.rocket.api.common.beans.bulkhead.Bulkhead;
+import com.rocket.api.common.beans.bulkhead.Workload;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BulkheadTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void shouldRejectWithoutWaitingWhenNoWaitersAllowed() {
+        Bulkhead bulkhead = new Bulkhead("admin", Workload.JOBS, 1, 0, Duration.ZERO, meterRegistry);
+
+        assertThat(bulkhead.tryEnter()).isTrue();
+        assertThat(bulkhead.tryEnter()).isFalse();
+
+        bulkhead.exit();
+        assertThat(bulkhead.tryEnter()).isTrue();
+        assertThat(meterRegistry.counter("rocket.bulkhead.rejected", "bulkhead", "admin").count()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldAdmitWaiterWhenSlotIsFreed() throws Exception {
+        Bulkhead bulkhead = new Bulkhead("query", Workload.QUERY, 1, 1, Duration.ofSeconds(5), meterRegistry);
+        bulkhead.tryEnter();
+
+        CompletableFuture<Boolean> waiter = CompletableFuture.supplyAsync(bulkhead::tryEnter);
+        Thread.sleep(50);
+        bulkhead.exit();
+
+        assertThat(waiter.get()).isTrue();
+    }
+
+    @Test
+    void shouldRejectAfterMaxWait() {
+        Bulkhead bulkhead = new Bulkhead("query", Workload.QUERY, 1, 1, Duration.ofMillis(20), meterRegistry);
+        bulkhead.tryEnter();
+
+        assertThat(bulkhead.tryEnter()).isFalse();
+        assertThat(meterRegistry.get("rocket.bulkhead.waiting").gauge().value()).isZero();
+    }
+}
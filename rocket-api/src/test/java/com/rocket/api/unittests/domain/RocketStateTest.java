@@ -6,6 +6,7 @@ import org.junit.jupiter.api.Test;
 import java.time.Clock;
 import java.time.Instant;
 import java.time.ZoneOffset;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
@@ -162,6 +163,21 @@ class RocketStateTest {
         assertThat(newState.speed()).isEqualTo(500); // Speed increase not applied
     }
 
+    @Test
+    void shouldReportEveryAppliedEvent() {
+        RocketState state = RocketState.empty(CHANNEL, NOW);
+        List<RocketEvent> events = List.of(
+                rocketLaunched(1, "Falcon-9", 500, "ARTEMIS"),
+                speedIncreased(2, 1000),
+                speedDecreased(4, 200)  // Gap: missing message 3
+        );
+        List<Integer> speeds = new ArrayList<>();
+
+        state.applyAll(events, NOW, (event, applied) -> speeds.add(applied.speed()));
+
+        assertThat(speeds).containsExactly(500, 1500);
+    }
+
     @Test
     void shouldNotSnapshotWhenStale() {
         RocketState state = RocketState.empty(CHANNEL, NOW)
@@ -0,0 +1,209 @@
+package com.rocket.api.unittests.domain;
+
+import com.rocket.api.domain.*;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/*
+ * Properties of SegmentedReplay: for any start state, any event tail and any segmentation the result, and every state
+ * reported on the way, equal those of sequential RocketState.applyAll. Tails are generated from a seed, a failing seed
+ * reproduces the case.
+ */
+class SegmentedReplayTest {
+
+    private static final UUID CHANNEL = UUID.fromString("193270a9-c9cf-404a-8f83-838e71d9ae67");
+    private static final Clock FIXED_CLOCK = Clock.fixed(Instant.parse("2022-02-02T20:00:00Z"), ZoneOffset.UTC);
+    private static final UtcDateTime NOW = UtcDateTime.now(FIXED_CLOCK);
+    private static final UtcDateTime LAUNCH_TIME = UtcDateTime.now(Clock.fixed(Instant.parse("2022-02-02T18:39:05Z"), ZoneOffset.UTC));
+    private static final String[] MISSIONS = {"ARTEMIS", "APOLLO", "GEMINI", null};
+
+    private static ForkJoinPool pool;
+
+    @BeforeAll
+    static void startPool() {
+        pool = new ForkJoinPool(4);
+    }
+
+    @AfterAll
+    static void stopPool() {
+        pool.shutdownNow();
+    }
+
+    static LongStream seeds() {
+        return LongStream.range(0, 300);
+    }
+
+    @ParameterizedTest
+    @MethodSource("seeds")
+    void shouldMatchSequentialReplay(long seed) {
+        Random random = new Random(seed);
+        RocketState start = randomStart(random);
+        List<RocketEvent> events = randomTail(random, start.lastProcessedMsgNumber() + 1, random.nextInt(400));
+        SegmentedReplay replay = randomReplay(random);
+
+        assertThat(replay.applyAll(start, events, NOW))
+                .as("seed %d", seed)
+                .isEqualTo(start.applyAll(events, NOW));
+    }
+
+    @ParameterizedTest
+    @MethodSource("seeds")
+    void shouldReportSameStatesInOrder(long seed) {
+        Random random = new Random(seed);
+        RocketState start = randomStart(random);
+        List<RocketEvent> events = randomTail(random, start.lastProcessedMsgNumber() + 1, random.nextInt(400));
+        SegmentedReplay replay = randomReplay(random);
+
+        List<RocketState> expected = new ArrayList<>();
+        RocketState expectedResult = start.applyAll(events, NOW, (event, state) -> expected.add(state));
+        List<RocketState> reported = new ArrayList<>();
+        List<RocketEvent> reportedEvents = new ArrayList<>();
+        RocketState result = replay.applyAll(start, events, NOW, (event, state) -> {
+            reportedEvents.add(event);
+            reported.add(state);
+        });
+
+        assertThat(result).as("seed %d", seed).isEqualTo(expectedResult);
+        assertThat(reported).as("seed %d", seed).containsExactlyElementsOf(expected);
+        assertThat(reportedEvents).as("seed %d", seed).containsExactlyElementsOf(events.subList(0, expected.size()));
+    }
+
+    @ParameterizedTest
+    @MethodSource("seeds")
+    void shouldStopAtFirstGapAndMarkStale(long seed) {
+        Random random = new Random(seed);
+        RocketState start = randomStart(random);
+        List<RocketEvent> events = new ArrayList<>(randomTail(random, start.lastProcessedMsgNumber() + 1, 1 + random.nextInt(400)));
+        int gapAt = random.nextInt(events.size());
+        RocketEvent replaced = events.get(gapAt);
+        // Skipped, repeated or out of order message number
+        int wrongNumber = switch (random.nextInt(3)) {
+            case 0 -> replaced.messageNumber() + 1 + random.nextInt(5);
+            case 1 -> replaced.messageNumber() > 1 ? replaced.messageNumber() - 1 : replaced.messageNumber() + 2;
+            default -> replaced.messageNumber() + 100;
+        };
+        events.set(gapAt, new RocketEvent(CHANNEL, wrongNumber, replaced.messageTime(), replaced.messageType(), replaced.payload()));
+        SegmentedReplay replay = randomReplay(random);
+
+        RocketState result = replay.applyAll(start, events, NOW);
+
+        assertThat(result).as("seed %d", seed).isEqualTo(start.applyAll(events, NOW));
+        assertThat(result.stale()).isTrue();
+        assertThat(result.lastProcessedMsgNumber()).isEqualTo(start.lastProcessedMsgNumber() + gapAt);
+    }
+
+    @ParameterizedTest
+    @MethodSource("seeds")
+    void shouldClampLikeSequentialReplay(long seed) {
+        Random random = new Random(seed);
+        RocketState start = RocketState.empty(CHANNEL, NOW).withSpeed(random.nextInt(1_000));
+        List<RocketEvent> events = new ArrayList<>();
+        // Decreases dominate, the speed hits zero again and again
+        for (int messageNumber = 1; messageNumber <= 300; messageNumber++) {
+            events.add(random.nextInt(3) == 0
+                    ? speedIncreased(messageNumber, random.nextInt(500))
+                    : speedDecreased(messageNumber, random.nextInt(800)));
+        }
+        SegmentedReplay replay = new SegmentedReplay(pool, 0, 1 + random.nextInt(20));
+
+        assertThat(replay.applyAll(start, events, NOW)).as("seed %d", seed).isEqualTo(start.applyAll(events, NOW));
+    }
+
+    @Test
+    void shouldWrapAroundOnOverflowLikeSequentialReplay() {
+        RocketState start = RocketState.empty(CHANNEL, NOW).withSpeed(Integer.MAX_VALUE - 10);
+        List<RocketEvent> events = new ArrayList<>();
+        for (int messageNumber = 1; messageNumber <= 100; messageNumber++) {
+            events.add(messageNumber % 10 == 0 ? speedDecreased(messageNumber, 5) : speedIncreased(messageNumber, 1_000_000));
+        }
+        SegmentedReplay replay = new SegmentedReplay(pool, 0, 7);
+
+        RocketState expected = start.applyAll(events, NOW);
+
+        assertThat(replay.applyAll(start, events, NOW)).isEqualTo(expected);
+        assertThat(replay.applyAll(start, events, NOW, (event, state) -> {})).isEqualTo(expected);
+    }
+
+    @Test
+    void shouldKeepStartStateForEmptyTail() {
+        RocketState start = RocketState.empty(CHANNEL, NOW).withStale(true);
+        SegmentedReplay replay = new SegmentedReplay(pool, 0, 10);
+
+        assertThat(replay.applyAll(start, List.of(), NOW)).isEqualTo(start);
+    }
+
+    private static SegmentedReplay randomReplay(Random random) {
+        return new SegmentedReplay(pool, random.nextInt(50), 1 + random.nextInt(64));
+    }
+
+    private static RocketState randomStart(Random random) {
+        if (random.nextBoolean()) {
+            return RocketState.empty(CHANNEL, NOW);
+        }
+        return new RocketState(CHANNEL, "Falcon-9", MISSIONS[random.nextInt(MISSIONS.length)], random.nextInt(10_000),
+                random.nextBoolean() ? RocketStatus.launched : RocketStatus.exploded, random.nextBoolean() ? "PRESSURE_VESSEL_FAILURE" : null,
+                LAUNCH_TIME, LAUNCH_TIME, 1 + random.nextInt(1_000), random.nextInt(4) == 0);
+    }
+
+    private static List<RocketEvent> randomTail(Random random, int firstMessageNumber, int length) {
+        List<RocketEvent> events = new ArrayList<>(length);
+        for (int messageNumber = firstMessageNumber; messageNumber < firstMessageNumber + length; messageNumber++) {
+            int kind = random.nextInt(100);
+            if (kind < 3) {
+                events.add(rocketLaunched(messageNumber, "Falcon-" + random.nextInt(10), random.nextInt(5_000), MISSIONS[random.nextInt(MISSIONS.length)]));
+            } else if (kind < 45) {
+                events.add(speedIncreased(messageNumber, random.nextInt(3_000)));
+            } else if (kind < 90) {
+                events.add(speedDecreased(messageNumber, random.nextInt(3_000)));
+            } else if (kind < 96) {
+                events.add(missionChanged(messageNumber, MISSIONS[random.nextInt(MISSIONS.length)]));
+            } else {
+                events.add(exploded(messageNumber, "REASON_" + random.nextInt(3)));
+            }
+        }
+        return events;
+    }
+
+    private static RocketEvent rocketLaunched(int msgNumber, String type, int speed, String mission) {
+        Map<String, Object> payload = new HashMap<>();
+        payload.put("type", type);
+        payload.put("launchSpeed", speed);
+        payload.put("mission", mission);
+        return new RocketEvent(CHANNEL, msgNumber, LAUNCH_TIME, MessageType.RocketLaunched, payload);
+    }
+
+    private static RocketEvent speedIncreased(int msgNumber, int by) {
+        return new RocketEvent(CHANNEL, msgNumber, NOW, MessageType.RocketSpeedIncreased, Map.of("by", by));
+    }
+
+    private static RocketEvent speedDecreased(int msgNumber, int by) {
+        return new RocketEvent(CHANNEL, msgNumber, NOW, MessageType.RocketSpeedDecreased, Map.of("by", by));
+    }
+
+    private static RocketEvent missionChanged(int msgNumber, String newMission) {
+        Map<String, Object> payload = new HashMap<>();
+        payload.put("newMission", newMission);
+        return new RocketEvent(CHANNEL, msgNumber, NOW, MessageType.RocketMissionChanged, payload);
+    }
+
+    private static RocketEvent exploded(int msgNumber, String reason) {
+        return new RocketEvent(CHANNEL, msgNumber, NOW, MessageType.RocketExploded, Map.of("reason", reason));
+    }
+}
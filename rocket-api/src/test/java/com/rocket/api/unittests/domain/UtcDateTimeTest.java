@@ -0,0 +1,44 @@
+package com.rocket.api.unittests.domain;
+
+import com.rocket.api.domain.UtcDateTime;
+import org.junit.jupiter.api.Test;
+
+import java.time.OffsetDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class UtcDateTimeTest {
+
+    @Test
+    void shouldNormalizeAnyOffsetToUtc() {
+        UtcDateTime fromOffset = UtcDateTime.of(OffsetDateTime.parse("2022-02-02T19:39:05.86337+01:00"));
+        UtcDateTime fromZone = new UtcDateTime(ZonedDateTime.of(2022, 2, 2, 13, 39, 5, 863_370_000, ZoneId.of("America/New_York")));
+
+        assertThat(fromOffset).isEqualTo(fromZone);
+        assertThat(fromOffset.hashCode()).isEqualTo(fromZone.hashCode());
+        assertThat(fromOffset.value().getZone()).isEqualTo(ZoneOffset.UTC);
+        assertThat(fromOffset.toString()).isEqualTo("2022-02-02T18:39:05.863370Z");
+    }
+
+    @Test
+    void shouldTruncateToMicrosecondsLikeTimestamptz() {
+        UtcDateTime value = UtcDateTime.of(OffsetDateTime.parse("2022-02-02T18:39:05.123456789Z"));
+
+        assertThat(value.toEpochNanos() % 1_000).isZero();
+        assertThat(value.toOffsetDateTime()).isEqualTo(OffsetDateTime.parse("2022-02-02T18:39:05.123456Z"));
+        assertThat(UtcDateTime.ofEpochNanos(value.toEpochNanos() + 999)).isEqualTo(value);
+    }
+
+    @Test
+    void shouldRoundTripEpochValuesBeforeAndAfterTheEpoch() {
+        UtcDateTime beforeEpoch = UtcDateTime.ofEpochMicros(-1);
+
+        assertThat(beforeEpoch.toOffsetDateTime()).isEqualTo(OffsetDateTime.parse("1969-12-31T23:59:59.999999Z"));
+        assertThat(UtcDateTime.of(beforeEpoch.toOffsetDateTime())).isEqualTo(beforeEpoch);
+        assertThat(UtcDateTime.ofEpochMicros(0).plusMinutes(2).toEpochMicros()).isEqualTo(120_000_000L);
+        assertThat(beforeEpoch).isLessThan(UtcDateTime.ofEpochMicros(0));
+    }
+}
@@ -0,0 +1,80 @@
+package com.rocket.api.unittests.infrastructure;
+
+import com.rocket.api.infrastructure.input.http.AdaptiveConcurrencyLimit;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AdaptiveConcurrencyLimitTest {
+
+    private static final long FAST = 2_000_000;
+    private static final long SLOW = 20_000_000;
+
+    @Test
+    void shouldRejectBeyondLimit() {
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(2, 1, 10, 1.5);
+
+        assertThat(limit.tryAcquire()).isTrue();
+        assertThat(limit.tryAcquire()).isTrue();
+        assertThat(limit.tryAcquire()).isFalse();
+
+        limit.release(FAST, false);
+        assertThat(limit.tryAcquire()).isTrue();
+    }
+
+    @Test
+    void shouldGrowWhileLatencyIsSteady() {
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(10, 4, 100, 1.5);
+
+        saturate(limit, FAST, 200);
+
+        assertThat(limit.limit()).isEqualTo(100);
+    }
+
+    @Test
+    void shouldShrinkWhenLatencyRises() {
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(10, 4, 100, 1.5);
+        saturate(limit, FAST, 200);
+
+        saturate(limit, SLOW, 50);
+
+        assertThat(limit.limit()).isLessThan(30);
+    }
+
+    @Test
+    void shouldBackOffOnOverloadDownToMinimum() {
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(50, 4, 100, 1.5);
+
+        for (int i = 0; i < 100; i++) {
+            limit.tryAcquire();
+            limit.release(FAST, true);
+        }
+
+        assertThat(limit.limit()).isEqualTo(4);
+    }
+
+    @Test
+    void shouldNotGrowWhileMostlyIdle() {
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(10, 4, 100, 1.5);
+
+        for (int i = 0; i < 200; i++) {
+            limit.tryAcquire();
+            limit.release(FAST, false);
+        }
+
+        assertThat(limit.limit()).isEqualTo(10);
+    }
+
+    // Fills the current limit and releases every slot with the given latency, the given number of times
+    private static void saturate(AdaptiveConcurrencyLimit limit, long latencyNanos, int rounds) {
+        for (int round = 0; round < rounds; round++) {
+            int acquired = 0;
+            while (limit.tryAcquire()) {
+                acquired++;
+            }
+            for (int i = 0; i < acquired; i++) {
+                limit.release(latencyNanos, false);
+            }
+        }
+    }
+}
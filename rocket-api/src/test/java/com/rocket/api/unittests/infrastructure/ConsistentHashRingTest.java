@@ -0,0 +1,51 @@
+package com.rocket.api.unittests.infrastructure;
+
+import com.rocket.api.infrastructure.cluster.ConsistentHashRing;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ConsistentHashRingTest {
+
+    private static final List<UUID> CHANNELS = IntStream.range(0, 10_000)
+            .mapToObj(i -> UUID.nameUUIDFromBytes(("channel-" + i).getBytes()))
+            .toList();
+
+    @Test
+    void shouldAssignSameOwnersRegardlessOfMemberOrder() {
+        ConsistentHashRing ring = new ConsistentHashRing(List.of("a", "b", "c"), 128);
+        ConsistentHashRing reordered = new ConsistentHashRing(List.of("c", "a", "b"), 128);
+
+        assertThat(CHANNELS).allSatisfy(channel -> assertThat(reordered.owner(channel)).isEqualTo(ring.owner(channel)));
+    }
+
+    @Test
+    void shouldSpreadChannelsEvenly() {
+        ConsistentHashRing ring = new ConsistentHashRing(List.of("a", "b", "c", "d"), 128);
+
+        Map<String, Integer> owned = new HashMap<>();
+        CHANNELS.forEach(channel -> owned.merge(ring.owner(channel), 1, Integer::sum));
+
+        assertThat(owned).hasSize(4);
+        assertThat(owned.values()).allSatisfy(count -> assertThat(count).isBetween(1_800, 3_200));
+    }
+
+    @Test
+    void shouldOnlyMoveChannelsOfLeavingNode() {
+        ConsistentHashRing before = new ConsistentHashRing(List.of("a", "b", "c"), 128);
+        ConsistentHashRing after = new ConsistentHashRing(List.of("a", "c"), 128);
+
+        assertThat(CHANNELS).allSatisfy(channel -> {
+            if (!before.owner(channel).equals("b")) {
+                assertThat(after.owner(channel)).isEqualTo(before.owner(channel));
+            }
+        });
+        assertThat(CHANNELS.stream().map(after::owner).distinct()).containsExactlyInAnyOrder("a", "c");
+    }
+}
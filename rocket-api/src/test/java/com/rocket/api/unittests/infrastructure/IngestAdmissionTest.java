@@ -0,0 +1,55 @@
+package com.rocket.api.unittests.infrastructure;
+
+import com.rocket.api.infrastructure.input.http.IngestAdmission;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.transaction.CannotCreateTransactionException;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class IngestAdmissionTest {
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final IngestAdmission admission = new IngestAdmission(true, 20, 4, 100, 1.5, Duration.ofSeconds(1), meterRegistry);
+
+    @Test
+    void shouldKeepLimitWhenRequestViolatesConstraint() {
+        assertThatThrownBy(() -> admission.admit(() -> {
+            throw new DuplicateKeyException("duplicate message");
+        })).isInstanceOf(DuplicateKeyException.class);
+        assertThatThrownBy(() -> admission.admit(() -> {
+            throw new DataIntegrityViolationException("value too long");
+        })).isInstanceOf(DataIntegrityViolationException.class);
+
+        assertThat(limit()).isEqualTo(20);
+    }
+
+    @Test
+    void shouldShrinkLimitOnQueryTimeout() {
+        assertThatThrownBy(() -> admission.admit(() -> {
+            throw new QueryTimeoutException("statement timeout");
+        })).isInstanceOf(QueryTimeoutException.class);
+
+        assertThat(limit()).isLessThan(20);
+    }
+
+    @Test
+    void shouldShrinkLimitWhenNoTransactionCanBeStarted() {
+        assertThatThrownBy(() -> admission.admit(() -> {
+            throw new CannotCreateTransactionException("connection pool exhausted");
+        })).isInstanceOf(CannotCreateTransactionException.class);
+
+        assertThat(limit()).isLessThan(20);
+    }
+
+    private double limit() {
+        return meterRegistry.get("rocket.ingest.admission.limit").gauge().value();
+    }
+}
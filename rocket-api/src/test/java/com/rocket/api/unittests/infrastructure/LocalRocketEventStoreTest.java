@@ -0,0 +1,117 @@
+package com.rocket.api.unittests.infrastructure;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.rocket.api.domain.MessageType;
+import com.rocket.api.domain.RocketEvent;
+import com.rocket.api.domain.UtcDateTime;
+import com.rocket.api.infrastructure.output.local.LocalRocketEventStore;
+import com.rocket.api.infrastructure.output.local.LocalStorage;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.util.unit.DataSize;
+
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LocalRocketEventStoreTest {
+
+    private static final UUID CHANNEL = UUID.fromString("193270a9-c9cf-404a-8f83-838e71d9ae67");
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void shouldKeepFirstEventPerMessageNumberInMessageNumberOrder() throws Exception {
+        LocalStorage storage = open();
+        LocalRocketEventStore store = new LocalRocketEventStore(storage, new ObjectMapper());
+
+        assertThat(store.save(launched(1))).isTrue();
+        assertThat(store.saveAll(List.of(increased(3, 50), increased(2, 100), increased(2, 999)))).containsExactly(true, true, false);
+
+        assertThat(store.findByChannelAfterMessageNumber(CHANNEL, 0))
+                .extracting(RocketEvent::messageNumber).containsExactly(1, 2, 3);
+        assertThat(store.findByChannelBetweenMessageNumbers(CHANNEL, 1, 2))
+                .extracting(RocketEvent::getSpeedDelta).containsExactly(100);
+        assertThat(store.findPageByChannel(CHANNEL, 0, 2)).hasSize(2);
+        assertThat(store.findLatestMessageNumberAtOrBefore(CHANNEL, OffsetDateTime.parse("2022-02-02T19:41:00Z"))).contains(2);
+        assertThat(store.countByChannel(CHANNEL)).isEqualTo(3);
+        assertThat(store.existsByChannel(UUID.randomUUID())).isFalse();
+        storage.close();
+    }
+
+    @Test
+    void shouldRecoverEventsAndPayloadAfterRestart() throws Exception {
+        LocalStorage storage = open();
+        new LocalRocketEventStore(storage, new ObjectMapper()).saveAll(List.of(launched(1), increased(2, 100)));
+        storage.close();
+
+        LocalStorage reopened = open();
+        LocalRocketEventStore store = new LocalRocketEventStore(reopened, new ObjectMapper());
+
+        List<RocketEvent> events = store.findByChannelAfterMessageNumber(CHANNEL, 0);
+        assertThat(events).containsExactly(launched(1), increased(2, 100));
+        assertThat(store.save(increased(2, 5))).isFalse();
+        reopened.close();
+    }
+
+    @Test
+    void shouldDropTornRecordAtTheEndOfTheLog() throws Exception {
+        LocalStorage storage = open();
+        new LocalRocketEventStore(storage, new ObjectMapper()).saveAll(List.of(launched(1), increased(2, 100)));
+        storage.close();
+        corruptLastWrittenByte();
+
+        LocalStorage reopened = open();
+        LocalRocketEventStore store = new LocalRocketEventStore(reopened, new ObjectMapper());
+        assertThat(store.findByChannelAfterMessageNumber(CHANNEL, 0)).containsExactly(launched(1));
+        assertThat(store.save(increased(2, 200))).isTrue();
+        reopened.close();
+
+        LocalStorage again = open();
+        assertThat(new LocalRocketEventStore(again, new ObjectMapper()).findByChannelAfterMessageNumber(CHANNEL, 0))
+                .containsExactly(launched(1), increased(2, 200));
+        again.close();
+    }
+
+    private LocalStorage open() {
+        return new LocalStorage(directory, DataSize.ofKilobytes(64), 1, Duration.ofMillis(10));
+    }
+
+    private void corruptLastWrittenByte() throws Exception {
+        Path segment;
+        try (Stream<Path> files = Files.list(directory.resolve("events-0"))) {
+            segment = files.findFirst().orElseThrow();
+        }
+        try (RandomAccessFile file = new RandomAccessFile(segment.toFile(), "rw")) {
+            long last = file.length() - 1;
+            file.seek(last);
+            while (file.read() == 0) {
+                file.seek(--last);
+            }
+            file.seek(last);
+            file.write(0x5A);
+        }
+    }
+
+    private static RocketEvent launched(int messageNumber) {
+        return new RocketEvent(CHANNEL, messageNumber, time(messageNumber), MessageType.RocketLaunched,
+                Map.of("type", "Falcon-9", "launchSpeed", 500, "mission", "ARTEMIS", "crew", 4));
+    }
+
+    private static RocketEvent increased(int messageNumber, int by) {
+        return new RocketEvent(CHANNEL, messageNumber, time(messageNumber), MessageType.RocketSpeedIncreased, Map.of("by", by));
+    }
+
+    private static UtcDateTime time(int messageNumber) {
+        return UtcDateTime.of(OffsetDateTime.parse("2022-02-02T19:39:00Z").plusMinutes(messageNumber));
+    }
+}
@@ -0,0 +1,79 @@
+package com.rocket.api.unittests.infrastructure;
+
+import com.rocket.api.domain.RocketState;
+import com.rocket.api.domain.RocketStatus;
+import com.rocket.api.domain.UtcDateTime;
+import com.rocket.api.infrastructure.output.local.LocalRocketStateStore;
+import com.rocket.api.infrastructure.output.local.LocalStorage;
+import com.rocket.api.usecase.port.VersionedRocketState;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LocalRocketStateStoreTest {
+
+    private static final UtcDateTime NOW = UtcDateTime.of(OffsetDateTime.parse("2022-02-02T19:39:05Z"));
+
+    @TempDir
+    Path directory;
+
+    @ParameterizedTest
+    @ValueSource(strings = {"heap", "off-heap"})
+    void shouldKeepNewestVersionPerChannel(String stateTable) throws Exception {
+        LocalStorage storage = open();
+        LocalRocketStateStore store = new LocalRocketStateStore(storage, stateTable, 16);
+        UUID channel = UUID.randomUUID();
+
+        store.saveAll(List.of(new VersionedRocketState(launched(channel, 500), 2)));
+        store.saveAll(List.of(new VersionedRocketState(launched(channel, 100), 1)));
+
+        assertThat(store.findVersionedByChannel(channel)).contains(new VersionedRocketState(launched(channel, 500), 2));
+        assertThat(store.findByChannel(UUID.randomUUID())).isEmpty();
+        store.close();
+        storage.close();
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"heap", "off-heap"})
+    void shouldGrowAndRecoverAfterRestart(String stateTable) throws Exception {
+        List<VersionedRocketState> saved = IntStream.range(0, 5_000)
+                .mapToObj(i -> new VersionedRocketState(i % 2 == 0 ? launched(UUID.randomUUID(), i) : pending(UUID.randomUUID()), i + 1))
+                .toList();
+        LocalStorage storage = open();
+        LocalRocketStateStore store = new LocalRocketStateStore(storage, stateTable, 16);
+        store.saveAll(saved);
+        store.close();
+        storage.close();
+
+        LocalStorage reopened = open();
+        LocalRocketStateStore recovered = new LocalRocketStateStore(reopened, stateTable, 16);
+
+        assertThat(recovered.findAllVersioned()).containsExactlyInAnyOrderElementsOf(saved);
+        assertThat(recovered.findChangedSince(4_990, "speed", "desc")).hasSize(10);
+        assertThat(recovered.nextVersions(1)).containsExactly(5_001);
+        recovered.close();
+        reopened.close();
+    }
+
+    private LocalStorage open() {
+        return new LocalStorage(directory, DataSize.ofKilobytes(256), 1, Duration.ofMillis(10));
+    }
+
+    private static RocketState launched(UUID channel, int speed) {
+        return new RocketState(channel, "Falcon-9", "ARTEMIS", speed, RocketStatus.launched, null, NOW, NOW, 1, false);
+    }
+
+    private static RocketState pending(UUID channel) {
+        return RocketState.empty(channel, NOW).withStale(true);
+    }
+}
@@ -0,0 +1,64 @@
+package com.rocket.api.unittests.infrastructure;
+
+import com.rocket.api.domain.RocketState;
+import com.rocket.api.domain.RocketStatus;
+import com.rocket.api.domain.UtcDateTime;
+import com.rocket.api.infrastructure.output.memory.RocketSpeedIndex;
+import com.rocket.api.usecase.port.VersionedRocketState;
+import org.junit.jupiter.api.Test;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RocketSpeedIndexTest {
+
+    private static final UtcDateTime NOW = UtcDateTime.of(OffsetDateTime.parse("2022-02-02T19:39:05Z"));
+
+    @Test
+    void shouldReplaceStateWithoutChangingPosition() {
+        RocketSpeedIndex index = new RocketSpeedIndex();
+        UUID channel = UUID.randomUUID();
+
+        index.apply(new VersionedRocketState(launched(channel, 500, "ARTEMIS"), 1));
+        index.apply(new VersionedRocketState(launched(channel, 500, "APOLLO"), 2));
+        index.apply(new VersionedRocketState(launched(channel, 500, "GEMINI"), 1));
+
+        assertThat(index.fastest(10)).containsExactly(new VersionedRocketState(launched(channel, 500, "APOLLO"), 2));
+    }
+
+    @Test
+    void shouldNeverHideRocketFromConcurrentReaders() {
+        RocketSpeedIndex index = new RocketSpeedIndex();
+        UUID channel = UUID.randomUUID();
+        index.apply(new VersionedRocketState(launched(channel, 500, "M0"), 1));
+        AtomicBoolean writing = new AtomicBoolean(true);
+
+        CompletableFuture<Integer> misses = CompletableFuture.supplyAsync(() -> {
+            int missed = 0;
+            while (writing.get()) {
+                List<VersionedRocketState> found = index.speedBetween(0, 1_000, false);
+                if (found.isEmpty()) {
+                    missed++;
+                }
+            }
+            return missed;
+        });
+        // Mission changes keep the position, every tenth write moves the rocket
+        for (int version = 2; version < 200_000; version++) {
+            int speed = version % 10 == 0 ? 500 + version % 20 : 500;
+            index.apply(new VersionedRocketState(launched(channel, speed, "M" + version), version));
+        }
+        writing.set(false);
+
+        assertThat(misses.join()).isZero();
+    }
+
+    private static RocketState launched(UUID channel, int speed, String mission) {
+        return new RocketState(channel, "Falcon-9", mission, speed, RocketStatus.launched, null, NOW, NOW, 1, false);
+    }
+}
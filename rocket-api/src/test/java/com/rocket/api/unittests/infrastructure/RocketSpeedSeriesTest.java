@@ -0,0 +1,56 @@
+package com.rocket.api.unittests.infrastructure;
+
+import com.rocket.api.domain.UtcDateTime;
+import com.rocket.api.infrastructure.output.memory.series.RocketSpeedSamples;
+import com.rocket.api.infrastructure.output.memory.series.RocketSpeedSeries;
+import com.rocket.api.infrastructure.output.memory.series.SpeedPoint;
+import com.rocket.api.infrastructure.output.memory.series.SpeedSample;
+import com.rocket.api.infrastructure.output.memory.series.SpeedSeriesResolution;
+import org.junit.jupiter.api.Test;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RocketSpeedSeriesTest {
+
+    private static final UtcDateTime LAUNCH = UtcDateTime.of(OffsetDateTime.parse("2022-02-02T19:39:05Z"));
+
+    @Test
+    void shouldCoverAllHistoryWhenFirstBatchStartsAtFirstMessage() {
+        RocketSpeedSeries series = new RocketSpeedSeries(16, 16, 16);
+        UUID channel = UUID.randomUUID();
+
+        series.onSamples(new RocketSpeedSamples(channel, 1, 1, List.of(new SpeedSample(1, LAUNCH, 500))));
+
+        assertThat(series.find(channel, Long.MIN_VALUE, Long.MAX_VALUE, SpeedSeriesResolution.RAW))
+                .hasValueSatisfying(points -> assertThat(points).extracting(SpeedPoint::last).containsExactly(500));
+    }
+
+    @Test
+    void shouldNotCoverHistoryBeforeFirstBatchAfterRestart() {
+        RocketSpeedSeries series = new RocketSpeedSeries(16, 16, 16);
+        UUID channel = UUID.randomUUID();
+
+        series.onSamples(new RocketSpeedSamples(channel, 81, 81, List.of(new SpeedSample(81, LAUNCH, 500))));
+
+        assertThat(series.find(channel, Long.MIN_VALUE, Long.MAX_VALUE, SpeedSeriesResolution.RAW)).isEmpty();
+        assertThat(series.find(channel, LAUNCH.toEpochMicros(), Long.MAX_VALUE, SpeedSeriesResolution.RAW)).isPresent();
+    }
+
+    @Test
+    void shouldReturnRawSamplesInTimeOrder() {
+        RocketSpeedSeries series = new RocketSpeedSeries(16, 16, 16);
+        UUID channel = UUID.randomUUID();
+
+        series.onSamples(new RocketSpeedSamples(channel, 1, 3, List.of(
+                new SpeedSample(1, LAUNCH, 500),
+                new SpeedSample(2, LAUNCH.plusMinutes(2), 600),
+                new SpeedSample(3, LAUNCH.plusMinutes(1), 550))));
+
+        assertThat(series.buffered(channel, Long.MAX_VALUE, SpeedSeriesResolution.RAW))
+                .hasValueSatisfying(points -> assertThat(points).extracting(SpeedPoint::last).containsExactly(500, 550, 600));
+    }
+}